@@ -0,0 +1,52 @@
+package gov.cms.qpp.conversion;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import gov.cms.qpp.conversion.encode.JsonWrapper;
+import gov.cms.qpp.conversion.model.Registry;
+
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times the first conversion in a fresh JVM, which includes finding the handlers. Compares the build-time handler
+ * index against scanning the class path.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(10)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+public class ColdStartBenchmark {
+
+	@Param({"false", "true"})
+	public boolean scanClasspath;
+
+	@Param({"../qrda-files/valid-QRDA-III-latest.xml"})
+	public String file;
+
+	@Setup
+	public void setup() {
+		if (scanClasspath) {
+			System.setProperty(Registry.SCAN_CLASSPATH, "true");
+		} else {
+			System.clearProperty(Registry.SCAN_CLASSPATH);
+		}
+	}
+
+	@Benchmark
+	public JsonWrapper firstConversion() {
+		return new Converter(new PathSource(Paths.get(file))).transform();
+	}
+}
@@ -0,0 +1,239 @@
+package gov.cms.qpp.conversion;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import org.reflections.util.ClasspathHelper;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import gov.cms.qpp.conversion.model.validation.MeasureConfigs;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+
+/**
+ * The QRDA III files a benchmark runs over, keyed by file name.
+ *
+ * A corpus is either a directory of real files, such as {@code ../sample-files/2018}, or {@code synthetic-<n>x}, which
+ * is {@link #SYNTHETIC_BASE} with each of its measures repeated {@code n} times. Every copy of a measure has ids of its
+ * own, and loading a synthetic corpus swaps in measure data that describes the copies, so the file passes validation.
+ */
+final class Corpus {
+	static final String SYNTHETIC_BASE = "../qrda-files/valid-QRDA-III-latest.xml";
+	private static final String SYNTHETIC = "synthetic-";
+	private static final String MEASURE_REFERENCE_RESULTS = "2.16.840.1.113883.10.20.27.3.1";
+	private static final String MEASURE_GUID = "eMeasureUuid";
+	private static final String POPULATION_UUIDS = "eMeasureUuids";
+	private static final String UUID_SUFFIX = "Uuid";
+
+	/**
+	 * Library utility class so the constructor is private and empty.
+	 */
+	private Corpus() {
+		// private and empty because this is a utility class
+	}
+
+	/**
+	 * Loads a corpus into memory. Loading a synthetic corpus also swaps in measure data that describes its measures.
+	 *
+	 * @param corpus a directory of QRDA III files, or {@code synthetic-<n>x}
+	 * @return the content of each file, keyed by file name
+	 * @throws IOException if the files cannot be read
+	 */
+	static Map<String, byte[]> load(String corpus) throws IOException {
+		Map<String, byte[]> files = new LinkedHashMap<>();
+		if (corpus.startsWith(SYNTHETIC)) {
+			int times = Integer.parseInt(corpus.substring(SYNTHETIC.length(), corpus.length() - 1));
+			byte[] base = Files.readAllBytes(Paths.get(SYNTHETIC_BASE));
+			Path measureData = Files.createTempFile("synthetic-measures-data", ".json");
+			measureData.toFile().deleteOnExit();
+			Files.write(measureData, scaleMeasureData(base, times));
+			MeasureConfigs.reload(measureData);
+			files.put(corpus, scale(base, times));
+			return files;
+		}
+
+		List<Path> paths;
+		try (Stream<Path> listing = Files.list(Paths.get(corpus))) {
+			paths = listing.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+		}
+		for (Path path : paths) {
+			files.put(path.getFileName().toString(), Files.readAllBytes(path));
+		}
+		return files;
+	}
+
+	/**
+	 * Repeats every measure in a QRDA III file. Each copy gets a measure GUID and population ids of its own, made by
+	 * {@link #copyId(String, int)}, so that it is a distinct measure as far as validation is concerned once
+	 * {@link #scaleMeasureData(byte[], int)} describes it.
+	 *
+	 * @param qrda the QRDA III file
+	 * @param times how many of each measure the result has
+	 * @return the scaled file
+	 */
+	static byte[] scale(byte[] qrda, int times) {
+		try {
+			Document document = parse(qrda);
+			for (Element measure : measures(document)) {
+				Node next = measure.getNextSibling();
+				for (int copy = 1; copy < times; copy++) {
+					Element clone = (Element) measure.cloneNode(true);
+					renumber(clone, copy);
+					measure.getParentNode().insertBefore(clone, next);
+				}
+			}
+
+			Transformer transformer = TransformerFactory.newInstance().newTransformer();
+			transformer.setOutputProperty(OutputKeys.ENCODING, "UTF-8");
+			ByteArrayOutputStream output = new ByteArrayOutputStream(qrda.length * times);
+			transformer.transform(new DOMSource(document), new StreamResult(output));
+			return output.toByteArray();
+		} catch (Exception exception) {
+			throw new IllegalStateException("Unable to scale the QRDA III file", exception);
+		}
+	}
+
+	/**
+	 * The default measure data, along with a copy of the configuration of every measure in a QRDA III file for each
+	 * copy {@link #scale(byte[], int)} makes of the measure.
+	 *
+	 * @param qrda the QRDA III file
+	 * @param times how many of each measure the scaled file has
+	 * @return measure data json
+	 */
+	static byte[] scaleMeasureData(byte[] qrda, int times) {
+		try (InputStream input = ClasspathHelper.contextClassLoader()
+				.getResourceAsStream(MeasureConfigs.DEFAULT_MEASURE_DATA_FILE_NAME)) {
+			Set<String> guids = new HashSet<>();
+			for (Element measure : measures(parse(qrda))) {
+				for (Element id : ids(measure, "externalDocument")) {
+					guids.add(id.getAttribute("extension").toLowerCase(Locale.US));
+				}
+			}
+
+			ObjectMapper mapper = new ObjectMapper();
+			ArrayNode measureData = (ArrayNode) mapper.readTree(input);
+			List<ObjectNode> copies = new ArrayList<>();
+			for (JsonNode config : measureData) {
+				String guid = config.path(MEASURE_GUID).asText().toLowerCase(Locale.US);
+				if (!guids.contains(guid)) {
+					continue;
+				}
+				for (int copy = 1; copy < times; copy++) {
+					ObjectNode copied = config.deepCopy();
+					copied.put(MEASURE_GUID, copyId(config.get(MEASURE_GUID).asText(), copy));
+					for (JsonNode stratum : copied.path("strata")) {
+						ObjectNode uuids = (ObjectNode) stratum.get(POPULATION_UUIDS);
+						List<String> names = new ArrayList<>();
+						uuids.fieldNames().forEachRemaining(names::add);
+						for (String name : names) {
+							if (name.endsWith(UUID_SUFFIX) && uuids.get(name).isTextual()) {
+								uuids.put(name, copyId(uuids.get(name).asText(), copy));
+							}
+						}
+					}
+					copies.add(copied);
+				}
+			}
+			measureData.addAll(copies);
+			return mapper.writeValueAsBytes(measureData);
+		} catch (Exception exception) {
+			throw new IllegalStateException("Unable to scale the measure data", exception);
+		}
+	}
+
+	/**
+	 * The id a copy of a measure uses in place of one of the original's. The same id and copy always give the same
+	 * result, in the same case as the original.
+	 *
+	 * @param id a measure GUID or population id of the original measure
+	 * @param copy which copy, from 1
+	 * @return the id of the copy
+	 */
+	static String copyId(String id, int copy) {
+		String copied = UUID.nameUUIDFromBytes((id.toUpperCase(Locale.US) + "/" + copy).getBytes(StandardCharsets.UTF_8))
+				.toString();
+		return id.equals(id.toUpperCase(Locale.US)) ? copied.toUpperCase(Locale.US) : copied;
+	}
+
+	private static Document parse(byte[] qrda) throws Exception {
+		DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+		factory.setNamespaceAware(true);
+		factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+		return factory.newDocumentBuilder().parse(new ByteArrayInputStream(qrda));
+	}
+
+	/**
+	 * The entries holding measure reference and results
+	 */
+	private static List<Element> measures(Document document) {
+		List<Element> measures = new ArrayList<>();
+		NodeList templateIds = document.getElementsByTagNameNS("*", "templateId");
+		for (int i = 0; i < templateIds.getLength(); i++) {
+			Element templateId = (Element) templateIds.item(i);
+			Node entry = templateId.getParentNode().getParentNode();
+			if (MEASURE_REFERENCE_RESULTS.equals(templateId.getAttribute("root"))
+					&& entry instanceof Element && "entry".equals(entry.getLocalName())) {
+				measures.add((Element) entry);
+			}
+		}
+		return measures;
+	}
+
+	/**
+	 * Gives a copy of a measure the GUID and population ids of that copy. The GUID is the extension of the id of the
+	 * external document, and every population and performance rate refers to its population by the root of the id of
+	 * an external observation.
+	 */
+	private static void renumber(Element measure, int copy) {
+		for (Element id : ids(measure, "externalDocument")) {
+			id.setAttribute("extension", copyId(id.getAttribute("extension"), copy));
+		}
+		for (Element id : ids(measure, "externalObservation")) {
+			id.setAttribute("root", copyId(id.getAttribute("root"), copy));
+		}
+	}
+
+	private static List<Element> ids(Element measure, String parent) {
+		List<Element> ids = new ArrayList<>();
+		NodeList candidates = measure.getElementsByTagNameNS("*", "id");
+		for (int i = 0; i < candidates.getLength(); i++) {
+			Element id = (Element) candidates.item(i);
+			if (parent.equals(id.getParentNode().getLocalName())) {
+				ids.add(id);
+			}
+		}
+		return ids;
+	}
+}
@@ -0,0 +1,152 @@
+package gov.cms.qpp.conversion;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import gov.cms.qpp.conversion.decode.QrdaDecoderEngine;
+import gov.cms.qpp.conversion.encode.JsonWrapper;
+import gov.cms.qpp.conversion.encode.QppOutputEncoder;
+import gov.cms.qpp.conversion.model.Node;
+import gov.cms.qpp.conversion.xml.XmlUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the allocation of the compact json tree behind {@link JsonWrapper} with the linked hash maps and linked
+ * lists it replaced, each built from the same encoded corpus and written out. Run through {@link #main(String[])} for
+ * the GC profiler's allocation rate per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class JsonTreeAllocationBenchmark {
+	private static final ObjectWriter LINKED_WRITER = JsonWrapper.standardWriter();
+	private static final OutputStream NULL = new OutputStream() {
+		@Override
+		public void write(int b) {
+			// discarded
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+			// discarded
+		}
+	};
+
+	@Param({"../sample-files/2018"})
+	public String corpus;
+
+	private List<Node> decoded;
+	private List<JsonWrapper> encoded;
+
+	@Setup(Level.Trial)
+	public void load() throws IOException {
+		decoded = new ArrayList<>();
+		encoded = new ArrayList<>();
+		for (byte[] file : Corpus.load(corpus).values()) {
+			Node node = new QrdaDecoderEngine(new Context()).decode(XmlUtils.parseXmlStream(new ByteArrayInputStream(file)));
+			decoded.add(node);
+			JsonWrapper wrapper = new JsonWrapper();
+			new QppOutputEncoder(new Context()).encode(wrapper, node);
+			encoded.add(wrapper);
+		}
+	}
+
+	@Benchmark
+	public void encode(Blackhole blackhole) {
+		for (Node node : decoded) {
+			JsonWrapper wrapper = new JsonWrapper();
+			new QppOutputEncoder(new Context()).encode(wrapper, node);
+			blackhole.consume(wrapper);
+		}
+	}
+
+	@Benchmark
+	public void compactTreePretty() throws IOException {
+		for (JsonWrapper wrapper : encoded) {
+			new JsonWrapper(wrapper).writeTo(NULL, null, true);
+		}
+	}
+
+	@Benchmark
+	public void compactTreeCompact() throws IOException {
+		for (JsonWrapper wrapper : encoded) {
+			new JsonWrapper(wrapper).writeTo(NULL, null, false);
+		}
+	}
+
+	@Benchmark
+	public void linkedTreePretty() throws IOException {
+		for (JsonWrapper wrapper : encoded) {
+			LINKED_WRITER.writeValue(NULL, linked(wrapper.toObject()));
+		}
+	}
+
+	/**
+	 * Copies json content into the linked hash maps and linked lists that {@link JsonWrapper} used to hold, without
+	 * metadata, as it used to be written.
+	 */
+	@SuppressWarnings("unchecked")
+	private static Object linked(Object value) {
+		if (value instanceof Map) {
+			Map<String, Object> copy = new LinkedHashMap<>();
+			((Map<String, Object>) value).forEach((name, item) -> {
+				if (!JsonWrapper.METADATA_HOLDER.equals(name)) {
+					copy.put(name, linked(item));
+				}
+			});
+			return copy;
+		}
+		if (value instanceof Collection) {
+			List<Object> copy = new LinkedList<>();
+			((Collection<Object>) value).forEach(item -> copy.add(linked(item)));
+			return copy;
+		}
+		return value;
+	}
+
+	/**
+	 * Runs every benchmark with the GC profiler.
+	 *
+	 * @param args optionally, the file to write the JSON results to
+	 * @throws RunnerException if a benchmark fails
+	 */
+	public static void main(String... args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(JsonTreeAllocationBenchmark.class.getSimpleName())
+				.addProfiler(GCProfiler.class)
+				.resultFormat(ResultFormatType.JSON)
+				.result(args.length > 0 ? args[0] : "target/jmh-json-tree.json")
+				.build()).run();
+	}
+}
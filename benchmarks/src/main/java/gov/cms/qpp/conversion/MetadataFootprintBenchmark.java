@@ -0,0 +1,120 @@
+package gov.cms.qpp.conversion;
+
+import org.jdom2.Element;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import gov.cms.qpp.conversion.decode.QrdaDecoderEngine;
+import gov.cms.qpp.conversion.encode.JsonWrapper;
+import gov.cms.qpp.conversion.encode.QppOutputEncoder;
+import gov.cms.qpp.conversion.model.Node;
+import gov.cms.qpp.conversion.xml.XmlUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures what the metadata attached to encoded json hashes costs per conversion: encoding, and writing a response
+ * without metadata either from a copy or through the filtering view. Run with the GC profiler, the allocation rate per
+ * operation shows the bytes spent on metadata.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class MetadataFootprintBenchmark {
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+	private static final OutputStream NULL = new OutputStream() {
+		@Override
+		public void write(int b) {
+			// discarded
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+			// discarded
+		}
+	};
+
+	@Param({"../sample-files/2018"})
+	public String corpus;
+
+	private List<Node> decoded;
+	private List<JsonWrapper> encoded;
+
+	@Setup(Level.Trial)
+	public void load() throws IOException {
+		decoded = new ArrayList<>();
+		encoded = new ArrayList<>();
+		for (byte[] file : Corpus.load(corpus).values()) {
+			Element element = XmlUtils.parseXmlStream(new ByteArrayInputStream(file));
+			Node node = new QrdaDecoderEngine(new Context()).decode(element);
+			decoded.add(node);
+			JsonWrapper wrapper = new JsonWrapper();
+			new QppOutputEncoder(new Context()).encode(wrapper, node);
+			encoded.add(wrapper);
+		}
+	}
+
+	@Benchmark
+	public void encode(Blackhole blackhole) {
+		for (Node node : decoded) {
+			JsonWrapper wrapper = new JsonWrapper();
+			new QppOutputEncoder(new Context()).encode(wrapper, node);
+			blackhole.consume(wrapper);
+		}
+	}
+
+	@Benchmark
+	public void writeCopyWithoutMetadata() throws IOException {
+		for (JsonWrapper wrapper : encoded) {
+			MAPPER.writeValue(NULL, wrapper.copyWithoutMetadata().toObject());
+		}
+	}
+
+	@Benchmark
+	public void writeViewWithoutMetadata() throws IOException {
+		for (JsonWrapper wrapper : encoded) {
+			MAPPER.writeValue(NULL, wrapper.withoutMetadata());
+		}
+	}
+
+	/**
+	 * Runs every benchmark with the GC profiler.
+	 *
+	 * @param args optionally, the file to write the JSON results to
+	 * @throws RunnerException if a benchmark fails
+	 */
+	public static void main(String... args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(MetadataFootprintBenchmark.class.getSimpleName())
+				.addProfiler(GCProfiler.class)
+				.resultFormat(ResultFormatType.JSON)
+				.result(args.length > 0 ? args[0] : "target/jmh-metadata.json")
+				.build()).run();
+	}
+}
@@ -0,0 +1,194 @@
+package gov.cms.qpp.conversion;
+
+import org.jdom2.Element;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import gov.cms.qpp.conversion.correlation.PathCorrelator;
+import gov.cms.qpp.conversion.decode.QrdaDecoderEngine;
+import gov.cms.qpp.conversion.encode.JsonWrapper;
+import gov.cms.qpp.conversion.encode.QppOutputEncoder;
+import gov.cms.qpp.conversion.model.Node;
+import gov.cms.qpp.conversion.model.error.TransformException;
+import gov.cms.qpp.conversion.validate.QrdaValidator;
+import gov.cms.qpp.conversion.xml.XmlUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times each stage of a conversion, and the whole conversion, over every file in a corpus. Each invocation runs the
+ * stage once per file. Synthetic corpora repeat each measure of a valid file under ids of its own, so they convert
+ * and validate like real files.
+ *
+ * Run through {@link #main(String[])} to write the results as JSON, by default to {@code target/jmh-pipeline.json},
+ * so that runs can be compared between releases. The same is available from the jar with
+ * {@code -rf json -rff <file>}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class PipelineBenchmark {
+	private static final String[] JSON_PATHS = {
+		"$.measurementSets[0].measurements[0].measureId",
+		"$.measurementSets[0].measurements[0].value.performanceMet",
+		"$.measurementSets[0].category",
+		"$.taxpayerIdentificationNumber"
+	};
+
+	@Param({"../sample-files/2018", "../qrda-files/multi", "synthetic-10x", "synthetic-100x"})
+	public String corpus;
+
+	private List<byte[]> files;
+	private List<Element> parsed;
+	private List<Node> decoded;
+	private List<JsonWrapper> encoded;
+	private List<String> correlatedPaths;
+
+	@Setup(Level.Trial)
+	public void load() throws IOException {
+		Map<String, byte[]> loaded = Corpus.load(corpus);
+		files = new ArrayList<>(loaded.values());
+		parsed = new ArrayList<>();
+		for (byte[] file : files) {
+			parsed.add(XmlUtils.parseXmlStream(new ByteArrayInputStream(file)));
+		}
+	}
+
+	/**
+	 * Decodes and encodes afresh for every iteration, as encoding marks the nodes it visits.
+	 */
+	@Setup(Level.Iteration)
+	public void prepare() {
+		decoded = new ArrayList<>();
+		encoded = new ArrayList<>();
+		correlatedPaths = new ArrayList<>();
+		for (Element element : parsed) {
+			Node node = new QrdaDecoderEngine(new Context()).decode(element);
+			decoded.add(node);
+			JsonWrapper wrapper = new JsonWrapper();
+			new QppOutputEncoder(new Context()).encode(wrapper, node);
+			encoded.add(wrapper);
+		}
+
+		for (JsonWrapper wrapper : encoded) {
+			for (String path : JSON_PATHS) {
+				try {
+					PathCorrelator.prepPath(path, wrapper);
+					correlatedPaths.add(path);
+				} catch (RuntimeException ignore) {
+					correlatedPaths.add(null);
+				}
+			}
+		}
+	}
+
+	@Benchmark
+	public void parseXmlStream(Blackhole blackhole) {
+		for (byte[] file : files) {
+			blackhole.consume(XmlUtils.parseXmlStream(new ByteArrayInputStream(file)));
+		}
+	}
+
+	@Benchmark
+	public void decode(Blackhole blackhole) {
+		for (Element element : parsed) {
+			blackhole.consume(new QrdaDecoderEngine(new Context()).decode(element));
+		}
+	}
+
+	@Benchmark
+	public void validate(Unvalidated unvalidated, Blackhole blackhole) {
+		for (Node node : unvalidated.decoded) {
+			blackhole.consume(new QrdaValidator(new Context()).validate(node));
+		}
+	}
+
+	@Benchmark
+	public void encode(Blackhole blackhole) {
+		for (Node node : decoded) {
+			JsonWrapper wrapper = new JsonWrapper();
+			new QppOutputEncoder(new Context()).encode(wrapper, node);
+			blackhole.consume(wrapper);
+		}
+	}
+
+	@Benchmark
+	public void prepPath(Blackhole blackhole) {
+		int index = 0;
+		for (JsonWrapper wrapper : encoded) {
+			for (int path = 0; path < JSON_PATHS.length; path++) {
+				String jsonPath = correlatedPaths.get(index++);
+				if (jsonPath != null) {
+					blackhole.consume(PathCorrelator.prepPath(jsonPath, wrapper));
+				}
+			}
+		}
+	}
+
+	@Benchmark
+	public void transform(Blackhole blackhole) {
+		for (byte[] file : files) {
+			try {
+				blackhole.consume(new Converter(BufferedSource.of(corpus, file), new Context()).transform());
+			} catch (TransformException invalid) {
+				blackhole.consume(invalid.getConversionReport());
+			}
+		}
+	}
+
+	/**
+	 * Documents decoded afresh for every invocation of {@link #validate(Unvalidated, Blackhole)}, as validation marks the
+	 * nodes it visits and skips them from then on.
+	 */
+	@State(Scope.Thread)
+	public static class Unvalidated {
+		private List<Node> decoded;
+
+		@Setup(Level.Invocation)
+		public void decode(PipelineBenchmark pipeline) {
+			decoded = new ArrayList<>();
+			for (Element element : pipeline.parsed) {
+				decoded.add(new QrdaDecoderEngine(new Context()).decode(element));
+			}
+		}
+	}
+
+	/**
+	 * Runs every stage over every corpus.
+	 *
+	 * @param args optionally, the file to write the JSON results to
+	 * @throws RunnerException if a benchmark fails
+	 */
+	public static void main(String... args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(PipelineBenchmark.class.getSimpleName())
+				.addProfiler(GCProfiler.class)
+				.resultFormat(ResultFormatType.JSON)
+				.result(args.length > 0 ? args[0] : "target/jmh-pipeline.json")
+				.build()).run();
+	}
+}
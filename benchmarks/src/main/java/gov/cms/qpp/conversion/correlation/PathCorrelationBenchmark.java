@@ -0,0 +1,101 @@
+package gov.cms.qpp.conversion.correlation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import gov.cms.qpp.conversion.Context;
+import gov.cms.qpp.conversion.Converter;
+import gov.cms.qpp.conversion.PathSource;
+import gov.cms.qpp.conversion.encode.JsonWrapper;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares correlating the json paths of a synthetic validation response with 1,000 errors back to xpaths. Correlating
+ * each path on its own serializes and parses the whole QPP every time, while the index is built once for the response.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class PathCorrelationBenchmark {
+
+	@Param({"../qrda-files/valid-QRDA-III-latest.xml", "../qrda-files/ComprehensivePrimaryCare_Sample_QRDA_III-latest.xml"})
+	public String file;
+
+	@Param({"1000"})
+	public int errors;
+
+	private JsonWrapper wrapper;
+	private final List<String> paths = new ArrayList<>();
+
+	@Setup
+	public void setup() {
+		wrapper = new Converter(new PathSource(Paths.get(file)), new Context()).transform();
+
+		List<String> leaves = new ArrayList<>();
+		collectLeaves(wrapper.toObject(), "$", leaves);
+		List<String> correlated = new ArrayList<>();
+		for (String leaf : leaves) {
+			try {
+				PathCorrelator.prepPath(leaf, wrapper);
+				correlated.add(leaf);
+			} catch (RuntimeException ignore) {
+				// the validation API only reports paths that exist
+			}
+		}
+
+		for (int i = 0; i < errors; i++) {
+			paths.add(correlated.get(i % correlated.size()));
+		}
+	}
+
+	@Benchmark
+	public void prepPathPerError(Blackhole blackhole) {
+		for (String path : paths) {
+			blackhole.consume(PathCorrelator.prepPath(path, wrapper));
+		}
+	}
+
+	@Benchmark
+	public void pathIndex(Blackhole blackhole) {
+		PathIndex index = PathCorrelator.index(wrapper);
+		for (String path : paths) {
+			blackhole.consume(index.prepPath(path));
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static void collectLeaves(Object value, String path, List<String> leaves) {
+		if (value instanceof Map) {
+			((Map<String, Object>) value).forEach((name, child) -> {
+				if (!JsonWrapper.METADATA_HOLDER.equals(name)) {
+					collectLeaves(child, path + "." + name, leaves);
+				}
+			});
+		} else if (value instanceof List) {
+			List<Object> list = (List<Object>) value;
+			for (int i = 0; i < list.size(); i++) {
+				collectLeaves(list.get(i), path + "[" + i + "]", leaves);
+			}
+		} else {
+			leaves.add(path);
+		}
+	}
+}
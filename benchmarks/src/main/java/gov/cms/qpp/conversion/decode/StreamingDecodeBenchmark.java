@@ -0,0 +1,67 @@
+package gov.cms.qpp.conversion.decode;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import gov.cms.qpp.conversion.Context;
+import gov.cms.qpp.conversion.model.Node;
+import gov.cms.qpp.conversion.xml.XmlUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares decoding from a parsed document against decoding straight from the stream. Run through
+ * {@link #main(String[])}, or with {@code -prof gc}, to report the bytes allocated per decode.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class StreamingDecodeBenchmark {
+
+	@Param({"../qrda-files/valid-QRDA-III-latest.xml", "../sample-files/2018/CPCPlus_With_Reporting_Stratum.xml"})
+	public String file;
+
+	private byte[] content;
+
+	@Setup
+	public void setup() throws IOException {
+		content = Files.readAllBytes(Paths.get(file));
+	}
+
+	@Benchmark
+	public Node documentDecode() {
+		return XmlDecoderEngine.decodeXml(new Context(), XmlUtils.parseXmlStream(new ByteArrayInputStream(content)));
+	}
+
+	@Benchmark
+	public Node streamingDecode() {
+		return StreamingQrdaDecoderEngine.decodeStream(new Context(), new ByteArrayInputStream(content));
+	}
+
+	public static void main(String... args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(StreamingDecodeBenchmark.class.getSimpleName())
+				.addProfiler(GCProfiler.class)
+				.build()).run();
+	}
+}
@@ -0,0 +1,91 @@
+package gov.cms.qpp.conversion.decode;
+
+import org.jdom2.Element;
+import org.jdom2.filter.Filters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import gov.cms.qpp.conversion.Context;
+import gov.cms.qpp.conversion.model.Decoder;
+import gov.cms.qpp.conversion.model.Registry;
+import gov.cms.qpp.conversion.model.TemplateId;
+import gov.cms.qpp.conversion.xml.XmlUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the cost of dispatching every {@code templateId} element of a document to its decoder. The environment
+ * lookup resolves each element the way the decoder engine used to, three times with {@code STRICT_EXTENSION} read
+ * from the environment each time. The dispatch table resolves each element once against a table built per context.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class TemplateIdDispatchBenchmark {
+
+	@Param({"../qrda-files/valid-QRDA-III-latest.xml", "../qrda-files/ComprehensivePrimaryCare_Sample_QRDA_III-latest.xml"})
+	public String file;
+
+	private final List<String> roots = new ArrayList<>();
+	private final List<String> extensions = new ArrayList<>();
+	private Context context;
+	private Registry<QrdaDecoder> decoders;
+	private TemplateIdDispatch dispatch;
+
+	@Setup
+	public void setup() throws IOException {
+		Element document;
+		try (InputStream input = Files.newInputStream(Paths.get(file))) {
+			document = XmlUtils.parseXmlStream(input);
+		}
+
+		for (Element templateId : document.getDescendants(Filters.element("templateId", document.getNamespace()))) {
+			roots.add(templateId.getAttributeValue("root"));
+			extensions.add(templateId.getAttributeValue("extension"));
+		}
+
+		context = new Context();
+		decoders = context.getRegistry(Decoder.class);
+		dispatch = new TemplateIdDispatch(context, decoders, null);
+	}
+
+	@Benchmark
+	public void environmentLookup(Blackhole blackhole) {
+		for (int i = 0; i < roots.size(); i++) {
+			blackhole.consume(decoders.get(TemplateId.getTemplateId(roots.get(i), extensions.get(i), context)));
+			blackhole.consume(decoders.get(TemplateId.getTemplateId(roots.get(i), extensions.get(i), context)));
+			blackhole.consume(TemplateId.getTemplateId(roots.get(i), extensions.get(i), context));
+		}
+	}
+
+	@Benchmark
+	public void dispatchTable(Blackhole blackhole) {
+		for (int i = 0; i < roots.size(); i++) {
+			blackhole.consume(dispatch.getDecoder(dispatch.getTemplateId(roots.get(i), extensions.get(i))));
+		}
+	}
+
+	@Benchmark
+	public TemplateIdDispatch buildDispatchTable() {
+		return new TemplateIdDispatch(new Context(), decoders, null);
+	}
+}
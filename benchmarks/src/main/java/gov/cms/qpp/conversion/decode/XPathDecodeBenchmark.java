@@ -0,0 +1,109 @@
+package gov.cms.qpp.conversion.decode;
+
+import org.jdom2.Element;
+import org.jdom2.Namespace;
+import org.jdom2.filter.Filters;
+import org.jdom2.xpath.XPathExpression;
+import org.jdom2.xpath.XPathFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import gov.cms.qpp.conversion.Context;
+import gov.cms.qpp.conversion.correlation.PathCorrelator;
+import gov.cms.qpp.conversion.model.Node;
+import gov.cms.qpp.conversion.model.TemplateId;
+import gov.cms.qpp.conversion.xml.XmlUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares per document xpath evaluation when expressions are compiled for every decoded element (the behavior
+ * prior to {@link XPathExpressionCache}) against evaluation of cached expressions, alongside a full decode.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class XPathDecodeBenchmark {
+
+	private static final Namespace XPATH_NS = Namespace.getNamespace("ns", XPathExpressionCache.QRDA_NAMESPACE_URI);
+
+	@Param({"../qrda-files/valid-QRDA-III-latest.xml", "../qrda-files/ComprehensivePrimaryCare_Sample_QRDA_III-latest.xml"})
+	public String file;
+
+	private Element document;
+	private final Map<TemplateId, List<String>> correlatedAttributes = new EnumMap<>(TemplateId.class);
+	private final List<Element> decodedElements = new ArrayList<>();
+	private final List<TemplateId> decodedTemplates = new ArrayList<>();
+
+	@Setup
+	public void setup() throws IOException {
+		try (InputStream input = Files.newInputStream(Paths.get(file))) {
+			document = XmlUtils.parseXmlStream(input);
+		}
+
+		PathCorrelator.getCorrelationKeys().forEach(key -> {
+			String[] parts = key.split(PathCorrelator.KEY_DELIMITER, 2);
+			correlatedAttributes.computeIfAbsent(TemplateId.valueOf(parts[0]), ignore -> new ArrayList<>()).add(parts[1]);
+		});
+
+		Context context = new Context();
+		for (Element templateId : document.getDescendants(Filters.element("templateId", document.getNamespace()))) {
+			TemplateId template = TemplateId.getTemplateId(
+					templateId.getAttributeValue("root"), templateId.getAttributeValue("extension"), context);
+			if (correlatedAttributes.containsKey(template)) {
+				decodedElements.add(templateId.getParentElement());
+				decodedTemplates.add(template);
+			}
+		}
+	}
+
+	@Benchmark
+	public void compilePerElement(Blackhole blackhole) {
+		for (int i = 0; i < decodedElements.size(); i++) {
+			TemplateId template = decodedTemplates.get(i);
+			for (String attribute : correlatedAttributes.get(template)) {
+				String xpath = PathCorrelator.getXpath(template.name(), attribute, XPathExpressionCache.QRDA_NAMESPACE_URI);
+				XPathExpression<?> expression = XPathFactory.instance().compile(xpath, Filters.attribute(), null, XPATH_NS);
+				blackhole.consume(expression.evaluate(decodedElements.get(i)));
+			}
+		}
+	}
+
+	@Benchmark
+	public void cachedPerElement(Blackhole blackhole) {
+		for (int i = 0; i < decodedElements.size(); i++) {
+			TemplateId template = decodedTemplates.get(i);
+			for (String attribute : correlatedAttributes.get(template)) {
+				XPathExpression<?> expression = XPathExpressionCache.get(
+						template.name(), attribute, XPathExpressionCache.QRDA_NAMESPACE_URI, Filters.attribute());
+				blackhole.consume(expression.evaluate(decodedElements.get(i)));
+			}
+		}
+	}
+
+	@Benchmark
+	public Node decodeDocument() {
+		return new QrdaDecoderEngine(new Context()).decode(document);
+	}
+}
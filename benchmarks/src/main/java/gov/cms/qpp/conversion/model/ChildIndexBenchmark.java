@@ -0,0 +1,125 @@
+package gov.cms.qpp.conversion.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares looking up the measure data of each stratum of a synthetic measure by scanning its children, as the quality
+ * measure validators and encoder used to, with looking them up through the measure's child index. Each operation
+ * builds the measure afresh, so the index is built once per operation and its cost is counted.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ChildIndexBenchmark {
+	private static final String MEASURE_TYPE = "type";
+	private static final String MEASURE_POPULATION = "populationId";
+	private static final String[] POPULATIONS = {"IPOP", "DENOM", "DENEX", "DENEXCEP", "NUMER"};
+
+	@Param({"1", "10", "50"})
+	public int strata;
+
+	private final List<String[]> uuids = new ArrayList<>();
+
+	@Setup
+	public void setup() {
+		for (int stratum = 0; stratum < strata; stratum++) {
+			String[] stratumUuids = new String[POPULATIONS.length];
+			for (int population = 0; population < POPULATIONS.length; population++) {
+				stratumUuids[population] = UUID.randomUUID().toString().toUpperCase(Locale.ENGLISH);
+			}
+			uuids.add(stratumUuids);
+		}
+	}
+
+	@Benchmark
+	public void scan(Blackhole blackhole) {
+		Node measure = measure();
+		for (String[] stratumUuids : uuids) {
+			for (int population = 0; population < POPULATIONS.length; population++) {
+				String type = POPULATIONS[population];
+				String uuid = stratumUuids[population];
+				blackhole.consume(measure.getChildNodes(child -> TemplateId.MEASURE_DATA_CMS_V2 == child.getType()
+						&& type.equals(child.getValue(MEASURE_TYPE))).count());
+				blackhole.consume(measure.findChildNode(child -> TemplateId.MEASURE_DATA_CMS_V2 == child.getType()
+						&& type.equals(child.getValue(MEASURE_TYPE))
+						&& uuid.equalsIgnoreCase(child.getValue(MEASURE_POPULATION))));
+			}
+		}
+	}
+
+	@Benchmark
+	public void index(Blackhole blackhole) {
+		Node measure = measure();
+		for (String[] stratumUuids : uuids) {
+			for (int population = 0; population < POPULATIONS.length; population++) {
+				String type = POPULATIONS[population];
+				String uuid = stratumUuids[population];
+				blackhole.consume(measure.getChildNodesWithValue(MEASURE_TYPE, type).stream()
+						.filter(child -> TemplateId.MEASURE_DATA_CMS_V2 == child.getType()
+								&& type.equals(child.getValue(MEASURE_TYPE)))
+						.count());
+				blackhole.consume(measure.getChildNodesWithValue(MEASURE_POPULATION, uuid).stream()
+						.filter(child -> TemplateId.MEASURE_DATA_CMS_V2 == child.getType()
+								&& type.equals(child.getValue(MEASURE_TYPE)))
+						.findFirst()
+						.orElse(null));
+			}
+		}
+	}
+
+	private Node measure() {
+		Node measure = new Node(TemplateId.MEASURE_REFERENCE_RESULTS_CMS_V2);
+		for (String[] stratumUuids : uuids) {
+			for (int population = 0; population < POPULATIONS.length; population++) {
+				Node measureData = new Node(TemplateId.MEASURE_DATA_CMS_V2, measure);
+				measureData.putValue(MEASURE_TYPE, POPULATIONS[population]);
+				measureData.putValue(MEASURE_POPULATION, stratumUuids[population]);
+				Node aggregateCount = new Node(TemplateId.PI_AGGREGATE_COUNT, measureData);
+				aggregateCount.putValue("aggregateCount", "100");
+				measureData.addChildNode(aggregateCount);
+				measure.addChildNode(measureData);
+			}
+		}
+		return measure;
+	}
+
+	/**
+	 * Runs every benchmark with the GC profiler.
+	 *
+	 * @param args optionally, the file to write the JSON results to
+	 * @throws RunnerException if a benchmark fails
+	 */
+	public static void main(String... args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(ChildIndexBenchmark.class.getSimpleName())
+				.addProfiler(GCProfiler.class)
+				.resultFormat(ResultFormatType.JSON)
+				.result(args.length > 0 ? args[0] : "target/jmh-child-index.json")
+				.build()).run();
+	}
+}
@@ -0,0 +1,115 @@
+package gov.cms.qpp.conversion.model.validation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import org.reflections.util.ClasspathHelper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times loading measure data in a fresh JVM, which is what every command line conversion pays, comparing parsing the
+ * json with reading the form compiled at build time. Run through {@link #main(String...)}, it also reports the heap
+ * each form retains once loaded.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(10)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+public class MeasureDataLoadBenchmark {
+	private static final String JSON = "json";
+	private static final String COMPILED = "compiled";
+	private static final int COPIES = 8;
+
+	@Param({JSON, COMPILED})
+	public String format;
+
+	@Param({MeasureConfigs.DEFAULT_MEASURE_DATA_FILE_NAME, MeasureConfigs.MEASURE_DATA_2017_FILE_NAME})
+	public String file;
+
+	@Benchmark
+	public List<MeasureConfig> coldLoad() {
+		return load(format, file);
+	}
+
+	private static List<MeasureConfig> load(String format, String file) {
+		if (COMPILED.equals(format)) {
+			List<MeasureConfig> compiled = CompiledMeasureData.read(file);
+			if (compiled == null) {
+				throw new IllegalStateException(file + " has not been compiled");
+			}
+			return compiled;
+		}
+		try (InputStream input = ClasspathHelper.contextClassLoader().getResourceAsStream(file)) {
+			return MeasureConfigs.parseConfiguration(input);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * The heap that loading measure data retains, averaged over several loads held at once
+	 *
+	 * @param format json or compiled
+	 * @param file the measure data resource
+	 * @return the growth of the heap in use, after collecting garbage, per load held
+	 */
+	static long retainedBytes(String format, String file) {
+		load(format, file);
+		List<List<MeasureConfig>> loaded = new ArrayList<>(COPIES);
+		long before = usedHeap();
+		for (int copy = 0; copy < COPIES; copy++) {
+			loaded.add(load(format, file));
+		}
+		long after = usedHeap();
+		return (after - before) / loaded.size();
+	}
+
+	private static long usedHeap() {
+		for (int collection = 0; collection < 3; collection++) {
+			System.gc();
+		}
+		return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+	}
+
+	/**
+	 * Runs every benchmark, then reports the heap each form of the measure data retains.
+	 *
+	 * @param args optionally, the file to write the JSON results to
+	 * @throws RunnerException if a benchmark fails
+	 */
+	public static void main(String... args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(MeasureDataLoadBenchmark.class.getSimpleName())
+				.resultFormat(ResultFormatType.JSON)
+				.result(args.length > 0 ? args[0] : "target/jmh-measure-data-load.json")
+				.build()).run();
+
+		for (String file : new String[] {MeasureConfigs.DEFAULT_MEASURE_DATA_FILE_NAME,
+				MeasureConfigs.MEASURE_DATA_2017_FILE_NAME}) {
+			for (String format : new String[] {JSON, COMPILED}) {
+				System.out.printf("%s as %s retains %d KB%n", file, format, retainedBytes(format, file) / 1024);
+			}
+		}
+	}
+}
@@ -0,0 +1,78 @@
+package gov.cms.qpp.conversion.validate;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import gov.cms.qpp.conversion.Context;
+import gov.cms.qpp.conversion.decode.XmlDecoderEngine;
+import gov.cms.qpp.conversion.model.Node;
+import gov.cms.qpp.conversion.model.error.ValidationResult;
+import gov.cms.qpp.conversion.xml.XmlUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares validating a decoded document on one thread against validating its sibling subtrees in parallel.
+ * Validation marks the nodes it visits, so every invocation validates a freshly decoded document.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ParallelValidationBenchmark {
+
+	@Param({"../qrda-files/ComprehensivePrimaryCare_Sample_QRDA_III-latest.xml", "../qrda-files/valid-QRDA-III-latest.xml"})
+	public String file;
+
+	@Param({"false", "true"})
+	public boolean parallelValidation;
+
+	private byte[] content;
+	private Context context;
+	private Node decoded;
+
+	@Setup
+	public void setup() throws IOException {
+		content = Files.readAllBytes(Paths.get(file));
+	}
+
+	@Setup(Level.Invocation)
+	public void decode() {
+		context = new Context();
+		context.setParallelValidation(parallelValidation);
+		decoded = XmlDecoderEngine.decodeXml(context, XmlUtils.parseXmlStream(new ByteArrayInputStream(content)));
+	}
+
+	@Benchmark
+	public ValidationResult validate() {
+		return new QrdaValidator(context).validate(decoded);
+	}
+
+	public static void main(String... args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(ParallelValidationBenchmark.class.getSimpleName())
+				.resultFormat(ResultFormatType.JSON)
+				.result(args.length > 0 ? args[0] : "target/jmh-parallel-validation.json")
+				.build()).run();
+	}
+}
@@ -10,6 +10,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.Writer;
 import java.nio.file.FileSystem;
 import java.nio.file.Files;
@@ -80,9 +81,8 @@ public class ConversionFileWriterWrapper {
 	 * @param outFile The location to write.
 	 */
 	private void writeOutQpp(JsonWrapper jsonWrapper, Path outFile) {
-		try (Writer writer = Files.newBufferedWriter(outFile)) {
-			writer.write(jsonWrapper.copyWithoutMetadata().toString());
-			writer.flush();
+		try (OutputStream output = Files.newOutputStream(outFile)) {
+			jsonWrapper.writeTo(output);
 		} catch (IOException exception) {
 			DEV_LOG.error("Could not write out QPP JSON to file " + outFile, exception);
 		}
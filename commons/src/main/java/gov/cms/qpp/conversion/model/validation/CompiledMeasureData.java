@@ -0,0 +1,437 @@
+package gov.cms.qpp.conversion.model.validation;
+
+import org.apache.commons.io.IOUtils;
+import org.reflections.util.ClasspathHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.zip.CRC32;
+
+/**
+ * Measure data compiled into a binary form that loads without parsing json: a table of the distinct strings in the
+ * data, followed by fixed size records for the measures, their strata and their sub populations, which refer to
+ * strings and to each other by position. Strings are decoded once, the first time a record refers to them, and shared
+ * by every record that does.
+ *
+ * <p>The build compiles each measure data json resource into a resource of the same name with a {@value #EXTENSION}
+ * extension. A compiled resource records the size and checksum of the json it was compiled from, and is only used
+ * while the json still matches them.
+ */
+public final class CompiledMeasureData {
+	private static final Logger DEV_LOG = LoggerFactory.getLogger(CompiledMeasureData.class);
+
+	public static final String EXTENSION = ".bin";
+	private static final String JSON_EXTENSION = ".json";
+
+	private static final int MAGIC = 0x51505044;
+	private static final int FORMAT_VERSION = 1;
+	private static final int NONE = -1;
+	private static final int HEADER = 10 * Integer.BYTES;
+	private static final int MEASURE_RECORD = 15 * Integer.BYTES;
+	private static final int STRATUM_RECORD = 2 * Integer.BYTES;
+	private static final int SUB_POPULATION_RECORD = 7 * Integer.BYTES;
+	private static final int IS_REQUIRED = 1;
+	private static final int IS_BONUS = 2;
+
+	private CompiledMeasureData() {
+		//empty and private constructor because this is a utility class
+	}
+
+	/**
+	 * Compiles measure data json files, each into a file of the same name with a {@value #EXTENSION} extension. Run
+	 * by the build over the measure data resources.
+	 *
+	 * @param jsonFiles the measure data files
+	 * @throws IOException if a file cannot be read or written
+	 */
+	public static void main(String... jsonFiles) throws IOException {
+		for (String jsonFile : jsonFiles) {
+			Path json = Paths.get(jsonFile);
+			if (Files.exists(json)) {
+				compile(json, Paths.get(compiledName(jsonFile)));
+			} else {
+				DEV_LOG.warn("No measure data to compile at {}", json);
+			}
+		}
+	}
+
+	/**
+	 * Compiles a measure data json file.
+	 *
+	 * @param json the measure data
+	 * @param compiled where the compiled measure data is written
+	 * @throws IOException if a file cannot be read or written
+	 */
+	static void compile(Path json, Path compiled) throws IOException {
+		byte[] source = Files.readAllBytes(json);
+		List<MeasureConfig> configurations = MeasureConfigs.parseConfiguration(new ByteArrayInputStream(source));
+		try (OutputStream output = Files.newOutputStream(compiled)) {
+			write(configurations, source.length, crc(source), output);
+		}
+		DEV_LOG.info("Compiled {} measure configurations from {} into {}", configurations.size(), json, compiled);
+	}
+
+	/**
+	 * Reads the compiled form of a measure data resource, memory mapping it when it is a file.
+	 *
+	 * @param fileName name of the measure data json resource
+	 * @return the measure configurations, in the order of the json, or null if there is no compiled form that matches
+	 * the json
+	 */
+	static List<MeasureConfig> read(String fileName) {
+		if (!fileName.endsWith(JSON_EXTENSION)) {
+			return null;
+		}
+		ClassLoader classLoader = ClasspathHelper.contextClassLoader();
+		URL compiled = classLoader.getResource(compiledName(fileName));
+		if (compiled == null) {
+			return null;
+		}
+
+		try {
+			ByteBuffer buffer = map(compiled);
+			URL json = classLoader.getResource(fileName);
+			if (json != null && !compiledFrom(buffer, json)) {
+				DEV_LOG.warn("Compiled measure data {} is out of date, reading {} instead", compiled, fileName);
+				return null;
+			}
+			return decode(buffer);
+		} catch (IOException | URISyntaxException | RuntimeException e) {
+			DEV_LOG.warn("Could not read compiled measure data {}, reading {} instead", compiled, fileName, e);
+			return null;
+		}
+	}
+
+	/**
+	 * Reads a compiled measure data file, memory mapping it.
+	 *
+	 * @param compiled the compiled measure data
+	 * @return the measure configurations, in the order of the json they were compiled from
+	 * @throws IOException if the file cannot be read or is not compiled measure data
+	 */
+	static List<MeasureConfig> read(Path compiled) throws IOException {
+		try {
+			return decode(map(compiled));
+		} catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+			throw new IOException(compiled + " is not compiled measure data", e);
+		}
+	}
+
+	static String compiledName(String jsonName) {
+		String name = jsonName.endsWith(JSON_EXTENSION)
+				? jsonName.substring(0, jsonName.length() - JSON_EXTENSION.length())
+				: jsonName;
+		return name + EXTENSION;
+	}
+
+	/**
+	 * Writes compiled measure data.
+	 *
+	 * @param configurations the measure configurations
+	 * @param sourceSize the size of the json they were read from
+	 * @param sourceCrc the checksum of the json they were read from
+	 * @param output where the compiled measure data is written
+	 * @throws IOException if the output cannot be written
+	 */
+	static void write(List<MeasureConfig> configurations, long sourceSize, long sourceCrc, OutputStream output)
+			throws IOException {
+		Map<String, Integer> strings = new LinkedHashMap<>();
+		ByteArrayOutputStream measureBytes = new ByteArrayOutputStream();
+		ByteArrayOutputStream stratumBytes = new ByteArrayOutputStream();
+		ByteArrayOutputStream subPopulationBytes = new ByteArrayOutputStream();
+		ByteArrayOutputStream stratumNameBytes = new ByteArrayOutputStream();
+		DataOutputStream measures = new DataOutputStream(measureBytes);
+		DataOutputStream strata = new DataOutputStream(stratumBytes);
+		DataOutputStream subPopulations = new DataOutputStream(subPopulationBytes);
+		DataOutputStream stratumNames = new DataOutputStream(stratumNameBytes);
+		int stratumCount = 0;
+		int subPopulationCount = 0;
+		int stratumNameCount = 0;
+
+		for (MeasureConfig config : configurations) {
+			for (String value : new String[] {config.getCategory(), config.getMetricType(), config.getMeasureId(),
+					config.getTitle(), config.getDescription(), config.getMeasureSet(), config.getObjective(),
+					config.getElectronicMeasureId(), config.getElectronicMeasureVerUuid(), config.getCpcPlusGroup()}) {
+				measures.writeInt(ref(strings, value));
+			}
+			measures.writeInt(config.getFirstPerformanceYear());
+			measures.writeInt(config.getLastPerformanceYear());
+			measures.writeInt((config.isRequired() ? IS_REQUIRED : 0) | (config.isBonus() ? IS_BONUS : 0));
+
+			List<Strata> configStrata = config.getStrata();
+			measures.writeInt(stratumCount);
+			measures.writeInt(configStrata == null ? NONE : configStrata.size());
+			if (configStrata == null) {
+				continue;
+			}
+			for (Strata stratum : configStrata) {
+				stratumCount++;
+				strata.writeInt(ref(strings, stratum.getName()));
+				SubPopulation subPopulation = stratum.getElectronicMeasureUuids();
+				if (subPopulation == null) {
+					strata.writeInt(NONE);
+					continue;
+				}
+				strata.writeInt(subPopulationCount++);
+				for (String value : new String[] {subPopulation.getInitialPopulationUuid(),
+						subPopulation.getDenominatorUuid(), subPopulation.getDenominatorExclusionsUuid(),
+						subPopulation.getNumeratorUuid(), subPopulation.getDenominatorExceptionsUuid()}) {
+					subPopulations.writeInt(ref(strings, value));
+				}
+				List<String> names = subPopulation.getStrata();
+				subPopulations.writeInt(stratumNameCount);
+				subPopulations.writeInt(names == null ? NONE : names.size());
+				if (names != null) {
+					for (String name : names) {
+						stratumNames.writeInt(ref(strings, name));
+						stratumNameCount++;
+					}
+				}
+			}
+		}
+
+		DataOutputStream data = new DataOutputStream(output);
+		data.writeInt(MAGIC);
+		data.writeInt(FORMAT_VERSION);
+		data.writeLong(sourceSize);
+		data.writeInt((int) sourceCrc);
+		data.writeInt(strings.size());
+		data.writeInt(configurations.size());
+		data.writeInt(stratumCount);
+		data.writeInt(subPopulationCount);
+		data.writeInt(stratumNameCount);
+
+		List<byte[]> encoded = new ArrayList<>(strings.size());
+		int offset = 0;
+		data.writeInt(offset);
+		for (String value : strings.keySet()) {
+			byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+			encoded.add(bytes);
+			offset += bytes.length;
+			data.writeInt(offset);
+		}
+		for (byte[] bytes : encoded) {
+			data.write(bytes);
+		}
+		measureBytes.writeTo(data);
+		stratumBytes.writeTo(data);
+		subPopulationBytes.writeTo(data);
+		stratumNameBytes.writeTo(data);
+		data.flush();
+	}
+
+	private static int ref(Map<String, Integer> strings, String value) {
+		return value == null ? NONE : strings.computeIfAbsent(value, ignore -> strings.size());
+	}
+
+	/**
+	 * Decodes compiled measure data.
+	 *
+	 * @param buffer the compiled measure data
+	 * @return the measure configurations
+	 * @throws IllegalArgumentException if the buffer does not hold compiled measure data of this format
+	 */
+	static List<MeasureConfig> decode(ByteBuffer buffer) {
+		return new Decoder(buffer).measures();
+	}
+
+	private static boolean compiledFrom(ByteBuffer buffer, URL json) throws IOException {
+		checkHeader(buffer);
+		long size = buffer.getLong(2 * Integer.BYTES);
+		int crc = buffer.getInt(2 * Integer.BYTES + Long.BYTES);
+
+		URLConnection connection = json.openConnection();
+		if (connection instanceof JarURLConnection) {
+			JarEntry entry = ((JarURLConnection) connection).getJarEntry();
+			if (entry.getSize() != -1 && entry.getCrc() != -1) {
+				return entry.getSize() == size && (int) entry.getCrc() == crc;
+			}
+		}
+		try (InputStream input = connection.getInputStream()) {
+			byte[] source = IOUtils.toByteArray(input);
+			return source.length == size && (int) crc(source) == crc;
+		}
+	}
+
+	private static void checkHeader(ByteBuffer buffer) {
+		if (buffer.getInt(0) != MAGIC || buffer.getInt(Integer.BYTES) != FORMAT_VERSION) {
+			throw new IllegalArgumentException("Not compiled measure data of format version " + FORMAT_VERSION);
+		}
+	}
+
+	private static long crc(byte[] source) {
+		CRC32 crc = new CRC32();
+		crc.update(source);
+		return crc.getValue();
+	}
+
+	private static ByteBuffer map(URL compiled) throws IOException, URISyntaxException {
+		if ("file".equals(compiled.getProtocol())) {
+			return map(Paths.get(compiled.toURI()));
+		}
+		try (InputStream input = compiled.openStream()) {
+			return ByteBuffer.wrap(IOUtils.toByteArray(input));
+		}
+	}
+
+	private static ByteBuffer map(Path compiled) throws IOException {
+		try (FileChannel channel = FileChannel.open(compiled, StandardOpenOption.READ)) {
+			return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+	}
+
+	/**
+	 * Reads the records of compiled measure data, decoding each string once.
+	 */
+	private static final class Decoder {
+		private final ByteBuffer buffer;
+		private final String[] strings;
+		private final int stringOffsets;
+		private final int stringData;
+		private final int measures;
+		private final int measureCount;
+		private final int strata;
+		private final int subPopulations;
+		private final int stratumNames;
+
+		Decoder(ByteBuffer buffer) {
+			checkHeader(buffer);
+			this.buffer = buffer;
+			int stringCount = buffer.getInt(HEADER - 5 * Integer.BYTES);
+			measureCount = buffer.getInt(HEADER - 4 * Integer.BYTES);
+			int stratumCount = buffer.getInt(HEADER - 3 * Integer.BYTES);
+			int subPopulationCount = buffer.getInt(HEADER - 2 * Integer.BYTES);
+			int stratumNameCount = buffer.getInt(HEADER - Integer.BYTES);
+
+			strings = new String[stringCount];
+			stringOffsets = HEADER;
+			stringData = stringOffsets + (stringCount + 1) * Integer.BYTES;
+			measures = stringData + buffer.getInt(stringOffsets + stringCount * Integer.BYTES);
+			strata = measures + measureCount * MEASURE_RECORD;
+			subPopulations = strata + stratumCount * STRATUM_RECORD;
+			stratumNames = subPopulations + subPopulationCount * SUB_POPULATION_RECORD;
+			if (stratumNames + stratumNameCount * Integer.BYTES != buffer.limit()) {
+				throw new IllegalArgumentException("Compiled measure data is truncated");
+			}
+		}
+
+		List<MeasureConfig> measures() {
+			List<MeasureConfig> configurations = new ArrayList<>(measureCount);
+			for (int index = 0; index < measureCount; index++) {
+				configurations.add(measure(measures + index * MEASURE_RECORD));
+			}
+			return configurations;
+		}
+
+		private MeasureConfig measure(int record) {
+			MeasureConfig config = new MeasureConfig();
+			config.setCategory(string(record, 0));
+			config.setMetricType(string(record, 1));
+			config.setMeasureId(string(record, 2));
+			config.setTitle(string(record, 3));
+			config.setDescription(string(record, 4));
+			config.setMeasureSet(string(record, 5));
+			config.setObjective(string(record, 6));
+			config.setElectronicMeasureId(string(record, 7));
+			config.setElectronicMeasureVerUuid(string(record, 8));
+			config.setCpcPlusGroup(string(record, 9));
+			config.setFirstPerformanceYear(field(record, 10));
+			config.setLastPerformanceYear(field(record, 11));
+			int flags = field(record, 12);
+			config.setIsRequired((flags & IS_REQUIRED) != 0);
+			config.setIsBonus((flags & IS_BONUS) != 0);
+
+			int count = field(record, 14);
+			if (count != NONE) {
+				int first = field(record, 13);
+				List<Strata> configStrata = new ArrayList<>(count);
+				for (int index = first; index < first + count; index++) {
+					configStrata.add(stratum(strata + index * STRATUM_RECORD));
+				}
+				config.setStrata(configStrata);
+			}
+			return config;
+		}
+
+		private Strata stratum(int record) {
+			Strata stratum = new Strata();
+			stratum.setName(string(record, 0));
+			int subPopulation = field(record, 1);
+			if (subPopulation != NONE) {
+				stratum.setElectronicMeasureUuids(subPopulation(subPopulations + subPopulation * SUB_POPULATION_RECORD));
+			}
+			return stratum;
+		}
+
+		private SubPopulation subPopulation(int record) {
+			SubPopulation subPopulation = new SubPopulation();
+			subPopulation.setInitialPopulationUuid(string(record, 0));
+			subPopulation.setDenominatorUuid(string(record, 1));
+			subPopulation.setDenominatorExclusionsUuid(string(record, 2));
+			subPopulation.setNumeratorUuid(string(record, 3));
+			subPopulation.setDenominatorExceptionsUuid(string(record, 4));
+
+			int count = field(record, 6);
+			if (count == NONE) {
+				subPopulation.setStrata(null);
+			} else {
+				int first = field(record, 5);
+				List<String> names = new ArrayList<>(count);
+				for (int index = first; index < first + count; index++) {
+					names.add(string(buffer.getInt(stratumNames + index * Integer.BYTES)));
+				}
+				subPopulation.setStrata(names);
+			}
+			return subPopulation;
+		}
+
+		private int field(int record, int field) {
+			return buffer.getInt(record + field * Integer.BYTES);
+		}
+
+		private String string(int record, int field) {
+			return string(field(record, field));
+		}
+
+		private String string(int ref) {
+			if (ref == NONE) {
+				return null;
+			}
+			String value = strings[ref];
+			if (value == null) {
+				int start = buffer.getInt(stringOffsets + ref * Integer.BYTES);
+				int end = buffer.getInt(stringOffsets + (ref + 1) * Integer.BYTES);
+				byte[] bytes = new byte[end - start];
+				ByteBuffer view = buffer.duplicate();
+				view.position(stringData + start);
+				view.get(bytes);
+				value = new String(bytes, StandardCharsets.UTF_8);
+				strings[ref] = value;
+			}
+			return value;
+		}
+	}
+}
@@ -0,0 +1,243 @@
+package gov.cms.qpp.conversion.model.validation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Lookups over a set of measure configurations, computed once when the configurations are loaded so that encoders and
+ * validators do not rebuild or scan them for every measure they process. Instances never change.
+ */
+public final class MeasureConfigIndex {
+	private final Map<String, MeasureConfig> configurationMap;
+	private final Map<MeasureConfig, MeasureEntry> measures = new IdentityHashMap<>();
+	private final Map<String, List<String>> requiredMeasures;
+	private final Map<String, List<MeasureConfig>> cpcPlusGroups;
+	private final Map<String, List<String>> cpcPlusGroupMeasureIds;
+	private final List<String> cpcPlusMeasureIds;
+
+	/**
+	 * Indexes measure configurations.
+	 *
+	 * @param configurationMap measure configurations keyed by lower case measure id
+	 */
+	MeasureConfigIndex(Map<String, MeasureConfig> configurationMap) {
+		this.configurationMap = Collections.unmodifiableMap(configurationMap);
+
+		Map<String, List<String>> required = new HashMap<>();
+		Map<String, List<MeasureConfig>> groups = new HashMap<>();
+		for (Map.Entry<String, MeasureConfig> measure : configurationMap.entrySet()) {
+			MeasureConfig config = measure.getValue();
+			measures.put(config, new MeasureEntry(config));
+			if (config.isRequired() && config.getCategory() != null) {
+				required.computeIfAbsent(config.getCategory(), ignore -> new ArrayList<>()).add(measure.getKey());
+			}
+			if (config.getCpcPlusGroup() != null) {
+				groups.computeIfAbsent(config.getCpcPlusGroup(), ignore -> new ArrayList<>()).add(config);
+			}
+		}
+		required.replaceAll((section, ids) -> Collections.unmodifiableList(ids));
+		groups.replaceAll((group, configs) -> Collections.unmodifiableList(configs));
+		this.requiredMeasures = Collections.unmodifiableMap(required);
+		this.cpcPlusGroups = Collections.unmodifiableMap(groups);
+		this.cpcPlusGroupMeasureIds = Collections.unmodifiableMap(groups.entrySet().stream()
+				.collect(Collectors.toMap(Map.Entry::getKey, group -> electronicMeasureVerUuids(group.getValue()))));
+		this.cpcPlusMeasureIds = electronicMeasureVerUuids(groups.values().stream()
+				.flatMap(List::stream)
+				.collect(Collectors.toList()));
+	}
+
+	/**
+	 * Retrieves a mapping of the configurations
+	 *
+	 * @return unmodifiable measure configurations keyed by lower case measure id
+	 */
+	public Map<String, MeasureConfig> getConfigurationMap() {
+		return configurationMap;
+	}
+
+	/**
+	 * Finds the configuration of a measure, ignoring the case of its id
+	 *
+	 * @param measureId guid, electronic measure id or measure id
+	 * @return the configuration, or null if there is none
+	 */
+	public MeasureConfig getMeasureConfig(String measureId) {
+		if (measureId == null) {
+			return null;
+		}
+		MeasureConfig config = configurationMap.get(measureId);
+		return config != null ? config : configurationMap.get(measureId.toLowerCase(Locale.US));
+	}
+
+	/**
+	 * Retrieves the sub populations of a measure
+	 *
+	 * @param measureConfig the measure
+	 * @return unmodifiable sub populations, as {@link MeasureConfig#getSubPopulation()} lists them
+	 */
+	public List<SubPopulation> getSubPopulations(MeasureConfig measureConfig) {
+		return entry(measureConfig).subPopulations;
+	}
+
+	/**
+	 * Finds the sub population of a measure that a population belongs to. Should several sub populations share the
+	 * population, the last of them is found.
+	 *
+	 * @param measureConfig the measure
+	 * @param populationUuid the population UUID, as it appears in the configuration
+	 * @return the population, or null if it is not one of the measure's
+	 */
+	public Population getPopulation(MeasureConfig measureConfig, String populationUuid) {
+		return entry(measureConfig).populations.get(populationUuid);
+	}
+
+	/**
+	 * Finds the name of the stratum of a measure that holds a numerator.
+	 *
+	 * @param measureConfig the measure
+	 * @param numeratorUuid the numerator UUID, as it appears in the configuration
+	 * @return the name of the first stratum holding the numerator, or null if there is none
+	 */
+	public String getStratum(MeasureConfig measureConfig, String numeratorUuid) {
+		return entry(measureConfig).strata.get(numeratorUuid);
+	}
+
+	/**
+	 * Retrieves the measures required for a section
+	 *
+	 * @param section the category of the section
+	 * @return unmodifiable lower case ids of the required measures
+	 */
+	public List<String> getRequiredMeasures(String section) {
+		return requiredMeasures.getOrDefault(section, Collections.emptyList());
+	}
+
+	/**
+	 * Retrieves a mapping of CPC+ measure groups
+	 *
+	 * @return unmodifiable CPC+ measure groups
+	 */
+	public Map<String, List<MeasureConfig>> getCpcPlusGroups() {
+		return cpcPlusGroups;
+	}
+
+	/**
+	 * Retrieves the guids of the measures in a CPC+ measure group
+	 *
+	 * @param group name of the group
+	 * @return unmodifiable guids, or null if there is no such group
+	 */
+	public List<String> getCpcPlusGroupMeasureIds(String group) {
+		return cpcPlusGroupMeasureIds.get(group);
+	}
+
+	/**
+	 * Retrieves the guids of the measures in every CPC+ measure group
+	 *
+	 * @return unmodifiable guids
+	 */
+	public List<String> getCpcPlusMeasureIds() {
+		return cpcPlusMeasureIds;
+	}
+
+	private MeasureEntry entry(MeasureConfig measureConfig) {
+		MeasureEntry entry = measures.get(measureConfig);
+		return entry != null ? entry : new MeasureEntry(measureConfig);
+	}
+
+	private static List<String> electronicMeasureVerUuids(List<MeasureConfig> configs) {
+		return Collections.unmodifiableList(configs.stream()
+				.map(MeasureConfig::getElectronicMeasureVerUuid)
+				.collect(Collectors.toList()));
+	}
+
+	/**
+	 * A population of a measure: the sub population it belongs to and the label it has there.
+	 */
+	public static final class Population {
+		private final int subPopulationIndex;
+		private final SubPopulation subPopulation;
+		private final SubPopulationLabel label;
+
+		Population(int subPopulationIndex, SubPopulation subPopulation, SubPopulationLabel label) {
+			this.subPopulationIndex = subPopulationIndex;
+			this.subPopulation = subPopulation;
+			this.label = label;
+		}
+
+		/**
+		 * The position of the sub population within {@link MeasureConfig#getSubPopulation()}
+		 *
+		 * @return the position
+		 */
+		public int getSubPopulationIndex() {
+			return subPopulationIndex;
+		}
+
+		public SubPopulation getSubPopulation() {
+			return subPopulation;
+		}
+
+		public SubPopulationLabel getLabel() {
+			return label;
+		}
+	}
+
+	/**
+	 * The populations and strata of one measure.
+	 */
+	private static final class MeasureEntry {
+		private static final Map<SubPopulationLabel, Function<SubPopulation, String>> UUIDS = uuids();
+
+		private final List<SubPopulation> subPopulations;
+		private final Map<String, Population> populations = new HashMap<>();
+		private final Map<String, String> strata = new HashMap<>();
+
+		MeasureEntry(MeasureConfig config) {
+			subPopulations = Collections.unmodifiableList(config.getSubPopulation());
+			for (int index = 0; index < subPopulations.size(); index++) {
+				SubPopulation subPopulation = subPopulations.get(index);
+				if (subPopulation == null) {
+					continue;
+				}
+				for (Map.Entry<SubPopulationLabel, Function<SubPopulation, String>> uuid : UUIDS.entrySet()) {
+					String populationUuid = uuid.getValue().apply(subPopulation);
+					if (populationUuid != null) {
+						populations.put(populationUuid, new Population(index, subPopulation, uuid.getKey()));
+					}
+				}
+			}
+
+			List<Strata> stratas = config.getStrata();
+			if (stratas != null) {
+				for (Strata stratum : stratas) {
+					SubPopulation uuids = stratum.getElectronicMeasureUuids();
+					if (uuids != null && uuids.getNumeratorUuid() != null) {
+						strata.putIfAbsent(uuids.getNumeratorUuid(), stratum.getName());
+					}
+				}
+			}
+		}
+
+		/**
+		 * The UUID of each population label, in the order sub populations have always been indexed by population.
+		 */
+		private static Map<SubPopulationLabel, Function<SubPopulation, String>> uuids() {
+			Map<SubPopulationLabel, Function<SubPopulation, String>> uuids = new LinkedHashMap<>();
+			uuids.put(SubPopulationLabel.DENOM, SubPopulation::getDenominatorUuid);
+			uuids.put(SubPopulationLabel.DENEXCEP, SubPopulation::getDenominatorExceptionsUuid);
+			uuids.put(SubPopulationLabel.DENEX, SubPopulation::getDenominatorExclusionsUuid);
+			uuids.put(SubPopulationLabel.NUMER, SubPopulation::getNumeratorUuid);
+			uuids.put(SubPopulationLabel.IPOP, SubPopulation::getInitialPopulationUuid);
+			return Collections.unmodifiableMap(uuids);
+		}
+	}
+}
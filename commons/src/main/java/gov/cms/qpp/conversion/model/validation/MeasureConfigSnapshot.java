@@ -0,0 +1,123 @@
+package gov.cms.qpp.conversion.model.validation;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Measure configurations as they were loaded at one point in time. A snapshot never changes: reloading the measure
+ * data creates a new snapshot, so a conversion holding on to one sees the same configurations from start to finish.
+ * A snapshot may also carry the configurations of earlier performance years, each loaded from its own file.
+ */
+public final class MeasureConfigSnapshot {
+	private final String source;
+	private final long version;
+	private final MeasureConfigIndex index;
+	private final Map<Integer, MeasureConfigSnapshot> performanceYears;
+
+	/**
+	 * Captures loaded measure configurations.
+	 *
+	 * @param source where the configurations were loaded from
+	 * @param version distinguishes this load from every other
+	 * @param index the loaded configurations
+	 */
+	MeasureConfigSnapshot(String source, long version, MeasureConfigIndex index) {
+		this(source, version, index, Collections.emptyMap());
+	}
+
+	private MeasureConfigSnapshot(String source, long version, MeasureConfigIndex index,
+			Map<Integer, MeasureConfigSnapshot> performanceYears) {
+		this.source = source;
+		this.version = version;
+		this.index = index;
+		this.performanceYears = performanceYears;
+	}
+
+	/**
+	 * Where the configurations were loaded from
+	 *
+	 * @return a classpath resource name, or a file path prefixed with {@code file:}
+	 */
+	public String getSource() {
+		return source;
+	}
+
+	/**
+	 * Distinguishes this load from every other, later loads having higher versions
+	 *
+	 * @return the version
+	 */
+	public long getVersion() {
+		return version;
+	}
+
+	/**
+	 * Retrieves the lookups computed over the configurations when they were loaded
+	 *
+	 * @return the index of the configurations
+	 */
+	public MeasureConfigIndex getIndex() {
+		return index;
+	}
+
+	/**
+	 * The performance years that have configurations of their own
+	 *
+	 * @return unmodifiable performance years, in order
+	 */
+	public Set<Integer> getPerformanceYears() {
+		return performanceYears.keySet();
+	}
+
+	/**
+	 * Finds the configurations for a performance year
+	 *
+	 * @param performanceYear the year, or null if it is not known
+	 * @return the configurations loaded for the year, or these configurations if there are none
+	 */
+	public MeasureConfigSnapshot forPerformanceYear(Integer performanceYear) {
+		if (performanceYear == null) {
+			return this;
+		}
+		return performanceYears.getOrDefault(performanceYear, this);
+	}
+
+	/**
+	 * Identifies the measure data in this snapshot, including that of every performance year, changing whenever any
+	 * of it is loaded again.
+	 *
+	 * @return the sources and versions of the measure data
+	 */
+	public String getIdentity() {
+		StringBuilder identity = new StringBuilder(source).append('#').append(version);
+		for (Map.Entry<Integer, MeasureConfigSnapshot> year : performanceYears.entrySet()) {
+			identity.append(';').append(year.getKey()).append('=').append(year.getValue().getIdentity());
+		}
+		return identity.toString();
+	}
+
+	/**
+	 * Replaces the configurations of this snapshot, keeping those of its performance years.
+	 *
+	 * @param loaded the new configurations
+	 * @return a new snapshot
+	 */
+	MeasureConfigSnapshot withMeasureData(MeasureConfigSnapshot loaded) {
+		return new MeasureConfigSnapshot(loaded.source, loaded.version, loaded.index, performanceYears);
+	}
+
+	/**
+	 * Adds or replaces the configurations of a performance year.
+	 *
+	 * @param performanceYear the year
+	 * @param loaded the configurations for the year
+	 * @return a new snapshot
+	 */
+	MeasureConfigSnapshot withPerformanceYear(int performanceYear, MeasureConfigSnapshot loaded) {
+		Map<Integer, MeasureConfigSnapshot> years = new TreeMap<>(performanceYears);
+		years.put(performanceYear, new MeasureConfigSnapshot(loaded.source, loaded.version, loaded.index));
+		return new MeasureConfigSnapshot(source, version, index, Collections.unmodifiableMap(years));
+	}
+}
@@ -8,28 +8,36 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
+/**
+ * The measure configurations in use. They are held in a {@link MeasureConfigSnapshot} that is swapped for a new one
+ * whenever measure data is loaded, so conversions in flight keep the configurations they started with. The first
+ * load happens when the configurations are first needed, or ahead of time through {@link #preload(Executor, Map)}; either
+ * way, callers wait for it rather than seeing no configurations at all. Measure data resources are read from the
+ * form {@link CompiledMeasureData} compiles them into at build time, falling back to parsing their json.
+ */
 public class MeasureConfigs {
 	private static final Logger DEV_LOG = LoggerFactory.getLogger(MeasureConfigs.class);
 	public static final String DEFAULT_MEASURE_DATA_FILE_NAME = "measures-data.json";
+	public static final String MEASURE_DATA_2017_FILE_NAME = "measure-data-2017.json";
+	private static final String FILE_PREFIX = "file:";
 
-	private static String measureDataFileName = DEFAULT_MEASURE_DATA_FILE_NAME;
-	private static Map<String, MeasureConfig> configurationMap;
-	private static Map<String, List<MeasureConfig>> cpcPlusGroups;
-
-	/**
-	 * Static initialization
-	 */
-	static {
-		initMeasureConfigs();
-	}
+	private static final Object swapLock = new Object();
+	private static final AtomicLong loads = new AtomicLong();
+	private static volatile MeasureConfigSnapshot snapshot;
+	private static volatile CompletableFuture<MeasureConfigSnapshot> preloading;
 
 	/**
 	 * Empty private constructor for singleton
@@ -42,31 +50,184 @@ public class MeasureConfigs {
 	 * Method to ensure MeasureConfigs is initialized
 	 */
 	public static void init() {
-		// Hack to load the class without doing any extra work
+		getSnapshot();
+	}
+
+	/**
+	 * Loads the measure configurations, along with those of any performance years that have measure data of their own,
+	 * without holding up the caller. Anything needing the configurations before the load finishes waits for it. Until
+	 * every performance year is loaded, the configurations are not {@link #isReady() ready}, and they stay that way if
+	 * any of them fails to load.
+	 *
+	 * @param executor runs the load
+	 * @param performanceYears the measure data of each performance year, as for {@link #loadPerformanceYear(int, String)}
+	 * @return the configurations, once loaded
+	 */
+	public static CompletableFuture<MeasureConfigSnapshot> preload(Executor executor, Map<Integer, String> performanceYears) {
+		CompletableFuture<MeasureConfigSnapshot> loading = new CompletableFuture<>();
+		preloading = loading;
+		executor.execute(() -> {
+			try {
+				MeasureConfigSnapshot loaded = getSnapshot();
+				for (Map.Entry<Integer, String> year : performanceYears.entrySet()) {
+					loaded = loadPerformanceYear(year.getKey(), year.getValue());
+				}
+				loading.complete(loaded);
+			} catch (RuntimeException exception) {
+				loading.completeExceptionally(exception);
+			}
+		});
+		return loading;
+	}
+
+	/**
+	 * Whether the measure configurations have been loaded, along with those of every performance year if they were
+	 * {@link #preload(Executor, Map) preloaded}
+	 *
+	 * @return true if retrieving them will not wait for a load, and any preload succeeded
+	 */
+	public static boolean isReady() {
+		CompletableFuture<MeasureConfigSnapshot> loading = preloading;
+		return snapshot != null && (loading == null || (loading.isDone() && !loading.isCompletedExceptionally()));
+	}
+
+	/**
+	 * Drops the measure configurations in use, along with those of every performance year, so the next use loads the
+	 * default measure data again. Conversions already in flight keep the configurations they started with.
+	 */
+	public static void reset() {
+		synchronized (swapLock) {
+			snapshot = null;
+			preloading = null;
+		}
+	}
+
+	/**
+	 * Retrieves the measure configurations in use, loading them first if they have not been
+	 *
+	 * @return the current snapshot
+	 */
+	public static MeasureConfigSnapshot getSnapshot() {
+		MeasureConfigSnapshot current = snapshot;
+		if (current != null) {
+			return current;
+		}
+		synchronized (swapLock) {
+			if (snapshot == null) {
+				snapshot = load(DEFAULT_MEASURE_DATA_FILE_NAME);
+			}
+			return snapshot;
+		}
+	}
+
+	/**
+	 * Loads measure data and swaps it in for the measure configurations in use. Conversions already in flight keep
+	 * the configurations they started with.
+	 *
+	 * @param source a classpath resource name, or a file path prefixed with {@code file:}
+	 * @return the new snapshot
+	 * @throws IllegalArgumentException if the measure data cannot be read, in which case nothing is swapped
+	 */
+	public static MeasureConfigSnapshot reload(String source) {
+		MeasureConfigSnapshot loaded = load(source);
+		synchronized (swapLock) {
+			snapshot = snapshot == null ? loaded : snapshot.withMeasureData(loaded);
+			return snapshot;
+		}
+	}
+
+	/**
+	 * Loads measure data from a file and swaps it in for the measure configurations in use
+	 *
+	 * @param file the measure data, either json or compiled by {@link CompiledMeasureData}
+	 * @return the new snapshot
+	 * @throws IllegalArgumentException if the measure data cannot be read, in which case nothing is swapped
+	 */
+	public static MeasureConfigSnapshot reload(Path file) {
+		return reload(FILE_PREFIX + file.toAbsolutePath());
+	}
+
+	/**
+	 * Loads the measure data of a performance year and swaps it in alongside the measure configurations in use.
+	 * Conversions of documents for that year use it from then on.
+	 *
+	 * @param performanceYear the year
+	 * @param source a classpath resource name, or a file path prefixed with {@code file:}
+	 * @return the new snapshot
+	 * @throws IllegalArgumentException if the measure data cannot be read, in which case nothing is swapped
+	 */
+	public static MeasureConfigSnapshot loadPerformanceYear(int performanceYear, String source) {
+		MeasureConfigSnapshot loaded = load(source);
+		getSnapshot();
+		synchronized (swapLock) {
+			snapshot = snapshot.withPerformanceYear(performanceYear, loaded);
+			return snapshot;
+		}
 	}
 
 	/**
-	 * Initialize all measure configurations
+	 * Reads measure data into a snapshot of its own
 	 */
-	private static void initMeasureConfigs() {
-		configurationMap = grabConfiguration(measureDataFileName);
-		cpcPlusGroups = new HashMap<>();
-		getMeasureConfigs().stream()
-				.filter(config -> config.getCpcPlusGroup() != null)
-				.forEach(config -> cpcPlusGroups.computeIfAbsent(
-						config.getCpcPlusGroup(), key -> new ArrayList<>()).add(config));
+	private static MeasureConfigSnapshot load(String source) {
+		Map<String, MeasureConfig> configurations = source.startsWith(FILE_PREFIX)
+				? grabConfiguration(Paths.get(source.substring(FILE_PREFIX.length())))
+				: grabConfiguration(source);
+		MeasureConfigSnapshot loaded =
+				new MeasureConfigSnapshot(source, loads.incrementAndGet(), new MeasureConfigIndex(configurations));
+		DEV_LOG.info("Loaded {} measure configurations from {}", configurations.size(), source);
+		return loaded;
 	}
 
+	/**
+	 * Reads the measure configurations in a resource, from its compiled form when the build made one
+	 *
+	 * @param fileName name of the measure data json resource
+	 * @return measure configurations keyed by lower case measure id
+	 */
 	public static Map<String, MeasureConfig> grabConfiguration(String fileName) {
-		ObjectMapper mapper = new ObjectMapper();
+		List<MeasureConfig> compiled = CompiledMeasureData.read(fileName);
+		return compiled != null ? toConfigurationMap(compiled) : grabJsonConfiguration(fileName);
+	}
 
+	/**
+	 * Reads the measure configurations in a file, which holds either json or compiled measure data
+	 *
+	 * @param file the measure data
+	 * @return measure configurations keyed by lower case measure id
+	 */
+	public static Map<String, MeasureConfig> grabConfiguration(Path file) {
+		if (file.toString().endsWith(CompiledMeasureData.EXTENSION)) {
+			try {
+				return toConfigurationMap(CompiledMeasureData.read(file));
+			} catch (IOException e) {
+				String message = "failure to correctly read compiled measures config";
+				DEV_LOG.error(message);
+				throw new IllegalArgumentException(message, e);
+			}
+		}
+		try (InputStream measuresInput = Files.newInputStream(file)) {
+			return readConfiguration(measuresInput);
+		} catch (IOException e) {
+			String message = "failure to correctly read measures config json";
+			DEV_LOG.error(message);
+			throw new IllegalArgumentException(message, e);
+		}
+	}
+
+	/**
+	 * Reads the measure configurations in a json resource, ignoring any compiled form
+	 *
+	 * @param fileName name of the measure data json resource
+	 * @return measure configurations keyed by lower case measure id
+	 */
+	static Map<String, MeasureConfig> grabJsonConfiguration(String fileName) {
 		InputStream measuresInput = ClasspathHelper.contextClassLoader().getResourceAsStream(fileName);
+		return readConfiguration(measuresInput);
+	}
 
+	private static Map<String, MeasureConfig> readConfiguration(InputStream measuresInput) {
 		try {
-			TypeReference<List<MeasureConfig>> measureConfigType = new TypeReference<List<MeasureConfig>>() {};
-			List<MeasureConfig> configurations = mapper.readValue(measuresInput, measureConfigType);
-			return configurations.stream()
-					.collect(Collectors.toMap(MeasureConfigs::getMeasureId, Function.identity()));
+			return toConfigurationMap(parseConfiguration(measuresInput));
 		} catch (IOException e) {
 			String message = "failure to correctly read measures config json";
 			DEV_LOG.error(message);
@@ -74,6 +235,24 @@ public class MeasureConfigs {
 		}
 	}
 
+	/**
+	 * Parses measure data json
+	 *
+	 * @param measuresInput the json
+	 * @return the measure configurations, in order
+	 * @throws IOException if the json cannot be read or is not measure data
+	 */
+	static List<MeasureConfig> parseConfiguration(InputStream measuresInput) throws IOException {
+		ObjectMapper mapper = new ObjectMapper();
+		TypeReference<List<MeasureConfig>> measureConfigType = new TypeReference<List<MeasureConfig>>() {};
+		return mapper.readValue(measuresInput, measureConfigType);
+	}
+
+	private static Map<String, MeasureConfig> toConfigurationMap(List<MeasureConfig> configurations) {
+		return configurations.stream()
+				.collect(Collectors.toMap(MeasureConfigs::getMeasureId, Function.identity()));
+	}
+
 	/**
 	 * Finds the first existing guid, electronicMeasureId, or measureId that exists for an aci, ia, or ecqm section
 	 *
@@ -94,13 +273,21 @@ public class MeasureConfigs {
 	}
 
 	/**
-	 * Reconfigures a filename and initializes the measure configurations from that file
+	 * Reconfigures a filename and swaps in the measure configurations from that file
 	 *
 	 * @param fileName Name to be used
 	 */
 	public static void setMeasureDataFile(String fileName) {
-		measureDataFileName = fileName;
-		initMeasureConfigs();
+		reload(fileName);
+	}
+
+	/**
+	 * Identifies the measure data currently loaded, changing whenever the data is loaded again.
+	 *
+	 * @return the measure data sources and versions
+	 */
+	public static String getMeasureDataIdentity() {
+		return getSnapshot().getIdentity();
 	}
 
 	/**
@@ -109,7 +296,7 @@ public class MeasureConfigs {
 	 * @return measure configurations
 	 */
 	public static List<MeasureConfig> getMeasureConfigs() {
-		return new ArrayList<>(configurationMap.values());
+		return new ArrayList<>(getIndex().getConfigurationMap().values());
 	}
 
 	/**
@@ -118,7 +305,16 @@ public class MeasureConfigs {
 	 * @return mapped configurations
 	 */
 	public static Map<String, MeasureConfig> getConfigurationMap() {
-		return configurationMap;
+		return getIndex().getConfigurationMap();
+	}
+
+	/**
+	 * Retrieves the lookups computed over the configurations when they were loaded
+	 *
+	 * @return the index of the loaded configurations
+	 */
+	public static MeasureConfigIndex getIndex() {
+		return getSnapshot().getIndex();
 	}
 
 	/**
@@ -127,7 +323,7 @@ public class MeasureConfigs {
 	 * @return mapped CPC+ measure groups
 	 */
 	public static Map<String, List<MeasureConfig>> getCpcPlusGroups() {
-		return cpcPlusGroups;
+		return getIndex().getCpcPlusGroups();
 	}
 
 	/**
@@ -137,11 +333,7 @@ public class MeasureConfigs {
 	 * @return The list of required measures
 	 */
 	static List<String> requiredMeasuresForSection(String section) {
-
-		return configurationMap.values().stream()
-			.filter(measureConfig -> measureConfig.isRequired() && section.equals(measureConfig.getCategory()))
-			.map(MeasureConfigs::getMeasureId)
-			.collect(Collectors.toList());
+		return getIndex().getRequiredMeasures(section);
 	}
 
 }
@@ -0,0 +1,111 @@
+package gov.cms.qpp.conversion.model.validation;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class CompiledMeasureDataTest {
+
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+
+	private Path directory;
+
+	@BeforeEach
+	void setup() throws IOException {
+		directory = Files.createTempDirectory("compiled-measure-data");
+	}
+
+	@AfterEach
+	void teardown() throws IOException {
+		try (Stream<Path> files = Files.list(directory)) {
+			for (Path file : (Iterable<Path>) files::iterator) {
+				Files.delete(file);
+			}
+		}
+		Files.delete(directory);
+	}
+
+	@Test
+	void testCompiledMeasureDataMatchesJson() throws IOException {
+		for (String fileName : new String[] {MeasureConfigs.DEFAULT_MEASURE_DATA_FILE_NAME,
+				MeasureConfigs.MEASURE_DATA_2017_FILE_NAME}) {
+			List<MeasureConfig> json = parse(fileName);
+
+			List<MeasureConfig> compiled = CompiledMeasureData.read(compile(fileName));
+
+			assertThat(MAPPER.<JsonNode>valueToTree(compiled)).isEqualTo(MAPPER.<JsonNode>valueToTree(json));
+		}
+	}
+
+	@Test
+	void testCompiledMeasureDataSharesStrings() throws IOException {
+		List<MeasureConfig> compiled = CompiledMeasureData.read(compile(MeasureConfigs.DEFAULT_MEASURE_DATA_FILE_NAME));
+
+		List<MeasureConfig> quality = compiled.stream()
+				.filter(config -> "quality".equals(config.getCategory()))
+				.collect(Collectors.toList());
+
+		assertThat(quality.size()).isGreaterThan(1);
+		assertThat(quality.get(1).getCategory()).isSameAs(quality.get(0).getCategory());
+	}
+
+	@Test
+	void testCompiledFileIsLoadable() throws IOException {
+		Path compiled = compile(MeasureConfigs.DEFAULT_MEASURE_DATA_FILE_NAME);
+
+		assertThat(MeasureConfigs.grabConfiguration(compiled).keySet())
+				.isEqualTo(MeasureConfigs.grabJsonConfiguration(MeasureConfigs.DEFAULT_MEASURE_DATA_FILE_NAME).keySet());
+	}
+
+	@Test
+	void testJsonIsNotCompiledMeasureData() throws IOException {
+		Path json = directory.resolve("measures-data.bin");
+		try (InputStream input = resource(MeasureConfigs.DEFAULT_MEASURE_DATA_FILE_NAME)) {
+			Files.copy(input, json);
+		}
+
+		IllegalArgumentException thrown = Assertions.assertThrows(IllegalArgumentException.class, () ->
+				MeasureConfigs.grabConfiguration(json));
+
+		assertThat(thrown).hasCauseThat().isInstanceOf(IOException.class);
+	}
+
+	@Test
+	void testCompiledName() {
+		assertThat(CompiledMeasureData.compiledName("measures-data.json")).isEqualTo("measures-data.bin");
+	}
+
+	private Path compile(String fileName) throws IOException {
+		Path json = directory.resolve(fileName);
+		try (InputStream input = resource(fileName)) {
+			Files.copy(input, json);
+		}
+		Path compiled = directory.resolve(CompiledMeasureData.compiledName(fileName));
+		CompiledMeasureData.compile(json, compiled);
+		return compiled;
+	}
+
+	private static List<MeasureConfig> parse(String fileName) throws IOException {
+		try (InputStream input = resource(fileName)) {
+			return MeasureConfigs.parseConfiguration(input);
+		}
+	}
+
+	private static InputStream resource(String fileName) {
+		return CompiledMeasureDataTest.class.getClassLoader().getResourceAsStream(fileName);
+	}
+}
@@ -0,0 +1,371 @@
+package gov.cms.qpp.conversion;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import gov.cms.qpp.conversion.util.EnvironmentHelper;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A {@link Source} whose content is read or written once and then shared, without copying, by everything that reads it.
+ *
+ * Content is kept in a single buffer on the heap. Content larger than the spill threshold, set in bytes with the
+ * {@code SOURCE_SPILL_THRESHOLD} environment variable or system property, is kept in a temporary file instead. The source
+ * starts with one reference held by its creator. Each additional reader {@link #retain() retains} it and
+ * {@link #release() releases} it when done. The buffer is dropped and the file deleted once the last reference is released.
+ */
+public final class BufferedSource extends SkeletalSource {
+	public static final String SPILL_THRESHOLD_VARIABLE = "SOURCE_SPILL_THRESHOLD";
+	static final int DEFAULT_SPILL_THRESHOLD = 16 * 1024 * 1024;
+	private static final int DEFAULT_CAPACITY = 8 * 1024;
+	private static final int SPILL_THRESHOLD = spillThreshold();
+
+	private static final Logger DEV_LOG = LoggerFactory.getLogger(BufferedSource.class);
+
+	/**
+	 * Writes the content of a {@link BufferedSource}.
+	 */
+	@FunctionalInterface
+	public interface Content {
+		/**
+		 * Writes the content.
+		 *
+		 * @param output stream to write to
+		 * @throws IOException when the content cannot be written
+		 */
+		void writeTo(OutputStream output) throws IOException;
+	}
+
+	private final String purpose;
+	private final long size;
+	private final AtomicInteger references = new AtomicInteger(1);
+	private final AtomicReference<byte[]> buffer;
+	private volatile Path file;
+
+	private BufferedSource(String name, String purpose, byte[] buffer, Path file, long size) {
+		super(name);
+		this.purpose = purpose;
+		this.buffer = new AtomicReference<>(buffer);
+		this.file = file;
+		this.size = size;
+	}
+
+	/**
+	 * Wraps content that is already in memory. The array is shared, not copied, and must not be changed afterwards.
+	 *
+	 * @param name The name of the source.
+	 * @param content The content of the source.
+	 * @return a new source
+	 */
+	public static BufferedSource of(String name, byte[] content) {
+		Objects.requireNonNull(content, "content");
+
+		return new BufferedSource(name, null, content, null, content.length);
+	}
+
+	/**
+	 * Reads a stream into a new source and closes the stream.
+	 *
+	 * @param name The name of the source.
+	 * @param input The content of the source.
+	 * @param purpose The purpose of the source, or null.
+	 * @param sizeHint The expected size of the content, or a negative number if unknown.
+	 * @return a new source
+	 */
+	public static BufferedSource read(String name, InputStream input, String purpose, long sizeHint) {
+		return read(name, input, purpose, sizeHint, SPILL_THRESHOLD);
+	}
+
+	static BufferedSource read(String name, InputStream input, String purpose, long sizeHint, int spillThreshold) {
+		Objects.requireNonNull(input, "input");
+
+		try (InputStream stream = input; Sink sink = new Sink(sizeHint, spillThreshold)) {
+			try {
+				sink.readFrom(stream);
+				return sink.finish(name, purpose);
+			} catch (IOException | RuntimeException exception) {
+				sink.discard();
+				throw exception;
+			}
+		} catch (IOException exception) {
+			throw new UncheckedIOException(exception);
+		}
+	}
+
+	/**
+	 * Writes content into a new source.
+	 *
+	 * @param name The name of the source.
+	 * @param content Writes the content of the source.
+	 * @return a new source
+	 * @throws IOException when the content cannot be written
+	 */
+	public static BufferedSource write(String name, Content content) throws IOException {
+		return write(name, content, SPILL_THRESHOLD);
+	}
+
+	static BufferedSource write(String name, Content content, int spillThreshold) throws IOException {
+		try (Sink sink = new Sink(-1, spillThreshold)) {
+			try {
+				content.writeTo(sink);
+				return sink.finish(name, null);
+			} catch (IOException | RuntimeException exception) {
+				sink.discard();
+				throw exception;
+			}
+		}
+	}
+
+	/**
+	 * A new {@link InputStream} over the shared content.
+	 *
+	 * @return An InputStream representing the source.
+	 * @throws IllegalStateException if the source has been released
+	 */
+	@Override
+	public InputStream toInputStream() {
+		byte[] content = buffer.get();
+		Path spilled = file;
+		if (references.get() <= 0 || (content == null && spilled == null)) {
+			throw new IllegalStateException("Source " + getName() + " has been released");
+		}
+
+		if (content != null) {
+			return new ByteArrayInputStream(content, 0, (int) size);
+		}
+
+		try {
+			return Files.newInputStream(spilled);
+		} catch (IOException exception) {
+			throw new UncheckedIOException(exception);
+		}
+	}
+
+	/**
+	 * The size of the content.
+	 *
+	 * @return The source's size.
+	 */
+	@Override
+	public long getSize() {
+		return size;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String getPurpose() {
+		return purpose;
+	}
+
+	/**
+	 * Adds a reference to the content.
+	 *
+	 * @return this source
+	 * @throws IllegalStateException if the source has been released
+	 */
+	@Override
+	public BufferedSource retain() {
+		int count;
+		do {
+			count = references.get();
+			if (count <= 0) {
+				throw new IllegalStateException("Source " + getName() + " has been released");
+			}
+		} while (!references.compareAndSet(count, count + 1));
+		return this;
+	}
+
+	/**
+	 * Releases a reference to the content, freeing it once no references are left.
+	 *
+	 * @throws IllegalStateException if the source has already been released
+	 */
+	@Override
+	public void release() {
+		int count = references.decrementAndGet();
+		if (count < 0) {
+			references.incrementAndGet();
+			throw new IllegalStateException("Source " + getName() + " has already been released");
+		}
+
+		if (count == 0) {
+			buffer.set(null);
+			Path spilled = file;
+			file = null;
+			if (spilled != null) {
+				deleteQuietly(spilled);
+			}
+		}
+	}
+
+	/**
+	 * Whether or not the content was spilled to a temporary file
+	 *
+	 * @return true if the content is in a file
+	 */
+	boolean isSpilled() {
+		return file != null;
+	}
+
+	/**
+	 * Whether or not every reference has been released
+	 *
+	 * @return true if the content is freed
+	 */
+	boolean isReleased() {
+		return references.get() <= 0;
+	}
+
+	private static void deleteQuietly(Path path) {
+		try {
+			Files.deleteIfExists(path);
+		} catch (IOException exception) {
+			DEV_LOG.warn("Unable to delete spilled source " + path, exception);
+		}
+	}
+
+	private static int spillThreshold() {
+		String threshold = EnvironmentHelper.getOrDefault(SPILL_THRESHOLD_VARIABLE, String.valueOf(DEFAULT_SPILL_THRESHOLD));
+		try {
+			return Integer.parseInt(threshold.trim());
+		} catch (NumberFormatException exception) {
+			DEV_LOG.warn("Ignoring {}={}, which is not a number", SPILL_THRESHOLD_VARIABLE, threshold);
+			return DEFAULT_SPILL_THRESHOLD;
+		}
+	}
+
+	/**
+	 * Collects content in a buffer, moving it to a temporary file once it outgrows the spill threshold.
+	 */
+	private static final class Sink extends OutputStream {
+		private final int spillThreshold;
+		private byte[] buffer;
+		private int length;
+		private Path file;
+		private OutputStream fileOutput;
+		private long size;
+
+		Sink(long sizeHint, int spillThreshold) throws IOException {
+			this.spillThreshold = spillThreshold;
+			if (sizeHint > spillThreshold) {
+				buffer = new byte[0];
+				spill();
+			} else {
+				buffer = new byte[sizeHint >= 0 ? (int) sizeHint : Math.min(DEFAULT_CAPACITY, spillThreshold)];
+			}
+		}
+
+		/**
+		 * Reads straight into the buffer, so content whose size was hinted correctly is never copied.
+		 */
+		void readFrom(InputStream input) throws IOException {
+			while (file == null) {
+				if (length == buffer.length) {
+					int next = input.read();
+					if (next == -1) {
+						return;
+					}
+					write(next);
+					continue;
+				}
+
+				int read = input.read(buffer, length, buffer.length - length);
+				if (read == -1) {
+					return;
+				}
+				length += read;
+				size += read;
+			}
+
+			byte[] chunk = new byte[DEFAULT_CAPACITY];
+			int read;
+			while ((read = input.read(chunk)) != -1) {
+				write(chunk, 0, read);
+			}
+		}
+
+		@Override
+		public void write(int value) throws IOException {
+			ensureCapacity(1);
+			if (file != null) {
+				fileOutput.write(value);
+			} else {
+				buffer[length++] = (byte) value;
+			}
+			size++;
+		}
+
+		@Override
+		public void write(byte[] bytes, int offset, int count) throws IOException {
+			ensureCapacity(count);
+			if (file != null) {
+				fileOutput.write(bytes, offset, count);
+			} else {
+				System.arraycopy(bytes, offset, buffer, length, count);
+				length += count;
+			}
+			size += count;
+		}
+
+		BufferedSource finish(String name, String purpose) throws IOException {
+			if (file != null) {
+				close();
+				return new BufferedSource(name, purpose, null, file, size);
+			}
+			return new BufferedSource(name, purpose, buffer, null, size);
+		}
+
+		@Override
+		public void close() throws IOException {
+			if (fileOutput != null) {
+				fileOutput.close();
+			}
+		}
+
+		void discard() {
+			if (file != null) {
+				try {
+					close();
+				} catch (IOException exception) {
+					DEV_LOG.warn("Unable to close spilled source " + file, exception);
+				}
+				deleteQuietly(file);
+			}
+		}
+
+		private void ensureCapacity(int count) throws IOException {
+			if (file != null || length + count <= buffer.length) {
+				return;
+			}
+
+			long needed = (long) length + count;
+			if (needed > spillThreshold) {
+				spill();
+			} else {
+				buffer = Arrays.copyOf(buffer, (int) Math.min(Math.max(needed, buffer.length * 2L), spillThreshold));
+			}
+		}
+
+		private void spill() throws IOException {
+			file = Files.createTempFile("qpp-source", ".tmp");
+			fileOutput = new BufferedOutputStream(Files.newOutputStream(file));
+			fileOutput.write(buffer, 0, length);
+			buffer = null;
+			length = 0;
+		}
+	}
+}
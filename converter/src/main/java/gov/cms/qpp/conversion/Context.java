@@ -5,9 +5,12 @@ import java.util.EnumSet;
 import java.util.IdentityHashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 import gov.cms.qpp.conversion.model.Program;
 import gov.cms.qpp.conversion.model.Registry;
+import gov.cms.qpp.conversion.model.validation.MeasureConfigSnapshot;
+import gov.cms.qpp.conversion.model.validation.MeasureConfigs;
 import gov.cms.qpp.conversion.segmentation.QrdaScope;
 import gov.cms.qpp.conversion.validate.pii.MissingPiiValidator;
 import gov.cms.qpp.conversion.validate.pii.PiiValidator;
@@ -23,7 +26,13 @@ public class Context {
 	private Set<QrdaScope> scope = EnumSet.noneOf(QrdaScope.class);
 	private boolean historical;
 	private boolean doValidation = true;
+	private boolean streamingDecode;
+	private boolean lazyMetadata;
+	private boolean parallelValidation;
+	private ForkJoinPool validationPool;
 	private PiiValidator piiValidator = MissingPiiValidator.INSTANCE;
+	private MeasureConfigSnapshot measureConfigs;
+	private Integer performanceYear;
 
 	/**
 	 * Gets the current contextual {@link Program}
@@ -106,6 +115,84 @@ public class Context {
 		this.doValidation = doValidation;
 	}
 
+	/**
+	 * Whether input is decoded straight from the stream rather than from a parsed document.
+	 *
+	 * @return streamingDecode
+	 */
+	public boolean isStreamingDecode() {
+		return streamingDecode;
+	}
+
+	/**
+	 * Switch for decoding input straight from the stream. Decoded nodes then record where their elements were rather
+	 * than the elements themselves, and their xpaths are built from that when they are needed.
+	 *
+	 * @param streamingDecode toggle value
+	 */
+	public void setStreamingDecode(boolean streamingDecode) {
+		this.streamingDecode = streamingDecode;
+	}
+
+	/**
+	 * Whether the xpath of a decoded node is computed only when it is needed, which is when an error or the metadata
+	 * of the encoded json is reported.
+	 *
+	 * @return lazyMetadata
+	 */
+	public boolean isLazyMetadata() {
+		return lazyMetadata;
+	}
+
+	/**
+	 * Switch for computing the xpaths of decoded nodes only when they are needed. The decoded document is then kept
+	 * for as long as the conversion's results are.
+	 *
+	 * @param lazyMetadata toggle value
+	 */
+	public void setLazyMetadata(boolean lazyMetadata) {
+		this.lazyMetadata = lazyMetadata;
+	}
+
+	/**
+	 * Whether sibling subtrees of the decoded document, such as its sections and the measures within them, are
+	 * validated in parallel.
+	 *
+	 * @return parallelValidation
+	 */
+	public boolean isParallelValidation() {
+		return parallelValidation;
+	}
+
+	/**
+	 * Switch for validating sibling subtrees in parallel on the {@link #getValidationPool() validation pool}. Errors and
+	 * warnings are reported in document order either way.
+	 *
+	 * @param parallelValidation toggle value
+	 */
+	public void setParallelValidation(boolean parallelValidation) {
+		this.parallelValidation = parallelValidation;
+	}
+
+	/**
+	 * The pool that validates sibling subtrees when {@link #isParallelValidation() validating in parallel}.
+	 *
+	 * @return the pool given to this context, or the common fork join pool if none was
+	 */
+	public ForkJoinPool getValidationPool() {
+		return validationPool == null ? ForkJoinPool.commonPool() : validationPool;
+	}
+
+	/**
+	 * Sets the pool that validates sibling subtrees in parallel, so that validation neither competes with nor waits on
+	 * other users of the common fork join pool.
+	 *
+	 * @param validationPool the pool, or null to use the common fork join pool
+	 */
+	public void setValidationPool(ForkJoinPool validationPool) {
+		this.validationPool = validationPool;
+	}
+
 	public PiiValidator getPiiValidator() {
 		return piiValidator;
 	}
@@ -114,6 +201,41 @@ public class Context {
 		this.piiValidator = piiValidator;
 	}
 
+	/**
+	 * The measure configurations of this context: those in use when they are first asked for, matched to the
+	 * performance year of the document being converted. Reloading the measure data does not change them.
+	 *
+	 * @return measure configurations
+	 */
+	public MeasureConfigSnapshot getMeasureConfigSnapshot() {
+		if (measureConfigs == null) {
+			measureConfigs = MeasureConfigs.getSnapshot();
+		}
+		return measureConfigs.forPerformanceYear(performanceYear);
+	}
+
+	/**
+	 * Pins the measure configurations of this context
+	 *
+	 * @param measureConfigs measure configurations, or null to use those in use when they are next asked for
+	 */
+	public void setMeasureConfigSnapshot(MeasureConfigSnapshot measureConfigs) {
+		this.measureConfigs = measureConfigs;
+	}
+
+	public Integer getPerformanceYear() {
+		return performanceYear;
+	}
+
+	/**
+	 * Sets the performance year of the document being converted, which picks the measure configurations used
+	 *
+	 * @param performanceYear the year, or null if it is not known
+	 */
+	public void setPerformanceYear(Integer performanceYear) {
+		this.performanceYear = performanceYear;
+	}
+
 	/**
 	 * Looks up or creates a new {@link Registry} for the given annotation type under this context
 	 *
@@ -1,7 +1,9 @@
 package gov.cms.qpp.conversion;
 
-import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -13,7 +15,6 @@ import gov.cms.qpp.conversion.model.Node;
 import gov.cms.qpp.conversion.model.error.AllErrors;
 import gov.cms.qpp.conversion.model.error.Detail;
 import gov.cms.qpp.conversion.model.error.Error;
-import gov.cms.qpp.conversion.util.CloneHelper;
 
 /**
  * Report on the stat of a conversion.
@@ -23,22 +24,48 @@ public class ConversionReport {
 	private Source source;
 	private Node decoded;
 	private JsonWrapper encodedWithMetadata;
+	private List<Detail> errors;
 	private AllErrors reportDetails;
 	private List<Detail> warnings;
 
 	private String qppValidationDetails;
 
 	/**
-	 * Construct a conversion report
+	 * Construct a conversion report. The decoded and encoded results were frozen by {@link Converter#transform()}, so
+	 * they are handed out as is.
 	 */
 	ConversionReport(Source source, List<Detail> errors, List<Detail> warnings, Node decoded, JsonWrapper encodedWithMetadata) {
 		this.source = source;
 		this.decoded = decoded;
 		this.encodedWithMetadata = encodedWithMetadata;
+		this.errors = errors;
 		this.warnings = warnings;
 		reportDetails = constructErrorHierarchy(source.getName(), errors);
 	}
 
+	/**
+	 * A report of the same conversion for another source with identical content. The frozen results are shared while
+	 * the errors and warnings are copied, so either report may be changed without affecting the other.
+	 *
+	 * @param source the other source
+	 * @return a new report
+	 */
+	public ConversionReport reportFor(Source source) {
+		return new ConversionReport(source, copy(errors), copy(warnings), decoded, encodedWithMetadata);
+	}
+
+	private static List<Detail> copy(List<Detail> details) {
+		if (details == null) {
+			return null;
+		}
+
+		List<Detail> copies = new ArrayList<>(details.size());
+		for (Detail detail : details) {
+			copies.add(new Detail(detail));
+		}
+		return copies;
+	}
+
 	/**
 	 * Constructs an {@link AllErrors} from all the validation errors.
 	 *
@@ -71,21 +98,31 @@ public class ConversionReport {
 	}
 
 	/**
-	 * Defensive copy of decoded submission
+	 * The decoded submission, which is frozen
 	 *
 	 * @return decoded {@link Node}
 	 */
 	public Node getDecoded() {
-		return CloneHelper.deepClone(decoded);
+		return decoded;
 	}
 
 	/**
-	 * Defensive copy of the result of the conversion
+	 * The result of the conversion, which is frozen
 	 *
 	 * @return encoded {@link JsonWrapper}
 	 */
 	public JsonWrapper getEncodedWithMetadata() {
-		return CloneHelper.deepClone(encodedWithMetadata);
+		return encodedWithMetadata;
+	}
+
+	/**
+	 * Writes the result of the conversion, without metadata or whitespace, straight to a stream
+	 *
+	 * @param output stream to write to, which is left open
+	 * @throws IOException when the stream cannot be written
+	 */
+	public void writeQpp(OutputStream output) throws IOException {
+		encodedWithMetadata.writeTo(output, null, false);
 	}
 
 	/**
@@ -127,23 +164,23 @@ public class ConversionReport {
 	}
 
 	/**
-	 * Get the {@link Source} for the output.
+	 * Get the {@link Source} for the output. The caller holds the source's only reference and releases it when done.
 	 *
 	 * @return {@link Source} for the output.
 	 */
 	public Source getQppSource() {
-		return getEncodedWithMetadata().toSource();
+		return encodedWithMetadata.toSource();
 	}
 
 	/**
-	 * Get the {@link Source} for the conversion validation errors.
+	 * Get the {@link Source} for the conversion validation errors. The caller holds the source's only reference and
+	 * releases it when done.
 	 *
 	 * @return {@link Source} for the validation errors.
 	 */
 	public Source getValidationErrorsSource() {
 		try {
-			byte[] validationErrorBytes = mapper.writeValueAsBytes(reportDetails);
-			return new InputStreamSupplierSource("ValidationErrors", new ByteArrayInputStream(validationErrorBytes));
+			return BufferedSource.of("ValidationErrors", mapper.writeValueAsBytes(reportDetails));
 		} catch (JsonProcessingException e) {
 			throw new EncodeException("Issue serializing error report details", e);
 		}
@@ -167,14 +204,14 @@ public class ConversionReport {
 	}
 
 	/**
-	 * Get the {@link Source} for the raw QPP validation errors (if any).
+	 * Get the {@link Source} for the raw QPP validation errors (if any). The caller holds the source's only reference
+	 * and releases it when done.
 	 *
 	 * @return {@link Source} for the raw QPP validation errors.
 	 */
 	public Source getRawValidationErrorsOrEmptySource() {
 		String raw = (qppValidationDetails != null) ? qppValidationDetails : "";
-		byte[] rawValidationErrorBytes = raw.getBytes(StandardCharsets.UTF_8);
-		return new InputStreamSupplierSource("RawValidationErrors", new ByteArrayInputStream(rawValidationErrorBytes));
+		return BufferedSource.of("RawValidationErrors", raw.getBytes(StandardCharsets.UTF_8));
 	}
 
 	/**
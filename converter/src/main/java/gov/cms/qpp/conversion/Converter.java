@@ -1,5 +1,7 @@
 package gov.cms.qpp.conversion;
 
+import gov.cms.qpp.conversion.decode.ReportingParametersActDecoder;
+import gov.cms.qpp.conversion.decode.StreamingQrdaDecoderEngine;
 import gov.cms.qpp.conversion.decode.XmlDecoderEngine;
 import gov.cms.qpp.conversion.decode.XmlInputFileException;
 import gov.cms.qpp.conversion.encode.EncodeException;
@@ -8,6 +10,7 @@ import gov.cms.qpp.conversion.encode.JsonWrapper;
 import gov.cms.qpp.conversion.encode.QppOutputEncoder;
 import gov.cms.qpp.conversion.encode.ScopedQppOutputEncoder;
 import gov.cms.qpp.conversion.model.Node;
+import gov.cms.qpp.conversion.model.TemplateId;
 import gov.cms.qpp.conversion.model.error.Detail;
 import gov.cms.qpp.conversion.model.error.ErrorCode;
 import gov.cms.qpp.conversion.model.error.TransformException;
@@ -68,9 +71,12 @@ public class Converter {
 	}
 
 	/**
-	 * Perform conversion.
+	 * Perform conversion. The results are frozen before they are returned or reported, so that every
+	 * {@link ConversionReport} of this conversion can share them rather than copy them: the returned wrapper, and the
+	 * decoded and encoded results of {@link #getReport()}, throw {@link UnsupportedOperationException} if they are
+	 * changed. {@link JsonWrapper#JsonWrapper(JsonWrapper)} makes a copy that can be changed.
 	 *
-	 * @return status of conversion
+	 * @return status of conversion, which may not be changed
 	 */
 	public JsonWrapper transform() {
 		DEV_LOG.info("Transform invoked");
@@ -86,6 +92,8 @@ public class Converter {
 			errors.add(detail);
 		}
 
+		freezeResults();
+
 		if (!errors.isEmpty()) {
 			throw new TransformException("Validation errors exist", null, getReport());
 		}
@@ -101,11 +109,11 @@ public class Converter {
 	 * @throws XmlException during transform
 	 */
 	private JsonWrapper transform(InputStream inStream) {
-		Element doc = XmlUtils.parseXmlStream(inStream);
-		decoded = XmlDecoderEngine.decodeXml(context, doc);
+		decoded = decode(inStream);
 		JsonWrapper qpp = null;
 		if (null != decoded) {
 			DEV_LOG.info("Decoded template ID {}", decoded.getType());
+			context.setPerformanceYear(performanceYear(decoded));
 
 			if (context.isDoValidation()) {
 				QrdaValidator validator = new QrdaValidator(context);
@@ -126,6 +134,47 @@ public class Converter {
 		return qpp;
 	}
 
+	/**
+	 * Freezes what the conversion produced. The paths of decoded nodes are computed now unless the context leaves
+	 * them to be computed when first needed.
+	 */
+	private void freezeResults() {
+		if (decoded != null) {
+			decoded.freeze(!context.isLazyMetadata());
+		}
+		if (encoded != null) {
+			encoded.freeze();
+		}
+	}
+
+	/**
+	 * Finds the performance year a decoded document reports on
+	 *
+	 * @param decoded the decoded root node
+	 * @return the year, or null if the document does not give one
+	 */
+	private static Integer performanceYear(Node decoded) {
+		Node reportingParameters = decoded.findFirstNode(TemplateId.REPORTING_PARAMETERS_ACT);
+		return reportingParameters == null ? null
+				: reportingParameters.getIntegerValue(ReportingParametersActDecoder.PERFORMANCE_YEAR);
+	}
+
+	/**
+	 * Decode the content in a given input stream
+	 *
+	 * @param inStream source content
+	 * @return the decoded root node, or null if the content is not QRDA III
+	 * @throws XmlException during decode
+	 */
+	private Node decode(InputStream inStream) {
+		if (context.isStreamingDecode()) {
+			return StreamingQrdaDecoderEngine.decodeStream(context, inStream);
+		}
+
+		Element doc = XmlUtils.parseXmlStream(inStream);
+		return XmlDecoderEngine.decodeXml(context, doc);
+	}
+
 	/**
 	 * Place transformed content into an input stream
 	 *
@@ -157,7 +206,8 @@ public class Converter {
 	}
 
 	/**
-	 * Retrieve the Converter's {@link ConversionReport}
+	 * Retrieve the Converter's {@link ConversionReport}. It changes nothing: the results it reports were frozen by
+	 * {@link #transform()}.
 	 *
 	 * @return the conversion report
 	 */
@@ -34,4 +34,21 @@ public interface Source {
 	 * @return The purpose of the source creation, for example \"Test\"
 	 */
 	String getPurpose();
+
+	/**
+	 * Adds a reference to the source for a reader that outlives its creator. Each reference is given back with
+	 * {@link #release()}. Sources that hold nothing worth freeing ignore references.
+	 *
+	 * @return this source
+	 */
+	default Source retain() {
+		return this;
+	}
+
+	/**
+	 * Gives back a reference to the source. Once every reference is given back the source may free its content.
+	 */
+	default void release() {
+		// nothing to free by default
+	}
 }
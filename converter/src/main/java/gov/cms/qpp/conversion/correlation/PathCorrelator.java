@@ -13,10 +13,13 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -101,6 +104,15 @@ public class PathCorrelator {
 		return template + KEY_DELIMITER + attribute;
 	}
 
+	/**
+	 * Retrieve the keys of all known correlations.
+	 *
+	 * @return unmodifiable set of keys of the form template{@value #KEY_DELIMITER}attribute
+	 */
+	public static Set<String> getCorrelationKeys() {
+		return Collections.unmodifiableSet(pathCorrelationMap.keySet());
+	}
+
 	/**
 	 * Assemble an xpath for a given base template and leaf attribute.
 	 *
@@ -135,6 +147,17 @@ public class PathCorrelator {
 
 		JsonPath compiledPath = JsonPath.compile(base);
 		Map<String, Object> jsonMap = compiledPath.read(wrapper.toString());
+		return prepPath(jsonMap, leaf);
+	}
+
+	/**
+	 * Assemble an xpath for a leaf attribute of the given json hash.
+	 *
+	 * @param jsonMap json hash the leaf attribute belongs to
+	 * @param leaf name of leaf json attribute
+	 * @return xpath that correlates to the leaf attribute
+	 */
+	static String prepPath(Map<String, Object> jsonMap, String leaf) {
 		Map<String, String> metaMap = getMetaMap(jsonMap, leaf);
 
 		String preparedPath = "";
@@ -144,6 +167,17 @@ public class PathCorrelator {
 		return preparedPath;
 	}
 
+	/**
+	 * Index the json hashes of a json wrapper by their definite json path, so that many paths can be assembled without
+	 * serializing the wrapper for each of them.
+	 *
+	 * @param wrapper object representation of QPP json
+	 * @return index of the wrapper's json hashes
+	 */
+	public static PathIndex index(JsonWrapper wrapper) {
+		return new PathIndex(wrapper);
+	}
+
 	/**
 	 * Retrieve metadata from map representing a json hash.
 	 *
@@ -153,7 +187,7 @@ public class PathCorrelator {
 	 */
 	@SuppressWarnings("unchecked")
 	private static Map<String, String> getMetaMap(Map<String, Object> jsonMap, final String leaf) {
-		List<Map<String, String>> metaHolder = (List<Map<String, String>>) jsonMap.get(JsonWrapper.METADATA_HOLDER);
+		Collection<Map<String, String>> metaHolder = (Collection<Map<String, String>>) jsonMap.get(JsonWrapper.METADATA_HOLDER);
 		return metaHolder.stream()
 				.sorted(labeledFirst())
 				.filter(entry -> {
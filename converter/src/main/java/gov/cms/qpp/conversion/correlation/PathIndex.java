@@ -0,0 +1,115 @@
+package gov.cms.qpp.conversion.correlation;
+
+import gov.cms.qpp.conversion.encode.JsonWrapper;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * The json hashes of a {@link JsonWrapper} that carry metadata, keyed by their definite json path. Built once for a
+ * wrapper, it assembles xpaths for any number of json paths with a lookup each rather than a serialization and parse
+ * of the whole wrapper.
+ *
+ * Paths are keyed in dot notation with array indexes, such as {@code measurementSets[0].measurements[1]}. A path the
+ * index cannot answer, such as one using bracket notation or wildcards, is handed to
+ * {@link PathCorrelator#prepPath(String, JsonWrapper)}.
+ */
+public final class PathIndex {
+	private static final String ROOT = "$";
+	private static final String NAME = "[^.\\[\\]'\"*?@ ,:()$]+";
+	private static final String INDEX = "\\[\\d+\\]";
+	private static final Pattern NAMES = Pattern.compile(NAME);
+	private static final Pattern DEFINITE_PATH = Pattern.compile("(?:" + NAME + "|" + INDEX + ")(?:\\." + NAME + "|" + INDEX + ")*");
+
+	private final JsonWrapper wrapper;
+	private final Map<String, Map<String, Object>> jsonMaps = new HashMap<>();
+
+	/**
+	 * Indexes a wrapper.
+	 *
+	 * @param wrapper object representation of QPP json
+	 */
+	PathIndex(JsonWrapper wrapper) {
+		this.wrapper = wrapper;
+		index(wrapper.toObject(), new StringBuilder());
+	}
+
+	/**
+	 * Assemble an xpath using the given json path.
+	 *
+	 * @param jsonPath definite json path
+	 * @return xpath that correlates to supplied json path
+	 */
+	public String prepPath(String jsonPath) {
+		String base = ROOT;
+		String leaf = jsonPath;
+		int lastIndex = jsonPath.lastIndexOf('.');
+
+		if (lastIndex > 0) {
+			base = jsonPath.substring(0, lastIndex);
+			leaf = jsonPath.substring(lastIndex + 1);
+		}
+
+		Map<String, Object> jsonMap = jsonMaps.get(key(base));
+		if (jsonMap == null) {
+			return PathCorrelator.prepPath(jsonPath, wrapper);
+		}
+		return PathCorrelator.prepPath(jsonMap, leaf);
+	}
+
+	/**
+	 * The number of indexed json hashes
+	 *
+	 * @return indexed json hashes
+	 */
+	int size() {
+		return jsonMaps.size();
+	}
+
+	/**
+	 * Brings a json path into the form the index is keyed by.
+	 *
+	 * @param path json path, with or without the leading {@code $}
+	 * @return the key, or null if the path is not in dot notation
+	 */
+	private static String key(String path) {
+		String key = path;
+		if (ROOT.equals(key)) {
+			return "";
+		} else if (key.startsWith(ROOT + ".")) {
+			key = key.substring(2);
+		} else if (key.startsWith(ROOT + "[")) {
+			key = key.substring(1);
+		}
+		return DEFINITE_PATH.matcher(key).matches() ? key : null;
+	}
+
+	@SuppressWarnings("unchecked")
+	private void index(Object value, StringBuilder path) {
+		int length = path.length();
+		if (value instanceof Map) {
+			Map<String, Object> jsonMap = (Map<String, Object>) value;
+			if (jsonMap.get(JsonWrapper.METADATA_HOLDER) instanceof Collection) {
+				jsonMaps.put(path.toString(), jsonMap);
+			}
+			for (Map.Entry<String, Object> entry : jsonMap.entrySet()) {
+				if (!JsonWrapper.METADATA_HOLDER.equals(entry.getKey()) && NAMES.matcher(entry.getKey()).matches()) {
+					if (length > 0) {
+						path.append('.');
+					}
+					index(entry.getValue(), path.append(entry.getKey()));
+					path.setLength(length);
+				}
+			}
+		} else if (value instanceof List) {
+			List<Object> list = (List<Object>) value;
+			for (int i = 0; i < list.size(); i++) {
+				index(list.get(i), path.append('[').append(i).append(']'));
+				path.setLength(length);
+			}
+		}
+	}
+}
@@ -43,9 +43,8 @@ public class AggregateCountDecoder extends QrdaDecoder {
 	 * @param thisnode Node
 	 */
 	protected void setSciNumeratorDenominatorOnNode(Element element, Node thisnode) {
-		String expressionStr = getXpath(AGGREGATE_COUNT);
 		Consumer<? super Attribute> consumer = p ->
 				thisnode.putValue(AGGREGATE_COUNT, p.getValue(), false);
-		setOnNode(element, expressionStr, consumer, Filters.attribute(), false);
+		setOnNode(element, getXpathExpression(AGGREGATE_COUNT, Filters.attribute()), consumer, false);
 	}
 }
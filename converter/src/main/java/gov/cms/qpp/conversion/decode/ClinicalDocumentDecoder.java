@@ -85,7 +85,7 @@ public class ClinicalDocumentDecoder extends QrdaDecoder {
 		if (Program.isCpc(thisNode)) {
 			Consumer<Attribute> consumer = id ->
 				thisNode.putValue(PRACTICE_ID, id.getValue(), false);
-			setOnNode(element, getXpath(PRACTICE_ID), consumer, Filters.attribute(), false);
+			setOnNode(element, getXpathExpression(PRACTICE_ID, Filters.attribute()), consumer, false);
 		}
 	}
 
@@ -99,7 +99,7 @@ public class ClinicalDocumentDecoder extends QrdaDecoder {
 		if (Program.isCpc(thisNode)) {
 			Consumer<Element> consumer = p ->
 					thisNode.putValue(PRACTICE_SITE_ADDR, p.getValue().trim(), false);
-			setOnNode(element, getXpath(PRACTICE_SITE_ADDR), consumer, Filters.element(), false);
+			setOnNode(element, getXpathExpression(PRACTICE_SITE_ADDR, Filters.element()), consumer, false);
 		}
 	}
 
@@ -116,7 +116,7 @@ public class ClinicalDocumentDecoder extends QrdaDecoder {
 			thisNode.putValue(ENTITY_TYPE, nameEntityPair.getRight(), false);
 			thisNode.putValue(RAW_PROGRAM_NAME, p.getValue(), false);
 		};
-		setOnNode(element, getXpath(PROGRAM_NAME), consumer, Filters.attribute(), false);
+		setOnNode(element, getXpathExpression(PROGRAM_NAME, Filters.attribute()), consumer, false);
 		context.setProgram(Program.extractProgram(thisNode));
 	}
 
@@ -129,8 +129,8 @@ public class ClinicalDocumentDecoder extends QrdaDecoder {
 	private void setNationalProviderIdOnNode(Element element, Node thisNode) {
 		Consumer<? super Attribute> consumer = p ->
 				thisNode.putValue(NATIONAL_PROVIDER_IDENTIFIER, p.getValue());
-		setOnNode(element, getXpath(NATIONAL_PROVIDER_IDENTIFIER),
-				consumer, Filters.attribute(), true);
+		setOnNode(element, getXpathExpression(NATIONAL_PROVIDER_IDENTIFIER, Filters.attribute()),
+				consumer, true);
 	}
 
 	/**
@@ -143,16 +143,16 @@ public class ClinicalDocumentDecoder extends QrdaDecoder {
 		Consumer<? super Attribute> consumer = p ->
 				thisNode.putValue(TAX_PAYER_IDENTIFICATION_NUMBER,
 						p.getValue());
-		setOnNode(element, getXpath(TAX_PAYER_IDENTIFICATION_NUMBER),
-				consumer, Filters.attribute(), true);
+		setOnNode(element, getXpathExpression(TAX_PAYER_IDENTIFICATION_NUMBER, Filters.attribute()),
+				consumer, true);
 	}
 
 	private void setVirtualGroupOnNode(Element element, Node thisNode) {
 		Consumer<? super Attribute> consumer = p ->
 			thisNode.putValue(ENTITY_ID,
 				p.getValue());
-		setOnNode(element, getXpath(ENTITY_ID),
-			consumer, Filters.attribute(), true);
+		setOnNode(element, getXpathExpression(ENTITY_ID, Filters.attribute()),
+			consumer, true);
 	}
 
 	/**
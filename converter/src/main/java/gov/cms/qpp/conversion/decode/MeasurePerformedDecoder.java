@@ -41,9 +41,8 @@ public class MeasurePerformedDecoder extends QrdaDecoder {
 	 * @param thisNode Object to hold the measure performed
 	 */
 	private void setMeasurePerformedOnNode(Element element, Node thisNode) {
-		String expressionStr = getXpath("measurePerformed");
 		Consumer<? super Attribute> consumer = p ->
 				thisNode.putValue("measurePerformed", p.getValue(), false);
-		setOnNode(element, expressionStr, consumer, Filters.attribute(), false);
+		setOnNode(element, getXpathExpression("measurePerformed", Filters.attribute()), consumer, false);
 	}
 }
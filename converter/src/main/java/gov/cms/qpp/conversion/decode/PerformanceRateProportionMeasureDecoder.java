@@ -63,12 +63,11 @@ public class PerformanceRateProportionMeasureDecoder extends QrdaDecoder {
 	 * @param name Attribute name associated with the correct xpath
 	 */
 	private void setNameOnNode(Element element, Node node, final String name) {
-		String expression = getXpath(name);
 		Consumer<? super Attribute> consumer = attr -> {
 			String value = attr.getValue();
 			node.putValue(name, value);
 		};
 
-		setOnNode(element, expression, consumer, Filters.attribute(), true);
+		setOnNode(element, getXpathExpression(name, Filters.attribute()), consumer, true);
 	}
 }
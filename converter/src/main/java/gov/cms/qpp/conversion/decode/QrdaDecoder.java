@@ -4,6 +4,7 @@ import gov.cms.qpp.conversion.Context;
 import gov.cms.qpp.conversion.correlation.PathCorrelator;
 import gov.cms.qpp.conversion.model.Decoder;
 import gov.cms.qpp.conversion.model.Node;
+import gov.cms.qpp.conversion.model.Stateless;
 
 import java.util.List;
 import java.util.Optional;
@@ -16,14 +17,24 @@ import org.jdom2.filter.Filter;
 import org.jdom2.xpath.XPathExpression;
 import org.jdom2.xpath.XPathFactory;
 
+/**
+ * The parent class that all decoders must inherit from.
+ *
+ * Decoders are {@link Stateless}: a single instance decodes every matching element within a conversion, so
+ * implementations must not retain element specific state between calls to {@link #decode(Element, Node)}.
+ */
+@Stateless
 public abstract class QrdaDecoder {
 
 	protected final Context context;
 	protected Namespace xpathNs = Namespace.NO_NAMESPACE;
 	private Namespace defaultNs = Namespace.NO_NAMESPACE;
+	private final String template;
 
 	public QrdaDecoder(Context context) {
 		this.context = context;
+		Decoder decoder = this.getClass().getAnnotation(Decoder.class);
+		this.template = decoder == null ? null : decoder.value().name();
 	}
 
 	protected abstract DecodeResult decode(Element element, Node thisNode);
@@ -48,10 +59,21 @@ public abstract class QrdaDecoder {
 	 * @return xpath expression as a string
 	 */
 	protected String getXpath(String attribute) {
-		String template = this.getClass().getAnnotation(Decoder.class).value().name();
 		return PathCorrelator.getXpath(template, attribute, defaultNs.getURI());
 	}
 
+	/**
+	 * Returns the compiled xpath from the path-correlation.json meta data
+	 *
+	 * @param attribute Key to the correlation data
+	 * @param filter Filter to apply for the xpath
+	 * @param <T> Type of the xpath results
+	 * @return compiled xpath expression that is safe for use by the current thread
+	 */
+	protected <T> XPathExpression<T> getXpathExpression(String attribute, Filter<T> filter) {
+		return XPathExpressionCache.get(template, attribute, defaultNs.getURI(), filter);
+	}
+
 	/**
 	 * Executes an Xpath for an element and executes the consumer
 	 *
@@ -61,11 +83,24 @@ public abstract class QrdaDecoder {
 	 * @param filter Filter to apply for the xpath
 	 * @param selectOne Whether to execute for the first match or multiple matches
 	 */
-	@SuppressWarnings({ "rawtypes", "unchecked" })
+	@SuppressWarnings("rawtypes")
 	protected void setOnNode(Element element, String expressionStr,
 		Consumer consumer, Filter<?> filter, boolean selectOne) {
 		XPathExpression<?> expression = XPathFactory.instance().compile(expressionStr, filter, null,  xpathNs);
+		setOnNode(element, expression, consumer, selectOne);
+	}
 
+	/**
+	 * Executes a compiled Xpath for an element and executes the consumer
+	 *
+	 * @param element Element the xpath is executed against
+	 * @param expression Compiled xpath, see {@link #getXpathExpression(String, Filter)}
+	 * @param consumer Consumer to execute if the xpath matches
+	 * @param selectOne Whether to execute for the first match or multiple matches
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	protected void setOnNode(Element element, XPathExpression<?> expression,
+		Consumer consumer, boolean selectOne) {
 		if (selectOne) {
 			Optional.ofNullable(expression.evaluateFirst(element)).ifPresent(consumer);
 		} else {
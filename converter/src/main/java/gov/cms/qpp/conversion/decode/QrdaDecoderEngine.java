@@ -18,7 +18,6 @@ import java.util.EnumSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * The engine for parsing XML into QPP format.
@@ -32,8 +31,7 @@ public class QrdaDecoderEngine extends XmlDecoderEngine {
 	private static final String EXTENSION_STRING = "extension";
 
 	protected final Context context;
-	private final Set<TemplateId> scope;
-	private final Registry<QrdaDecoder> decoders;
+	private final TemplateIdDispatch dispatch;
 
 	/**
 	 * Initialize a QPP xml decoder
@@ -44,8 +42,9 @@ public class QrdaDecoderEngine extends XmlDecoderEngine {
 		Objects.requireNonNull(context, "converter");
 
 		this.context = context;
-		this.scope = context.hasScope() ? QrdaScope.getTemplates(context.getScope()) : null;
-		this.decoders = context.getRegistry(Decoder.class);
+		Set<TemplateId> scope = context.hasScope() ? QrdaScope.getTemplates(context.getScope()) : null;
+		Registry<QrdaDecoder> decoders = context.getRegistry(Decoder.class);
+		this.dispatch = new TemplateIdDispatch(context, decoders, scope);
 	}
 
 	/**
@@ -61,22 +60,22 @@ public class QrdaDecoderEngine extends XmlDecoderEngine {
 		defaultNs = rootElement.getNamespace();
 
 		rootNode.setType(TemplateId.PLACEHOLDER);
-		rootNode.setElementForLocation(rootElement);
+		setLocation(rootNode, rootElement);
 
 		addLineAndColumnToNode(rootElement, rootNode);
 
 		QrdaDecoder rootDecoder = null;
 		for (Element element : rootElement.getChildren(TEMPLATE_ID, rootElement.getNamespace())) {
-			rootDecoder = getDecoder(getTemplateId(element));
+			rootDecoder = dispatch.getDecoder(getTemplateId(element));
 			if (rootDecoder != null) {
 				break;
 			}
 		}
 
 		if (rootDecoder != null) {
-			rootNode = this.decodeTree(rootElement, rootNode).getNode().getChildNodes().get(0);
+			rootNode = this.decodeTree(rootElement, null, rootNode).getNode().getChildNodes().get(0);
 		} else {
-			rootNode = this.decodeTree(rootElement, rootNode).getNode();
+			rootNode = this.decodeTree(rootElement, null, rootNode).getNode();
 		}
 
 		return rootNode;
@@ -86,11 +85,12 @@ public class QrdaDecoderEngine extends XmlDecoderEngine {
 	 * Decodes the element specified and the entire tree of child {@link Element}s below.
 	 *
 	 * @param element The element who's tree to decode.
+	 * @param templateId The {@link TemplateId} of the element if it is a {@code templateId}, else null.
 	 * @param parentNode The node to add any possible decoded child {@link Node}s.
 	 * @return The tuple of a {@link DecodeResult} and {@link Node} that was decoded from this tree.
 	 */
-	private DecodeData decodeTree(final Element element, final Node parentNode) {
-		DecodeData result = decodeSingleElement(element, parentNode);
+	private DecodeData decodeTree(final Element element, final TemplateId templateId, final Node parentNode) {
+		DecodeData result = decodeSingleElement(element, templateId, parentNode);
 		DecodeResult decodedResult = result.getDecodeResult();
 		Node decodedNode = result.getNode();
 
@@ -109,18 +109,18 @@ public class QrdaDecoderEngine extends XmlDecoderEngine {
 	 * Decodes the passed in element if it is a {@code templateId} and assigns it to the {@code parentNode}.
 	 *
 	 * @param element The element to decode.
+	 * @param templateId The {@link TemplateId} of the element if it is a {@code templateId}, else null.
 	 * @param parentNode The node add the child decoded {@link Node} to.
 	 * @return The tuple of a {@link DecodeResult} and {@link Node} that was decoded from the {@link Element}.
 	 */
-	private DecodeData decodeSingleElement(Element element, Node parentNode) {
+	private DecodeData decodeSingleElement(Element element, TemplateId templateId, Node parentNode) {
 
-		QrdaDecoder decoder = decoderForElement(element);
+		QrdaDecoder decoder = templateId == null ? null : dispatch.getDecoder(templateId);
 
 		if (null == decoder) {
 			return new DecodeData(DecodeResult.TREE_CONTINUE, null);
 		}
 
-		TemplateId templateId = getTemplateId(element);
 		Node childNode = new Node(templateId, parentNode);
 		childNode.setDefaultNsUri(defaultNs.getURI());
 		decoder.setNamespace(element.getNamespace());
@@ -133,7 +133,7 @@ public class QrdaDecoderEngine extends XmlDecoderEngine {
 			return new DecodeData(DecodeResult.TREE_ESCAPED, null);
 		}
 
-		childNode.setElementForLocation(parentElement);
+		setLocation(childNode, parentElement);
 
 		addLineAndColumnToNode(element, childNode);
 
@@ -143,7 +143,8 @@ public class QrdaDecoderEngine extends XmlDecoderEngine {
 	}
 
 	/**
-	 * Iterates over all the children of the passed in {@link Element} and calls {@link #decodeTree(Element, Node)} on them.
+	 * Iterates over all the children of the passed in {@link Element} and calls {@link #decodeTree(Element, TemplateId, Node)}
+	 * on them.
 	 *
 	 * @param element The element who's children will be decoded.
 	 * @param parentNode The parent node
@@ -151,14 +152,16 @@ public class QrdaDecoderEngine extends XmlDecoderEngine {
 	 */
 	private DecodeData decodeChildren(final Element element, final Node parentNode) {
 
-		List<Element> filteredChildElements = getUniqueTemplateIdElements(element.getChildren());
+		List<Element> childElements = element.getChildren();
+		List<TemplateId> childTemplateIds = new ArrayList<>(childElements.size());
+		List<Element> filteredChildElements = getUniqueTemplateIdElements(childElements, childTemplateIds);
 
 		DecodeData decodeData = new DecodeData(DecodeResult.TREE_CONTINUE, parentNode);
 
 		Node currentParentNode = parentNode;
 
-		for (Element childElement : filteredChildElements) {
-			DecodeData childDecodeData = decodeTree(childElement, currentParentNode);
+		for (int i = 0; i < filteredChildElements.size(); i++) {
+			DecodeData childDecodeData = decodeTree(filteredChildElements.get(i), childTemplateIds.get(i), currentParentNode);
 
 			DecodeResult childDecodeResult = childDecodeData.getDecodeResult();
 			Node childDecodedNode = childDecodeData.getNode();
@@ -178,51 +181,40 @@ public class QrdaDecoderEngine extends XmlDecoderEngine {
 	 * Reduces the {@code templateId} {@link Element}s so there are no duplicates. All other {@link Element}s are left alone.
 	 *
 	 * @param childElements The elements to filter
+	 * @param templateIds Receives the {@link TemplateId} of each filtered element, or null for elements that are not
+	 * {@code templateId}s, so that each template ID is looked up only once.
 	 * @return A {@link List} of {@link Element}s that are filtered. If no template ids or at least one implemented template id
 	 * appears within the filtered child elements then the filtered children will be returned otherwise an empty list will
 	 * be returned.
 	 */
-	private List<Element> getUniqueTemplateIdElements(final List<Element> childElements) {
+	private List<Element> getUniqueTemplateIdElements(final List<Element> childElements, final List<TemplateId> templateIds) {
 		Set<TemplateId> uniqueTemplates = EnumSet.noneOf(TemplateId.class);
-
-		List<Element> children = childElements.stream()
-			.filter(filterElement -> {
-				boolean isTemplateId = TEMPLATE_ID.equals(filterElement.getName());
-				TemplateId filterTemplateId = getTemplateId(filterElement);
-
-				boolean elementWillStay = true;
-
-				if (isTemplateId) {
-					if (getDecoder(filterTemplateId) == null || uniqueTemplates.contains(filterTemplateId)) {
-						elementWillStay = false;
-					}
-					uniqueTemplates.add(filterTemplateId);
+		List<Element> children = new ArrayList<>(childElements.size());
+
+		for (Element filterElement : childElements) {
+			TemplateId filterTemplateId = null;
+
+			if (TEMPLATE_ID.equals(filterElement.getName())) {
+				filterTemplateId = getTemplateId(filterElement);
+				boolean elementWillStay = dispatch.getDecoder(filterTemplateId) != null
+					&& !uniqueTemplates.contains(filterTemplateId);
+				uniqueTemplates.add(filterTemplateId);
+				if (!elementWillStay) {
+					continue;
 				}
+			}
 
-				return elementWillStay;
-			})
-			.collect(Collectors.toList());
-
-		return (uniqueTemplates.isEmpty()
-			|| uniqueTemplates.stream().anyMatch(template -> TemplateId.UNIMPLEMENTED != template))
-			? children
-			: new ArrayList<>();
-	}
-
-	/**
-	 * Get the {@link QrdaDecoder} for the passed in {@link Element}.
-	 *
-	 * @param element The element.
-	 * @return The QRDA decoder.
-	 */
-	private QrdaDecoder decoderForElement(final Element element) {
-		if (!TEMPLATE_ID.equals(element.getName())) {
-			return null;
+			children.add(filterElement);
+			templateIds.add(filterTemplateId);
 		}
 
-		TemplateId templateId = getTemplateId(element);
+		if (uniqueTemplates.isEmpty()
+			|| uniqueTemplates.stream().anyMatch(template -> TemplateId.UNIMPLEMENTED != template)) {
+			return children;
+		}
 
-		return getDecoder(templateId);
+		templateIds.clear();
+		return new ArrayList<>();
 	}
 
 	/**
@@ -251,26 +243,7 @@ public class QrdaDecoderEngine extends XmlDecoderEngine {
 	private TemplateId getTemplateId(final Element idElement) {
 		String root = idElement.getAttributeValue(ROOT_STRING);
 		String extension = idElement.getAttributeValue(EXTENSION_STRING);
-		return TemplateId.getTemplateId(root, extension, context);
-	}
-
-	/**
-	 * Retrieve a permitted {@link Decoder}. {@link #scope} is used to determine which DECODERS are allowable.
-	 *
-	 * @param templateId string representation of a would be decoder's template id
-	 * @return decoder that corresponds to the given template id
-	 */
-	private QrdaDecoder getDecoder(TemplateId templateId) {
-		QrdaDecoder qppDecoder = decoders.get(templateId);
-		if (qppDecoder != null) {
-			if (scope == null) {
-				return qppDecoder;
-			}
-
-			Decoder decoder = qppDecoder.getClass().getAnnotation(Decoder.class);
-			return decoder == null || !scope.contains(decoder.value()) ? null : qppDecoder;
-		}
-		return null;
+		return dispatch.getTemplateId(root, extension);
 	}
 
 	/**
@@ -326,6 +299,16 @@ public class QrdaDecoderEngine extends XmlDecoderEngine {
 		return containsTemplateId;
 	}
 
+	/**
+	 * Associates a node with the element it was decoded from so that its path can be reported later on.
+	 *
+	 * @param node The decoded node.
+	 * @param element The element backing the node.
+	 */
+	protected void setLocation(Node node, Element element) {
+		node.setElementForLocation(element);
+	}
+
 	private void addLineAndColumnToNode(Element element, Node node) {
 		if (element instanceof Located) {
 			Located located = (Located) element;
@@ -4,7 +4,6 @@ import org.jdom2.Attribute;
 import org.jdom2.Element;
 import org.jdom2.filter.Filters;
 import org.jdom2.xpath.XPathExpression;
-import org.jdom2.xpath.XPathFactory;
 
 import gov.cms.qpp.conversion.Context;
 import gov.cms.qpp.conversion.model.Decoder;
@@ -53,10 +52,7 @@ public class QualityMeasureIdDecoder extends QrdaDecoder {
 	 * @return The measure GUID in the Quality Measure Identifier
 	 */
 	private List<String> getMeasureGuid(final Element element) {
-		String expressionStr = getXpath(MEASURE_ID);
-
-		XPathExpression<Attribute> expression = XPathFactory.instance()
-			.compile(expressionStr, Filters.attribute(), null, xpathNs);
+		XPathExpression<Attribute> expression = getXpathExpression(MEASURE_ID, Filters.attribute());
 		return expression.evaluate(element).stream()
 			.map(Attribute::getValue)
 			.collect(Collectors.toList());
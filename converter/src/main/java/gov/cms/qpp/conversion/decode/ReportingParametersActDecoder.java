@@ -47,8 +47,6 @@ public class ReportingParametersActDecoder extends QrdaDecoder {
 	 * @param thisNode Reporting parameter node
 	 */
 	private void setPerformanceTimeRangeOnNode(Element element, Node thisNode) {
-		String performanceStartExprStr = getXpath(PERFORMANCE_START);
-		String performanceEndExprStr = getXpath(PERFORMANCE_END);
 
 		Consumer<? super Attribute> performanceStartConsumer =
 				p -> {
@@ -60,7 +58,7 @@ public class ReportingParametersActDecoder extends QrdaDecoder {
 		Consumer<? super Attribute> performanceEndConsumer =
 				p -> thisNode.putValue(PERFORMANCE_END, p.getValue(), false);
 
-		setOnNode(element, performanceStartExprStr, performanceStartConsumer, Filters.attribute(), false);
-		setOnNode(element, performanceEndExprStr, performanceEndConsumer, Filters.attribute(), false);
+		setOnNode(element, getXpathExpression(PERFORMANCE_START, Filters.attribute()), performanceStartConsumer, false);
+		setOnNode(element, getXpathExpression(PERFORMANCE_END, Filters.attribute()), performanceEndConsumer, false);
 	}
 }
@@ -43,12 +43,11 @@ public class StratifierDecoder extends QrdaDecoder {
 	 * @param thisNode current node
 	 */
 	private void setStratifierId(Element element, Node thisNode) {
-		String expressionStr = getXpath(STRATIFIER_ID);
 		Consumer<? super Attribute> consumer = attr -> {
 			String code = attr.getValue();
 			thisNode.putValue(STRATIFIER_ID, code, false);
 		};
-		setOnNode(element, expressionStr, consumer, Filters.attribute(), false);
+		setOnNode(element, getXpathExpression(STRATIFIER_ID, Filters.attribute()), consumer, false);
 	}
 
 }
@@ -0,0 +1,183 @@
+package gov.cms.qpp.conversion.decode;
+
+import org.jdom2.Element;
+import org.jdom2.Namespace;
+import org.jdom2.Text;
+import org.jdom2.located.LocatedJDOMFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import gov.cms.qpp.conversion.Context;
+import gov.cms.qpp.conversion.model.Node;
+import gov.cms.qpp.conversion.xml.ElementPath;
+import gov.cms.qpp.conversion.xml.XmlException;
+import gov.cms.qpp.conversion.xml.XmlUtils;
+
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Decodes QRDA III directly from a stream of XML. The document is read in a single pass with a pull parser into a
+ * compact tree that keeps only what decoders can observe: elements with their locations, attributes and text. Comments
+ * and processing instructions are dropped, repeated attribute values and whitespace share one instance, and the
+ * decoded {@link Node}s record the positions of their elements instead of holding on to them, so the tree can be
+ * collected as soon as decoding is done. The path of a node is only built from its position when it is needed.
+ *
+ * The resulting {@link Node} tree is the same as the one produced by {@link QrdaDecoderEngine}.
+ */
+public class StreamingQrdaDecoderEngine extends QrdaDecoderEngine {
+
+	private static final Logger DEV_LOG = LoggerFactory.getLogger(StreamingQrdaDecoderEngine.class);
+	private static final LocatedJDOMFactory FACTORY = new LocatedJDOMFactory();
+
+	private final Map<String, String> sharedValues = new HashMap<>();
+	private final ElementPath.Recorder elementPaths = new ElementPath.Recorder();
+
+	/**
+	 * Initialize a streaming QPP xml decoder
+	 *
+	 * @param context Establish context for decoder engine
+	 */
+	public StreamingQrdaDecoderEngine(Context context) {
+		super(context);
+	}
+
+	/**
+	 * Reads and decodes a stream of QRDA III.
+	 *
+	 * @param context Establish context for decoder engine
+	 * @param xmlStream The XML.
+	 * @return Root intermediate format node
+	 * @throws XmlException When a failure to read the XML.
+	 */
+	public static Node decodeStream(Context context, InputStream xmlStream) {
+		StreamingQrdaDecoderEngine decoder = new StreamingQrdaDecoderEngine(context);
+		Element root = decoder.read(xmlStream);
+		if (decoder.accepts(root)) {
+			return decoder.decode(root);
+		}
+
+		DEV_LOG.error("The XML file is an unknown document");
+
+		return null;
+	}
+
+	/**
+	 * Records the position of the element rather than the element itself.
+	 *
+	 * @param node The decoded node.
+	 * @param element The element backing the node.
+	 */
+	@Override
+	protected void setLocation(Node node, Element element) {
+		node.setElementPath(elementPaths.record(element));
+	}
+
+	/**
+	 * Reads a stream of XML into a compact tree of elements.
+	 *
+	 * @param xmlStream The XML.
+	 * @return The root element, attached to a document.
+	 * @throws XmlException When a failure to read the XML.
+	 */
+	Element read(InputStream xmlStream) {
+		XMLStreamReader reader = XmlUtils.createStreamReader(xmlStream);
+		try {
+			return readDocument(reader);
+		} catch (XMLStreamException e) {
+			throw new XmlException("Failed to process XML stream into DOM Element", e);
+		} finally {
+			sharedValues.clear();
+			try {
+				reader.close();
+			} catch (XMLStreamException e) {
+				DEV_LOG.warn("Unable to close the XML stream", e);
+			}
+		}
+	}
+
+	private Element readDocument(XMLStreamReader reader) throws XMLStreamException {
+		Deque<Element> open = new ArrayDeque<>();
+		StringBuilder text = new StringBuilder();
+		Element root = null;
+
+		while (reader.hasNext()) {
+			switch (reader.next()) {
+				case XMLStreamConstants.START_ELEMENT:
+					Element element = startElement(reader);
+					if (open.isEmpty()) {
+						root = element;
+						FACTORY.document(root);
+					} else {
+						addText(open.peek(), text);
+						FACTORY.addContent(open.peek(), element);
+					}
+					open.push(element);
+					break;
+				case XMLStreamConstants.END_ELEMENT:
+					addText(open.pop(), text);
+					break;
+				case XMLStreamConstants.CHARACTERS:
+				case XMLStreamConstants.CDATA:
+				case XMLStreamConstants.SPACE:
+					if (!open.isEmpty()) {
+						text.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+					}
+					break;
+				case XMLStreamConstants.DTD:
+					throw new XmlException("Document type declarations are not allowed", null);
+				default:
+					break;
+			}
+		}
+
+		return root;
+	}
+
+	private Element startElement(XMLStreamReader reader) {
+		Namespace namespace = namespace(reader.getPrefix(), reader.getNamespaceURI());
+		Element element = FACTORY.element(reader.getLocation().getLineNumber(), reader.getLocation().getColumnNumber(),
+				reader.getLocalName(), namespace);
+
+		for (int i = 0; i < reader.getNamespaceCount(); i++) {
+			Namespace declared = namespace(reader.getNamespacePrefix(i), reader.getNamespaceURI(i));
+			if (declared != Namespace.NO_NAMESPACE && !declared.equals(namespace)) {
+				element.addNamespaceDeclaration(declared);
+			}
+		}
+
+		for (int i = 0; i < reader.getAttributeCount(); i++) {
+			Namespace attributeNamespace = namespace(reader.getAttributePrefix(i), reader.getAttributeNamespace(i));
+			FACTORY.setAttribute(element, FACTORY.attribute(reader.getAttributeLocalName(i),
+					share(reader.getAttributeValue(i)), attributeNamespace));
+		}
+
+		return element;
+	}
+
+	private void addText(Element parent, StringBuilder text) {
+		if (text.length() > 0) {
+			String value = text.toString();
+			FACTORY.addContent(parent, new Text(value.trim().isEmpty() ? share(value) : value));
+			text.setLength(0);
+		}
+	}
+
+	private String share(String value) {
+		return sharedValues.computeIfAbsent(value, key -> key);
+	}
+
+	private static Namespace namespace(String prefix, String uri) {
+		if (uri == null || uri.isEmpty()) {
+			return Namespace.NO_NAMESPACE;
+		}
+		return Namespace.getNamespace(prefix == null ? "" : prefix, uri);
+	}
+}
@@ -0,0 +1,100 @@
+package gov.cms.qpp.conversion.decode;
+
+import gov.cms.qpp.conversion.Context;
+import gov.cms.qpp.conversion.model.Decoder;
+import gov.cms.qpp.conversion.model.Program;
+import gov.cms.qpp.conversion.model.Registry;
+import gov.cms.qpp.conversion.model.TemplateId;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Resolves {@code templateId} elements to a {@link TemplateId} and the {@link QrdaDecoder} permitted to decode it.
+ *
+ * Whether extensions must match is decided once, when the table is built for a {@link Context}, rather than for every
+ * element. Decoders are resolved for every {@link TemplateId} the first time a {@link Program} is seen, since decoding
+ * the Clinical Document may change the context's program.
+ */
+final class TemplateIdDispatch {
+
+	private final Context context;
+	private final Registry<QrdaDecoder> decoders;
+	private final Set<TemplateId> scope;
+	private final Map<String, TemplateId> byRoot = new HashMap<>();
+	private final Map<String, Map<String, TemplateId>> byRootAndExtension = new HashMap<>();
+	private final Map<Program, QrdaDecoder[]> decodersByProgram = new EnumMap<>(Program.class);
+
+	/**
+	 * Builds the table for a context.
+	 *
+	 * @param context the context of the conversion
+	 * @param decoders the context's decoders
+	 * @param scope the templates that may be decoded, or null for all of them
+	 */
+	TemplateIdDispatch(Context context, Registry<QrdaDecoder> decoders, Set<TemplateId> scope) {
+		this.context = context;
+		this.decoders = decoders;
+		this.scope = scope;
+
+		boolean strictExtension = TemplateId.isExtensionStrict(context);
+		for (TemplateId templateId : TemplateId.values()) {
+			String root = templateId.getRoot();
+			if (strictExtension || TemplateId.CLINICAL_DOCUMENT.getRoot().equals(root)) {
+				Map<String, TemplateId> byExtension = byRootAndExtension.computeIfAbsent(root, ignore -> new HashMap<>());
+				byExtension.put(templateId.getExtension(), TemplateId.getTemplateId(root, templateId.getExtension(), true));
+				byExtension.put(null, TemplateId.getTemplateId(root, null, true));
+			} else {
+				byRoot.put(root, TemplateId.getTemplateId(root, null, false));
+			}
+		}
+	}
+
+	/**
+	 * Finds the {@link TemplateId} of a {@code templateId} element.
+	 *
+	 * @param root the element's root attribute
+	 * @param extension the element's extension attribute
+	 * @return the template, or {@link TemplateId#UNIMPLEMENTED} if unknown
+	 */
+	TemplateId getTemplateId(String root, String extension) {
+		TemplateId templateId = byRoot.get(root);
+		if (templateId != null) {
+			return templateId;
+		}
+
+		Map<String, TemplateId> byExtension = byRootAndExtension.get(root);
+		templateId = byExtension == null ? null : byExtension.get(extension);
+		return templateId == null ? TemplateId.UNIMPLEMENTED : templateId;
+	}
+
+	/**
+	 * Finds the decoder permitted to decode a template under the context's current {@link Program}.
+	 *
+	 * @param templateId the template
+	 * @return the decoder, or null if the template is not decoded
+	 */
+	QrdaDecoder getDecoder(TemplateId templateId) {
+		return decodersByProgram.computeIfAbsent(context.getProgram(), ignore -> resolveDecoders())[templateId.ordinal()];
+	}
+
+	private QrdaDecoder[] resolveDecoders() {
+		TemplateId[] templateIds = TemplateId.values();
+		QrdaDecoder[] resolved = new QrdaDecoder[templateIds.length];
+		for (TemplateId templateId : templateIds) {
+			resolved[templateId.ordinal()] = scoped(decoders.get(templateId));
+		}
+		return resolved;
+	}
+
+	private QrdaDecoder scoped(QrdaDecoder qppDecoder) {
+		if (qppDecoder == null || scope == null) {
+			return qppDecoder;
+		}
+
+		Decoder decoder = qppDecoder.getClass().getAnnotation(Decoder.class);
+		return decoder == null || !scope.contains(decoder.value()) ? null : qppDecoder;
+	}
+}
@@ -0,0 +1,148 @@
+package gov.cms.qpp.conversion.decode;
+
+import gov.cms.qpp.conversion.correlation.PathCorrelator;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.lang3.StringUtils;
+import org.jdom2.Namespace;
+import org.jdom2.filter.Filter;
+import org.jdom2.filter.Filters;
+import org.jdom2.xpath.XPathExpression;
+import org.jdom2.xpath.XPathFactory;
+
+/**
+ * Thread safe cache of compiled xpath expressions for the correlations defined in
+ * <a href="https://github.com/CMSgov/qpp-conversion-tool/blob/master/converter/src/main/resources/pathing/path-correlation.json">path-correlation.json</a>.
+ *
+ * Compiled expressions are shared between threads as prototypes. Each thread evaluates its own
+ * {@link XPathExpression#clone()} of a prototype, as compiled expressions may not be evaluated concurrently.
+ */
+final class XPathExpressionCache {
+
+	static final String QRDA_NAMESPACE_URI = "urn:hl7-org:v3";
+	private static final String NAMESPACE_PREFIX = "ns";
+	private static final List<Filter<?>> EAGER_FILTERS = Arrays.asList(Filters.attribute(), Filters.element());
+
+	private static final Map<XPathKey, XPathExpression<?>> PROTOTYPES = new ConcurrentHashMap<>();
+	private static final ThreadLocal<Map<XPathKey, XPathExpression<?>>> THREAD_EXPRESSIONS =
+			ThreadLocal.withInitial(HashMap::new);
+
+	static {
+		precompile(QRDA_NAMESPACE_URI);
+	}
+
+	private XPathExpressionCache() {}
+
+	/**
+	 * Compiles every correlated xpath for the given namespace uri ahead of its first use.
+	 *
+	 * @param nsUri namespace uri the expressions will be evaluated against
+	 */
+	static void precompile(String nsUri) {
+		PathCorrelator.getCorrelationKeys().forEach(key -> {
+			String[] parts = key.split(PathCorrelator.KEY_DELIMITER, 2);
+			EAGER_FILTERS.forEach(filter -> {
+				XPathKey xpathKey = new XPathKey(parts[0], parts[1], nsUri, filter);
+				PROTOTYPES.computeIfAbsent(xpathKey, XPathExpressionCache::compile);
+			});
+		});
+	}
+
+	/**
+	 * Retrieve a compiled expression that is safe for use by the calling thread.
+	 *
+	 * @param template template name the correlation is registered under
+	 * @param attribute attribute name the correlation is registered under
+	 * @param nsUri namespace uri the expression will be evaluated against
+	 * @param filter filter to apply to the xpath results
+	 * @param <T> type of the xpath results
+	 * @return compiled expression or null if no correlation exists for the template and attribute
+	 */
+	@SuppressWarnings("unchecked") // the filter is part of the key so the result type always matches
+	static <T> XPathExpression<T> get(String template, String attribute, String nsUri, Filter<T> filter) {
+		XPathKey key = new XPathKey(template, attribute, nsUri, filter);
+		Map<XPathKey, XPathExpression<?>> threadExpressions = THREAD_EXPRESSIONS.get();
+
+		XPathExpression<?> expression = threadExpressions.get(key);
+		if (expression == null) {
+			XPathExpression<?> prototype = PROTOTYPES.computeIfAbsent(key, XPathExpressionCache::compile);
+			if (prototype == null) {
+				return null;
+			}
+			expression = prototype.clone();
+			threadExpressions.put(key, expression);
+		}
+
+		return (XPathExpression<T>) expression;
+	}
+
+	/**
+	 * Retrieve the number of shared compiled expressions.
+	 *
+	 * @return number of prototypes
+	 */
+	static int size() {
+		return PROTOTYPES.size();
+	}
+
+	/**
+	 * Compile the correlated xpath identified by the given key.
+	 *
+	 * @param key identifies the correlation, namespace and filter
+	 * @return compiled expression or null if no correlation exists
+	 */
+	private static XPathExpression<?> compile(XPathKey key) {
+		String xpath = PathCorrelator.getXpath(key.template, key.attribute, key.nsUri);
+		if (xpath == null) {
+			return null;
+		}
+
+		Namespace xpathNs = StringUtils.isEmpty(key.nsUri)
+				? Namespace.NO_NAMESPACE : Namespace.getNamespace(NAMESPACE_PREFIX, key.nsUri);
+		return XPathFactory.instance().compile(xpath, key.filter, null, xpathNs);
+	}
+
+	/**
+	 * Identifies a compiled expression by template, attribute, namespace uri and filter.
+	 */
+	private static final class XPathKey {
+		private final String template;
+		private final String attribute;
+		private final String nsUri;
+		private final Filter<?> filter;
+
+		XPathKey(String template, String attribute, String nsUri, Filter<?> filter) {
+			this.template = template;
+			this.attribute = attribute;
+			this.nsUri = nsUri == null ? "" : nsUri;
+			this.filter = filter;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (o == null || getClass() != o.getClass()) {
+				return false;
+			}
+
+			XPathKey that = (XPathKey) o;
+			return Objects.equals(template, that.template)
+					&& Objects.equals(attribute, that.attribute)
+					&& nsUri.equals(that.nsUri)
+					&& Objects.equals(filter, that.filter);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(template, attribute, nsUri, filter);
+		}
+	}
+}
@@ -27,6 +27,6 @@ public class AggregateCountEncoder extends QppOutputEncoder {
 	@Override
 	protected void internalEncode(JsonWrapper wrapper, Node node) {
 		// simply writes the value in the Node
-		wrapper.putInteger(VALUE, node.getValue(AggregateCountDecoder.AGGREGATE_COUNT));
+		putInteger(wrapper, VALUE, node, AggregateCountDecoder.AGGREGATE_COUNT);
 	}
 }
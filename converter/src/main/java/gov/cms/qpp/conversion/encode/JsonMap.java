@@ -0,0 +1,256 @@
+package gov.cms.qpp.conversion.encode;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A json hash within a {@link JsonWrapper}. QPP hashes hold a handful of attributes each, so names and values are kept
+ * in insertion order in two arrays sized to fit, and looked up by scanning, rather than in a linked hash table with an
+ * entry object per attribute.
+ */
+final class JsonMap extends AbstractMap<String, Object> {
+	private static final int DEFAULT_CAPACITY = 4;
+
+	private String[] names;
+	private Object[] values;
+	private int size;
+	private int modifications;
+	private boolean frozen;
+
+	/**
+	 * Creates a hash sized for a typical number of attributes.
+	 */
+	JsonMap() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Creates a hash sized for a known number of attributes.
+	 *
+	 * @param capacity the number of attributes to make room for
+	 */
+	JsonMap(int capacity) {
+		names = new String[capacity];
+		values = new Object[capacity];
+	}
+
+	/**
+	 * The name of an attribute
+	 *
+	 * @param index position of the attribute, in insertion order
+	 * @return the name
+	 */
+	String nameAt(int index) {
+		return names[index];
+	}
+
+	/**
+	 * The value of an attribute
+	 *
+	 * @param index position of the attribute, in insertion order
+	 * @return the value
+	 */
+	Object valueAt(int index) {
+		return values[index];
+	}
+
+	/**
+	 * Prevents the hash from changing. The values themselves are not frozen.
+	 *
+	 * @return <i><b>this</b></i> reference for chaining
+	 */
+	JsonMap freeze() {
+		frozen = true;
+		return this;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean containsKey(Object name) {
+		return indexOf(name) >= 0;
+	}
+
+	@Override
+	public Object get(Object name) {
+		int index = indexOf(name);
+		return index < 0 ? null : values[index];
+	}
+
+	@Override
+	public Object put(String name, Object value) {
+		checkNotFrozen();
+		int index = indexOf(name);
+		if (index >= 0) {
+			Object previous = values[index];
+			values[index] = value;
+			return previous;
+		}
+		if (size == names.length) {
+			int capacity = Math.max(DEFAULT_CAPACITY, size + (size >> 1));
+			names = Arrays.copyOf(names, capacity);
+			values = Arrays.copyOf(values, capacity);
+		}
+		names[size] = name;
+		values[size++] = value;
+		modifications++;
+		return null;
+	}
+
+	@Override
+	public Object remove(Object name) {
+		int index = indexOf(name);
+		if (index < 0) {
+			return null;
+		}
+		checkNotFrozen();
+		Object previous = values[index];
+		removeAt(index);
+		return previous;
+	}
+
+	@Override
+	public void clear() {
+		checkNotFrozen();
+		Arrays.fill(names, 0, size, null);
+		Arrays.fill(values, 0, size, null);
+		size = 0;
+		modifications++;
+	}
+
+	@Override
+	public Set<Entry<String, Object>> entrySet() {
+		return new EntrySet();
+	}
+
+	private int indexOf(Object name) {
+		for (int index = 0; index < size; index++) {
+			if (Objects.equals(names[index], name)) {
+				return index;
+			}
+		}
+		return -1;
+	}
+
+	private void removeAt(int index) {
+		int moved = size - index - 1;
+		System.arraycopy(names, index + 1, names, index, moved);
+		System.arraycopy(values, index + 1, values, index, moved);
+		size--;
+		names[size] = null;
+		values[size] = null;
+		modifications++;
+	}
+
+	private void checkNotFrozen() {
+		if (frozen) {
+			throw new UnsupportedOperationException("A frozen JsonWrapper may not change");
+		}
+	}
+
+	/**
+	 * The attributes of the hash, in insertion order.
+	 */
+	private final class EntrySet extends AbstractSet<Entry<String, Object>> {
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public Iterator<Entry<String, Object>> iterator() {
+			return new Iterator<Entry<String, Object>>() {
+				private int next;
+				private int last = -1;
+				private int expectedModifications = modifications;
+
+				@Override
+				public boolean hasNext() {
+					return next < size;
+				}
+
+				@Override
+				public Entry<String, Object> next() {
+					if (expectedModifications != modifications) {
+						throw new ConcurrentModificationException();
+					}
+					if (next >= size) {
+						throw new NoSuchElementException();
+					}
+					last = next++;
+					return new JsonEntry(last);
+				}
+
+				@Override
+				public void remove() {
+					if (last < 0) {
+						throw new IllegalStateException();
+					}
+					checkNotFrozen();
+					removeAt(last);
+					next = last;
+					last = -1;
+					expectedModifications = modifications;
+				}
+			};
+		}
+	}
+
+	/**
+	 * An attribute of the hash that writes through to it.
+	 */
+	private final class JsonEntry implements Entry<String, Object> {
+		private final int index;
+
+		JsonEntry(int index) {
+			this.index = index;
+		}
+
+		@Override
+		public String getKey() {
+			return names[index];
+		}
+
+		@Override
+		public Object getValue() {
+			return values[index];
+		}
+
+		@Override
+		public Object setValue(Object value) {
+			checkNotFrozen();
+			Object previous = values[index];
+			values[index] = value;
+			return previous;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (!(other instanceof Map.Entry)) {
+				return false;
+			}
+			Map.Entry<?, ?> that = (Map.Entry<?, ?>) other;
+			return Objects.equals(getKey(), that.getKey()) && Objects.equals(getValue(), that.getValue());
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hashCode(getKey()) ^ Objects.hashCode(getValue());
+		}
+
+		@Override
+		public String toString() {
+			return getKey() + "=" + getValue();
+		}
+	}
+}
@@ -8,6 +8,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.Writer;
 import java.util.ArrayList;
 import java.util.List;
@@ -23,21 +24,19 @@ public abstract class JsonOutputEncoder implements OutputEncoder {
 
 	@Override
 	public void encode(Writer writer, boolean filter) {
-		JsonWrapper wrapper = new JsonWrapper();
-		for (Node curNode : nodes) {
-			encode(wrapper, curNode);
-		}
-		if (filter) {
-			wrapper = wrapper.copyWithoutMetadata();
+		try {
+			encode().writeTo(writer, !filter);
+		} catch (IOException exception) {
+			addWriteError(exception);
 		}
+	}
+
+	@Override
+	public void encode(OutputStream output, OutputStream metadataOutput) {
 		try {
-			writer.write(wrapper.toString());
-			writer.flush();
+			encode().writeTo(output, metadataOutput);
 		} catch (IOException exception) {
-			DEV_LOG.error("Couldn't write out JSON file.", exception);
-			Detail detail = Detail.forErrorCode(ErrorCode.UNEXPECTED_ENCODE_ERROR);
-			detail.setMessage(exception.getMessage());
-			errors.add(detail);
+			addWriteError(exception);
 		}
 	}
 
@@ -85,6 +84,13 @@ public abstract class JsonOutputEncoder implements OutputEncoder {
 		return wrapper;
 	}
 
+	private void addWriteError(IOException exception) {
+		DEV_LOG.error("Couldn't write out JSON file.", exception);
+		Detail detail = Detail.forErrorCode(ErrorCode.UNEXPECTED_ENCODE_ERROR);
+		detail.setMessage(exception.getMessage());
+		errors.add(detail);
+	}
+
 	/**
 	 * Add a new validation error
 	 * @param detail the error information
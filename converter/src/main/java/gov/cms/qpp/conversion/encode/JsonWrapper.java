@@ -1,39 +1,46 @@
 package gov.cms.qpp.conversion.encode;
 
-import java.io.ByteArrayInputStream;
-import java.nio.charset.StandardCharsets;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.io.Writer;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.LinkedHashMap;
+import java.util.Collections;
 import java.util.LinkedHashSet;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.ListIterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Stream;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.util.DefaultIndenter;
 import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
+import com.fasterxml.jackson.databind.JsonSerializable;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
 
-import gov.cms.qpp.conversion.InputStreamSupplierSource;
+import gov.cms.qpp.conversion.BufferedSource;
 import gov.cms.qpp.conversion.Source;
 import gov.cms.qpp.conversion.model.Node;
-import gov.cms.qpp.conversion.util.CloneHelper;
 import gov.cms.qpp.conversion.util.FormatHelper;
 
 /**
  * Manages building a "simple" object of JSON conversion.
  * JSON renderers can convert maps and list into JSON Strings.
- * This class is a wrapper around a list/map impl.
+ * This class is a wrapper around a list/map impl. Hashes are compact array backed maps and arrays are array lists,
+ * and the content is written straight to a {@link JsonGenerator}, pretty printed by default or compact for responses.
  */
 public class JsonWrapper {
 
 	public static final String METADATA_HOLDER = "metadata_holder";
+	private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
 
 	private static void stripMetadata(Object object) {
 		if (object == null) {
@@ -52,6 +59,9 @@ public class JsonWrapper {
 		}
 	}
 
+	private static final JsonFactory GENERATOR_FACTORY = new ObjectMapper().getFactory()
+			.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
 	public static ObjectWriter standardWriter() {
 		return new ObjectMapper().writer().with(standardPrinter());
 	}
@@ -63,19 +73,107 @@ public class JsonWrapper {
 		return printer;
 	}
 
-	private final ObjectWriter jsonWriter = standardWriter();
 	private Map<String, Object> object;
 	private List<Object> list;
+	private boolean frozen;
 
 	public JsonWrapper() {
 	}
 
 	public JsonWrapper(JsonWrapper wrapper) {
 		if (wrapper.isObject()) {
-			this.object = CloneHelper.deepClone(wrapper.object);
-		} else {
-			this.list = CloneHelper.deepClone(wrapper.list);
+			this.object = copyMap(wrapper.object);
+		} else if (wrapper.list != null) {
+			this.list = copyList(wrapper.list);
+		}
+	}
+
+	private static Map<String, Object> copyMap(Map<String, Object> map) {
+		Map<String, Object> copy = new JsonMap(map.size());
+		map.forEach((name, value) -> copy.put(name, copyValue(value)));
+		return copy;
+	}
+
+	private static List<Object> copyList(Collection<Object> collection) {
+		List<Object> copy = new ArrayList<>(collection.size());
+		collection.forEach(value -> copy.add(copyValue(value)));
+		return copy;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Object copyValue(Object value) {
+		if (value instanceof MetadataSet) {
+			return ((MetadataSet) value).copy();
+		}
+		if (value instanceof NodeMetadata) {
+			return ((NodeMetadata) value).copy();
+		}
+		if (value instanceof Map) {
+			return copyMap((Map<String, Object>) value);
+		}
+		if (value instanceof Set) {
+			Set<Object> copy = new LinkedHashSet<>();
+			((Set<Object>) value).forEach(item -> copy.add(copyValue(item)));
+			return copy;
+		}
+		if (value instanceof Collection) {
+			return copyList((Collection<Object>) value);
+		}
+		return value;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Object freezeValue(Object value) {
+		if (value instanceof MetadataSet) {
+			return ((MetadataSet) value).freeze();
+		}
+		if (value instanceof NodeMetadata) {
+			return ((NodeMetadata) value).freeze();
+		}
+		if (value instanceof JsonMap) {
+			JsonMap map = (JsonMap) value;
+			map.entrySet().forEach(entry -> entry.setValue(freezeValue(entry.getValue())));
+			return map.freeze();
+		}
+		if (value instanceof Map) {
+			Map<Object, Object> map = (Map<Object, Object>) value;
+			map.entrySet().forEach(entry -> entry.setValue(freezeValue(entry.getValue())));
+			return Collections.unmodifiableMap(map);
+		}
+		if (value instanceof Set) {
+			Set<Object> frozen = new LinkedHashSet<>();
+			((Set<Object>) value).forEach(item -> frozen.add(freezeValue(item)));
+			return Collections.unmodifiableSet(frozen);
+		}
+		if (value instanceof List) {
+			ListIterator<Object> items = ((List<Object>) value).listIterator();
+			while (items.hasNext()) {
+				items.set(freezeValue(items.next()));
+			}
+			return Collections.unmodifiableList((List<Object>) value);
+		}
+		return value;
+	}
+
+	/**
+	 * Prevents any further change to the wrapped content so that it can be shared rather than copied. A mutable copy
+	 * can still be made with {@link #JsonWrapper(JsonWrapper)}.
+	 *
+	 * @return <i><b>this</b></i> reference for chaining
+	 */
+	@SuppressWarnings("unchecked")
+	public JsonWrapper freeze() {
+		if (frozen) {
+			return this;
+		}
+
+		frozen = true;
+		if (isObject()) {
+			object = (Map<String, Object>) freezeValue(object);
+		} else if (list != null) {
+			list = (List<Object>) freezeValue(list);
 		}
+		return this;
 	}
 
 	public JsonWrapper copyWithoutMetadata() {
@@ -137,6 +235,17 @@ public class JsonWrapper {
 		}
 	}
 
+	/**
+	 * Places a named date within the wrapper, formatted as {@link #validDate(String)} formats it.
+	 *
+	 * @param name key for value
+	 * @param value keyed value, such as one already parsed by {@link Node#getDateValue(String)}
+	 * @return <i><b>this</b></i> reference for chaining
+	 */
+	public JsonWrapper putDate(String name, LocalDate value) {
+		return putObject(name, value == null ? null : value.format(DATE_FORMAT));
+	}
+
 	/**
 	 * Places an unnamed String that represents a date within the wrapper.
 	 *
@@ -153,6 +262,18 @@ public class JsonWrapper {
 		}
 	}
 
+	/**
+	 * Places a named integer within the wrapper.
+	 *
+	 * @see #putObject(String, Object)
+	 * @param name key for value
+	 * @param value keyed value, such as one already parsed by {@link Node#getIntegerValue(String)}
+	 * @return <i><b>this</b></i> reference for chaining
+	 */
+	public JsonWrapper putInteger(String name, int value) {
+		return putObject(name, value);
+	}
+
 	/**
 	 * Places a named String that represents an {@link java.lang.Integer} within the wrapper.
 	 *
@@ -381,7 +502,7 @@ public class JsonWrapper {
 	protected String validDate(String value) {
 		try {
 			LocalDate thisDate = FormatHelper.formattedDateParse(value);
-			return thisDate.format(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
+			return thisDate.format(DATE_FORMAT);
 		} catch (RuntimeException e) {
 			throw new EncodeException(value + " is not an date of format YYYYMMDD.", e);
 		}
@@ -427,8 +548,11 @@ public class JsonWrapper {
 	 * Determines {@link JsonWrapper}'s intended use as a representation of a JSON hash
 	 */
 	protected void initAsObject() {
+		if (frozen) {
+			throw new UnsupportedOperationException("A frozen JsonWrapper may not change");
+		}
 		if (object == null) {
-			object = new LinkedHashMap<>();
+			object = new JsonMap();
 		}
 	}
 
@@ -436,8 +560,11 @@ public class JsonWrapper {
 	 * Determines {@link JsonWrapper}'s intended use as a representation of a JSON array
 	 */
 	protected void initAsList() {
+		if (frozen) {
+			throw new UnsupportedOperationException("A frozen JsonWrapper may not change");
+		}
 		if (list == null) {
-			list = new LinkedList<>();
+			list = new ArrayList<>();
 		}
 	}
 
@@ -497,11 +624,161 @@ public class JsonWrapper {
 	 */
 	@Override
 	public String toString() {
-		try {
-			return jsonWriter.writeValueAsString(toObject());
-		} catch (JsonProcessingException e) {
+		return toString(true, true);
+	}
+
+	private String toString(boolean withMetadata, boolean pretty) {
+		StringWriter writer = new StringWriter();
+		try (JsonGenerator generator = createGenerator(GENERATOR_FACTORY.createGenerator(writer), pretty)) {
+			writeValue(generator, toObject(), withMetadata, null, new StringBuilder());
+		} catch (IOException e) {
 			throw new EncodeException("Issue rendering JSON from JsonWrapper Map", e);
 		}
+		return writer.toString();
+	}
+
+	/**
+	 * String representation of the {@link JsonWrapper} without metadata, written without copying the wrapped content.
+	 *
+	 * @return JSON without metadata
+	 */
+	public String toStringWithoutMetadata() {
+		return toString(false, true);
+	}
+
+	/**
+	 * String representation of the {@link JsonWrapper} without metadata or whitespace, as sent to other services.
+	 *
+	 * @return compact JSON without metadata
+	 */
+	public String toCompactStringWithoutMetadata() {
+		return toString(false, false);
+	}
+
+	/**
+	 * A view of the wrapped content that Jackson serializes without metadata, filtering it out as the content is
+	 * written rather than serializing a copy.
+	 *
+	 * @return the view
+	 */
+	public JsonSerializable withoutMetadata() {
+		return new WithoutMetadata(this);
+	}
+
+	/**
+	 * Writes the wrapped content as JSON straight to a stream, leaving out metadata.
+	 *
+	 * @param output stream to write to, which is left open
+	 * @throws IOException when the stream cannot be written
+	 */
+	public void writeTo(OutputStream output) throws IOException {
+		writeTo(output, null);
+	}
+
+	/**
+	 * Writes the wrapped content as JSON straight to a stream, leaving out metadata. If a metadata stream is given,
+	 * the metadata is written to it as a JSON object keyed by the JSON pointer of the entry each metadata set describes.
+	 *
+	 * @param output stream to write the content to, which is left open
+	 * @param metadataOutput stream to write the metadata to, which is left open, or null to drop the metadata
+	 * @throws IOException when either stream cannot be written
+	 */
+	public void writeTo(OutputStream output, OutputStream metadataOutput) throws IOException {
+		writeTo(output, metadataOutput, true);
+	}
+
+	/**
+	 * Writes the wrapped content as JSON straight to a stream, leaving out metadata, as
+	 * {@link #writeTo(OutputStream, OutputStream)} does.
+	 *
+	 * @param output stream to write the content to, which is left open
+	 * @param metadataOutput stream to write the metadata to, which is left open, or null to drop the metadata
+	 * @param pretty whether the JSON is indented, or written without whitespace
+	 * @throws IOException when either stream cannot be written
+	 */
+	public void writeTo(OutputStream output, OutputStream metadataOutput, boolean pretty) throws IOException {
+		try (JsonGenerator generator = createGenerator(GENERATOR_FACTORY.createGenerator(output), pretty);
+				JsonGenerator metadata = metadataOutput == null
+						? null : createGenerator(GENERATOR_FACTORY.createGenerator(metadataOutput), pretty)) {
+			if (metadata != null) {
+				metadata.writeStartObject();
+			}
+			writeValue(generator, toObject(), false, metadata, new StringBuilder());
+			if (metadata != null) {
+				metadata.writeEndObject();
+			}
+		}
+	}
+
+	/**
+	 * Writes the wrapped content as JSON straight to a writer.
+	 *
+	 * @param writer writer to write to, which is flushed and left open
+	 * @param withMetadata whether or not metadata is included in the content
+	 * @throws IOException when the writer cannot be written
+	 */
+	void writeTo(Writer writer, boolean withMetadata) throws IOException {
+		try (JsonGenerator generator = createGenerator(GENERATOR_FACTORY.createGenerator(writer), true)) {
+			writeValue(generator, toObject(), withMetadata, null, new StringBuilder());
+		}
+	}
+
+	private static JsonGenerator createGenerator(JsonGenerator generator, boolean pretty) {
+		return pretty ? generator.setPrettyPrinter(standardPrinter()) : generator;
+	}
+
+	private static void writeValue(JsonGenerator generator, Object value, boolean withMetadata, JsonGenerator metadata,
+			StringBuilder pointer) throws IOException {
+		if (value instanceof JsonMap) {
+			JsonMap map = (JsonMap) value;
+			generator.writeStartObject();
+			for (int index = 0; index < map.size(); index++) {
+				writeField(generator, map.nameAt(index), map.valueAt(index), withMetadata, metadata, pointer);
+			}
+			generator.writeEndObject();
+		} else if (value instanceof Map) {
+			generator.writeStartObject();
+			for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+				writeField(generator, String.valueOf(entry.getKey()), entry.getValue(), withMetadata, metadata, pointer);
+			}
+			generator.writeEndObject();
+		} else if (value instanceof Collection) {
+			generator.writeStartArray();
+			int index = 0;
+			for (Object item : (Collection<?>) value) {
+				int length = pointer.length();
+				pointer.append('/').append(index++);
+				writeValue(generator, item, withMetadata, metadata, pointer);
+				pointer.setLength(length);
+			}
+			generator.writeEndArray();
+		} else if (value instanceof String) {
+			generator.writeString((String) value);
+		} else if (value instanceof Integer) {
+			generator.writeNumber((Integer) value);
+		} else if (value instanceof Float) {
+			generator.writeNumber((Float) value);
+		} else if (value instanceof Boolean) {
+			generator.writeBoolean((Boolean) value);
+		} else {
+			generator.writeObject(value);
+		}
+	}
+
+	private static void writeField(JsonGenerator generator, String name, Object value, boolean withMetadata,
+			JsonGenerator metadata, StringBuilder pointer) throws IOException {
+		if (!withMetadata && METADATA_HOLDER.equals(name)) {
+			if (metadata != null) {
+				metadata.writeFieldName(pointer.toString());
+				metadata.writeObject(value);
+			}
+			return;
+		}
+		generator.writeFieldName(name);
+		int length = pointer.length();
+		pointer.append('/').append(name.replace("~", "~0").replace("/", "~1"));
+		writeValue(generator, value, withMetadata, metadata, pointer);
+		pointer.setLength(length);
 	}
 
 	public Object toObject() {
@@ -509,32 +786,37 @@ public class JsonWrapper {
 	}
 
 	/**
-	 * Convenience method to get the JsonWrapper's content as an input stream.
+	 * Convenience method to get the JsonWrapper's content, metadata included, as a {@link BufferedSource}. The JSON is
+	 * written straight into the source's buffer. The caller holds the source's only reference and releases it when done.
 	 *
-	 * @return input stream containing serialized json
+	 * @return source containing serialized json
 	 */
 	public Source toSource() {
-		byte[] qppBytes = toString().getBytes(StandardCharsets.UTF_8);
-		return new InputStreamSupplierSource("QPP", new ByteArrayInputStream(qppBytes));
+		try {
+			return BufferedSource.write("QPP", output -> {
+				try (JsonGenerator generator = createGenerator(GENERATOR_FACTORY.createGenerator(output), true)) {
+					writeValue(generator, toObject(), true, null, new StringBuilder());
+				}
+			});
+		} catch (IOException e) {
+			throw new EncodeException("Issue rendering JSON from JsonWrapper Map", e);
+		}
 	}
 
 	void attachMetadata(Node node) {
 		addMetaMap(createMetaMap(node, ""));
 	}
 
+	/**
+	 * Describes where in the QRDA a json hash came from. The description is a view of the originating node, which
+	 * already holds each item of metadata once for the whole conversion.
+	 *
+	 * @param node the originating node
+	 * @param encodeLabel the json attribute the node was encoded as, or empty for the hash itself
+	 * @return the metadata
+	 */
 	Map<String,String> createMetaMap(Node node, String encodeLabel) {
-		Map<String, String> metaMap = new HashMap<>();
-		metaMap.put("encodeLabel", encodeLabel);
-		metaMap.put("nsuri", node.getDefaultNsUri());
-		metaMap.put("template", node.getType().name());
-		metaMap.put("path", node.getOrComputePath());
-		if (node.getLine() != Node.DEFAULT_LOCATION_NUMBER) {
-			metaMap.put("line", String.valueOf(node.getLine()));
-		}
-		if (node.getColumn() != Node.DEFAULT_LOCATION_NUMBER) {
-			metaMap.put("column", String.valueOf(node.getColumn()));
-		}
-		return metaMap;
+		return new NodeMetadata(node, encodeLabel);
 	}
 
 	private void addMetaMap(Map<String, String> metaMap) {
@@ -545,7 +827,7 @@ public class JsonWrapper {
 	private Set<Map<String, String>> getMetadataHolder() {
 		Set<Map<String, String>> returnValue = this.getValue(METADATA_HOLDER);
 		if (returnValue == null) {
-			returnValue = new LinkedHashSet<>();
+			returnValue = new MetadataSet();
 			this.putObject(METADATA_HOLDER, returnValue);
 		}
 		return returnValue;
@@ -564,4 +846,30 @@ public class JsonWrapper {
 		this.getMetadataHolder().add(otherMeta);
 	}
 
+	/**
+	 * Serializes a wrapper's content without its metadata.
+	 */
+	private static final class WithoutMetadata extends JsonSerializable.Base {
+		private final JsonWrapper wrapper;
+
+		WithoutMetadata(JsonWrapper wrapper) {
+			this.wrapper = wrapper;
+		}
+
+		@Override
+		public void serialize(JsonGenerator generator, SerializerProvider provider) throws IOException {
+			writeValue(generator, wrapper.toObject(), false, null, new StringBuilder());
+		}
+
+		@Override
+		public void serializeWithType(JsonGenerator generator, SerializerProvider provider, TypeSerializer typeSerializer)
+				throws IOException {
+			serialize(generator, provider);
+		}
+
+		@Override
+		public String toString() {
+			return wrapper.toStringWithoutMetadata();
+		}
+	}
 }
@@ -37,7 +37,7 @@ public class MeasureDataEncoder extends QppOutputEncoder {
 			Node aggCount = node.findFirstNode(TemplateId.PI_AGGREGATE_COUNT);
 
 			String encodeLabel = SubPopulationHelper.measureTypeMap.get(SubPopulationLabel.findPopulation(measureType));
-			wrapper.putInteger(encodeLabel, aggCount.getValue(AGGREGATE_COUNT));
+			putInteger(wrapper, encodeLabel, aggCount, AGGREGATE_COUNT);
 			maintainContinuity(wrapper, aggCount, encodeLabel);
 		}
 	}
@@ -0,0 +1,75 @@
+package gov.cms.qpp.conversion.encode;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@link JsonWrapper#METADATA_HOLDER} of a json hash. Nearly every hash is described by one or two metadata maps,
+ * so they are kept in insertion order in an array sized to fit rather than in a hash table.
+ */
+final class MetadataSet extends AbstractSet<Map<String, String>> {
+	private List<Map<String, String>> entries = new ArrayList<>(1);
+	private boolean frozen;
+
+	@Override
+	public boolean add(Map<String, String> metadata) {
+		if (frozen) {
+			throw new UnsupportedOperationException("A frozen JsonWrapper may not change");
+		}
+		if (entries.contains(metadata)) {
+			return false;
+		}
+		return entries.add(metadata);
+	}
+
+	@Override
+	public boolean contains(Object metadata) {
+		return entries.contains(metadata);
+	}
+
+	@Override
+	public Iterator<Map<String, String>> iterator() {
+		return entries.iterator();
+	}
+
+	@Override
+	public int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Copies the set, and any metadata that may still change.
+	 *
+	 * @return a copy that may be changed independently
+	 */
+	MetadataSet copy() {
+		MetadataSet copy = new MetadataSet();
+		for (Map<String, String> metadata : entries) {
+			copy.entries.add(metadata instanceof NodeMetadata ? ((NodeMetadata) metadata).copy() : new HashMap<>(metadata));
+		}
+		return copy;
+	}
+
+	/**
+	 * Prevents the set and its metadata from changing.
+	 *
+	 * @return <i><b>this</b></i> reference for chaining
+	 */
+	MetadataSet freeze() {
+		if (!frozen) {
+			frozen = true;
+			entries.forEach(metadata -> {
+				if (metadata instanceof NodeMetadata) {
+					((NodeMetadata) metadata).freeze();
+				}
+			});
+			entries = Collections.unmodifiableList(entries);
+		}
+		return this;
+	}
+}
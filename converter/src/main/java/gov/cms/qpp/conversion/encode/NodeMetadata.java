@@ -0,0 +1,172 @@
+package gov.cms.qpp.conversion.encode;
+
+import gov.cms.qpp.conversion.model.Node;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Metadata that describes where in the QRDA an encoded json hash came from, read from the originating {@link Node}
+ * only when asked for. The node holds the template, namespace, line and column of every entry that describes it, so an
+ * entry costs a reference and a label rather than a map of strings. Unless the node's path was computed when its
+ * conversion was reported, it is not computed until the metadata is looked up or written out.
+ *
+ * Equality follows the {@link Map} contract, so an instance equals any map holding the same metadata. Between two
+ * instances, paths are only compared, and so computed, when everything else matches, which for nodes decoded from
+ * distinct elements is never. The hash code is that of the map of metadata, so it computes the path.
+ */
+final class NodeMetadata extends AbstractMap<String, String> {
+	static final String ENCODE_LABEL = "encodeLabel";
+	static final String NSURI = "nsuri";
+	static final String TEMPLATE = "template";
+	static final String PATH = "path";
+	static final String LINE = "line";
+	static final String COLUMN = "column";
+
+	private final Node node;
+	private String encodeLabel;
+	private boolean frozen;
+
+	/**
+	 * Describes a node.
+	 *
+	 * @param node the node an encoded json hash came from
+	 * @param encodeLabel the json attribute the node was encoded as, or empty for the hash itself
+	 */
+	NodeMetadata(Node node, String encodeLabel) {
+		this.node = node;
+		this.encodeLabel = encodeLabel;
+	}
+
+	/**
+	 * Computes every item of metadata for a node at once.
+	 *
+	 * @param node the node an encoded json hash came from
+	 * @param encodeLabel the json attribute the node was encoded as, or empty for the hash itself
+	 * @return the metadata
+	 */
+	static Map<String, String> of(Node node, String encodeLabel) {
+		Map<String, String> metaMap = new HashMap<>();
+		metaMap.put(ENCODE_LABEL, encodeLabel);
+		metaMap.put(NSURI, node.getDefaultNsUri());
+		metaMap.put(TEMPLATE, node.getType().name());
+		metaMap.put(PATH, node.getOrComputePath());
+		if (node.getLine() != Node.DEFAULT_LOCATION_NUMBER) {
+			metaMap.put(LINE, String.valueOf(node.getLine()));
+		}
+		if (node.getColumn() != Node.DEFAULT_LOCATION_NUMBER) {
+			metaMap.put(COLUMN, String.valueOf(node.getColumn()));
+		}
+		return metaMap;
+	}
+
+	@Override
+	public String get(Object key) {
+		if (ENCODE_LABEL.equals(key)) {
+			return encodeLabel;
+		} else if (NSURI.equals(key)) {
+			return node.getDefaultNsUri();
+		} else if (TEMPLATE.equals(key)) {
+			return node.getType().name();
+		} else if (PATH.equals(key)) {
+			return node.getOrComputePath();
+		} else if (LINE.equals(key)) {
+			return location(node.getLine());
+		} else if (COLUMN.equals(key)) {
+			return location(node.getColumn());
+		}
+		return null;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return ENCODE_LABEL.equals(key) || NSURI.equals(key) || TEMPLATE.equals(key) || PATH.equals(key)
+				|| get(key) != null;
+	}
+
+	@Override
+	public int size() {
+		return 4 + (location(node.getLine()) == null ? 0 : 1) + (location(node.getColumn()) == null ? 0 : 1);
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return false;
+	}
+
+	/**
+	 * Changes the encode label, which is the only item of metadata that may change.
+	 *
+	 * @param key must be {@value #ENCODE_LABEL}
+	 * @param value the new encode label
+	 * @return the previous encode label
+	 */
+	@Override
+	public String put(String key, String value) {
+		if (frozen || !ENCODE_LABEL.equals(key)) {
+			throw new UnsupportedOperationException("Only the " + ENCODE_LABEL + " of node metadata may change");
+		}
+		String previous = encodeLabel;
+		encodeLabel = value;
+		return previous;
+	}
+
+	@Override
+	public Set<Entry<String, String>> entrySet() {
+		return Collections.unmodifiableMap(of(node, encodeLabel)).entrySet();
+	}
+
+	/**
+	 * Copies the metadata without computing it.
+	 *
+	 * @return a copy that may be changed independently
+	 */
+	NodeMetadata copy() {
+		return new NodeMetadata(node, encodeLabel);
+	}
+
+	/**
+	 * Prevents the encode label from changing.
+	 *
+	 * @return <i><b>this</b></i> reference for chaining
+	 */
+	NodeMetadata freeze() {
+		frozen = true;
+		return this;
+	}
+
+	@Override
+	public boolean equals(Object other) {
+		if (this == other) {
+			return true;
+		}
+		if (!(other instanceof NodeMetadata)) {
+			return super.equals(other);
+		}
+		NodeMetadata that = (NodeMetadata) other;
+		if (!Objects.equals(encodeLabel, that.encodeLabel)) {
+			return false;
+		}
+		if (node == that.node) {
+			return true;
+		}
+		return node.getType() == that.node.getType()
+				&& node.getLine() == that.node.getLine()
+				&& node.getColumn() == that.node.getColumn()
+				&& Objects.equals(node.getDefaultNsUri(), that.node.getDefaultNsUri())
+				&& Objects.equals(node.getOrComputePath(), that.node.getOrComputePath());
+	}
+
+	@Override
+	public int hashCode() {
+		return super.hashCode();
+	}
+
+	private static String location(int number) {
+		return number == Node.DEFAULT_LOCATION_NUMBER ? null : String.valueOf(number);
+	}
+}
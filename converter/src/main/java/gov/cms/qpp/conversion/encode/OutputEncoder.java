@@ -1,5 +1,6 @@
 package gov.cms.qpp.conversion.encode;
 
+import java.io.OutputStream;
 import java.io.Writer;
 
 /**
@@ -14,6 +15,14 @@ public interface OutputEncoder {
 	 */
 	void encode(Writer writer, boolean filter);
 
+	/**
+	 * Encode data straight to a stream, with metadata written to a separate stream only when one is given
+	 *
+	 * @param output stream for the encoded data
+	 * @param metadataOutput stream for the metadata, or null to leave it out
+	 */
+	void encode(OutputStream output, OutputStream metadataOutput);
+
 	/**
 	 * Encode data to JsonWrapper
 	 */
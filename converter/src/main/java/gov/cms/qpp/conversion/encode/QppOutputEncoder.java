@@ -59,4 +59,23 @@ public class QppOutputEncoder extends JsonOutputEncoder {
 		Map<String, String> otherMeta = wrapper.createMetaMap(node, leafLabel);
 		wrapper.mergeMetadata(otherMeta);
 	}
+
+	/**
+	 * Places an integer value of a node within the wrapper, as parsed by the node. A value the node cannot parse is
+	 * handed to {@link JsonWrapper#putInteger(String, String)} to be cleaned up or reported.
+	 *
+	 * @param wrapper object to encode into
+	 * @param name encoded json attribute name
+	 * @param node decoded QRDA node
+	 * @param valueName key of the value in the node
+	 * @throws EncodeException If the value is not an integer
+	 */
+	void putInteger(JsonWrapper wrapper, String name, Node node, String valueName) {
+		Integer value = node.getIntegerValue(valueName);
+		if (value == null) {
+			wrapper.putInteger(name, node.getValue(valueName));
+		} else {
+			wrapper.putInteger(name, value.intValue());
+		}
+	}
 }
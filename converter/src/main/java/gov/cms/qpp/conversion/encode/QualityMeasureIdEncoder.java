@@ -7,22 +7,18 @@ import gov.cms.qpp.conversion.model.Encoder;
 import gov.cms.qpp.conversion.model.Node;
 import gov.cms.qpp.conversion.model.TemplateId;
 import gov.cms.qpp.conversion.model.validation.MeasureConfig;
-import gov.cms.qpp.conversion.model.validation.Strata;
-import gov.cms.qpp.conversion.model.validation.SubPopulation;
+import gov.cms.qpp.conversion.model.validation.MeasureConfigIndex;
+import gov.cms.qpp.conversion.model.validation.MeasureConfigIndex.Population;
 import gov.cms.qpp.conversion.model.validation.SubPopulationLabel;
 import gov.cms.qpp.conversion.util.MeasureConfigHelper;
 import gov.cms.qpp.conversion.util.SubPopulationHelper;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
-import static gov.cms.qpp.conversion.decode.AggregateCountDecoder.AGGREGATE_COUNT;
-
 /**
  * Encoder to serialize Quality Measure Identifier and Measure Sections
  */
@@ -50,7 +46,7 @@ public class QualityMeasureIdEncoder extends QppOutputEncoder {
 	 */
 	@Override
 	public void internalEncode(JsonWrapper wrapper, Node node) {
-		MeasureConfig measureConfig = MeasureConfigHelper.getMeasureConfig(node);
+		MeasureConfig measureConfig = MeasureConfigHelper.getMeasureConfig(context, node);
 		String measureId = measureConfig.getMeasureId();
 		wrapper.putString(MEASURE_ID, measureId);
 		if (CMS347_MEASURE_ID.equals(measureId)) {
@@ -92,7 +88,7 @@ public class QualityMeasureIdEncoder extends QppOutputEncoder {
 	private void encodeSubPopulationSum(SubPopulationLabel label, Node measureReferenceNode, JsonWrapper childWrapper) {
 		int currentPopulationSum = calculateSubPopulationSum(measureReferenceNode, label);
 		maintainContinuity(childWrapper, measureReferenceNode, SubPopulationHelper.measureTypeMap.get(label));
-		childWrapper.putInteger(SubPopulationHelper.measureTypeMap.get(label), String.valueOf(currentPopulationSum));
+		childWrapper.putInteger(SubPopulationHelper.measureTypeMap.get(label), currentPopulationSum);
 	}
 
 	/**
@@ -109,7 +105,7 @@ public class QualityMeasureIdEncoder extends QppOutputEncoder {
 		int performanceNotMet = denominatorSum - numeratorSum - denexSum - denexcepSum;
 
 		maintainContinuity(childWrapper, measureReferenceNode, PERFORMANCE_NOT_MET);
-		childWrapper.putInteger(PERFORMANCE_NOT_MET, String.valueOf(performanceNotMet));
+		childWrapper.putInteger(PERFORMANCE_NOT_MET, performanceNotMet);
 	}
 
 	/**
@@ -120,11 +116,33 @@ public class QualityMeasureIdEncoder extends QppOutputEncoder {
 	 * @return
 	 */
 	private int calculateSubPopulationSum(Node measureReferenceNode, SubPopulationLabel label) {
-		return measureReferenceNode.getChildNodes(TemplateId.MEASURE_DATA_CMS_V2)
-			.filter(childNode ->
-				label.hasAlias(childNode.getValue(MeasureDataDecoder.MEASURE_TYPE)))
-			.mapToInt(ipopNode ->
-				Integer.parseInt(ipopNode.findFirstNode(TemplateId.PI_AGGREGATE_COUNT).getValue(AGGREGATE_COUNT))).sum();
+		int sum = 0;
+		for (String alias : label.getAliases()) {
+			sum += measureReferenceNode.getChildNodesWithValue(MeasureDataDecoder.MEASURE_TYPE, alias).stream()
+				.filter(childNode -> TemplateId.MEASURE_DATA_CMS_V2 == childNode.getType()
+					&& alias.equals(childNode.getValue(MeasureDataDecoder.MEASURE_TYPE)))
+				.mapToInt(this::aggregateCount).sum();
+		}
+		return sum;
+	}
+
+	/**
+	 * Finds the first child holding a measure type of the given label, through the parent's child index when the label
+	 * has a single alias.
+	 *
+	 * @param parentNode holder of measure data nodes
+	 * @param label Sub-Population type looked for
+	 * @return the child or null if there is none
+	 */
+	private static Node findChildNode(Node parentNode, SubPopulationLabel label) {
+		String[] aliases = label.getAliases();
+		if (aliases.length != 1) {
+			return parentNode.findChildNode(n -> label.hasAlias(n.getValue(TYPE)));
+		}
+		return parentNode.getChildNodesWithValue(TYPE, aliases[0]).stream()
+			.filter(n -> label.hasAlias(n.getValue(TYPE)))
+			.findFirst()
+			.orElse(null);
 	}
 
 	/**
@@ -171,16 +189,15 @@ public class QualityMeasureIdEncoder extends QppOutputEncoder {
 	 * @return List of decoded Nodes
 	 */
 	private List<Node> createSubPopulationGrouping(Node node, MeasureConfig measureConfig) {
-		int subPopCount = measureConfig.getSubPopulation().size();
+		MeasureConfigIndex index = MeasureConfigHelper.getMeasureConfigIndex(context);
+		int subPopCount = index.getSubPopulations(measureConfig).size();
 		List<Node> subPopNodes = initializeMeasureDataList(subPopCount);
-		Map<String, Integer> mapPopulationIdToSubPopIndex = createSubPopulationIndexMap(measureConfig);
-		node.getChildNodes().stream()
-				.filter(childNode -> TemplateId.MEASURE_DATA_CMS_V2 == childNode.getType())
+		node.getChildNodes(TemplateId.MEASURE_DATA_CMS_V2)
 				.forEach(childNode -> {
 					String populationId = childNode.getValue(MeasureDataDecoder.MEASURE_POPULATION);
-					Integer subPopIndex = mapPopulationIdToSubPopIndex.get(populationId.toUpperCase(Locale.ENGLISH));
-					if (subPopIndex != null) {
-						Node newParentNode = subPopNodes.get(subPopIndex);
+					Population population = index.getPopulation(measureConfig, populationId.toUpperCase(Locale.ENGLISH));
+					if (population != null) {
+						Node newParentNode = subPopNodes.get(population.getSubPopulationIndex());
 						newParentNode.addChildNode(childNode);
 					}
 				});
@@ -199,26 +216,6 @@ public class QualityMeasureIdEncoder extends QppOutputEncoder {
 				.collect(Collectors.toList());
 	}
 
-	/**
-	 * Creates a map of child guids to indexes for sub population grouping
-	 *
-	 * @param measureConfig configurations that group the sub populations
-	 * @return Map of Population UUID keys and index values
-	 */
-	private Map<String, Integer> createSubPopulationIndexMap(MeasureConfig measureConfig) {
-		Map<String, Integer> supPopMap = new HashMap<>();
-		int index = 0;
-		for (SubPopulation subPopulation : measureConfig.getSubPopulation()) {
-			supPopMap.put(subPopulation.getDenominatorUuid(), index);
-			supPopMap.put(subPopulation.getDenominatorExceptionsUuid(), index);
-			supPopMap.put(subPopulation.getDenominatorExclusionsUuid(), index);
-			supPopMap.put(subPopulation.getNumeratorUuid(), index);
-			supPopMap.put(subPopulation.getInitialPopulationUuid(), index);
-			index++;
-		}
-		return supPopMap;
-	}
-
 	/**
 	 * Encode multi performance child nodes
 	 *
@@ -269,13 +266,13 @@ public class QualityMeasureIdEncoder extends QppOutputEncoder {
 	 * @param parentNode holder of the the numerator node
 	 */
 	private void encodePerformanceMet(JsonWrapper wrapper, Node parentNode) {
-		Node numeratorNode = parentNode.findChildNode(n -> SubPopulationLabel.NUMER.hasAlias(n.getValue(TYPE)));
+		Node numeratorNode = findChildNode(parentNode, SubPopulationLabel.NUMER);
 		Optional.ofNullable(numeratorNode).ifPresent(
 			node -> {
 				Node aggCount = node.findFirstNode(TemplateId.PI_AGGREGATE_COUNT);
 				maintainContinuity(wrapper, aggCount, SubPopulationHelper.measureTypeMap.get(SubPopulationLabel.NUMER));
-				wrapper.putInteger(SubPopulationHelper.measureTypeMap.get(SubPopulationLabel.NUMER),
-					aggCount.getValue(AggregateCountDecoder.AGGREGATE_COUNT));
+				putInteger(wrapper, SubPopulationHelper.measureTypeMap.get(SubPopulationLabel.NUMER),
+					aggCount, AggregateCountDecoder.AGGREGATE_COUNT);
 			});
 	}
 
@@ -288,7 +285,7 @@ public class QualityMeasureIdEncoder extends QppOutputEncoder {
 	 * @param measureConfig The measure configuration for the current measure.
 	 */
 	private void encodeStratum(JsonWrapper wrapper, Node parentNode, final MeasureConfig measureConfig) {
-		Node numeratorNode = parentNode.findChildNode(n -> SubPopulationLabel.NUMER.hasAlias(n.getValue(TYPE)));
+		Node numeratorNode = findChildNode(parentNode, SubPopulationLabel.NUMER);
 		Optional.ofNullable(numeratorNode).ifPresent(
 				node -> {
 					maintainContinuity(wrapper, node, "stratum");
@@ -307,13 +304,8 @@ public class QualityMeasureIdEncoder extends QppOutputEncoder {
 	 * @return The strata name.
 	 */
 	private String stratumForNumeratorUuid(String numeratorUuid, MeasureConfig measureConfig) {
-		List<Strata> stratas = measureConfig.getStrata();
-		Optional<String> possibleStratum = stratas.stream()
-			.filter(strata -> numeratorUuid.equals(strata.getElectronicMeasureUuids().getNumeratorUuid()))
-			.map(Strata::getName)
-			.findFirst();
-
-		return possibleStratum.orElse(numeratorUuid);
+		String stratum = MeasureConfigHelper.getMeasureConfigIndex(context).getStratum(measureConfig, numeratorUuid);
+		return stratum != null ? stratum : numeratorUuid;
 	}
 
 	/**
@@ -323,30 +315,30 @@ public class QualityMeasureIdEncoder extends QppOutputEncoder {
 	 * @param parentNode holder of the denominator and denominator exclusion nodes
 	 */
 	private void encodePerformanceNotMet(JsonWrapper wrapper, Node parentNode) {
-		Node numeratorNode = parentNode.findChildNode(n -> SubPopulationLabel.NUMER.hasAlias(n.getValue(TYPE)));
-		Node denominatorNode = parentNode.findChildNode(n -> SubPopulationLabel.DENOM.hasAlias(n.getValue(TYPE)));
-		Node denomExclusionNode = parentNode.findChildNode(n -> SubPopulationLabel.DENEX.hasAlias(n.getValue(TYPE)));
-		Node denomExceptionNode = parentNode.findChildNode(n -> SubPopulationLabel.DENEXCEP.hasAlias(n.getValue(TYPE)));
+		Node numeratorNode = findChildNode(parentNode, SubPopulationLabel.NUMER);
+		Node denominatorNode = findChildNode(parentNode, SubPopulationLabel.DENOM);
+		Node denomExclusionNode = findChildNode(parentNode, SubPopulationLabel.DENEX);
+		Node denomExceptionNode = findChildNode(parentNode, SubPopulationLabel.DENEXCEP);
 
 		Optional.ofNullable(denomExclusionNode).ifPresent(
 				node -> {
 					Node aggCount = node.findFirstNode(TemplateId.PI_AGGREGATE_COUNT);
 					maintainContinuity(wrapper, aggCount, SubPopulationHelper.measureTypeMap.get(SubPopulationLabel.DENEX));
-					String value = aggCount.getValue(AggregateCountDecoder.AGGREGATE_COUNT);
-					wrapper.putInteger(SubPopulationHelper.measureTypeMap.get(SubPopulationLabel.DENEX), value);
+					putInteger(wrapper, SubPopulationHelper.measureTypeMap.get(SubPopulationLabel.DENEX),
+							aggCount, AggregateCountDecoder.AGGREGATE_COUNT);
 				});
 
 		Optional.ofNullable(denomExceptionNode).ifPresent(
 				node -> {
 					Node aggCount = node.findFirstNode(TemplateId.PI_AGGREGATE_COUNT);
 					maintainContinuity(wrapper, aggCount, SubPopulationHelper.measureTypeMap.get(SubPopulationLabel.DENEXCEP));
-					String value = aggCount.getValue(AggregateCountDecoder.AGGREGATE_COUNT);
-					wrapper.putInteger(SubPopulationHelper.measureTypeMap.get(SubPopulationLabel.DENEXCEP), value);
+					putInteger(wrapper, SubPopulationHelper.measureTypeMap.get(SubPopulationLabel.DENEXCEP),
+							aggCount, AggregateCountDecoder.AGGREGATE_COUNT);
 				});
 
 		Optional.ofNullable(denominatorNode).ifPresent(
 				node -> {
-					String performanceNotMet = calculatePerformanceNotMet(numeratorNode, denominatorNode,
+					int performanceNotMet = calculatePerformanceNotMet(numeratorNode, denominatorNode,
 							denomExclusionNode, denomExceptionNode);
 					Node aggCount = node.findFirstNode(TemplateId.PI_AGGREGATE_COUNT);
 					//for eCQMs, will be equal to
@@ -363,22 +355,31 @@ public class QualityMeasureIdEncoder extends QppOutputEncoder {
 	 * @param denomExclusionNode holder of the denominator exclusion aggregate count value
 	 * @return the calculation
 	 */
-	private String calculatePerformanceNotMet(Node numeratorNode, Node denominatorNode,
+	private int calculatePerformanceNotMet(Node numeratorNode, Node denominatorNode,
 											Node denomExclusionNode, Node denomExceptionNode) {
-
-		String denominatorValue = denominatorNode == null ? "0" :
-				denominatorNode.findFirstNode(TemplateId.PI_AGGREGATE_COUNT).getValue(AggregateCountDecoder.AGGREGATE_COUNT);
-		String denomExclusionValue = denomExclusionNode == null ? "0" :
-				denomExclusionNode.findFirstNode(TemplateId.PI_AGGREGATE_COUNT).getValue(AggregateCountDecoder.AGGREGATE_COUNT);
-		String numeratorValue = numeratorNode == null ? "0" :
-				numeratorNode.findFirstNode(TemplateId.PI_AGGREGATE_COUNT).getValue(AggregateCountDecoder.AGGREGATE_COUNT);
-		String denomExceptionValue = denomExceptionNode == null ? "0" :
-				denomExceptionNode.findFirstNode(TemplateId.PI_AGGREGATE_COUNT).getValue(AggregateCountDecoder.AGGREGATE_COUNT);
-
 		// for eCQMs, will be equal to denominator - numerator - denominator exclusion - denominator exception
-		return Integer.toString(Integer.parseInt(denominatorValue)
-				- Integer.parseInt(numeratorValue)
-				- Integer.parseInt(denomExclusionValue)
-				- Integer.parseInt(denomExceptionValue));
+		return aggregateCount(denominatorNode)
+				- aggregateCount(numeratorNode)
+				- aggregateCount(denomExclusionNode)
+				- aggregateCount(denomExceptionNode);
+	}
+
+	/**
+	 * Retrieves the aggregate count of a measure data node, as parsed by its aggregate count node
+	 *
+	 * @param measureDataNode holder of the aggregate count, or null
+	 * @return the aggregate count, or zero if there is no measure data node
+	 * @throws NumberFormatException if the aggregate count is not an integer
+	 */
+	private int aggregateCount(Node measureDataNode) {
+		if (measureDataNode == null) {
+			return 0;
+		}
+		Node aggCount = measureDataNode.findFirstNode(TemplateId.PI_AGGREGATE_COUNT);
+		Integer count = aggCount.getIntegerValue(AggregateCountDecoder.AGGREGATE_COUNT);
+		if (count == null) {
+			throw new NumberFormatException(aggCount.getValue(AggregateCountDecoder.AGGREGATE_COUNT) + " is not an integer.");
+		}
+		return count;
 	}
 }
@@ -7,6 +7,8 @@ import gov.cms.qpp.conversion.model.TemplateId;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.LocalDate;
+
 /**
  * Encoder to serialize reporting paramters
  */
@@ -40,13 +42,12 @@ public class ReportingParametersActEncoder extends QppOutputEncoder {
 	 * @param key one of either PERFORMANCE_START, or PERFORMANCE_END
 	 */
 	private void encodeDate(JsonWrapper wrapper, Node node, String key) {
-		String date = node.getValue(key);
-		try {
+		LocalDate date = node.getDateValue(key);
+		if (date != null) {
 			wrapper.putDate(key, date);
-		} catch (RuntimeException dtpe) {
-			final String message = "Error parsing reporting parameter " + key;
-			DEV_LOG.error(message, dtpe);
-			wrapper.putString(key, date);
+		} else {
+			DEV_LOG.error("Error parsing reporting parameter " + key);
+			wrapper.putString(key, node.getValue(key));
 		}
 	}
 }
@@ -0,0 +1,122 @@
+package gov.cms.qpp.conversion.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The children of a {@link Node} grouped by template, and by the value they hold under a name, so that validators and
+ * encoders looking for the children of one kind find them without scanning every child. Values are grouped the first
+ * time they are looked up by name. An index describes the children as they were when it was built; the node replaces
+ * it once the children change.
+ */
+final class ChildIndex {
+	private final List<Node> children;
+	private final int modifications;
+	private final Map<TemplateId, List<Node>> byType = new EnumMap<>(TemplateId.class);
+	private final Map<String, ValueIndex> byValue = new ConcurrentHashMap<>(4);
+
+	/**
+	 * Groups children by template.
+	 *
+	 * @param children the children, in order
+	 * @param modifications the number of times the children had changed when the index was built
+	 */
+	ChildIndex(List<Node> children, int modifications) {
+		this.children = children;
+		this.modifications = modifications;
+		for (Node child : children) {
+			byType.computeIfAbsent(child.getType(), ignore -> new ArrayList<>(4)).add(child);
+		}
+		byType.replaceAll((type, nodes) -> Collections.unmodifiableList(nodes));
+	}
+
+	/**
+	 * Whether the index still describes the children
+	 *
+	 * @param modifications the number of times the children have changed
+	 * @return true if they have not changed since the index was built
+	 */
+	boolean isCurrent(int modifications) {
+		return this.modifications == modifications;
+	}
+
+	/**
+	 * The children of a template
+	 *
+	 * @param type the template
+	 * @return the children, in order
+	 */
+	List<Node> ofType(TemplateId type) {
+		return byType.getOrDefault(type, Collections.emptyList());
+	}
+
+	/**
+	 * The children holding a value under a name, ignoring case
+	 *
+	 * @param name the name of the value
+	 * @param value the value
+	 * @return the children, in order
+	 */
+	List<Node> withValue(String name, String value) {
+		return value == null ? Collections.emptyList() : valueIndex(name).withValue(value);
+	}
+
+	/**
+	 * Whether every child of a template holds exactly one value under a name
+	 *
+	 * @param type the template
+	 * @param name the name of the value
+	 * @return false if any child of the template is missing the value or has held duplicates of it
+	 */
+	boolean hasSingleValues(TemplateId type, String name) {
+		return !valueIndex(name).irregularTypes.contains(type);
+	}
+
+	private ValueIndex valueIndex(String name) {
+		return byValue.computeIfAbsent(name, ignore -> new ValueIndex(children, name));
+	}
+
+	/**
+	 * The children grouped by the value they hold under one name.
+	 */
+	private static final class ValueIndex {
+		private final Map<String, List<Node>> nodes = new HashMap<>();
+		private final Set<TemplateId> irregularTypes = EnumSet.noneOf(TemplateId.class);
+
+		ValueIndex(List<Node> children, String name) {
+			for (Node child : children) {
+				String value = child.getValue(name);
+				if (value == null || child.getDuplicateValues(name) != null) {
+					irregularTypes.add(child.getType());
+				}
+				if (value != null) {
+					nodes.computeIfAbsent(key(value), ignore -> new ArrayList<>(2)).add(child);
+				}
+			}
+			nodes.replaceAll((value, matches) -> Collections.unmodifiableList(matches));
+		}
+
+		List<Node> withValue(String value) {
+			return nodes.getOrDefault(key(value), Collections.emptyList());
+		}
+
+		/**
+		 * Folds the case of each character as {@link String#equalsIgnoreCase(String)} compares them, so that two
+		 * values share a key exactly when they are equal ignoring case.
+		 */
+		private static String key(String value) {
+			char[] folded = new char[value.length()];
+			for (int index = 0; index < folded.length; index++) {
+				folded[index] = Character.toLowerCase(Character.toUpperCase(value.charAt(index)));
+			}
+			return new String(folded);
+		}
+	}
+}
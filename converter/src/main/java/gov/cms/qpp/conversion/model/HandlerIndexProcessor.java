@@ -0,0 +1,102 @@
+package gov.cms.qpp.conversion.model;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Annotation processor that writes an index of the classes annotated with {@link Decoder}, {@link Encoder} and
+ * {@link Validator} so that a {@link Registry} does not need to scan the class path at startup.
+ *
+ * One resource is written per annotation under {@value #INDEX_DIRECTORY}, named after the annotation and
+ * listing the binary name of each annotated class on its own line.
+ *
+ * This class is compiled ahead of the rest of the module and must only depend on the JDK.
+ */
+public class HandlerIndexProcessor extends AbstractProcessor {
+
+	public static final String INDEX_DIRECTORY = "META-INF/qpp-conversion/handlers/";
+	private static final String MODEL_PACKAGE = "gov.cms.qpp.conversion.model.";
+	private static final Set<String> HANDLER_ANNOTATIONS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+			MODEL_PACKAGE + "Decoder", MODEL_PACKAGE + "Encoder", MODEL_PACKAGE + "Validator")));
+
+	private final Map<String, Set<String>> index = new TreeMap<>();
+
+	@Override
+	public Set<String> getSupportedAnnotationTypes() {
+		return HANDLER_ANNOTATIONS;
+	}
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		for (TypeElement annotation : annotations) {
+			String annotationName = annotation.getQualifiedName().toString();
+			Set<String> handlers = index.computeIfAbsent(annotationName, ignore -> new TreeSet<>());
+
+			for (Element annotated : roundEnv.getElementsAnnotatedWith(annotation)) {
+				if (annotated.getKind() == ElementKind.CLASS) {
+					handlers.add(processingEnv.getElementUtils().getBinaryName((TypeElement) annotated).toString());
+				}
+			}
+		}
+
+		if (roundEnv.processingOver()) {
+			index.forEach(this::writeIndex);
+		}
+
+		return false;
+	}
+
+	/**
+	 * Write the index of a single annotation.
+	 *
+	 * @param annotationName fully qualified name of the handler annotation
+	 * @param handlers binary names of the annotated classes
+	 */
+	private void writeIndex(String annotationName, Set<String> handlers) {
+		try {
+			FileObject resource = processingEnv.getFiler()
+					.createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_DIRECTORY + annotationName);
+			try (Writer writer = resource.openWriter()) {
+				for (String handler : handlers) {
+					writer.write(handler);
+					writer.write('\n');
+				}
+			}
+		} catch (IOException exception) {
+			processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+					"Unable to write handler index for " + annotationName + ": " + exception.getMessage());
+		}
+	}
+
+	/**
+	 * Name of the index resource for the given handler annotation.
+	 *
+	 * @param annotationClass a handler annotation
+	 * @return class path resource name
+	 */
+	public static String indexResource(Class<?> annotationClass) {
+		return INDEX_DIRECTORY + annotationClass.getName();
+	}
+}
@@ -1,5 +1,6 @@
 package gov.cms.qpp.conversion.model;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -21,26 +22,35 @@ import org.jdom2.xpath.XPathHelper;
 import com.google.common.base.MoreObjects;
 import com.google.common.collect.Lists;
 
+import gov.cms.qpp.conversion.xml.ElementPath;
+
 /**
  * Represents a node of data that should be converted. Consists of a key/value
  * Map that holds the data gleaned from an input file.
  * Nodes can contain other nodes as children to create a hierarchy.
+ * Values that hold integers, floats or dates are parsed once, when first asked for, and shared by every validator and
+ * encoder that reads them. Children are indexed by template and by value when first looked up that way, and the index
+ * is rebuilt once the children or their values change.
  */
 public class Node {
 
 	public static final int DEFAULT_LOCATION_NUMBER = -1;
 
-	private final List<Node> childNodes = new ArrayList<>();
-	private final Map<String, String> data = new HashMap<>();
+	private final List<Node> childNodes = new ChildList();
+	private final Map<String, NodeValue> data = new HashMap<>();
 	private final Map<String, List<String>> duplicateData = new HashMap<>();
 
 	private TemplateId type;
 	private Node parent;
-	private boolean validated;
+	private volatile boolean validated;
+	private boolean frozen;
+	private volatile ChildIndex childIndex;
+	private Node indexedBy;
 
 	private Element elementForLocation;
+	private ElementPath elementPath;
 	private String defaultNsUri;
-	private String path;
+	private volatile String path;
 	private int line = DEFAULT_LOCATION_NUMBER;
 	private int column = DEFAULT_LOCATION_NUMBER;
 
@@ -78,7 +88,42 @@ public class Node {
 	 * @return String
 	 */
 	public String getValue(String name) {
-		return data.get(name);
+		NodeValue value = data.get(name);
+		return value == null ? null : value.getText();
+	}
+
+	/**
+	 * Returns the value of the xml fragment parsed into this Node as an integer. The value is parsed once and kept.
+	 *
+	 * @param name String key for the value
+	 * @return the integer, or null if there is no value or it is not an integer
+	 */
+	public Integer getIntegerValue(String name) {
+		NodeValue value = data.get(name);
+		return value == null ? null : value.asInteger();
+	}
+
+	/**
+	 * Returns the value of the xml fragment parsed into this Node as a float. The value is parsed once and kept.
+	 *
+	 * @param name String key for the value
+	 * @return the float, or null if there is no value or it is not a number
+	 */
+	public Float getFloatValue(String name) {
+		NodeValue value = data.get(name);
+		return value == null ? null : value.asFloat();
+	}
+
+	/**
+	 * Returns the value of the xml fragment parsed into this Node as a date, with or without separators. The value is
+	 * parsed once and kept.
+	 *
+	 * @param name String key for the value
+	 * @return the date, or null if there is no value or it is not a date
+	 */
+	public LocalDate getDateValue(String name) {
+		NodeValue value = data.get(name);
+		return value == null ? null : value.asDate();
 	}
 
 	/**
@@ -100,7 +145,8 @@ public class Node {
 	 * @return mapped duplicates of target value
 	 */
 	public List<String> getDuplicateValues(String name) {
-		return duplicateData.get(name);
+		List<String> duplicates = duplicateData.get(name);
+		return frozen && duplicates != null ? Collections.unmodifiableList(duplicates) : duplicates;
 	}
 
 	/**
@@ -121,11 +167,13 @@ public class Node {
 	 * @param replace replace existing value
 	 */
 	public void putValue(String name, String value, boolean replace) {
+		checkNotFrozen();
 		if (getValue(name) == null || replace) {
-			data.put(name, value);
+			data.put(name, new NodeValue(value));
 		} else {
 			duplicateData.computeIfAbsent(name, ignore -> new ArrayList<>()).add(value);
 		}
+		valuesChanged();
 	}
 
 	/**
@@ -134,7 +182,9 @@ public class Node {
 	 * @param name String key to remove value under
 	 */
 	public void removeValue(String name) {
+		checkNotFrozen();
 		data.remove(name);
+		valuesChanged();
 	}
 
 	/**
@@ -153,7 +203,7 @@ public class Node {
 	 * @return List of child Nodes.
 	 */
 	public List<Node> getChildNodes() {
-		return childNodes;
+		return frozen ? Collections.unmodifiableList(childNodes) : childNodes;
 	}
 
 	/**
@@ -163,6 +213,9 @@ public class Node {
 	 * @return List of matching child Nodes.
 	 */
 	public Stream<Node> getChildNodes(TemplateId... templateIds) {
+		if (templateIds.length == 1) {
+			return childIndex().ofType(templateIds[0]).stream();
+		}
 		Set<TemplateId> lookupTemplateIds = EnumSet.noneOf(TemplateId.class);
 		Collections.addAll(lookupTemplateIds, templateIds);
 		return getChildNodes(node -> lookupTemplateIds.contains(node.getType()));
@@ -179,6 +232,43 @@ public class Node {
 				.filter(filter);
 	}
 
+	/**
+	 * Counts the child Nodes for each template id specified
+	 *
+	 * @param templateIds we're looking for these.
+	 * @return the number of matching child Nodes.
+	 */
+	public int countChildNodes(TemplateId... templateIds) {
+		ChildIndex index = childIndex();
+		int count = 0;
+		for (TemplateId templateId : templateIds) {
+			count += index.ofType(templateId).size();
+		}
+		return count;
+	}
+
+	/**
+	 * Returns the child Nodes holding a value under the given name, ignoring case.
+	 *
+	 * @param name String key for the value
+	 * @param value the value looked for
+	 * @return unmodifiable List of matching child Nodes, in order.
+	 */
+	public List<Node> getChildNodesWithValue(String name, String value) {
+		return childIndex().withValue(name, value);
+	}
+
+	/**
+	 * Whether every child Node of a template id holds exactly one value under the given name
+	 *
+	 * @param templateId the children to check
+	 * @param name String key for the value
+	 * @return false if any such child is missing the value or has held duplicates of it
+	 */
+	public boolean hasSingleChildValues(TemplateId templateId, String name) {
+		return childIndex().hasSingleValues(templateId, name);
+	}
+
 	/**
 	 * Returns the first child Node from this Node that satisfies the predicate.
 	 *
@@ -195,6 +285,7 @@ public class Node {
 	 * @param childNodes vararg Node array
 	 */
 	public void setChildNodes(Node... childNodes) {
+		checkNotFrozen();
 		this.childNodes.clear();
 		this.childNodes.addAll(Arrays.asList(childNodes));
 	}
@@ -205,6 +296,7 @@ public class Node {
 	 * @param childNodes vararg Node array
 	 */
 	public void addChildNodes(Node... childNodes) {
+		checkNotFrozen();
 		this.childNodes.addAll(Arrays.asList(childNodes));
 	}
 
@@ -214,6 +306,7 @@ public class Node {
 	 * @param childNode Node
 	 */
 	public void addChildNode(Node childNode) {
+		checkNotFrozen();
 		if (childNode == null || childNode == this) { //NOSONAR checking identity equals on purpose
 			return;
 		}
@@ -227,6 +320,7 @@ public class Node {
 	 * @return <tt>true</tt> if a child matched such that it was deleted.
 	 */
 	public boolean removeChildNode(Node childNode) {
+		checkNotFrozen();
 		return this.childNodes.remove(childNode);
 	}
 
@@ -236,7 +330,7 @@ public class Node {
 	 * @return The keys the value's set on this Node.
 	 */
 	public Set<String> getKeys() {
-		return data.keySet();
+		return frozen ? Collections.unmodifiableSet(data.keySet()) : data.keySet();
 	}
 
 	/**
@@ -254,6 +348,7 @@ public class Node {
 	 * @param parent Node
 	 */
 	public void setParent(Node parent) {
+		checkNotFrozen();
 		this.parent = parent;
 	}
 
@@ -263,7 +358,9 @@ public class Node {
 	 * @param type TemplateId
 	 */
 	public void setType(TemplateId type) {
+		checkNotFrozen();
 		this.type = type;
+		valuesChanged();
 	}
 
 	/**
@@ -281,6 +378,7 @@ public class Node {
 	 * @param line Line number
 	 */
 	public void setLine(int line) {
+		checkNotFrozen();
 		this.line = line;
 	}
 
@@ -299,6 +397,7 @@ public class Node {
 	 * @param column Column number
 	 */
 	public void setColumn(int column) {
+		checkNotFrozen();
 		this.column = column;
 	}
 
@@ -317,11 +416,19 @@ public class Node {
 	 * @return The path.
 	 */
 	public String getOrComputePath() {
-		if (path == null && elementForLocation != null) {
-			path = XPathHelper.getAbsolutePath(elementForLocation);
+		String computed = path;
+		if (computed == null) {
+			Element element = elementForLocation;
+			ElementPath recorded = elementPath;
+			if (element != null) {
+				computed = XPathHelper.getAbsolutePath(element);
+			} else if (recorded != null) {
+				computed = recorded.toXPath();
+			}
+			path = computed;
 		}
 
-		return path;
+		return computed;
 	}
 
 	/**
@@ -339,9 +446,30 @@ public class Node {
 	 * @param elementForLocation The element location for the node
 	 */
 	public void setElementForLocation(Element elementForLocation) {
+		checkNotFrozen();
 		this.elementForLocation = elementForLocation;
 	}
 
+	/**
+	 * Returns the recorded position of the element this node was decoded from
+	 *
+	 * @return The position, or null if none was recorded.
+	 */
+	public ElementPath getElementPath() {
+		return elementPath;
+	}
+
+	/**
+	 * Sets the position of the element this node was decoded from, from which its path is computed when first needed
+	 * without holding on to the element.
+	 *
+	 * @param elementPath The position of the element
+	 */
+	public void setElementPath(ElementPath elementPath) {
+		checkNotFrozen();
+		this.elementPath = elementPath;
+	}
+
 	/**
 	 * Returns the defaultNsUri from the original document this {@code Node} is associated with.
 	 *
@@ -357,6 +485,7 @@ public class Node {
 	 * @param newDefaultNsUri updated default namespace URI.
 	 */
 	public void setDefaultNsUri(String newDefaultNsUri) {
+		checkNotFrozen();
 		defaultNsUri = newDefaultNsUri;
 	}
 
@@ -410,6 +539,13 @@ public class Node {
 	 * if no matches are found
 	 */
 	public Node findFirstNode(TemplateId templateId) {
+		if (type == templateId) {
+			return this;
+		}
+		List<Node> children = childIndex().ofType(templateId);
+		if (!children.isEmpty()) {
+			return children.get(0);
+		}
 		List<Node> nodes = this.findNode(templateId, Node::foundNode);
 		return nodes.isEmpty() ? null : nodes.get(0);
 	}
@@ -448,6 +584,96 @@ public class Node {
 		return !isValidated();
 	}
 
+	/**
+	 * Prevents any further change to this node and its descendants so that they can be shared rather than copied.
+	 * The path of each node is computed and the element it was decoded from released. The validation state is
+	 * bookkeeping for validators and may still change.
+	 */
+	public void freeze() {
+		freeze(true);
+	}
+
+	/**
+	 * Prevents any further change to this node and its descendants, optionally leaving the path of each node to be
+	 * computed when first needed. The element a node was decoded from is then kept rather than released.
+	 *
+	 * @param computePaths whether the paths are computed now
+	 */
+	public void freeze(boolean computePaths) {
+		if (frozen) {
+			return;
+		}
+
+		if (computePaths) {
+			getOrComputePath();
+			elementForLocation = null;
+			elementPath = null;
+		}
+		frozen = true;
+		childNodes.forEach(child -> child.freeze(computePaths));
+	}
+
+	/**
+	 * Whether or not this node may still change
+	 *
+	 * @return true once {@link #freeze()} has been called
+	 */
+	public boolean isFrozen() {
+		return frozen;
+	}
+
+	/**
+	 * The index of this node's children, built again if they have changed since it was last built. Children of an
+	 * unfrozen node are told of the index so that they can drop it when their values change; a child is only told of
+	 * the last node that indexed it. Sibling subtrees validated in parallel may ask for the index of their common
+	 * parent at once, so it is only ever built by one of them.
+	 *
+	 * @return the index
+	 */
+	private ChildIndex childIndex() {
+		ChildIndex index = childIndex;
+		int modifications = ((ChildList) childNodes).modifications();
+		if (index == null || !index.isCurrent(modifications)) {
+			index = buildChildIndex(modifications);
+		}
+		return index;
+	}
+
+	private synchronized ChildIndex buildChildIndex(int modifications) {
+		ChildIndex index = childIndex;
+		if (index == null || !index.isCurrent(modifications)) {
+			index = new ChildIndex(childNodes, modifications);
+			for (Node child : childNodes) {
+				child.indexedBy(this);
+			}
+			childIndex = index;
+		}
+		return index;
+	}
+
+	private void indexedBy(Node owner) {
+		if (frozen || indexedBy == owner) { //NOSONAR checking identity equals on purpose
+			return;
+		}
+		if (indexedBy != null) {
+			indexedBy.childIndex = null;
+		}
+		indexedBy = owner;
+	}
+
+	private void valuesChanged() {
+		Node owner = indexedBy;
+		if (owner != null) {
+			owner.childIndex = null;
+		}
+	}
+
+	private void checkNotFrozen() {
+		if (frozen) {
+			throw new UnsupportedOperationException("A frozen Node may not change");
+		}
+	}
+
 	/**
 	 * foundNode checks to see if any Node exists in the List
 	 *
@@ -502,11 +728,31 @@ public class Node {
 				.add("defaultNsUri", defaultNsUri)
 				.add("path", path)
 				.add("elementForLocation", elementForLocation)
+				.add("elementPath", elementPath)
 				.add("line", line)
 				.add("column", column)
 				.toString();
 	}
 
+	/**
+	 * The children of a node, counting every change made to them so that an index of them can tell it is out of date.
+	 */
+	private static final class ChildList extends ArrayList<Node> {
+		private static final long serialVersionUID = 1L;
+
+		private int replacements;
+
+		int modifications() {
+			return modCount + replacements;
+		}
+
+		@Override
+		public Node set(int index, Node element) {
+			replacements++;
+			return super.set(index, element);
+		}
+	}
+
 	/**
 	 * Returns whether this object is equal to another.
 	 *
@@ -526,13 +772,14 @@ public class Node {
 		final Node node = (Node) o;
 
 		return new EqualsBuilder().append(isValidated(), node.isValidated())
-				.append(getChildNodes(), node.getChildNodes())
+				.append(childNodes, node.childNodes)
 				.append(data, node.data)
 				.append(duplicateData, node.duplicateData)
 				.append(getType(), node.getType())
 				.append(getDefaultNsUri(), node.getDefaultNsUri())
 				.append(path, node.path)
 				.append(getElementForLocation(), node.getElementForLocation())
+				.append(elementPath, node.elementPath)
 				.append(getLine(), node.getLine())
 				.append(getColumn(), node.getColumn())
 				.isEquals();
@@ -545,8 +792,8 @@ public class Node {
 	 */
 	@Override
 	public final int hashCode() {
-		return Objects.hash(getChildNodes(), data, duplicateData, getType(), isValidated(), getDefaultNsUri(),
-				path, getElementForLocation(), getLine(), getColumn());
+		return Objects.hash(childNodes, data, duplicateData, getType(), isValidated(), getDefaultNsUri(),
+				path, getElementForLocation(), elementPath, getLine(), getColumn());
 	}
 
 }
@@ -0,0 +1,97 @@
+package gov.cms.qpp.conversion.model;
+
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.function.Function;
+
+import gov.cms.qpp.conversion.util.FormatHelper;
+
+/**
+ * A value decoded into a {@link Node}: the text gleaned from the input file, and the integer, float or date it holds,
+ * each parsed the first time it is asked for and kept. Parsing gives the same result every time, so threads sharing a
+ * frozen node may race to parse a value without harm.
+ */
+final class NodeValue {
+	private static final Object INVALID = new Object();
+
+	private final String text;
+	private volatile Object integer;
+	private volatile Object decimal;
+	private volatile Object date;
+
+	NodeValue(String text) {
+		this.text = text;
+	}
+
+	String getText() {
+		return text;
+	}
+
+	/**
+	 * The value as an integer
+	 *
+	 * @return the integer, or null if the text is not one
+	 */
+	Integer asInteger() {
+		Object parsed = integer;
+		if (parsed == null) {
+			parsed = parse(Integer::valueOf);
+			integer = parsed;
+		}
+		return parsed == INVALID ? null : (Integer) parsed;
+	}
+
+	/**
+	 * The value as a float
+	 *
+	 * @return the float, or null if the text is not a number
+	 */
+	Float asFloat() {
+		Object parsed = decimal;
+		if (parsed == null) {
+			parsed = parse(Float::valueOf);
+			decimal = parsed;
+		}
+		return parsed == INVALID ? null : (Float) parsed;
+	}
+
+	/**
+	 * The value as a date, as read by {@link FormatHelper#formattedDateParse(String)}
+	 *
+	 * @return the date, or null if the text is not one
+	 */
+	LocalDate asDate() {
+		Object parsed = date;
+		if (parsed == null) {
+			parsed = parse(FormatHelper::formattedDateParse);
+			date = parsed;
+		}
+		return parsed == INVALID ? null : (LocalDate) parsed;
+	}
+
+	private Object parse(Function<String, Object> parser) {
+		if (text == null) {
+			return INVALID;
+		}
+		try {
+			return parser.apply(text);
+		} catch (RuntimeException e) {
+			return INVALID;
+		}
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		return this == o || o instanceof NodeValue && Objects.equals(text, ((NodeValue) o).text);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hashCode(text);
+	}
+
+	@Override
+	public String toString() {
+		return text;
+	}
+}
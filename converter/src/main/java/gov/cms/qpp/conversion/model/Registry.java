@@ -1,29 +1,34 @@
 package gov.cms.qpp.conversion.model;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
 import java.lang.annotation.Annotation;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
-import java.util.Arrays;
-import java.util.Collections;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.IdentityHashMap;
 import java.util.LinkedHashSet;
-import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 
 import org.reflections.Reflections;
+import org.reflections.util.ClasspathHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import gov.cms.qpp.conversion.Context;
+import gov.cms.qpp.conversion.util.EnvironmentHelper;
 
 /**
  * This class manages the available transformation handlers. Currently it takes
@@ -31,17 +36,24 @@ import gov.cms.qpp.conversion.Context;
  * <p>
  * R is the stored and return interface type.
  * V is the key type to access the registered values.
+ * <p>
+ * A registry belongs to a single {@link Context} and is not meant to be shared between threads. Handlers marked
+ * {@link Stateless} are instantiated once per registry, all others are instantiated on every lookup.
  */
 public class Registry<R> {
 
+	public static final String SCAN_CLASSPATH = "SCAN_CLASSPATH_FOR_HANDLERS";
 	private static final Logger DEV_LOG = LoggerFactory.getLogger(Registry.class);
-	private static final Map<Class<?>, Function<Context, Object>> CONSTRUCTORS = new IdentityHashMap<>();
+	private static final Class<?>[] NO_HANDLERS = new Class<?>[0];
+	private static final Map<Class<?>, Function<Context, Object>> CONSTRUCTORS = new ConcurrentHashMap<>();
 	private static final Map<Class<? extends Annotation>, Map<ComponentKey, Class<?>>> SHARED_REGISTRY_MAP
 		= new ConcurrentHashMap<>();
 
 	private final Context context;
 	private final Map<ComponentKey, Class<?>> registryMap;
 	private final Class<? extends Annotation> annotationClass;
+	private final Map<Program, Map<TemplateId, Class<?>[]>> dispatchTables = new EnumMap<>(Program.class);
+	private final Map<Class<?>, R> statelessHandlers = new IdentityHashMap<>();
 
 	/**
 	 * Registry constructor
@@ -59,14 +71,16 @@ public class Registry<R> {
 	}
 
 	/**
-	 * Searches the class path for types with the given annotation
+	 * Finds the types with the given annotation. The index written by {@link HandlerIndexProcessor} is used unless
+	 * {@value #SCAN_CLASSPATH} is set, in which case the class path is searched.
 	 *
 	 * @param annotationClass The annotation for which to search
 	 * @return A map of classes with the given annotation
 	 */
-	private Map<ComponentKey, Class<?>> lookupAnnotatedClasses(Class<? extends Annotation> annotationClass) {
-		Reflections reflections = new Reflections("gov.cms");
-		Set<Class<?>> annotatedClasses = reflections.getTypesAnnotatedWith(annotationClass);
+	Map<ComponentKey, Class<?>> lookupAnnotatedClasses(Class<? extends Annotation> annotationClass) {
+		Set<Class<?>> annotatedClasses = EnvironmentHelper.isPresent(SCAN_CLASSPATH)
+				? new Reflections("gov.cms").getTypesAnnotatedWith(annotationClass)
+				: loadIndexedClasses(annotationClass);
 		Map<ComponentKey, Class<?>> registry = new HashMap<>(annotatedClasses.size());
 
 		for (Class<?> annotatedClass : annotatedClasses) {
@@ -78,6 +92,56 @@ public class Registry<R> {
 		return registry;
 	}
 
+	/**
+	 * Loads the types listed in every index of the given annotation on the class path.
+	 *
+	 * @param annotationClass The annotation for which to search
+	 * @return classes with the given annotation
+	 */
+	private Set<Class<?>> loadIndexedClasses(Class<? extends Annotation> annotationClass) {
+		ClassLoader classLoader = ClasspathHelper.contextClassLoader();
+		Set<Class<?>> annotatedClasses = new LinkedHashSet<>();
+		try {
+			Enumeration<URL> indexes = classLoader.getResources(HandlerIndexProcessor.indexResource(annotationClass));
+			while (indexes.hasMoreElements()) {
+				annotatedClasses.addAll(loadIndex(indexes.nextElement(), classLoader, annotationClass));
+			}
+		} catch (IOException exception) {
+			DEV_LOG.error("Unable to read the " + annotationClass.getSimpleName() + " handler index", exception);
+		}
+
+		if (annotatedClasses.isEmpty()) {
+			DEV_LOG.warn("No indexed " + annotationClass.getSimpleName() + " handlers found. Set " + SCAN_CLASSPATH
+					+ " to search the class path instead.");
+		}
+		return annotatedClasses;
+	}
+
+	private static Set<Class<?>> loadIndex(URL index, ClassLoader classLoader,
+			Class<? extends Annotation> annotationClass) throws IOException {
+		Set<Class<?>> annotatedClasses = new LinkedHashSet<>();
+		try (BufferedReader reader = new BufferedReader(
+				new InputStreamReader(index.openStream(), StandardCharsets.UTF_8))) {
+			String className;
+			while ((className = reader.readLine()) != null) {
+				className = className.trim();
+				if (className.isEmpty()) {
+					continue;
+				}
+
+				try {
+					Class<?> annotatedClass = Class.forName(className, false, classLoader);
+					if (annotatedClass.isAnnotationPresent(annotationClass)) {
+						annotatedClasses.add(annotatedClass);
+					}
+				} catch (ClassNotFoundException | LinkageError exception) {
+					DEV_LOG.warn("Skipping indexed handler " + className + " from " + index, exception);
+				}
+			}
+		}
+		return annotatedClasses;
+	}
+
 	Set<ComponentKey> getComponentKeys(Class<?> annotatedClass) {
 		Annotation annotation = annotatedClass.getAnnotation(annotationClass);
 		Set<ComponentKey> values = new HashSet<>();
@@ -120,7 +184,16 @@ public class Registry<R> {
 			return null;
 		}
 
-		return handlerClass.cast(CONSTRUCTORS.computeIfAbsent(handlerClass, this::createHandler).apply(context));
+		R handler = statelessHandlers.get(handlerClass);
+		if (handler != null) {
+			return handler;
+		}
+
+		handler = handlerClass.cast(CONSTRUCTORS.computeIfAbsent(handlerClass, this::createHandler).apply(context));
+		if (handler != null && handlerClass.isAnnotationPresent(Stateless.class)) {
+			statelessHandlers.put(handlerClass, handler);
+		}
+		return handler;
 	}
 
 	/**
@@ -211,68 +284,82 @@ public class Registry<R> {
 	}
 
 	/**
-	 * Retrieve handlers that apply generally and specifically to the given template. The
+	 * Retrieve handlers that apply generally and specifically to the given template. The general handler precedes
+	 * the program specific handler.
 	 *
 	 * @param registryKey the template for which handlers will be searched
 	 * @return all applicable handlers
 	 */
 	public Set<R> inclusiveGet(TemplateId registryKey) {
-		return findHandlers(getKeys(registryKey, true)).stream()
-				.map(this::instantiateHandler)
-				.collect(Collectors.toCollection(LinkedHashSet<R>::new));
+		Class<?>[] handlerClasses = findHandlers(registryKey);
+		Set<R> handlers = new LinkedHashSet<>(handlerClasses.length * 2);
+		for (Class<?> handlerClass : handlerClasses) {
+			handlers.add(instantiateHandler(asHandlerClass(handlerClass)));
+		}
+		return handlers;
 	}
 
 	/**
-	 * Get a template specific list that specifies the order in which handler classes will be searched.
+	 * Retrieve a handler for the given template id. A program specific handler takes precedence over
+	 * a general handler.
 	 *
-	 * @param registryKey a template id
-	 * @param generalPriority specify the order of specificity i.e. general first or program specific first.
-	 * @return list of component keys
+	 * @param registryKey template id
+	 * @return handler i.e. {@link Validator}, {@link Decoder} or {@link Encoder}
 	 */
-	private List<ComponentKey> getKeys(TemplateId registryKey, boolean generalPriority) {
-		Program contextProgram = context.getProgram();
-		if (contextProgram == Program.ALL) {
-			return Collections.singletonList(new ComponentKey(registryKey, contextProgram));
-		}
-
-		List<ComponentKey> returnValue = Arrays.asList(
-				new ComponentKey(registryKey, contextProgram),
-				new ComponentKey(registryKey, Program.ALL));
-		if (generalPriority) {
-			Collections.reverse(returnValue);
-		}
-		return returnValue;
+	private Class<? extends R> findHandler(TemplateId registryKey) {
+		Class<?>[] handlerClasses = findHandlers(registryKey);
+		return handlerClasses.length == 0 ? null : asHandlerClass(handlerClasses[handlerClasses.length - 1]);
 	}
 
 	/**
-	 * Retrieve a handler for the given template id
+	 * Find the handler classes that apply to the given template under the context's current {@link Program}.
 	 *
 	 * @param registryKey template id
-	 * @return handler i.e. {@link Validator}, {@link Decoder} or {@link Encoder}
+	 * @return handler classes ordered general first, never null
 	 */
-	private Class<? extends R> findHandler(TemplateId registryKey) {
-		return findHandlers(getKeys(registryKey, false))
-				.stream()
-				.findFirst()
-				.orElse(null);
+	private Class<?>[] findHandlers(TemplateId registryKey) {
+		if (registryKey == null) {
+			return NO_HANDLERS;
+		}
+
+		Map<TemplateId, Class<?>[]> dispatchTable =
+				dispatchTables.computeIfAbsent(context.getProgram(), this::createDispatchTable);
+		Class<?>[] handlerClasses = dispatchTable.get(registryKey);
+		return handlerClasses == null ? NO_HANDLERS : handlerClasses;
 	}
 
 	/**
-	 * Find and return handler classes that correspond to the given component keys.
+	 * Resolve the handler classes of every template for the given program.
 	 *
-	 * @param keys a list of potential {@link Registry#registryMap} keys
-	 * @return ordered set of handler classes
+	 * @param program program handlers are resolved for
+	 * @return handler classes by template, ordered general first
 	 */
-	private Set<Class<? extends R>> findHandlers(List<ComponentKey> keys) {
-		Set<Class<? extends R>> handlers = new LinkedHashSet<>();
-		keys.forEach(key -> {
-			@SuppressWarnings("unchecked")
-			Class<? extends R> handler = (Class<? extends R>) registryMap.get(key);
-			if (handler != null) {
-				handlers.add(handler);
+	private Map<TemplateId, Class<?>[]> createDispatchTable(Program program) {
+		Map<TemplateId, Class<?>[]> dispatchTable = new EnumMap<>(TemplateId.class);
+		for (TemplateId templateId : TemplateId.values()) {
+			Set<Class<?>> handlerClasses = new LinkedHashSet<>();
+			addHandlerClass(handlerClasses, new ComponentKey(templateId, Program.ALL));
+			if (program != Program.ALL) {
+				addHandlerClass(handlerClasses, new ComponentKey(templateId, program));
 			}
-		});
-		return handlers;
+
+			if (!handlerClasses.isEmpty()) {
+				dispatchTable.put(templateId, handlerClasses.toArray(NO_HANDLERS));
+			}
+		}
+		return dispatchTable;
+	}
+
+	private void addHandlerClass(Set<Class<?>> handlerClasses, ComponentKey key) {
+		Class<?> handlerClass = registryMap.get(key);
+		if (handlerClass != null) {
+			handlerClasses.add(handlerClass);
+		}
+	}
+
+	@SuppressWarnings("unchecked") // the registry map only holds handlers registered for this registry's type
+	private Class<? extends R> asHandlerClass(Class<?> handlerClass) {
+		return (Class<? extends R>) handlerClass;
 	}
 
 	/**
@@ -292,6 +379,7 @@ public class Registry<R> {
 		}
 		
 		registryMap.put(registryKey, handler);
+		dispatchTables.clear();
 	}
 
 	public int size() {
@@ -0,0 +1,19 @@
+package gov.cms.qpp.conversion.model;
+
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a {@link Decoder}, {@link Encoder} or {@link Validator} whose instances retain no state between uses.
+ * A {@link Registry} creates a single instance of such a handler per {@link gov.cms.qpp.conversion.Context}
+ * rather than a new instance for every lookup.
+ */
+@Inherited
+@Target(TYPE)
+@Retention(RUNTIME)
+public @interface Stateless {
+}
@@ -5,7 +5,6 @@ import gov.cms.qpp.conversion.util.EnvironmentHelper;
 
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
 
 import org.apache.commons.lang3.StringUtils;
 
@@ -155,23 +154,37 @@ public enum TemplateId {
 	 * {@code TemplateId.UNIMPLEMENTED}.
 	 */
 	public static TemplateId getTemplateId(final String root, final String extension, final Context context) {
-		TemplateId defaultTemplate = TemplateId.UNIMPLEMENTED;
-		Map<String, TemplateId> extensionsToTemplateId = ROOT_AND_TO_TEMPLATE_ID.get(root);
-		Function<Boolean, TemplateId> templateIdFunction = condition -> condition
-			? extensionsToTemplateId.getOrDefault(extension, defaultTemplate) :
-			extensionsToTemplateId.getOrDefault(null, defaultTemplate);
-		TemplateId retrieved = null;
+		return getTemplateId(root, extension, isExtensionStrict(context));
+	}
 
+	/**
+	 * Finds a template ID by root and extension once the extension policy has been resolved, see
+	 * {@link #isExtensionStrict(Context)}. The Clinical Document extension is always matched.
+	 *
+	 * @param root The root part of the templateId.
+	 * @param extension The extension part of the templateId.
+	 * @param strictExtension whether or not the extension must match
+	 * @return The template ID if found. Else {@code TemplateId.UNIMPLEMENTED}.
+	 */
+	public static TemplateId getTemplateId(final String root, final String extension, final boolean strictExtension) {
+		Map<String, TemplateId> extensionsToTemplateId = ROOT_AND_TO_TEMPLATE_ID.get(root);
 		if (extensionsToTemplateId == null) {
-			retrieved = defaultTemplate;
-		} else if (context.isHistorical()) {
-			retrieved = templateIdFunction.apply(CLINICAL_DOCUMENT.root.equals(root));
-		} else {
-			retrieved = templateIdFunction.apply(
-				CLINICAL_DOCUMENT.root.equals(root) || EnvironmentHelper.isPresent(Extension.STRICT_EXTENSION));
+			return TemplateId.UNIMPLEMENTED;
 		}
 
-		return retrieved;
+		boolean matchExtension = strictExtension || CLINICAL_DOCUMENT.root.equals(root);
+		return extensionsToTemplateId.getOrDefault(matchExtension ? extension : null, TemplateId.UNIMPLEMENTED);
+	}
+
+	/**
+	 * Whether or not template ID extensions must match for the given context. Extensions are never enforced for
+	 * historical conversions, and otherwise only when {@code STRICT_EXTENSION} is set.
+	 *
+	 * @param context allows historical check
+	 * @return true if extensions must match
+	 */
+	public static boolean isExtensionStrict(final Context context) {
+		return !context.isHistorical() && EnvironmentHelper.isPresent(Extension.STRICT_EXTENSION);
 	}
 
 	/**
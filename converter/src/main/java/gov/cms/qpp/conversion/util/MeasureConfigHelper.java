@@ -1,10 +1,11 @@
 package gov.cms.qpp.conversion.util;
 
+import gov.cms.qpp.conversion.Context;
 import gov.cms.qpp.conversion.model.Node;
 import gov.cms.qpp.conversion.model.validation.MeasureConfig;
+import gov.cms.qpp.conversion.model.validation.MeasureConfigIndex;
 import gov.cms.qpp.conversion.model.validation.MeasureConfigs;
 
-import java.util.Locale;
 import java.util.Objects;
 import java.util.stream.Stream;
 
@@ -24,8 +25,30 @@ public class MeasureConfigHelper {
 	 * @return
 	 */
 	public static MeasureConfig getMeasureConfig(Node node) {
+		return getMeasureConfig(null, node);
+	}
+
+	/**
+	 * Retrieves the measure configuration for validation from an ecqm node, as the configurations of a conversion
+	 * have it
+	 *
+	 * @param context the conversion, or null to use the configurations currently in use
+	 * @param node Contains the id that associates with the measure config
+	 * @return the measure configuration, or null if there is none
+	 */
+	public static MeasureConfig getMeasureConfig(Context context, Node node) {
 		String measureId =  node.getValue(MEASURE_ID);
-		return findMeasureConfigByUuid(measureId);
+		return getMeasureConfigIndex(context).getMeasureConfig(measureId);
+	}
+
+	/**
+	 * Retrieves the measure configurations of a conversion
+	 *
+	 * @param context the conversion, or null to use the configurations currently in use
+	 * @return the index of the configurations
+	 */
+	public static MeasureConfigIndex getMeasureConfigIndex(Context context) {
+		return context == null ? MeasureConfigs.getIndex() : context.getMeasureConfigSnapshot().getIndex();
 	}
 
 	/**
@@ -43,11 +66,7 @@ public class MeasureConfigHelper {
 	}
 
 	private static MeasureConfig findMeasureConfigByUuid(String uuid) {
-		if (uuid == null) {
-			return null;
-		}
-
-		return MeasureConfigs.getConfigurationMap().get(uuid.toLowerCase(Locale.US));
+		return MeasureConfigs.getIndex().getMeasureConfig(uuid);
 	}
 
 	/**
@@ -57,7 +76,19 @@ public class MeasureConfigHelper {
 	 * @return the best available measure id value
 	 */
 	public static String getPrioritizedId(Node node) {
-		MeasureConfig measureConfig = getMeasureConfig(node);
+		return getPrioritizedId(null, node);
+	}
+
+	/**
+	 * Determine which measure id-ish value should be used for a given node, as the configurations of a conversion
+	 * have it.
+	 *
+	 * @param context the conversion, or null to use the configurations currently in use
+	 * @param node a decoded node
+	 * @return the best available measure id value
+	 */
+	public static String getPrioritizedId(Context context, Node node) {
+		MeasureConfig measureConfig = getMeasureConfig(context, node);
 		return getPrioritizedId(measureConfig);
 	}
 
@@ -9,19 +9,13 @@ import gov.cms.qpp.conversion.model.TemplateId;
 import gov.cms.qpp.conversion.model.error.Detail;
 import gov.cms.qpp.conversion.model.error.LocalizedError;
 import gov.cms.qpp.conversion.util.DuplicationCheckHelper;
-import gov.cms.qpp.conversion.util.FormatHelper;
 
-import java.time.format.DateTimeParseException;
-import java.util.Arrays;
 import java.util.Collection;
-import java.util.EnumMap;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -33,18 +27,12 @@ class Checker {
 	private Node node;
 	private List<Detail> details;
 	private boolean force;
-	private Map<TemplateId, AtomicInteger> nodeCount;
 	private Comparable<?> lastAppraised;
 
 	private Checker(Node node, List<Detail> details, boolean force) {
 		this.node = node;
 		this.details = details;
 		this.force = force;
-		this.nodeCount = new EnumMap<>(TemplateId.class);
-		node.getChildNodes()
-			.stream()
-			.map(Node::getType)
-			.forEach(type -> this.nodeCount.computeIfAbsent(type, key -> new AtomicInteger()).incrementAndGet());
 		this.node.setValidated(true);
 	}
 
@@ -151,9 +139,7 @@ class Checker {
 	 */
 	public Checker isValidDate(LocalizedError code, String name) {
 		if (!shouldShortcut()) {
-			try {
-				FormatHelper.formattedDateParse(node.getValue(name));
-			} catch (DateTimeParseException e) {
+			if (node.getDateValue(name) == null) {
 				details.add(detail(code));
 			}
 		}
@@ -214,11 +200,12 @@ class Checker {
 	 */
 	Checker intValue(LocalizedError code, String name) {
 		if (!shouldShortcut()) {
-			try {
-				lastAppraised = Integer.parseInt(node.getValue(name));
-			} catch (NumberFormatException ex) {
-				DEV_LOG.warn("Problem with non int value: " + node.getValue(name), ex);
+			Integer value = node.getIntegerValue(name);
+			if (value == null) {
+				DEV_LOG.warn("Problem with non int value: " + node.getValue(name));
 				details.add(detail(code));
+			} else {
+				lastAppraised = value;
 			}
 		}
 		return this;
@@ -265,18 +252,17 @@ class Checker {
 	 * @param endValue ending value for range
 	 * @return The checker, for chaining method calls
 	 */
-	@SuppressWarnings("unchecked")
 	Checker inDecimalRangeOf(LocalizedError code, String name, float startValue, float endValue) {
 		if (!shouldShortcut()) {
-			try {
-				lastAppraised = Float.parseFloat(node.getValue(name));
-				if (((Comparable<Float>) lastAppraised).compareTo(startValue) < 0
-						|| ((Comparable<Float>) lastAppraised).compareTo(endValue) > 0) {
+			Float value = node.getFloatValue(name);
+			if (value == null) {
+				DEV_LOG.warn("Problem with non float value: " + node.getValue(name));
+				details.add(detail(code));
+			} else {
+				lastAppraised = value;
+				if (value.compareTo(startValue) < 0 || value.compareTo(endValue) > 0) {
 					details.add(detail(code));
 				}
-			} catch (RuntimeException exc) {
-				DEV_LOG.warn("Problem with non float value: " + node.getValue(name), exc);
-				details.add(detail(code));
 			}
 		}
 		return this;
@@ -473,11 +459,7 @@ class Checker {
 	 * @return count
 	 */
 	private int tallyNodes(TemplateId... types) {
-		return Arrays.stream(types)
-			.map(nodeCount::get)
-			.filter(Objects::nonNull)
-			.mapToInt(AtomicInteger::get)
-			.sum();
+		return node.countChildNodes(types);
 	}
 
 	/**
@@ -64,7 +64,7 @@ public class CpcMeasureDataValidator extends NodeValidator {
 				node.getChildNodes(currSupplementalDataTemplateId).collect(Collectors.toSet());
 		EnumSet<SupplementalData> codes = EnumSet.copyOf(
 				 SupplementalData.getSupplementalDataSetByType(supplementalDataType));
-		MeasureConfig measureConfig = MeasureConfigHelper.getMeasureConfig(node.getParent());
+		MeasureConfig measureConfig = MeasureConfigHelper.getMeasureConfig(context, node.getParent());
 		if (measureConfig != null) {
 			String electronicMeasureId = measureConfig.getElectronicMeasureId();
 			for (SupplementalData supplementalData : codes) {
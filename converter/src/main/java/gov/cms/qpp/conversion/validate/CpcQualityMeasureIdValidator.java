@@ -40,14 +40,14 @@ public class CpcQualityMeasureIdValidator extends QualityMeasureIdValidator {
 	@Override
 	protected void performValidation(Node node) {
 		super.performValidation(node);
-		MeasureConfig measureConfig = MeasureConfigHelper.getMeasureConfig(node);
+		MeasureConfig measureConfig = MeasureConfigHelper.getMeasureConfig(context, node);
 		if (measureConfig != null && measureConfig.getStrata() != null) {
 			int requiredPerformanceRateCount = measureConfig.getStrata().size();
 
 			forceCheckErrors(node)
 					.childExact(
 						ErrorCode.CPC_QUALITY_MEASURE_ID_INVALID_PERFORMANCE_RATE_COUNT
-							.format(requiredPerformanceRateCount, MeasureConfigHelper.getPrioritizedId(node)),
+							.format(requiredPerformanceRateCount, MeasureConfigHelper.getPrioritizedId(context, node)),
 						requiredPerformanceRateCount, TemplateId.PERFORMANCE_RATE_PROPORTION_MEASURE);
 		}
 	}
@@ -77,15 +77,23 @@ public class CpcQualityMeasureIdValidator extends QualityMeasureIdValidator {
 	private Consumer<Node> makePerformanceRateUuidValidator(Supplier<String> check, String... keys) {
 		return node -> {
 			if (check.get() != null) {
-				Predicate<Node> childUuidFinder =
-						makeUuidChildFinder(check, ErrorCode.QUALITY_MEASURE_ID_MISSING_SINGLE_PERFORMANCE_RATE,
-								PERFORMANCE_RATE_ID);
+				Node existingUuidChild;
+				if (hasSingleChildValues(node, TemplateId.PERFORMANCE_RATE_PROPORTION_MEASURE, PERFORMANCE_RATE_ID)) {
+					existingUuidChild = node.getChildNodesWithValue(PERFORMANCE_RATE_ID, check.get()).stream()
+							.filter(child -> child.getType() == TemplateId.PERFORMANCE_RATE_PROPORTION_MEASURE)
+							.findFirst()
+							.orElse(null);
+				} else {
+					Predicate<Node> childUuidFinder =
+							makeUuidChildFinder(check, ErrorCode.QUALITY_MEASURE_ID_MISSING_SINGLE_PERFORMANCE_RATE,
+									PERFORMANCE_RATE_ID);
 
-				Node existingUuidChild = node
-						.getChildNodes(TemplateId.PERFORMANCE_RATE_PROPORTION_MEASURE)
-						.filter(childUuidFinder)
-						.findFirst()
-						.orElse(null);
+					existingUuidChild = node
+							.getChildNodes(TemplateId.PERFORMANCE_RATE_PROPORTION_MEASURE)
+							.filter(childUuidFinder)
+							.findFirst()
+							.orElse(null);
+				}
 
 				if (existingUuidChild == null) {
 					addMeasureConfigurationValidationMessage(check, keys, node);
@@ -6,12 +6,9 @@ import gov.cms.qpp.conversion.model.TemplateId;
 import gov.cms.qpp.conversion.model.Validator;
 import gov.cms.qpp.conversion.model.error.ErrorCode;
 import gov.cms.qpp.conversion.model.error.LocalizedError;
-import gov.cms.qpp.conversion.model.validation.MeasureConfig;
-import gov.cms.qpp.conversion.model.validation.MeasureConfigs;
+import gov.cms.qpp.conversion.util.MeasureConfigHelper;
 
 import java.util.Arrays;
-import java.util.List;
-import java.util.Map;
 
 /**
  * Validates a measure groupings for a CPC+ Quality Measure Section node.
@@ -50,11 +47,8 @@ public class CpcQualityMeasureSectionValidator extends NodeValidator {
 	 * @return measure id array
 	 */
 	String[] grabGroupMeasures(CpcGroupMinimum groupMinimum) {
-		Map<String, List<MeasureConfig>> cpcPlusGroups = MeasureConfigs.getCpcPlusGroups();
-
-		return cpcPlusGroups.get(groupMinimum.getMapName()).stream()
-				.map(MeasureConfig::getElectronicMeasureVerUuid)
-				.toArray(String[]::new);
+		return MeasureConfigHelper.getMeasureConfigIndex(context).getCpcPlusGroupMeasureIds(groupMinimum.getMapName())
+				.toArray(new String[0]);
 	}
 
 	/**
@@ -62,11 +56,7 @@ public class CpcQualityMeasureSectionValidator extends NodeValidator {
 	 * @param checker node validator helper
 	 */
 	private void verifyOverallCount(Checker checker) {
-		String[] measureIds = MeasureConfigs.getCpcPlusGroups()
-				.values().stream()
-				.flatMap(List::stream)
-				.map(MeasureConfig::getElectronicMeasureVerUuid)
-				.toArray(String[]::new);
+		String[] measureIds = MeasureConfigHelper.getMeasureConfigIndex(context).getCpcPlusMeasureIds().toArray(new String[0]);
 
 		checker.hasMeasures(
 				CpcGroupMinimum.makeOverallError(measureIds), CpcGroupMinimum.NUMBER_OF_MEASURES_REQUIRED, measureIds);
@@ -44,7 +44,7 @@ public class MipsQualityMeasureIdValidator extends QualityMeasureIdValidator {
 	@Override
 	protected void performValidation(Node node) {
 		super.performValidation(node);
-		MeasureConfig measureConfig = MeasureConfigHelper.getMeasureConfig(node);
+		MeasureConfig measureConfig = MeasureConfigHelper.getMeasureConfig(context, node);
 
 		if (measureConfig != null) {
 			validateExistingPerformanceRates(node, measureConfig);
@@ -70,7 +70,7 @@ public class MipsQualityMeasureIdValidator extends QualityMeasureIdValidator {
 	 * @param measureConfig The current sub population
 	 */
 	private void validateExistingPerformanceRates(Node node, MeasureConfig measureConfig) {
-		if (measureConfig.getSubPopulation().isEmpty()) {
+		if (MeasureConfigHelper.getMeasureConfigIndex(context).getSubPopulations(measureConfig).isEmpty()) {
 			return;
 		}
 		List<Node> performanceRateNodes = node
@@ -90,7 +90,7 @@ public class MipsQualityMeasureIdValidator extends QualityMeasureIdValidator {
 	 * @param performanceRateNode The current performance rate node
 	 */
 	private void validatePerformanceRateUuid(Node node, MeasureConfig measureConfig, Node performanceRateNode) {
-		List<SubPopulation> subPopulations = measureConfig.getSubPopulation();
+		List<SubPopulation> subPopulations = MeasureConfigHelper.getMeasureConfigIndex(context).getSubPopulations(measureConfig);
 		validatePerformanceRateUuidExists(performanceRateNode);
 
 		String performanceUuid = performanceRateNode.getValue(PERFORMANCE_RATE_ID);
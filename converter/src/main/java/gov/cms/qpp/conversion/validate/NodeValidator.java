@@ -13,7 +13,9 @@ import gov.cms.qpp.conversion.model.error.Detail;
 import gov.cms.qpp.conversion.model.error.ValidationResult;
 
 /**
- * The parent class that all validators must inherit from.
+ * The parent class that all validators must inherit from. A validator is created for each node it validates, so its
+ * errors and warnings are only ever added to by the thread validating that node, even when subtrees are validated in
+ * parallel.
  */
 public abstract class NodeValidator {
 
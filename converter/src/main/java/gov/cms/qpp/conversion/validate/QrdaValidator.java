@@ -15,10 +15,14 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
  * The engine that executes the VALIDATORS on the entire hierarchy of {@link gov.cms.qpp.conversion.model.Node}s.
+ * When the context asks for it, sibling subtrees are validated in parallel; each subtree is still validated depth
+ * first, as validators only mark nodes within the subtree of the node they validate.
  */
 public class QrdaValidator {
 	private static final Logger DEV_LOG = LoggerFactory.getLogger(QrdaValidator.class);
@@ -27,6 +31,7 @@ public class QrdaValidator {
 	private final List<Detail> warnings = new ArrayList<>();
 	private final Set<TemplateId> scope;
 	private final Registry<NodeValidator> validators;
+	private final Context context;
 
 	/**
 	 * Constructs and instance from the Context which contains all
@@ -34,6 +39,7 @@ public class QrdaValidator {
 	 * @param context
 	 */
 	public QrdaValidator(Context context) {
+		this.context = context;
 		this.validators = context.getRegistry(Validator.class);
 		this.scope = context.hasScope() ? QrdaScope.getTemplates(context.getScope()) : null;
 	}
@@ -47,8 +53,17 @@ public class QrdaValidator {
 	public ValidationResult validate(Node rootNode) {
 		DEV_LOG.info("Validating all nodes in the tree");
 
-		//validate each node while traversing the tree
-		validateTree(rootNode);
+		if (context.isParallelValidation()) {
+			//pin the measure configurations before any task looks them up
+			context.getMeasureConfigSnapshot();
+			SubtreeValidation tree = new SubtreeValidation(rootNode);
+			context.getValidationPool().invoke(tree);
+			errors.addAll(tree.errors);
+			warnings.addAll(tree.warnings);
+		} else {
+			//validate each node while traversing the tree
+			validateTree(rootNode);
+		}
 
 		return new ValidationResult(errors, warnings);
 	}
@@ -70,12 +85,23 @@ public class QrdaValidator {
 	 * @param node The node to validate.
 	 */
 	private void validateSingleNode(final Node node) {
+		validateSingleNode(node, errors, warnings);
+	}
+
+	/**
+	 * Validates a single {@link gov.cms.qpp.conversion.model.Node}, collecting what it finds.
+	 *
+	 * @param node The node to validate.
+	 * @param nodeErrors Where errors are added.
+	 * @param nodeWarnings Where warnings are added.
+	 */
+	private void validateSingleNode(final Node node, List<Detail> nodeErrors, List<Detail> nodeWarnings) {
 		getValidators(node.getType())
 			.filter(this::isValidationRequired)
 			.forEach(validatorForNode -> {
 				ValidationResult problems = validatorForNode.validateSingleNode(node);
-				errors.addAll(problems.getErrors());
-				warnings.addAll(problems.getWarnings());
+				nodeErrors.addAll(problems.getErrors());
+				nodeWarnings.addAll(problems.getWarnings());
 			});
 	}
 
@@ -86,7 +112,11 @@ public class QrdaValidator {
 	 * @return validators that correspond to the given template id
 	 */
 	private Stream<NodeValidator> getValidators(TemplateId templateId) {
-		Set<NodeValidator> nodeValidators = validators.inclusiveGet(templateId);
+		Set<NodeValidator> nodeValidators;
+		//the registry caches what it looks up, which parallel subtrees must not do at once
+		synchronized (validators) {
+			nodeValidators = validators.inclusiveGet(templateId);
+		}
 		return nodeValidators.stream()
 				.filter(Objects::nonNull)
 				.filter(nodeValidator -> {
@@ -129,4 +159,48 @@ public class QrdaValidator {
 				.filter(Node::isNotValidated)
 				.forEach(this::validateTree);
 	}
+
+	/**
+	 * Validates a {@link gov.cms.qpp.conversion.model.Node} and then its children, forking a task for each child that
+	 * has children of its own. Each task collects its own errors and warnings, which are merged in document order.
+	 */
+	private final class SubtreeValidation extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final transient Node node;
+		private final List<Detail> errors = new ArrayList<>();
+		private final List<Detail> warnings = new ArrayList<>();
+
+		private SubtreeValidation(Node node) {
+			this.node = node;
+		}
+
+		@Override
+		protected void compute() {
+			validateSingleNode(node, errors, warnings);
+
+			List<SubtreeValidation> children = node.getChildNodes().stream()
+					.filter(Node::isNotValidated)
+					.map(SubtreeValidation::new)
+					.collect(Collectors.toList());
+			for (SubtreeValidation child : children) {
+				if (child.hasChildren()) {
+					child.fork();
+				}
+			}
+			for (SubtreeValidation child : children) {
+				if (child.hasChildren()) {
+					child.join();
+				} else {
+					child.compute();
+				}
+				errors.addAll(child.errors);
+				warnings.addAll(child.warnings);
+			}
+		}
+
+		private boolean hasChildren() {
+			return !node.getChildNodes().isEmpty();
+		}
+	}
 }
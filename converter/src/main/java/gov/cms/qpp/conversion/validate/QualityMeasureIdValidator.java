@@ -69,7 +69,7 @@ abstract class QualityMeasureIdValidator extends NodeValidator {
 	 * @param node to validate
 	 */
 	private void validateMeasureConfigs(Node node) {
-		MeasureConfig measureConfig = MeasureConfigHelper.getMeasureConfig(node);
+		MeasureConfig measureConfig = MeasureConfigHelper.getMeasureConfig(context, node);
 
 		if (measureConfig != null) {
 			validateAllSubPopulations(node, measureConfig);
@@ -90,7 +90,7 @@ abstract class QualityMeasureIdValidator extends NodeValidator {
 	 * @param measureConfig The measure configuration's sub population to use
 	 */
 	void validateAllSubPopulations(final Node node, final MeasureConfig measureConfig) {
-		List<SubPopulation> subPopulations = measureConfig.getSubPopulation();
+		List<SubPopulation> subPopulations = MeasureConfigHelper.getMeasureConfigIndex(context).getSubPopulations(measureConfig);
 
 		if (subPopulations.isEmpty()) {
 			return;
@@ -117,13 +117,24 @@ abstract class QualityMeasureIdValidator extends NodeValidator {
 			.filter(Objects::nonNull)
 			.count();
 
-		Predicate<Node> childTypeFinder = makeTypeChildFinder(key.getAliases());
-		long actualChildTypeCount = node.getChildNodes(TemplateId.MEASURE_DATA_CMS_V2).filter(childTypeFinder).count();
+		long actualChildTypeCount;
+		if (hasSingleChildValues(node, TemplateId.MEASURE_DATA_CMS_V2, MEASURE_TYPE)) {
+			actualChildTypeCount = 0;
+			for (String alias : key.getAliases()) {
+				actualChildTypeCount += node.getChildNodesWithValue(MEASURE_TYPE, alias).stream()
+					.filter(child -> child.getType() == TemplateId.MEASURE_DATA_CMS_V2
+							&& alias.equals(child.getValue(MEASURE_TYPE)))
+					.count();
+			}
+		} else {
+			Predicate<Node> childTypeFinder = makeTypeChildFinder(key.getAliases());
+			actualChildTypeCount = node.getChildNodes(TemplateId.MEASURE_DATA_CMS_V2).filter(childTypeFinder).count();
+		}
 
 		if (expectedChildTypeCount != actualChildTypeCount) {
 			LocalizedError error =
 				ErrorCode.POPULATION_CRITERIA_COUNT_INCORRECT.format(
-					MeasureConfigHelper.getMeasureConfig(node).getElectronicMeasureId(),
+					MeasureConfigHelper.getMeasureConfig(context, node).getElectronicMeasureId(),
 					expectedChildTypeCount, StringHelper.join(key.getAliases(), ",", "or"),
 					actualChildTypeCount);
 			Detail detail = Detail.forErrorAndNode(error, node);
@@ -183,9 +194,11 @@ abstract class QualityMeasureIdValidator extends NodeValidator {
 	 * @return the denominator node filtered by sub population or null if not found
 	 */
 	private Node getDenominatorNodeFromCurrentSubPopulation(Node node, SubPopulation subPopulation) {
-		return node.getChildNodes(TemplateId.MEASURE_DATA_CMS_V2).filter(thisNode ->
-				SubPopulationLabel.DENOM.hasAlias(thisNode.getValue(MEASURE_TYPE))
-						&& subPopulation.getDenominatorUuid().equals(thisNode.getValue(MEASURE_POPULATION)))
+		String uuid = subPopulation.getDenominatorUuid();
+		return node.getChildNodesWithValue(MEASURE_POPULATION, uuid).stream().filter(thisNode ->
+				thisNode.getType() == TemplateId.MEASURE_DATA_CMS_V2
+						&& SubPopulationLabel.DENOM.hasAlias(thisNode.getValue(MEASURE_TYPE))
+						&& uuid.equals(thisNode.getValue(MEASURE_POPULATION)))
 				.findFirst().orElse(null);
 	}
 
@@ -197,9 +210,11 @@ abstract class QualityMeasureIdValidator extends NodeValidator {
 	 * @return the initial population node filtered by sub population or null if not found
 	 */
 	private Node getIpopNodeFromCurrentSubPopulation(Node node, SubPopulation subPopulation) {
-		return node.getChildNodes(TemplateId.MEASURE_DATA_CMS_V2).filter(thisNode ->
-				(IPOP.contains(thisNode.getValue(MEASURE_TYPE)))
-						&& subPopulation.getInitialPopulationUuid().equals(thisNode.getValue(MEASURE_POPULATION)))
+		String uuid = subPopulation.getInitialPopulationUuid();
+		return node.getChildNodesWithValue(MEASURE_POPULATION, uuid).stream().filter(thisNode ->
+				thisNode.getType() == TemplateId.MEASURE_DATA_CMS_V2
+						&& IPOP.contains(thisNode.getValue(MEASURE_TYPE))
+						&& uuid.equals(thisNode.getValue(MEASURE_POPULATION)))
 				.findFirst().orElse(null);
 	}
 
@@ -210,12 +225,15 @@ abstract class QualityMeasureIdValidator extends NodeValidator {
 	 * @param ipopCount Aggregate Count node of initial population
 	 */
 	private void validateDenominatorCount(Node denomCount, Node ipopCount) {
-		forceCheckErrors(denomCount)
+		Checker checker = forceCheckErrors(denomCount)
 				.incompleteValidation()
 				.intValue(ErrorCode.AGGREGATE_COUNT_VALUE_NOT_INTEGER,
-						AggregateCountDecoder.AGGREGATE_COUNT)
-				.lessThanOrEqualTo(ErrorCode.DENOMINATOR_COUNT_INVALID,
-						Integer.parseInt(ipopCount.getValue(AggregateCountDecoder.AGGREGATE_COUNT)));
+						AggregateCountDecoder.AGGREGATE_COUNT);
+		Integer ipop = ipopCount.getIntegerValue(AggregateCountDecoder.AGGREGATE_COUNT);
+		if (ipop != null) {
+			// an initial population that is not an integer is reported when its own aggregate count is validated
+			checker.lessThanOrEqualTo(ErrorCode.DENOMINATOR_COUNT_INVALID, ipop);
+		}
 	}
 
 	/**
@@ -231,17 +249,27 @@ abstract class QualityMeasureIdValidator extends NodeValidator {
 		return node -> {
 			if (check.get() != null) {
 				String[] keys = subPopulationLabel.getAliases();
-				Predicate<Node> childTypeFinder = makeTypeChildFinder(keys);
-				Predicate<Node> childUuidFinder =
-						makeUuidChildFinder(check, ErrorCode.QUALITY_MEASURE_ID_MISSING_SINGLE_MEASURE_POPULATION,
-								MEASURE_POPULATION);
-
-				Node existingUuidChild = node
-						.getChildNodes(TemplateId.MEASURE_DATA_CMS_V2)
-						.filter(childTypeFinder)
-						.filter(childUuidFinder)
-						.findFirst()
-						.orElse(null);
+				Node existingUuidChild;
+				if (hasSingleChildValues(node, TemplateId.MEASURE_DATA_CMS_V2, MEASURE_TYPE, MEASURE_POPULATION)) {
+					List<String> types = Arrays.asList(keys);
+					existingUuidChild = node.getChildNodesWithValue(MEASURE_POPULATION, check.get()).stream()
+							.filter(child -> child.getType() == TemplateId.MEASURE_DATA_CMS_V2
+									&& types.contains(child.getValue(MEASURE_TYPE)))
+							.findFirst()
+							.orElse(null);
+				} else {
+					Predicate<Node> childTypeFinder = makeTypeChildFinder(keys);
+					Predicate<Node> childUuidFinder =
+							makeUuidChildFinder(check, ErrorCode.QUALITY_MEASURE_ID_MISSING_SINGLE_MEASURE_POPULATION,
+									MEASURE_POPULATION);
+
+					existingUuidChild = node
+							.getChildNodes(TemplateId.MEASURE_DATA_CMS_V2)
+							.filter(childTypeFinder)
+							.filter(childUuidFinder)
+							.findFirst()
+							.orElse(null);
+				}
 
 				if (existingUuidChild == null) {
 					addMeasureConfigurationValidationMessage(check, keys, node);
@@ -271,11 +299,29 @@ abstract class QualityMeasureIdValidator extends NodeValidator {
 	 */
 	protected void addMeasureConfigurationValidationMessage(Supplier<String> check, String[] keys, Node node) {
 		LocalizedError error = ErrorCode.QUALITY_MEASURE_ID_INCORRECT_UUID.format(
-				MeasureConfigHelper.getMeasureConfig(node).getElectronicMeasureId(),
+				MeasureConfigHelper.getMeasureConfig(context, node).getElectronicMeasureId(),
 				String.join(",", keys), check.get());
 		addError(Detail.forErrorAndNode(error, node));
 	}
 
+	/**
+	 * Whether every child of the given template holds a single value under each name. The child finders then report
+	 * nothing, so the children may be looked up through the node's child index rather than scanned with the finders.
+	 *
+	 * @param node The parent node
+	 * @param type The template of the children looked up
+	 * @param names The values the finders check
+	 * @return true if no finder would report an error
+	 */
+	static boolean hasSingleChildValues(Node node, TemplateId type, String... names) {
+		for (String name : names) {
+			if (!node.hasSingleChildValues(type, name)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	/**
 	 * Creates a {@link Predicate} which takes a node and tests whether the measure type is equal to the given measure type.
 	 * Also validates that it's the only measure type in the given node.
@@ -0,0 +1,126 @@
+package gov.cms.qpp.conversion.xml;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.jdom2.Element;
+import org.jdom2.Namespace;
+import org.jdom2.xpath.XPathHelper;
+
+/**
+ * The position of an element within its document: its name, namespace and place among like-named siblings, along
+ * with that of its parent. It is enough to compute the same absolute xpath as {@link XPathHelper#getAbsolutePath}
+ * without holding on to the document, and the xpath is only built when it is asked for.
+ */
+public final class ElementPath {
+	private final ElementPath parent;
+	private final String name;
+	private final String namespaceUri;
+	private final int position;
+
+	private ElementPath(ElementPath parent, String name, String namespaceUri, int position) {
+		this.parent = parent;
+		this.name = name;
+		this.namespaceUri = namespaceUri;
+		this.position = position;
+	}
+
+	/**
+	 * Builds the absolute xpath of the element, as {@link XPathHelper#getAbsolutePath} does.
+	 *
+	 * @return the xpath
+	 */
+	public String toXPath() {
+		Deque<ElementPath> steps = new ArrayDeque<>();
+		for (ElementPath step = this; step != null; step = step.parent) {
+			steps.push(step);
+		}
+
+		StringBuilder xpath = new StringBuilder();
+		for (ElementPath step : steps) {
+			xpath.append('/');
+			if (step.namespaceUri.isEmpty()) {
+				xpath.append(step.name);
+			} else {
+				xpath.append("*[local-name() = '").append(step.name)
+						.append("' and namespace-uri() = '").append(step.namespaceUri).append("']");
+			}
+			if (step.position > 0) {
+				xpath.append('[').append(step.position).append(']');
+			}
+		}
+		return xpath.toString();
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (!(o instanceof ElementPath)) {
+			return false;
+		}
+
+		ElementPath that = (ElementPath) o;
+		return position == that.position
+				&& name.equals(that.name)
+				&& namespaceUri.equals(that.namespaceUri)
+				&& Objects.equals(parent, that.parent);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(parent, name, namespaceUri, position);
+	}
+
+	@Override
+	public String toString() {
+		return toXPath();
+	}
+
+	/**
+	 * Records the paths of elements in one document, sharing the path of each ancestor between its descendants.
+	 */
+	public static final class Recorder {
+		private final Map<Element, ElementPath> paths = new IdentityHashMap<>();
+
+		/**
+		 * Records the path of an element
+		 *
+		 * @param element an element attached to a document
+		 * @return its path
+		 */
+		public ElementPath record(Element element) {
+			ElementPath path = paths.get(element);
+			if (path == null) {
+				path = locate(element);
+				paths.put(element, path);
+			}
+			return path;
+		}
+
+		private ElementPath locate(Element element) {
+			Element parentElement = element.getParentElement();
+			Namespace namespace = element.getNamespace();
+			if (parentElement == null) {
+				return new ElementPath(null, element.getName(), namespace.getURI(), 0);
+			}
+
+			List<Element> siblings = parentElement.getChildren(element.getName(), namespace);
+			int position = 0;
+			if (siblings.size() > 1) {
+				for (Element sibling : siblings) {
+					position++;
+					if (sibling == element) { //NOSONAR checking identity equals on purpose
+						break;
+					}
+				}
+			}
+			return new ElementPath(record(parentElement), element.getName(), namespace.getURI(), position);
+		}
+	}
+}
@@ -7,6 +7,10 @@ import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.stream.Collectors;
 
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
 import org.jdom2.Element;
 import org.jdom2.JDOMException;
 import org.jdom2.input.SAXBuilder;
@@ -19,6 +23,7 @@ public class XmlUtils {
 	private static final String DISALLOW_DTD = "http://apache.org/xml/features/disallow-doctype-decl";
 	private static final String EXT_GENERAL_ENTITIES = "http://xml.org/sax/features/external-general-entities";
 	private static final String EXT_PARAM_ENTITIES = "http://xml.org/sax/features/external-parameter-entities";
+	private static final XMLInputFactory STREAM_FACTORY = createStreamFactory();
 
 	/**
 	 * Private constructor so utility class cannot be instantiated.
@@ -63,6 +68,30 @@ public class XmlUtils {
 		}
 	}
 
+	/**
+	 * Opens a pull parser over a stream of XML. DTDs and external entities are not supported.
+	 *
+	 * @param xmlStream The XML.
+	 * @return A reader positioned at the start of the document.
+	 * @throws XmlException When a failure to read the XML.
+	 */
+	public static XMLStreamReader createStreamReader(InputStream xmlStream) {
+		try {
+			return STREAM_FACTORY.createXMLStreamReader(xmlStream);
+		} catch (XMLStreamException e) {
+			throw new XmlException("Failed to open XML stream", e);
+		}
+	}
+
+	private static XMLInputFactory createStreamFactory() {
+		XMLInputFactory factory = XMLInputFactory.newInstance();
+		factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+		factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+		factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+		factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+		return factory;
+	}
+
 	/**
 	 * Concatenates the parameters.
 	 *
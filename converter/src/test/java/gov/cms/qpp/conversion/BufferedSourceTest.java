@@ -0,0 +1,154 @@
+package gov.cms.qpp.conversion;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Test;
+
+class BufferedSourceTest extends SourceTestSuite {
+
+	private static final String PATH = "src/test/resources/arbitrary.txt";
+
+	private static InputStream stream(String path) {
+		try {
+			return Files.newInputStream(Paths.get(path));
+		} catch (IOException exception) {
+			throw new UncheckedIOException(exception);
+		}
+	}
+
+	BufferedSourceTest() {
+		super(PATH, BufferedSource.read(PATH, stream(PATH), null, -1));
+	}
+
+	@Test
+	void testInputStream() throws IOException {
+		String actual = IOUtils.toString(stream(PATH), StandardCharsets.UTF_8);
+		String content = IOUtils.toString(source.toInputStream(), StandardCharsets.UTF_8);
+		assertThat(actual).isEqualTo(content);
+	}
+
+	@Test
+	void testReadsRepeatedly() throws IOException {
+		BufferedSource buffered = BufferedSource.read("DogCow name", content("Moof"), "Test", 4);
+
+		assertThat(IOUtils.toString(buffered.toInputStream(), StandardCharsets.UTF_8)).isEqualTo("Moof");
+		assertThat(IOUtils.toString(buffered.toInputStream(), StandardCharsets.UTF_8)).isEqualTo("Moof");
+		assertThat(buffered.getSize()).isEqualTo(4);
+		assertThat(buffered.getPurpose()).isEqualTo("Test");
+	}
+
+	@Test
+	void testWrongSizeHint() throws IOException {
+		BufferedSource tooSmall = BufferedSource.read("DogCow name", content("Moof Moof"), null, 2);
+		BufferedSource tooLarge = BufferedSource.read("DogCow name", content("Moof"), null, 100);
+
+		assertThat(IOUtils.toString(tooSmall.toInputStream(), StandardCharsets.UTF_8)).isEqualTo("Moof Moof");
+		assertThat(tooSmall.getSize()).isEqualTo(9);
+		assertThat(IOUtils.toString(tooLarge.toInputStream(), StandardCharsets.UTF_8)).isEqualTo("Moof");
+		assertThat(tooLarge.getSize()).isEqualTo(4);
+	}
+
+	@Test
+	void testSpillsPastThreshold() throws IOException {
+		BufferedSource buffered = BufferedSource.read("DogCow name", content("Moof Moof Moof"), null, -1, 8);
+
+		assertThat(buffered.isSpilled()).isTrue();
+		assertThat(buffered.getSize()).isEqualTo(14);
+		assertThat(IOUtils.toString(buffered.toInputStream(), StandardCharsets.UTF_8)).isEqualTo("Moof Moof Moof");
+	}
+
+	@Test
+	void testSpillsStraightAwayWhenHintIsPastThreshold() throws IOException {
+		BufferedSource buffered = BufferedSource.read("DogCow name", content("Moof Moof Moof"), null, 14, 8);
+
+		assertThat(buffered.isSpilled()).isTrue();
+		assertThat(IOUtils.toString(buffered.toInputStream(), StandardCharsets.UTF_8)).isEqualTo("Moof Moof Moof");
+	}
+
+	@Test
+	void testStaysInMemoryUnderThreshold() {
+		BufferedSource buffered = BufferedSource.read("DogCow name", content("Moof"), null, -1, 8);
+
+		assertThat(buffered.isSpilled()).isFalse();
+	}
+
+	@Test
+	void testWrite() throws IOException {
+		BufferedSource buffered = BufferedSource.write("DogCow name",
+				output -> output.write("Moof Moof Moof".getBytes(StandardCharsets.UTF_8)), 8);
+
+		assertThat(buffered.isSpilled()).isTrue();
+		assertThat(IOUtils.toString(buffered.toInputStream(), StandardCharsets.UTF_8)).isEqualTo("Moof Moof Moof");
+	}
+
+	@Test
+	void testOfSharesContent() throws IOException {
+		byte[] bytes = "Moof".getBytes(StandardCharsets.UTF_8);
+		BufferedSource buffered = BufferedSource.of("DogCow name", bytes);
+		bytes[0] = 'R';
+
+		assertThat(IOUtils.toString(buffered.toInputStream(), StandardCharsets.UTF_8)).isEqualTo("Roof");
+		assertThat(buffered.getPurpose()).isNull();
+	}
+
+	@Test
+	void testReleaseFreesContent() {
+		BufferedSource buffered = BufferedSource.read("DogCow name", content("Moof"), null, -1);
+
+		buffered.release();
+
+		assertThat(buffered.isReleased()).isTrue();
+		assertThrows(IllegalStateException.class, buffered::toInputStream);
+		assertThrows(IllegalStateException.class, buffered::retain);
+		assertThrows(IllegalStateException.class, buffered::release);
+	}
+
+	@Test
+	void testRetainedUntilLastRelease() throws IOException {
+		BufferedSource buffered = BufferedSource.read("DogCow name", content("Moof"), null, -1);
+
+		assertThat(buffered.retain()).isSameAs(buffered);
+		buffered.release();
+
+		assertThat(IOUtils.toString(buffered.toInputStream(), StandardCharsets.UTF_8)).isEqualTo("Moof");
+		buffered.release();
+		assertThat(buffered.isReleased()).isTrue();
+	}
+
+	@Test
+	void testReleaseDeletesSpilledFile() {
+		BufferedSource buffered = BufferedSource.read("DogCow name", content("Moof Moof Moof"), null, -1, 8);
+
+		buffered.release();
+
+		assertThat(buffered.isSpilled()).isFalse();
+		assertThrows(IllegalStateException.class, buffered::toInputStream);
+	}
+
+	@Test
+	void testDefaultSourceIgnoresReferences() throws IOException {
+		Source plain = new PathSource(Paths.get(PATH));
+
+		assertThat(plain.retain()).isSameAs(plain);
+		plain.release();
+		plain.release();
+
+		try (InputStream content = plain.toInputStream()) {
+			assertThat(content).isNotNull();
+		}
+	}
+
+	private static InputStream content(String content) {
+		return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+	}
+}
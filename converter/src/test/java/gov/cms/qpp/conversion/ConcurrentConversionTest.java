@@ -0,0 +1,61 @@
+package gov.cms.qpp.conversion;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.google.common.truth.Truth.assertThat;
+
+class ConcurrentConversionTest {
+
+	private static final int THREADS = 8;
+	private static final int CONVERSIONS_PER_FILE = 64;
+
+	@Test
+	void testConcurrentConversionsMatchSerialConversions() throws Exception {
+		List<Path> files = getFiles();
+		List<String> expected = new ArrayList<>();
+		for (Path file : files) {
+			expected.add(convert(file));
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+		try {
+			List<Future<String>> results = new ArrayList<>();
+			for (int i = 0; i < CONVERSIONS_PER_FILE; i++) {
+				for (Path file : files) {
+					Callable<String> conversion = () -> {
+						start.await();
+						return convert(file);
+					};
+					results.add(executor.submit(conversion));
+				}
+			}
+			start.countDown();
+
+			for (int i = 0; i < results.size(); i++) {
+				assertThat(results.get(i).get()).isEqualTo(expected.get(i % files.size()));
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private List<Path> getFiles() {
+		return Collections.singletonList(Paths.get(ConverterTest.VALID_FILE));
+	}
+
+	private String convert(Path file) {
+		return new Converter(new PathSource(file)).transform().toString();
+	}
+}
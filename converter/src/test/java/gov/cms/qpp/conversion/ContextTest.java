@@ -2,14 +2,24 @@ package gov.cms.qpp.conversion;
 
 import gov.cms.qpp.conversion.model.Decoder;
 import gov.cms.qpp.conversion.model.Program;
+import gov.cms.qpp.conversion.model.validation.MeasureConfigSnapshot;
+import gov.cms.qpp.conversion.model.validation.MeasureConfigs;
 import gov.cms.qpp.conversion.segmentation.QrdaScope;
 
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
 import static com.google.common.truth.Truth.assertThat;
 
 class ContextTest {
 
+	@AfterEach
+	void resetMeasureConfiguration() {
+		MeasureConfigs.reset();
+	}
+
 	@Test
 	void testDoesValidationByDefault() {
 		assertThat(new Context().isDoValidation()).isTrue();
@@ -84,4 +94,35 @@ class ContextTest {
 		assertThat(context.hasScope()).isTrue();
 	}
 
-}
\ No newline at end of file
+
+	@Test
+	void testMeasureConfigSnapshotIsPinned() {
+		Context context = new Context();
+		MeasureConfigSnapshot pinned = context.getMeasureConfigSnapshot();
+
+		MeasureConfigs.setMeasureDataFile(MeasureConfigs.DEFAULT_MEASURE_DATA_FILE_NAME);
+
+		assertThat(context.getMeasureConfigSnapshot()).isSameAs(pinned);
+		assertThat(MeasureConfigs.getSnapshot()).isNotSameAs(pinned);
+	}
+
+	@Test
+	void testValidationPoolDefaultsToCommonPool() {
+		Context context = new Context();
+		assertThat(context.getValidationPool()).isSameAs(ForkJoinPool.commonPool());
+
+		ForkJoinPool pool = new ForkJoinPool(1);
+		context.setValidationPool(pool);
+		assertThat(context.getValidationPool()).isSameAs(pool);
+		pool.shutdown();
+	}
+
+	@Test
+	void testPerformanceYearPicksMeasureConfigSnapshot() {
+		Context context = new Context();
+		context.setMeasureConfigSnapshot(MeasureConfigs.loadPerformanceYear(1999, "reduced-test-measures-data.json"));
+		context.setPerformanceYear(1999);
+
+		assertThat(context.getMeasureConfigSnapshot().getSource()).isEqualTo("reduced-test-measures-data.json");
+	}
+}
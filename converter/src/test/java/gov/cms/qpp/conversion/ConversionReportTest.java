@@ -57,12 +57,52 @@ class ConversionReportTest {
 		assertThat(report.getDecoded()).isNotNull();
 	}
 
+	@Test
+	void testGetDecodedIsShared() {
+		assertThat(report.getDecoded()).isSameAs(report.getDecoded());
+		assertThat(report.getDecoded().isFrozen()).isTrue();
+	}
+
+	@Test
+	void testReportForSharesResults() {
+		Source other = BufferedSource.of("other", new byte[0]);
+		ConversionReport reused = errorReport.reportFor(other);
+
+		assertThat(reused.getQrdaSource()).isSameAs(other);
+		assertThat(reused.getDecoded()).isSameAs(errorReport.getDecoded());
+		assertThat(reused.getReportDetails().getErrors().get(0).getSourceIdentifier()).isEqualTo("other");
+		assertThat(reused.getReportDetails().getErrors().get(0).getDetails())
+				.isEqualTo(errorReport.getReportDetails().getErrors().get(0).getDetails());
+	}
+
+	@Test
+	void testReportForCopiesErrors() {
+		ConversionReport reused = errorReport.reportFor(inputSource);
+		reused.getReportDetails().getErrors().get(0).getDetails().get(0).setMessage("meep");
+
+		assertThat(errorReport.getReportDetails().getErrors().get(0).getDetails().get(0).getMessage())
+				.isNotEqualTo("meep");
+	}
+
 	@Test
 	void testGetEncoded() {
 		assertThat(report.getEncodedWithMetadata().toString())
 				.isEqualTo(wrapper.toString());
 	}
 
+	@Test
+	void testGetEncodedIsShared() {
+		assertThat(report.getEncodedWithMetadata()).isSameAs(report.getEncodedWithMetadata());
+		assertThrows(UnsupportedOperationException.class, () -> report.getEncodedWithMetadata().putString("meep", "mawp"));
+	}
+
+	@Test
+	void testTransformResultIsReported() {
+		assertThat(report.getEncodedWithMetadata()).isSameAs(wrapper);
+		assertThrows(UnsupportedOperationException.class, () -> wrapper.putString("meep", "mawp"));
+		assertThat(new JsonWrapper(wrapper).putString("meep", "mawp").getString("meep")).isEqualTo("mawp");
+	}
+
 	@Test
 	void getReportDetails() {
 		assertThat(errorReport.getReportDetails()).isNotNull();
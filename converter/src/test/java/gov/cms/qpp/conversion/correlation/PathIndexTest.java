@@ -0,0 +1,100 @@
+package gov.cms.qpp.conversion.correlation;
+
+import com.google.common.collect.Lists;
+import gov.cms.qpp.conversion.Context;
+import gov.cms.qpp.conversion.Converter;
+import gov.cms.qpp.conversion.PathSource;
+import gov.cms.qpp.conversion.encode.JsonWrapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.Truth.assertWithMessage;
+
+class PathIndexTest {
+
+	private static JsonWrapper wrapper;
+	private static PathIndex index;
+
+	@BeforeAll
+	static void setup() {
+		Converter converter = new Converter(new PathSource(Paths.get("../qrda-files/valid-QRDA-III-latest.xml")), new Context());
+		wrapper = converter.transform();
+		index = PathCorrelator.index(wrapper);
+	}
+
+	@Test
+	void testIndexesEveryHashWithMetadata() {
+		assertThat(index.size()).isGreaterThan(10);
+	}
+
+	@Test
+	void testMatchesPrepPath() {
+		List<String> paths = new ArrayList<>();
+		collectPaths(wrapper.toObject(), "$", paths);
+
+		assertThat(paths).isNotEmpty();
+		for (String path : paths) {
+			assertWithMessage(path).that(outcome(() -> index.prepPath(path)))
+					.isEqualTo(outcome(() -> PathCorrelator.prepPath(path, wrapper)));
+			String withoutRoot = path.substring(2);
+			assertWithMessage(withoutRoot).that(outcome(() -> index.prepPath(withoutRoot)))
+					.isEqualTo(outcome(() -> PathCorrelator.prepPath(withoutRoot, wrapper)));
+		}
+	}
+
+	@Test
+	void testBracketNotationFallsBack() {
+		String path = "$['measurementSets'][0]['measurements'][0].measureId";
+
+		assertThat(index.prepPath(path)).isEqualTo(PathCorrelator.prepPath(path, wrapper));
+		assertThat(index.prepPath(path)).isEqualTo(index.prepPath("$.measurementSets[0].measurements[0].measureId"));
+	}
+
+	@Test
+	void unacknowledgedEncodedLabel() {
+		Map<String, String> map = new HashMap<>();
+		map.put("meep", "meep");
+		map.put("encodeLabel", "mawp");
+		JsonWrapper metaWrapper = new JsonWrapper();
+		metaWrapper.putObject("metadata_holder", Lists.newArrayList(map));
+
+		assertThat(PathCorrelator.index(metaWrapper).prepPath("$.mawp")).isEmpty();
+	}
+
+	/**
+	 * The xpath, or the type of exception thrown, so that paths the correlator cannot handle are compared too.
+	 */
+	private static String outcome(Supplier<String> prepPath) {
+		try {
+			return prepPath.get();
+		} catch (RuntimeException exception) {
+			return exception.getClass().getName();
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static void collectPaths(Object value, String path, List<String> paths) {
+		if (value instanceof Map) {
+			((Map<String, Object>) value).forEach((name, child) -> {
+				if (!JsonWrapper.METADATA_HOLDER.equals(name)) {
+					collectPaths(child, path + "." + name, paths);
+				}
+			});
+		} else if (value instanceof List) {
+			List<Object> list = (List<Object>) value;
+			for (int i = 0; i < list.size(); i++) {
+				collectPaths(list.get(i), path + "[" + i + "]", paths);
+			}
+		} else {
+			paths.add(path);
+		}
+	}
+}
@@ -2,6 +2,8 @@ package gov.cms.qpp.conversion.correlation;
 
 import static com.google.common.truth.Truth.assertWithMessage;
 
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 
@@ -28,9 +30,14 @@ class QrdaQppAssociationTest {
 	}
 
 	@Test
-	void testAssociation() {
-		mapper.mapIt("$", qpp.getObject());
-		mapper.writeAssociations();
+	void testAssociation() throws IOException {
+		Path associations = Files.createTempFile("qrdaToQppAssociations", ".txt");
+		try {
+			mapper.mapIt("$", qpp.getObject());
+			mapper.writeAssociations(associations);
+		} finally {
+			Files.delete(associations);
+		}
 
 		assertWithMessage("registered associations does not match expectation")
 				.that(mapper.getAssociations()).hasSize(60);
@@ -0,0 +1,143 @@
+package gov.cms.qpp.conversion.decode;
+
+import org.jdom2.Element;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import gov.cms.qpp.conversion.Context;
+import gov.cms.qpp.conversion.Converter;
+import gov.cms.qpp.conversion.ConverterTest;
+import gov.cms.qpp.conversion.PathSource;
+import gov.cms.qpp.conversion.model.Node;
+import gov.cms.qpp.conversion.xml.XmlException;
+import gov.cms.qpp.conversion.xml.XmlUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.Truth.assertWithMessage;
+
+class StreamingQrdaDecoderEngineTest {
+
+	@Test
+	void testMatchesQrdaDecoderEngine() throws IOException {
+		for (Path file : getFiles()) {
+			Node expected;
+			try (InputStream input = Files.newInputStream(file)) {
+				expected = XmlDecoderEngine.decodeXml(new Context(), XmlUtils.parseXmlStream(input));
+			} catch (XmlException exception) {
+				assertThrowsXmlException(file);
+				continue;
+			}
+
+			try (InputStream input = Files.newInputStream(file)) {
+				Node actual = StreamingQrdaDecoderEngine.decodeStream(new Context(), input);
+				assertSameTree(file.toString(), expected, actual);
+			}
+		}
+	}
+
+	@Test
+	void testConversionMatchesDocumentDecode() {
+		Path file = Paths.get(ConverterTest.VALID_FILE);
+		Context context = new Context();
+		context.setStreamingDecode(true);
+
+		String streamed = new Converter(new PathSource(file), context).transform().toString();
+
+		assertThat(streamed).isEqualTo(new Converter(new PathSource(file)).transform().toString());
+	}
+
+	@Test
+	void testNodesDoNotHoldElements() throws IOException {
+		try (InputStream input = Files.newInputStream(Paths.get(ConverterTest.VALID_FILE))) {
+			Node root = StreamingQrdaDecoderEngine.decodeStream(new Context(), input);
+
+			assertThat(root.getElementForLocation()).isNull();
+			assertThat(root.getElementPath()).isNotNull();
+			assertThat(root.getOrComputePath()).isEqualTo(root.getElementPath().toXPath());
+		}
+	}
+
+	@Test
+	void testReadDropsComments() {
+		Element root = new StreamingQrdaDecoderEngine(new Context())
+				.read(stream("<root><!-- comment --><child a=\"b\"> text </child></root>"));
+
+		assertThat(root.getContentSize()).isEqualTo(1);
+		assertThat(root.getChild("child").getAttributeValue("a")).isEqualTo("b");
+		assertThat(root.getChild("child").getText()).isEqualTo(" text ");
+	}
+
+	@Test
+	void testNonQrdaDocument() {
+		assertThat(StreamingQrdaDecoderEngine.decodeStream(new Context(), stream("<root/>"))).isNull();
+	}
+
+	@Test
+	void testMalformedDocument() {
+		Assertions.assertThrows(XmlException.class,
+				() -> StreamingQrdaDecoderEngine.decodeStream(new Context(), stream("<root>")));
+	}
+
+	@Test
+	void testDoctypeNotAllowed() {
+		Assertions.assertThrows(XmlException.class,
+				() -> StreamingQrdaDecoderEngine.decodeStream(new Context(), stream("<!DOCTYPE root []><root/>")));
+	}
+
+	private List<Path> getFiles() throws IOException {
+		try (Stream<Path> samples = Files.walk(Paths.get("../sample-files"));
+				Stream<Path> qrda = Files.walk(Paths.get("../qrda-files"))) {
+			return Stream.concat(samples, qrda)
+					.filter(path -> path.toString().endsWith(".xml"))
+					.sorted()
+					.collect(Collectors.toList());
+		}
+	}
+
+	private void assertThrowsXmlException(Path file) throws IOException {
+		try (InputStream input = Files.newInputStream(file)) {
+			Assertions.assertThrows(XmlException.class, () -> StreamingQrdaDecoderEngine.decodeStream(new Context(), input),
+					file.toString());
+		}
+	}
+
+	private void assertSameTree(String file, Node expected, Node actual) {
+		if (expected == null) {
+			assertWithMessage(file).that(actual).isNull();
+			return;
+		}
+
+		assertWithMessage(file).that(actual).isNotNull();
+		String path = expected.getOrComputePath();
+		assertWithMessage(file).that(actual.getType()).isEqualTo(expected.getType());
+		assertWithMessage(file).that(actual.getOrComputePath()).isEqualTo(path);
+		assertWithMessage(path).that(actual.getLine()).isEqualTo(expected.getLine());
+		assertWithMessage(path).that(actual.getColumn()).isEqualTo(expected.getColumn());
+		assertWithMessage(path).that(actual.getDefaultNsUri()).isEqualTo(expected.getDefaultNsUri());
+		assertWithMessage(path).that(actual.getKeys()).isEqualTo(expected.getKeys());
+		for (String key : expected.getKeys()) {
+			assertWithMessage(path).that(actual.getDuplicateValues(key)).isEqualTo(expected.getDuplicateValues(key));
+			assertWithMessage(path).that(actual.getValue(key)).isEqualTo(expected.getValue(key));
+		}
+
+		assertWithMessage(path).that(actual.getChildNodes()).hasSize(expected.getChildNodes().size());
+		for (int i = 0; i < expected.getChildNodes().size(); i++) {
+			assertSameTree(file, expected.getChildNodes().get(i), actual.getChildNodes().get(i));
+		}
+	}
+
+	private InputStream stream(String xml) {
+		return new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,118 @@
+package gov.cms.qpp.conversion.decode;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import gov.cms.qpp.conversion.Context;
+import gov.cms.qpp.conversion.model.Decoder;
+import gov.cms.qpp.conversion.model.Program;
+import gov.cms.qpp.conversion.model.Registry;
+import gov.cms.qpp.conversion.model.TemplateId;
+import gov.cms.qpp.conversion.segmentation.QrdaScope;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+
+import static com.google.common.truth.Truth.assertThat;
+
+class TemplateIdDispatchTest {
+
+	private static final String STRICT_EXTENSION = "STRICT_EXTENSION";
+
+	@AfterEach
+	void cleanUp() {
+		System.clearProperty(STRICT_EXTENSION);
+	}
+
+	@ParameterizedTest
+	@EnumSource(TemplateId.class)
+	void testMatchesTemplateIdLookup(TemplateId templateId) {
+		Context context = new Context();
+		TemplateIdDispatch dispatch = dispatch(context);
+
+		assertMatches(dispatch, context, templateId);
+	}
+
+	@ParameterizedTest
+	@EnumSource(TemplateId.class)
+	void testMatchesStrictTemplateIdLookup(TemplateId templateId) {
+		System.setProperty(STRICT_EXTENSION, "yep");
+		Context context = new Context();
+		TemplateIdDispatch dispatch = dispatch(context);
+
+		assertMatches(dispatch, context, templateId);
+	}
+
+	@ParameterizedTest
+	@EnumSource(TemplateId.class)
+	void testMatchesHistoricalTemplateIdLookup(TemplateId templateId) {
+		System.setProperty(STRICT_EXTENSION, "yep");
+		Context context = new Context();
+		context.setHistorical(true);
+		TemplateIdDispatch dispatch = dispatch(context);
+
+		assertMatches(dispatch, context, templateId);
+	}
+
+	@Test
+	void testStrictExtensionResolvedOnce() {
+		TemplateIdDispatch dispatch = dispatch(new Context());
+		System.setProperty(STRICT_EXTENSION, "yep");
+
+		assertThat(dispatch.getTemplateId(TemplateId.IA_SECTION.getRoot(), "nonExistingExtension"))
+				.isSameAs(TemplateId.IA_SECTION);
+	}
+
+	@Test
+	void testUnknownRoot() {
+		TemplateIdDispatch dispatch = dispatch(new Context());
+
+		assertThat(dispatch.getTemplateId("nonExistingRoot", null)).isSameAs(TemplateId.UNIMPLEMENTED);
+	}
+
+	@Test
+	void testDecoderFollowsRegistry() {
+		Context context = new Context();
+		Registry<QrdaDecoder> decoders = context.getRegistry(Decoder.class);
+		TemplateIdDispatch dispatch = new TemplateIdDispatch(context, decoders, null);
+
+		assertThat(dispatch.getDecoder(TemplateId.IA_SECTION)).isSameAs(decoders.get(TemplateId.IA_SECTION));
+		assertThat(dispatch.getDecoder(TemplateId.UNIMPLEMENTED)).isNull();
+	}
+
+	@Test
+	void testDecoderResolvedPerProgram() {
+		Context context = new Context();
+		Registry<QrdaDecoder> decoders = context.getRegistry(Decoder.class);
+		TemplateIdDispatch dispatch = new TemplateIdDispatch(context, decoders, null);
+		dispatch.getDecoder(TemplateId.CLINICAL_DOCUMENT);
+
+		context.setProgram(Program.CPC);
+
+		assertThat(dispatch.getDecoder(TemplateId.CLINICAL_DOCUMENT)).isSameAs(decoders.get(TemplateId.CLINICAL_DOCUMENT));
+	}
+
+	@Test
+	void testDecoderOutOfScope() {
+		Context context = new Context();
+		context.setScope(EnumSet.of(QrdaScope.IA_SECTION));
+		TemplateIdDispatch dispatch = new TemplateIdDispatch(context, context.getRegistry(Decoder.class),
+				QrdaScope.getTemplates(context.getScope()));
+
+		assertThat(dispatch.getDecoder(TemplateId.IA_SECTION)).isNotNull();
+		assertThat(dispatch.getDecoder(TemplateId.PI_SECTION)).isNull();
+	}
+
+	private static TemplateIdDispatch dispatch(Context context) {
+		return new TemplateIdDispatch(context, context.getRegistry(Decoder.class), null);
+	}
+
+	private static void assertMatches(TemplateIdDispatch dispatch, Context context, TemplateId templateId) {
+		for (String extension : Arrays.asList(templateId.getExtension(), null, "", "nonExistingExtension")) {
+			assertThat(dispatch.getTemplateId(templateId.getRoot(), extension))
+					.isSameAs(TemplateId.getTemplateId(templateId.getRoot(), extension, context));
+		}
+	}
+}
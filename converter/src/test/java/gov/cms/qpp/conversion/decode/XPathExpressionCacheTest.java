@@ -0,0 +1,74 @@
+package gov.cms.qpp.conversion.decode;
+
+import org.jdom2.Attribute;
+import org.jdom2.Element;
+import org.jdom2.filter.Filters;
+import org.jdom2.xpath.XPathExpression;
+import org.junit.jupiter.api.Test;
+
+import gov.cms.qpp.conversion.correlation.PathCorrelator;
+import gov.cms.qpp.conversion.model.TemplateId;
+import gov.cms.qpp.conversion.xml.XmlUtils;
+
+import java.util.concurrent.CompletableFuture;
+
+import static com.google.common.truth.Truth.assertThat;
+
+class XPathExpressionCacheTest {
+
+	private static final String XML_FRAGMENT = "<observation classCode=\"OBS\" moodCode=\"EVN\" xmlns=\"urn:hl7-org:v3\">\n"
+			+ "    <templateId root=\"2.16.840.1.113883.10.20.27.3.3\"/>\n"
+			+ "    <value xsi:type=\"INT\" value=\"400\" xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"/>\n"
+			+ "</observation>";
+
+	@Test
+	void testCorrelationsArePrecompiled() {
+		int expected = PathCorrelator.getCorrelationKeys().size() * 2;
+		assertThat(XPathExpressionCache.size()).isAtLeast(expected);
+	}
+
+	@Test
+	void testSameExpressionForSameThread() {
+		XPathExpression<Attribute> first = getAggregateCount();
+		XPathExpression<Attribute> second = getAggregateCount();
+
+		assertThat(first).isSameAs(second);
+	}
+
+	@Test
+	void testDistinctExpressionPerThread() throws Exception {
+		XPathExpression<Attribute> local = getAggregateCount();
+		XPathExpression<Attribute> other = CompletableFuture.supplyAsync(this::getAggregateCount).get();
+
+		assertThat(local).isNotSameAs(other);
+		assertThat(local.getExpression()).isEqualTo(other.getExpression());
+	}
+
+	@Test
+	void testExpressionPerFilter() {
+		XPathExpression<Element> element = XPathExpressionCache.get(TemplateId.PI_AGGREGATE_COUNT.name(),
+				AggregateCountDecoder.AGGREGATE_COUNT, XPathExpressionCache.QRDA_NAMESPACE_URI, Filters.element());
+
+		assertThat(element).isNotSameAs(getAggregateCount());
+	}
+
+	@Test
+	void testUnknownCorrelation() {
+		assertThat(XPathExpressionCache.get(TemplateId.PI_AGGREGATE_COUNT.name(), "meep",
+				XPathExpressionCache.QRDA_NAMESPACE_URI, Filters.attribute())).isNull();
+	}
+
+	@Test
+	void testCompiledExpressionEvaluates() throws Exception {
+		Element element = XmlUtils.stringToDom(XML_FRAGMENT);
+
+		Attribute value = getAggregateCount().evaluateFirst(element);
+
+		assertThat(value.getValue()).isEqualTo("400");
+	}
+
+	private XPathExpression<Attribute> getAggregateCount() {
+		return XPathExpressionCache.get(TemplateId.PI_AGGREGATE_COUNT.name(),
+				AggregateCountDecoder.AGGREGATE_COUNT, XPathExpressionCache.QRDA_NAMESPACE_URI, Filters.attribute());
+	}
+}
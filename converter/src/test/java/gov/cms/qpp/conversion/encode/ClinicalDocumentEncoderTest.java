@@ -10,7 +10,6 @@ import gov.cms.qpp.conversion.model.Node;
 import gov.cms.qpp.conversion.model.TemplateId;
 
 import java.util.ArrayList;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -206,7 +205,7 @@ class ClinicalDocumentEncoderTest {
 		clinicalDocumentEncoder.internalEncode(testJsonWrapper, clinicalDocumentNode);
 
 		Map<?, ?> clinicalDocMap = ((Map<?, ?>) testJsonWrapper.getObject());
-		List<LinkedHashMap<String, Object>> measurementSets = getMeasurementSets(clinicalDocMap);
+		List<Map<String, Object>> measurementSets = getMeasurementSets(clinicalDocMap);
 		String value = (String)measurementSets.get(0).get("category");
 
 		assertThat(measurementSets).hasSize(1);
@@ -244,7 +243,7 @@ class ClinicalDocumentEncoderTest {
 
 
 	@SuppressWarnings("unchecked")
-	private List<LinkedHashMap<String, Object>> getMeasurementSets(Map clinicalDocumentMap) {
-		return ((List<LinkedHashMap<String, Object>>) clinicalDocumentMap.get("measurementSets"));
+	private List<Map<String, Object>> getMeasurementSets(Map clinicalDocumentMap) {
+		return ((List<Map<String, Object>>) clinicalDocumentMap.get("measurementSets"));
 	}
 }
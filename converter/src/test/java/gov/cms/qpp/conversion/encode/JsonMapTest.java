@@ -0,0 +1,61 @@
+package gov.cms.qpp.conversion.encode;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+class JsonMapTest {
+
+	@Test
+	void testBehavesAsLinkedHashMap() {
+		JsonMap map = new JsonMap(1);
+		Map<String, Object> expected = new LinkedHashMap<>();
+		for (int i = 0; i < 10; i++) {
+			map.put("key" + i, i);
+			expected.put("key" + i, i);
+		}
+		map.put("key3", "three");
+		expected.put("key3", "three");
+		map.remove("key0");
+		expected.remove("key0");
+
+		assertThat(map).isEqualTo(expected);
+		assertThat(map.keySet()).containsExactlyElementsIn(expected.keySet()).inOrder();
+		assertThat(map.hashCode()).isEqualTo(expected.hashCode());
+	}
+
+	@Test
+	void testIteratorRemove() {
+		JsonMap map = new JsonMap();
+		map.put("meep", "mawp");
+		map.put("mop", "mip");
+		map.put("mup", "map");
+
+		Iterator<Map.Entry<String, Object>> entries = map.entrySet().iterator();
+		while (entries.hasNext()) {
+			if ("mop".equals(entries.next().getKey())) {
+				entries.remove();
+			}
+		}
+
+		assertThat(map.keySet()).containsExactly("meep", "mup").inOrder();
+	}
+
+	@Test
+	void testFreezePreventsChange() {
+		JsonMap map = new JsonMap();
+		map.put("meep", "mawp");
+
+		map.freeze();
+
+		assertThrows(UnsupportedOperationException.class, () -> map.put("mop", "mip"));
+		assertThrows(UnsupportedOperationException.class, () -> map.remove("meep"));
+		assertThrows(UnsupportedOperationException.class, () -> map.entrySet().iterator().next().setValue("mop"));
+		assertThat(map.get("meep")).isEqualTo("mawp");
+	}
+}
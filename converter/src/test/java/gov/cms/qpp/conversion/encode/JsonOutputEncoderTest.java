@@ -2,12 +2,17 @@ package gov.cms.qpp.conversion.encode;
 
 import static com.google.common.truth.Truth.assertThat;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collections;
 import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import gov.cms.qpp.conversion.model.Node;
+import gov.cms.qpp.conversion.model.TemplateId;
 import gov.cms.qpp.conversion.model.error.Detail;
 
 class JsonOutputEncoderTest {
@@ -55,6 +60,34 @@ class JsonOutputEncoderTest {
 		assertThat(validations.get(0).getMessage()).isEqualTo("err");
 	}
 
+	@Test
+	void testEncodeToStream() throws Exception {
+		JsonOutputEncoder encoder = new JsonOutputEncoder() {
+			@Override
+			protected void internalEncode(JsonWrapper wrapper, Node node) {
+				wrapper.putString("meep", "mawp");
+			}
+		};
+		encoder.setNodes(Collections.singletonList(new Node(TemplateId.CLINICAL_DOCUMENT)));
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		ByteArrayOutputStream metadataOutput = new ByteArrayOutputStream();
+
+		encoder.encode(output, metadataOutput);
+
+		assertThat(output.toString("UTF-8")).isEqualTo("{\n  \"meep\" : \"mawp\"\n}");
+		assertThat(metadataOutput.toString("UTF-8")).contains("CLINICAL_DOCUMENT");
+		assertThat(encoder.getErrors()).isEmpty();
+	}
+
+	@Test
+	void testEncodeToFailingStream() {
+		joe.setNodes(Collections.emptyList());
+
+		joe.encode(new FailingOutputStream(), null);
+
+		assertThat(joe.getErrors()).hasSize(1);
+	}
+
 	@Test
 	void testAddValidationByEncodeException() {
 		joe.encode((JsonWrapper) null, (Node) null); // the values are not used in the test
@@ -63,4 +96,11 @@ class JsonOutputEncoderTest {
 		assertThat(details)
 				.hasSize(1);
 	}
+
+	private static class FailingOutputStream extends OutputStream {
+		@Override
+		public void write(int b) throws IOException {
+			throw new IOException("Fake IOException");
+		}
+	}
 }
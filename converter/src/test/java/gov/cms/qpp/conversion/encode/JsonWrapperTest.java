@@ -1,7 +1,10 @@
 package gov.cms.qpp.conversion.encode;
 
+import gov.cms.qpp.conversion.model.Node;
+import gov.cms.qpp.conversion.model.TemplateId;
 import gov.cms.qpp.conversion.util.JsonHelper;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.time.Instant;
@@ -655,6 +658,129 @@ class JsonWrapperTest {
 				.isEqualTo(obj.findValue(shouldAlsoSerialize).asText());
 	}
 
+	@Test
+	void testWriteToLeavesOutMetadata() throws IOException {
+		JsonWrapper child = new JsonWrapper();
+		child.putString("meep", "mawp");
+		child.attachMetadata(new Node(TemplateId.PI_AGGREGATE_COUNT));
+		JsonWrapper list = new JsonWrapper();
+		list.putObject(child);
+		objectObjWrapper.putObject("children", list);
+		objectObjWrapper.putInteger("count", "1");
+		objectObjWrapper.attachMetadata(new Node(TemplateId.CLINICAL_DOCUMENT));
+
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		objectObjWrapper.writeTo(output);
+
+		assertThat(output.toString("UTF-8")).isEqualTo(objectObjWrapper.copyWithoutMetadata().toString());
+	}
+
+	@Test
+	void testWriteToSendsMetadataToSeparateStream() throws IOException {
+		JsonWrapper child = new JsonWrapper();
+		child.putString("meep", "mawp");
+		child.attachMetadata(new Node(TemplateId.PI_AGGREGATE_COUNT));
+		JsonWrapper list = new JsonWrapper();
+		list.putObject(child);
+		objectObjWrapper.putObject("children", list);
+		objectObjWrapper.attachMetadata(new Node(TemplateId.CLINICAL_DOCUMENT));
+
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		ByteArrayOutputStream metadataOutput = new ByteArrayOutputStream();
+		objectObjWrapper.writeTo(output, metadataOutput);
+
+		JsonNode metadata = new ObjectMapper().readTree(metadataOutput.toByteArray());
+		assertThat(output.toString("UTF-8")).isEqualTo(objectObjWrapper.copyWithoutMetadata().toString());
+		assertThat(metadata.get("/children/0").get(0).get("template").asText()).isEqualTo("PI_AGGREGATE_COUNT");
+		assertThat(metadata.get("").get(0).get("template").asText()).isEqualTo("CLINICAL_DOCUMENT");
+	}
+
+	@Test
+	void testWriteToEmptyWrapper() throws IOException {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		objectObjWrapper.writeTo(output);
+
+		assertThat(output.toString("UTF-8")).isEqualTo("null");
+	}
+
+	@Test
+	void testToStringWithoutMetadata() {
+		JsonWrapper child = new JsonWrapper();
+		child.putString("meep", "mawp");
+		child.attachMetadata(new Node(TemplateId.PI_AGGREGATE_COUNT));
+		objectObjWrapper.putObject("child", child);
+		objectObjWrapper.attachMetadata(new Node(TemplateId.CLINICAL_DOCUMENT));
+
+		assertThat(objectObjWrapper.toStringWithoutMetadata()).isEqualTo(objectObjWrapper.copyWithoutMetadata().toString());
+	}
+
+	@Test
+	void testWithoutMetadataSerializesLikeCopy() throws IOException {
+		JsonWrapper child = new JsonWrapper();
+		child.putString("meep", "mawp");
+		child.attachMetadata(new Node(TemplateId.PI_AGGREGATE_COUNT));
+		objectObjWrapper.putObject("child", child);
+		objectObjWrapper.attachMetadata(new Node(TemplateId.CLINICAL_DOCUMENT));
+
+		String view = new ObjectMapper().writeValueAsString(objectObjWrapper.withoutMetadata());
+
+		assertThat(view).isEqualTo(new ObjectMapper().writeValueAsString(objectObjWrapper.copyWithoutMetadata().toObject()));
+		assertThat(view).doesNotContain(JsonWrapper.METADATA_HOLDER);
+	}
+
+	@Test
+	void testCompactStringMatchesPrettyString() throws IOException {
+		JsonWrapper child = new JsonWrapper();
+		child.putInteger("count", "5");
+		child.putFloat("rate", "0.5");
+		child.putBoolean("flag", "Y");
+		child.attachMetadata(new Node(TemplateId.PI_AGGREGATE_COUNT));
+		objectObjWrapper.putObject("child", child);
+		objectObjWrapper.putString("meep", "mawp");
+
+		String compact = objectObjWrapper.toCompactStringWithoutMetadata();
+
+		assertThat(compact).isEqualTo("{\"child\":{\"count\":5,\"rate\":0.5,\"flag\":true},\"meep\":\"mawp\"}");
+		ObjectMapper mapper = new ObjectMapper();
+		assertThat(mapper.readTree(compact)).isEqualTo(mapper.readTree(objectObjWrapper.toStringWithoutMetadata()));
+	}
+
+	@Test
+	void testFreezePreventsChange() {
+		JsonWrapper child = new JsonWrapper();
+		child.putString("meep", "mawp");
+		child.attachMetadata(new Node(TemplateId.PI_AGGREGATE_COUNT));
+		JsonWrapper list = new JsonWrapper();
+		list.putObject(child);
+		objectObjWrapper.putObject("children", list);
+		String json = objectObjWrapper.toString();
+
+		objectObjWrapper.freeze();
+
+		List<Map<String, Object>> children = objectObjWrapper.getValue("children");
+		assertThat(objectObjWrapper.toString()).isEqualTo(json);
+		assertThrows(UnsupportedOperationException.class, () -> objectObjWrapper.putString("meep", "mawp"));
+		assertThrows(UnsupportedOperationException.class, () -> children.remove(0));
+		assertThrows(UnsupportedOperationException.class, () -> children.get(0).put("meep", "mop"));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void testCopyOfFrozenIsMutable() {
+		JsonWrapper child = new JsonWrapper();
+		child.putString("meep", "mawp");
+		child.attachMetadata(new Node(TemplateId.PI_AGGREGATE_COUNT));
+		listObjWrapper.putObject(child);
+		listObjWrapper.freeze();
+
+		JsonWrapper copy = new JsonWrapper(listObjWrapper);
+		copy.putObject("another");
+		((List<Map<String, Object>>) copy.getObject()).get(0).put("meep", "mop");
+
+		assertThat(copy.toString()).isNotEqualTo(listObjWrapper.toString());
+		assertThat(listObjWrapper.copyWithoutMetadata().toString()).isEqualTo(listObjWrapper.toStringWithoutMetadata());
+	}
+
 	@Test
 	@SuppressWarnings("unchecked")
 	void testContentStream() {
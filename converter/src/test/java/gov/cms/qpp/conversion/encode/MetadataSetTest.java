@@ -0,0 +1,69 @@
+package gov.cms.qpp.conversion.encode;
+
+import gov.cms.qpp.conversion.model.Node;
+import gov.cms.qpp.conversion.model.TemplateId;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+class MetadataSetTest {
+
+	@Test
+	void testAddIgnoresEqualMetadata() {
+		Node node = new Node(TemplateId.PI_AGGREGATE_COUNT);
+		MetadataSet set = new MetadataSet();
+
+		assertThat(set.add(new NodeMetadata(node, ""))).isTrue();
+		assertThat(set.add(new NodeMetadata(node, ""))).isFalse();
+		assertThat(set.add(new NodeMetadata(node, "aggregateCount"))).isTrue();
+		assertThat(set).hasSize(2);
+	}
+
+	@Test
+	void testAddIgnoresEqualPlainMetadata() {
+		Node node = new Node(TemplateId.PI_AGGREGATE_COUNT);
+		MetadataSet set = new MetadataSet();
+
+		assertThat(set.add(new NodeMetadata(node, ""))).isTrue();
+		assertThat(set.add(NodeMetadata.of(node, ""))).isFalse();
+		assertThat(set).hasSize(1);
+	}
+
+	@Test
+	void testFreezePreventsChange() {
+		Node node = new Node(TemplateId.PI_AGGREGATE_COUNT);
+		MetadataSet set = new MetadataSet();
+		Map<String, String> metadata = new NodeMetadata(node, "");
+		set.add(metadata);
+
+		set.freeze();
+
+		assertThrows(UnsupportedOperationException.class, () -> set.add(new NodeMetadata(node, "other")));
+		assertThrows(UnsupportedOperationException.class, () -> set.iterator().remove());
+		assertThrows(UnsupportedOperationException.class, () -> metadata.put(NodeMetadata.ENCODE_LABEL, "other"));
+	}
+
+	@Test
+	void testCopyOfFrozenIsMutable() {
+		Node node = new Node(TemplateId.PI_AGGREGATE_COUNT);
+		MetadataSet set = new MetadataSet();
+		set.add(new NodeMetadata(node, ""));
+		Map<String, String> plain = new HashMap<>();
+		plain.put("meep", "mawp");
+		set.add(plain);
+		set.freeze();
+
+		MetadataSet copy = set.copy();
+		copy.forEach(metadata -> metadata.put(NodeMetadata.ENCODE_LABEL, "copied"));
+		copy.add(new NodeMetadata(node, "another"));
+
+		assertThat(copy).hasSize(3);
+		assertThat(set).hasSize(2);
+		set.forEach(metadata -> assertThat(metadata.get(NodeMetadata.ENCODE_LABEL)).isNotEqualTo("copied"));
+	}
+}
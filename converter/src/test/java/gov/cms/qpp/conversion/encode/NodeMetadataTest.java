@@ -0,0 +1,141 @@
+package gov.cms.qpp.conversion.encode;
+
+import gov.cms.qpp.conversion.Context;
+import gov.cms.qpp.conversion.ConversionReport;
+import gov.cms.qpp.conversion.Converter;
+import gov.cms.qpp.conversion.PathSource;
+import gov.cms.qpp.conversion.model.Node;
+import gov.cms.qpp.conversion.model.TemplateId;
+import gov.cms.qpp.conversion.xml.ElementPath;
+import org.jdom2.Element;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class NodeMetadataTest {
+
+	private static final String VALID = "../qrda-files/valid-QRDA-III-latest.xml";
+
+	@Test
+	void testPathIsComputedOnlyWhenAsked() {
+		Node node = spy(node());
+		NodeMetadata metadata = new NodeMetadata(node, "");
+
+		assertThat(metadata.get(NodeMetadata.TEMPLATE)).isEqualTo(TemplateId.MEASURE_PERFORMED.name());
+		assertThat(metadata.get(NodeMetadata.LINE)).isEqualTo("7");
+		assertThat(metadata.containsKey(NodeMetadata.PATH)).isTrue();
+		verify(node, never()).getOrComputePath();
+
+		assertThat(metadata.get(NodeMetadata.PATH)).isEqualTo("/path");
+		verify(node, times(1)).getOrComputePath();
+	}
+
+	@Test
+	void testMatchesEagerMetadata() {
+		Node node = node();
+
+		assertThat(new HashMap<>(new NodeMetadata(node, "label"))).isEqualTo(NodeMetadata.of(node, "label"));
+		assertThat(new NodeMetadata(node, "label").size()).isEqualTo(NodeMetadata.of(node, "label").size());
+		assertThat(new NodeMetadata(node, "label").get(NodeMetadata.COLUMN)).isNull();
+	}
+
+	@Test
+	void testEqualityIsByContent() {
+		Node node = node();
+		Node elsewhere = node();
+		elsewhere.setElementPath(path("elsewhere"));
+
+		assertThat(new NodeMetadata(node, "")).isEqualTo(new NodeMetadata(node, ""));
+		assertThat(new NodeMetadata(node, "")).isEqualTo(new NodeMetadata(node(), ""));
+		assertThat(new NodeMetadata(node, "").hashCode()).isEqualTo(new NodeMetadata(node(), "").hashCode());
+		assertThat(new NodeMetadata(node, "")).isNotEqualTo(new NodeMetadata(node, "other"));
+		assertThat(new NodeMetadata(node, "")).isNotEqualTo(new NodeMetadata(elsewhere, ""));
+	}
+
+	@Test
+	void testEqualityFollowsMapContract() {
+		Node node = node();
+		NodeMetadata metadata = new NodeMetadata(node, "label");
+		Map<String, String> eager = NodeMetadata.of(node, "label");
+
+		assertThat(metadata).isEqualTo(eager);
+		assertThat(eager).isEqualTo(metadata);
+		assertThat(metadata.hashCode()).isEqualTo(eager.hashCode());
+		assertThat(metadata).isNotEqualTo(NodeMetadata.of(node, "other"));
+	}
+
+	@Test
+	void testPathIsNotComparedForDistinctLocations() {
+		Node node = spy(node());
+		Node other = spy(node());
+		other.setLine(8);
+
+		assertThat(new NodeMetadata(node, "")).isNotEqualTo(new NodeMetadata(other, ""));
+		verify(node, never()).getOrComputePath();
+		verify(other, never()).getOrComputePath();
+	}
+
+	@Test
+	void testOnlyEncodeLabelChanges() {
+		NodeMetadata metadata = new NodeMetadata(node(), "");
+
+		assertThat(metadata.put(NodeMetadata.ENCODE_LABEL, "label")).isEmpty();
+		assertThat(metadata.get(NodeMetadata.ENCODE_LABEL)).isEqualTo("label");
+		assertThrows(UnsupportedOperationException.class, () -> metadata.put(NodeMetadata.PATH, "/other"));
+		metadata.freeze();
+		assertThrows(UnsupportedOperationException.class, () -> metadata.put(NodeMetadata.ENCODE_LABEL, "other"));
+	}
+
+	@Test
+	void testLazyConversionMatchesEagerConversion() {
+		Context lazy = new Context();
+		lazy.setLazyMetadata(true);
+
+		ConversionReport eagerReport = convert(new Context());
+		ConversionReport lazyReport = convert(lazy);
+
+		assertThat(lazyReport.getEncodedWithMetadata().toString()).isEqualTo(eagerReport.getEncodedWithMetadata().toString());
+		assertThat(lazyReport.getEncodedWithMetadata().copyWithoutMetadata().toString())
+				.isEqualTo(eagerReport.getEncodedWithMetadata().copyWithoutMetadata().toString());
+	}
+
+	@Test
+	void testLazyConversionKeepsElements() {
+		Context lazy = new Context();
+		lazy.setLazyMetadata(true);
+
+		assertThat(hasElement(convert(lazy).getDecoded())).isTrue();
+		assertThat(hasElement(convert(new Context()).getDecoded())).isFalse();
+	}
+
+	private static boolean hasElement(Node node) {
+		return node.getElementForLocation() != null || node.getChildNodes().stream().anyMatch(NodeMetadataTest::hasElement);
+	}
+
+	private static ConversionReport convert(Context context) {
+		Converter converter = new Converter(new PathSource(Paths.get(VALID)), context);
+		converter.transform();
+		return converter.getReport();
+	}
+
+	private static Node node() {
+		Node node = new Node(TemplateId.MEASURE_PERFORMED);
+		node.setDefaultNsUri("urn:hl7-org:v3");
+		node.setElementPath(path("path"));
+		node.setLine(7);
+		return node;
+	}
+
+	private static ElementPath path(String rootName) {
+		return new ElementPath.Recorder().record(new Element(rootName));
+	}
+}
@@ -8,7 +8,7 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
-import java.util.LinkedHashMap;
+import java.util.Map;
 
 import static com.google.common.truth.Truth.assertThat;
 
@@ -74,7 +74,7 @@ class QualityMeasureIdEncoderTest {
 	@Test
 	void testEndToEndReportedIsEncoded() {
 		executeInternalEncode();
-		LinkedHashMap<String, Object> childValues = getChildValues();
+		Map<String, Object> childValues = getChildValues();
 
 		assertThat((Boolean)childValues.get("isEndToEndReported"))
 				.isTrue();
@@ -83,7 +83,7 @@ class QualityMeasureIdEncoderTest {
 	@Test
 	void testPopulationTotalIsEncoded() {
 		executeInternalEncode();
-		LinkedHashMap<String, Object> childValues = getChildValues();
+		Map<String, Object> childValues = getChildValues();
 
 
 		assertThat(childValues.get(ELIGIBLE_POPULATION))
@@ -96,7 +96,7 @@ class QualityMeasureIdEncoderTest {
 		populationNode.putValue(type, "IPP");
 		populationNode.addChildNode(aggregateCountNode);
 		executeInternalEncode();
-		LinkedHashMap<String, Object> childValues = getChildValues();
+		Map<String, Object> childValues = getChildValues();
 
 		assertThat(childValues.get(ELIGIBLE_POPULATION))
 				.isEqualTo(600);
@@ -105,7 +105,7 @@ class QualityMeasureIdEncoderTest {
 	@Test
 	void testPerformanceMetIsEncoded() {
 		executeInternalEncode();
-		LinkedHashMap<String, Object> childValues = getChildValues();
+		Map<String, Object> childValues = getChildValues();
 		assertThat(childValues.get("performanceMet"))
 				.isEqualTo(600);
 	}
@@ -113,7 +113,7 @@ class QualityMeasureIdEncoderTest {
 	@Test
 	void testPerformanceExclusionIsEncoded() {
 		executeInternalEncode();
-		LinkedHashMap<String, Object> childValues = getChildValues();
+		Map<String, Object> childValues = getChildValues();
 
 		assertThat(childValues.get("eligiblePopulationExclusion"))
 				.isEqualTo(600);
@@ -122,7 +122,7 @@ class QualityMeasureIdEncoderTest {
 	@Test
 	void testPerformanceNotMetIsEncoded() {
 		executeInternalEncode();
-		LinkedHashMap<String, Object> childValues = getChildValues();
+		Map<String, Object> childValues = getChildValues();
 
 		assertThat(childValues.get("performanceNotMet"))
 				.isEqualTo(-1200);
@@ -133,7 +133,7 @@ class QualityMeasureIdEncoderTest {
 	{
 		qualityMeasureId.putValue("measureId", "40280382-5b4d-eebc-015b-8245e0fa06b7");
 		executeInternalEncode();
-		LinkedHashMap<String, Object> childValues = getChildValues();
+		Map<String, Object> childValues = getChildValues();
 
 		assertThat((Boolean)childValues.get("isEndToEndReported"))
 			.isTrue();
@@ -143,7 +143,7 @@ class QualityMeasureIdEncoderTest {
 	void testMeasure438EncodingEligiblePopulation() {
 		qualityMeasureId.putValue("measureId", "40280382-5b4d-eebc-015b-8245e0fa06b7");
 		executeInternalEncode();
-		LinkedHashMap<String, Object> childValues = getChildValues();
+		Map<String, Object> childValues = getChildValues();
 
 		assertThat(childValues.get(ELIGIBLE_POPULATION))
 			.isEqualTo(600);
@@ -153,7 +153,7 @@ class QualityMeasureIdEncoderTest {
 	void testMeasure438EncodingPerformanceMet() {
 		qualityMeasureId.putValue("measureId", "40280382-5b4d-eebc-015b-8245e0fa06b7");
 		executeInternalEncode();
-		LinkedHashMap<String, Object> childValues = getChildValues();
+		Map<String, Object> childValues = getChildValues();
 
 		assertThat(childValues.get("performanceMet"))
 			.isEqualTo(600);
@@ -163,7 +163,7 @@ class QualityMeasureIdEncoderTest {
 	void testMeasure438EncodingEligiblePopulationExclusion() {
 		qualityMeasureId.putValue("measureId", "40280382-5b4d-eebc-015b-8245e0fa06b7");
 		executeInternalEncode();
-		LinkedHashMap<String, Object> childValues = getChildValues();
+		Map<String, Object> childValues = getChildValues();
 
 		assertThat(childValues.get("eligiblePopulationExclusion"))
 			.isEqualTo(600);
@@ -173,7 +173,7 @@ class QualityMeasureIdEncoderTest {
 	void testMeasure438EncodingEligiblePopulationException() {
 		qualityMeasureId.putValue("measureId", "40280382-5b4d-eebc-015b-8245e0fa06b7");
 		executeInternalEncode();
-		LinkedHashMap<String, Object> childValues = getChildValues();
+		Map<String, Object> childValues = getChildValues();
 
 		assertThat(childValues.get("eligiblePopulationException"))
 			.isEqualTo(600);
@@ -183,7 +183,7 @@ class QualityMeasureIdEncoderTest {
 	void testMeasure438EncodingPerformanceNotMet() {
 		qualityMeasureId.putValue("measureId", "40280382-5b4d-eebc-015b-8245e0fa06b7");
 		executeInternalEncode();
-		LinkedHashMap<String, Object> childValues = getChildValues();
+		Map<String, Object> childValues = getChildValues();
 
 		assertThat(childValues.get("performanceNotMet"))
 			.isEqualTo(-1200);
@@ -193,7 +193,7 @@ class QualityMeasureIdEncoderTest {
 	void testIgnoresNonMeasureDataNodes() {
 		qualityMeasureId.addChildNode(aggregateCountNode);
 		executeInternalEncode();
-		LinkedHashMap<String, Object> childValues = getChildValues();
+		Map<String, Object> childValues = getChildValues();
 
 		assertThat(childValues.get("aggregateCount")).isNull();
 	}
@@ -209,7 +209,7 @@ class QualityMeasureIdEncoderTest {
 	}
 
 	@SuppressWarnings("unchecked")
-	private LinkedHashMap<String, Object> getChildValues() {
-		return (LinkedHashMap<String, Object>)((LinkedHashMap<String, Object>) wrapper.getObject()).get("value");
+	private Map<String, Object> getChildValues() {
+		return (Map<String, Object>)((Map<String, Object>) wrapper.getObject()).get("value");
 	}
 }
\ No newline at end of file
@@ -0,0 +1,76 @@
+package gov.cms.qpp.conversion.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import static com.google.common.truth.Truth.assertThat;
+
+class HandlerIndexProcessorTest {
+
+	private static final String ANNOTATION = "package gov.cms.qpp.conversion.model;\n"
+			+ "@java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME)\n"
+			+ "public @interface Encoder {}\n";
+
+	private static final String HANDLERS = "package gov.cms.qpp.conversion.model;\n"
+			+ "@Encoder public class Meep {\n"
+			+ "  @Encoder public static class Mawp {}\n"
+			+ "}\n";
+
+	@Test
+	void testIndexListsAnnotatedClasses() throws IOException {
+		Path output = compile(ANNOTATION, HANDLERS);
+
+		Path index = output.resolve(HandlerIndexProcessor.INDEX_DIRECTORY + Encoder.class.getName());
+		assertThat(Files.readAllLines(index, StandardCharsets.UTF_8))
+				.containsExactly("gov.cms.qpp.conversion.model.Meep", "gov.cms.qpp.conversion.model.Meep$Mawp")
+				.inOrder();
+	}
+
+	@Test
+	void testNoIndexWithoutHandlers() throws IOException {
+		Path output = compile(ANNOTATION);
+
+		assertThat(Files.exists(output.resolve(HandlerIndexProcessor.INDEX_DIRECTORY))).isFalse();
+	}
+
+	@Test
+	void testIndexResource() {
+		assertThat(HandlerIndexProcessor.indexResource(Decoder.class))
+				.isEqualTo("META-INF/qpp-conversion/handlers/gov.cms.qpp.conversion.model.Decoder");
+	}
+
+	private Path compile(String... sources) throws IOException {
+		Path sourceDir = Files.createTempDirectory("handler-index-source");
+		Path output = Files.createTempDirectory("handler-index-output");
+		String[] names = {"Encoder.java", "Meep.java"};
+		for (int i = 0; i < sources.length; i++) {
+			Files.write(sourceDir.resolve(names[i]), sources[i].getBytes(StandardCharsets.UTF_8));
+		}
+
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+			Iterable<? extends JavaFileObject> units = fileManager.getJavaFileObjects(
+					Arrays.stream(names).limit(sources.length).map(sourceDir::resolve).map(Path::toFile)
+							.toArray(File[]::new));
+			List<String> options = Arrays.asList("-d", output.toString(), "-classpath", sourceDir.toString());
+			JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null, options, null, units);
+			task.setProcessors(Collections.singletonList(new HandlerIndexProcessor()));
+
+			assertThat(task.call()).isTrue();
+		}
+		return output;
+	}
+}
@@ -2,15 +2,20 @@ package gov.cms.qpp.conversion.model;
 
 import static com.google.common.truth.Truth.assertThat;
 import static com.google.common.truth.Truth.assertWithMessage;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
 
+import org.jdom2.Document;
 import org.jdom2.Element;
 import org.junit.jupiter.api.Test;
 
 import com.google.common.collect.Lists;
 
+import gov.cms.qpp.conversion.xml.ElementPath;
+
 import nl.jqno.equalsverifier.EqualsVerifier;
 import nl.jqno.equalsverifier.Warning;
 
@@ -43,6 +48,38 @@ class NodeTest {
 			.that(node.getValueOrDefault("DEF", "")).isSameAs("");
 	}
 
+	@Test
+	void testIntegerValueIsParsedOnce() {
+		Node node = new Node(TemplateId.PLACEHOLDER);
+		node.putValue("count", "1000");
+
+		assertThat(node.getIntegerValue("count")).isEqualTo(1000);
+		assertThat(node.getIntegerValue("count")).isSameAs(node.getIntegerValue("count"));
+	}
+
+	@Test
+	void testTypedValuesOfInvalidOrMissingValuesAreNull() {
+		Node node = new Node(TemplateId.PLACEHOLDER);
+		node.putValue("count", "mawp");
+
+		assertThat(node.getIntegerValue("count")).isNull();
+		assertThat(node.getFloatValue("count")).isNull();
+		assertThat(node.getDateValue("count")).isNull();
+		assertThat(node.getIntegerValue("missing")).isNull();
+	}
+
+	@Test
+	void testTypedValuesFollowReplacedValue() {
+		Node node = new Node(TemplateId.PLACEHOLDER);
+		node.putValue("value", "20170101");
+		assertThat(node.getDateValue("value")).isEqualTo(LocalDate.of(2017, 1, 1));
+
+		node.putValue("value", "0.5");
+
+		assertThat(node.getDateValue("value")).isNull();
+		assertThat(node.getFloatValue("value")).isEqualTo(0.5f);
+	}
+
 	@Test
 	void testChild() {
 		Node node = new Node(TemplateId.PLACEHOLDER);
@@ -282,6 +319,112 @@ class NodeTest {
 		assertThat(humanReadableNode).isNull();
 	}
 
+	@Test
+	void testChildNodesWithValueIgnoresCaseAndKeepsOrder() {
+		Node parent = new Node(TemplateId.MEASURE_REFERENCE_RESULTS_CMS_V2);
+		Node first = new Node(TemplateId.MEASURE_DATA_CMS_V2);
+		first.putValue("populationId", "abc-123");
+		Node other = new Node(TemplateId.MEASURE_DATA_CMS_V2);
+		other.putValue("populationId", "DEF-456");
+		Node second = new Node(TemplateId.MEASURE_DATA_CMS_V2);
+		second.putValue("populationId", "ABC-123");
+		parent.setChildNodes(first, other, second);
+
+		assertThat(parent.getChildNodesWithValue("populationId", "Abc-123")).containsExactly(first, second).inOrder();
+		assertThat(parent.getChildNodesWithValue("populationId", "missing")).isEmpty();
+		assertThat(parent.getChildNodesWithValue("missing", "ABC-123")).isEmpty();
+	}
+
+	@Test
+	void testChildIndexFollowsChangedChildValues() {
+		Node parent = new Node(TemplateId.MEASURE_REFERENCE_RESULTS_CMS_V2);
+		Node child = new Node(TemplateId.MEASURE_DATA_CMS_V2);
+		child.putValue("type", "DENOM");
+		parent.addChildNode(child);
+		assertThat(parent.getChildNodesWithValue("type", "DENOM")).containsExactly(child);
+
+		child.putValue("type", "NUMER");
+		assertThat(parent.getChildNodesWithValue("type", "DENOM")).isEmpty();
+		assertThat(parent.getChildNodesWithValue("type", "NUMER")).containsExactly(child);
+
+		child.setType(TemplateId.PI_AGGREGATE_COUNT);
+		assertThat(parent.getChildNodes(TemplateId.MEASURE_DATA_CMS_V2).count()).isEqualTo(0L);
+		assertThat(parent.findFirstNode(TemplateId.PI_AGGREGATE_COUNT)).isSameAs(child);
+	}
+
+	@Test
+	void testChildIndexFollowsChangedChildList() {
+		Node parent = new Node(TemplateId.MEASURE_REFERENCE_RESULTS_CMS_V2);
+		Node first = new Node(TemplateId.MEASURE_DATA_CMS_V2);
+		Node second = new Node(TemplateId.MEASURE_DATA_CMS_V2);
+		parent.setChildNodes(first, second);
+		assertThat(parent.countChildNodes(TemplateId.MEASURE_DATA_CMS_V2)).isEqualTo(2);
+
+		parent.getChildNodes().remove(first);
+		assertThat(parent.countChildNodes(TemplateId.MEASURE_DATA_CMS_V2)).isEqualTo(1);
+
+		parent.getChildNodes().set(0, new Node(TemplateId.PERFORMANCE_RATE_PROPORTION_MEASURE));
+		assertThat(parent.countChildNodes(TemplateId.MEASURE_DATA_CMS_V2)).isEqualTo(0);
+		assertThat(parent.countChildNodes(TemplateId.PERFORMANCE_RATE_PROPORTION_MEASURE)).isEqualTo(1);
+	}
+
+	@Test
+	void testHasSingleChildValues() {
+		Node parent = new Node(TemplateId.MEASURE_REFERENCE_RESULTS_CMS_V2);
+		Node child = new Node(TemplateId.MEASURE_DATA_CMS_V2);
+		child.putValue("type", "DENOM");
+		Node unrelated = new Node(TemplateId.PERFORMANCE_RATE_PROPORTION_MEASURE);
+		parent.setChildNodes(child, unrelated);
+		assertThat(parent.hasSingleChildValues(TemplateId.MEASURE_DATA_CMS_V2, "type")).isTrue();
+
+		child.putValue("type", "NUMER", false);
+		assertThat(parent.hasSingleChildValues(TemplateId.MEASURE_DATA_CMS_V2, "type")).isFalse();
+		assertThat(parent.hasSingleChildValues(TemplateId.PERFORMANCE_RATE_PROPORTION_MEASURE, "type")).isFalse();
+	}
+
+	@Test
+	void testFreezePreventsChange() {
+		Node node = new Node(TemplateId.CLINICAL_DOCUMENT);
+		Node child = new Node(TemplateId.IA_SECTION, node);
+		node.addChildNode(child);
+		node.putValue("DEF", "GHI");
+
+		node.freeze();
+
+		assertThat(child.isFrozen()).isTrue();
+		assertThrows(UnsupportedOperationException.class, () -> node.putValue("DEF", "JKL"));
+		assertThrows(UnsupportedOperationException.class, () -> child.removeValue("DEF"));
+		assertThrows(UnsupportedOperationException.class, () -> node.addChildNode(new Node()));
+		assertThrows(UnsupportedOperationException.class, () -> node.getChildNodes().clear());
+		assertThrows(UnsupportedOperationException.class, () -> node.getKeys().clear());
+		assertThat(node.getValue("DEF")).isEqualTo("GHI");
+	}
+
+	@Test
+	void testFreezeReleasesElement() {
+		Element root = new Element("root");
+		Element element = new Element("child");
+		root.addContent(element);
+		new Document(root);
+		Node node = new Node(TemplateId.CLINICAL_DOCUMENT);
+		node.setElementForLocation(element);
+
+		node.freeze();
+
+		assertThat(node.getElementForLocation()).isNull();
+		assertThat(node.getOrComputePath()).isEqualTo("/root/child");
+	}
+
+	@Test
+	void testFrozenNodeMayBeValidated() {
+		Node node = new Node(TemplateId.CLINICAL_DOCUMENT);
+		node.freeze();
+
+		node.setValidated(true);
+
+		assertThat(node.isValidated()).isTrue();
+	}
+
 	@Test
 	void testEquals() {
 		Node parent = new Node(TemplateId.CLINICAL_DOCUMENT);
@@ -295,7 +438,9 @@ class NodeTest {
 			.withPrefabValues(List.class, Lists.newArrayList(new Node()), Lists.newArrayList(new Node(TemplateId.CLINICAL_DOCUMENT), new Node(TemplateId.PI_NUMERATOR)))
 			.withPrefabValues(Node.class, new Node(TemplateId.PI_DENOMINATOR), parent)
 			.withPrefabValues(Element.class, new Element("mock-one"), new Element("mock-two"))
-			.withIgnoredFields("parent")
+			.withPrefabValues(ElementPath.class, new ElementPath.Recorder().record(new Element("mock-one")),
+					new ElementPath.Recorder().record(new Element("mock-two")))
+			.withIgnoredFields("parent", "frozen", "childIndex", "indexedBy")
 			.suppress(Warning.NONFINAL_FIELDS)
 			.verify();
 	}
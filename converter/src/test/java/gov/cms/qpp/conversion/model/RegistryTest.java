@@ -10,8 +10,12 @@ import gov.cms.qpp.conversion.decode.AggregateCountDecoder;
 import gov.cms.qpp.conversion.decode.DecodeResult;
 import gov.cms.qpp.conversion.decode.QrdaDecoder;
 import gov.cms.qpp.conversion.encode.AggregateCountEncoder;
+import gov.cms.qpp.conversion.validate.NodeValidator;
 
+import java.lang.annotation.Annotation;
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Set;
 
 import static com.google.common.truth.Truth.assertThat;
@@ -191,6 +195,79 @@ class RegistryTest {
 				.that(decoder).isInstanceOf(AnotherPlaceholder.class);
 	}
 
+	@Test
+	void testRegistryReusesStatelessHandler() {
+		QrdaDecoder first = registry.get(TemplateId.PI_AGGREGATE_COUNT);
+		QrdaDecoder second = registry.get(TemplateId.PI_AGGREGATE_COUNT);
+
+		assertThat(first).isSameAs(second);
+	}
+
+	@Test
+	void testStatelessHandlerIsScopedToContext() {
+		QrdaDecoder decoder = registry.get(TemplateId.PI_AGGREGATE_COUNT);
+		QrdaDecoder otherDecoder = new Context().<Decoder, QrdaDecoder>getRegistry(Decoder.class)
+				.get(TemplateId.PI_AGGREGATE_COUNT);
+
+		assertThat(decoder).isNotSameAs(otherDecoder);
+	}
+
+	@Test
+	void testRegistryInstantiatesStatefulHandlers() {
+		Registry<NodeValidator> validators = context.getRegistry(Validator.class);
+		NodeValidator first = validators.get(TemplateId.PI_AGGREGATE_COUNT);
+		NodeValidator second = validators.get(TemplateId.PI_AGGREGATE_COUNT);
+
+		assertThat(first).isNotNull();
+		assertThat(first).isNotSameAs(second);
+	}
+
+	@Test
+	void testRegisterAfterLookup() {
+		registry.register(new ComponentKey(TemplateId.PLACEHOLDER, Program.ALL), Placeholder.class);
+		registry.get(TemplateId.PLACEHOLDER);
+		registry.register(new ComponentKey(TemplateId.PLACEHOLDER, Program.ALL), AnotherPlaceholder.class);
+
+		assertThat(registry.get(TemplateId.PLACEHOLDER)).isInstanceOf(AnotherPlaceholder.class);
+	}
+
+	@Test
+	void testLookupFollowsProgramChange() {
+		registry.register(new ComponentKey(TemplateId.PLACEHOLDER, Program.ALL), Placeholder.class);
+		registry.register(new ComponentKey(TemplateId.PLACEHOLDER, Program.CPC), AnotherPlaceholder.class);
+
+		assertThat(registry.get(TemplateId.PLACEHOLDER)).isInstanceOf(Placeholder.class);
+		context.setProgram(Program.CPC);
+		assertThat(registry.get(TemplateId.PLACEHOLDER)).isInstanceOf(AnotherPlaceholder.class);
+	}
+
+	@Test
+	void testLookupWithoutHandler() {
+		assertThat(registry.get(TemplateId.UNIMPLEMENTED)).isNull();
+		assertThat(registry.inclusiveGet(TemplateId.UNIMPLEMENTED)).isEmpty();
+	}
+
+	@Test
+	void testIndexedHandlers() {
+		assertThat(registry.lookupAnnotatedClasses(Decoder.class))
+				.containsEntry(new ComponentKey(TemplateId.PI_AGGREGATE_COUNT, Program.ALL), AggregateCountDecoder.class);
+	}
+
+	@Test
+	void testIndexMatchesClasspathScan() {
+		for (Class<? extends Annotation> annotation : Arrays.asList(Decoder.class, Encoder.class, Validator.class)) {
+			Registry<?> annotatedRegistry = context.getRegistry(annotation);
+			Map<ComponentKey, Class<?>> indexed = annotatedRegistry.lookupAnnotatedClasses(annotation);
+			System.setProperty(Registry.SCAN_CLASSPATH, "yep");
+			try {
+				assertThat(indexed).isNotEmpty();
+				assertThat(annotatedRegistry.lookupAnnotatedClasses(annotation)).isEqualTo(indexed);
+			} finally {
+				System.clearProperty(Registry.SCAN_CLASSPATH);
+			}
+		}
+	}
+
 	@Test
 	void testSize() {
 		assertThat(registry.size()).isGreaterThan(0);
@@ -0,0 +1,106 @@
+package gov.cms.qpp.conversion.model.validation;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class MeasureConfigIndexTest {
+
+	private static final String MEASURE_UUID = "40280382-5abd-fa46-015b-4981e40b37e6";
+
+	private MeasureConfig measure;
+	private MeasureConfigIndex index;
+
+	@BeforeEach
+	void setup() {
+		measure = new MeasureConfig();
+		measure.setElectronicMeasureVerUuid(MEASURE_UUID);
+		measure.setCategory("quality");
+		measure.setCpcPlusGroup("Outcome_Measure");
+		measure.setStrata(Arrays.asList(
+				strata("first", subPopulation("IPOP-1", "DENOM-1", "NUMER-1")),
+				strata("second", subPopulation("IPOP-2", "DENOM-1", "NUMER-2"))));
+
+		MeasureConfig required = new MeasureConfig();
+		required.setMeasureId("ACI_EP_1");
+		required.setCategory("pi");
+		required.setIsRequired(true);
+
+		Map<String, MeasureConfig> configurationMap = new HashMap<>();
+		configurationMap.put(MEASURE_UUID, measure);
+		configurationMap.put("aci_ep_1", required);
+		index = new MeasureConfigIndex(configurationMap);
+	}
+
+	@Test
+	void testMeasureConfigIgnoresCase() {
+		assertThat(index.getMeasureConfig(MEASURE_UUID.toUpperCase())).isSameAs(measure);
+		assertThat(index.getMeasureConfig(MEASURE_UUID)).isSameAs(measure);
+		assertThat(index.getMeasureConfig("missing")).isNull();
+		assertThat(index.getMeasureConfig(null)).isNull();
+	}
+
+	@Test
+	void testPopulationFindsSubPopulationAndLabel() {
+		MeasureConfigIndex.Population population = index.getPopulation(measure, "NUMER-2");
+
+		assertThat(population.getSubPopulationIndex()).isEqualTo(1);
+		assertThat(population.getSubPopulation()).isSameAs(index.getSubPopulations(measure).get(1));
+		assertThat(population.getLabel()).isEqualTo(SubPopulationLabel.NUMER);
+		assertThat(index.getPopulation(measure, "missing")).isNull();
+	}
+
+	@Test
+	void testSharedPopulationFindsLastSubPopulation() {
+		assertThat(index.getPopulation(measure, "DENOM-1").getSubPopulationIndex()).isEqualTo(1);
+	}
+
+	@Test
+	void testStratumForNumerator() {
+		assertThat(index.getStratum(measure, "NUMER-1")).isEqualTo("first");
+		assertThat(index.getStratum(measure, "NUMER-2")).isEqualTo("second");
+		assertThat(index.getStratum(measure, "IPOP-1")).isNull();
+	}
+
+	@Test
+	void testUnindexedMeasureIsStillLookedUp() {
+		MeasureConfig unindexed = new MeasureConfig();
+		unindexed.setStrata(Arrays.asList(strata("only", subPopulation("IPOP-3", "DENOM-3", "NUMER-3"))));
+
+		assertThat(index.getStratum(unindexed, "NUMER-3")).isEqualTo("only");
+		assertThat(index.getPopulation(unindexed, "DENOM-3").getLabel()).isEqualTo(SubPopulationLabel.DENOM);
+	}
+
+	@Test
+	void testRequiredMeasures() {
+		assertThat(index.getRequiredMeasures("pi")).containsExactly("aci_ep_1");
+		assertThat(index.getRequiredMeasures("quality")).isEmpty();
+	}
+
+	@Test
+	void testCpcPlusGroups() {
+		assertThat(index.getCpcPlusGroups().get("Outcome_Measure")).containsExactly(measure);
+		assertThat(index.getCpcPlusGroupMeasureIds("Outcome_Measure")).containsExactly(MEASURE_UUID);
+		assertThat(index.getCpcPlusMeasureIds()).containsExactly(MEASURE_UUID);
+	}
+
+	private static Strata strata(String name, SubPopulation subPopulation) {
+		Strata strata = new Strata();
+		strata.setName(name);
+		strata.setElectronicMeasureUuids(subPopulation);
+		return strata;
+	}
+
+	private static SubPopulation subPopulation(String ipop, String denom, String numer) {
+		SubPopulation subPopulation = new SubPopulation();
+		subPopulation.setInitialPopulationUuid(ipop);
+		subPopulation.setDenominatorUuid(denom);
+		subPopulation.setNumeratorUuid(numer);
+		return subPopulation;
+	}
+}
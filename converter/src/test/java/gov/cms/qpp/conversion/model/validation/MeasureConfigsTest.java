@@ -5,9 +5,13 @@ import static com.google.common.truth.Truth.assertWithMessage;
 
 import java.io.IOException;
 import java.lang.reflect.Constructor;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
-import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -15,9 +19,9 @@ import com.fasterxml.jackson.databind.JsonMappingException;
 
 class MeasureConfigsTest {
 
-	@AfterAll
-	static void resetMeasureConfiguration() throws Exception {
-		MeasureConfigs.setMeasureDataFile(MeasureConfigs.DEFAULT_MEASURE_DATA_FILE_NAME);
+	@AfterEach
+	void resetMeasureConfiguration() {
+		MeasureConfigs.reset();
 	}
 
 	@Test
@@ -76,4 +80,91 @@ class MeasureConfigsTest {
 		assertWithMessage("Expect the notRequiredMeasures to be a empty list")
 				.that(notRequiredMeasures).isEmpty();
 	}
-}
\ No newline at end of file
+
+	@Test
+	void testReloadSwapsSnapshot() {
+		MeasureConfigSnapshot before = MeasureConfigs.getSnapshot();
+		int configurations = before.getIndex().getConfigurationMap().size();
+
+		MeasureConfigSnapshot after = MeasureConfigs.reload("reduced-test-measures-data.json");
+
+		assertThat(MeasureConfigs.getSnapshot()).isSameAs(after);
+		assertThat(after.getVersion()).isGreaterThan(before.getVersion());
+		assertThat(after.getIdentity()).isNotEqualTo(before.getIdentity());
+		assertThat(before.getIndex().getConfigurationMap()).hasSize(configurations);
+	}
+
+	@Test
+	void testFailedReloadKeepsSnapshot() {
+		MeasureConfigSnapshot before = MeasureConfigs.getSnapshot();
+
+		Assertions.assertThrows(IllegalArgumentException.class, () -> MeasureConfigs.reload("Bogus file name"));
+
+		assertThat(MeasureConfigs.getSnapshot()).isSameAs(before);
+	}
+
+	@Test
+	void testReloadFromFile() {
+		MeasureConfigSnapshot loaded = MeasureConfigs.reload(Paths.get("src/test/resources/reduced-test-measures-data.json"));
+
+		assertThat(loaded.getSource()).startsWith("file:");
+		assertThat(loaded.getIndex().getConfigurationMap())
+				.hasSize(MeasureConfigs.grabConfiguration("reduced-test-measures-data.json").size());
+	}
+
+	@Test
+	void testPerformanceYearSnapshot() {
+		MeasureConfigSnapshot snapshot = MeasureConfigs.loadPerformanceYear(1999, "reduced-test-measures-data.json");
+		MeasureConfigSnapshot reloaded = MeasureConfigs.reload(MeasureConfigs.DEFAULT_MEASURE_DATA_FILE_NAME);
+
+		assertThat(snapshot.forPerformanceYear(1999).getSource()).isEqualTo("reduced-test-measures-data.json");
+		assertThat(snapshot.forPerformanceYear(2018)).isSameAs(snapshot);
+		assertThat(snapshot.forPerformanceYear(null)).isSameAs(snapshot);
+		assertThat(reloaded.getPerformanceYears()).contains(1999);
+		assertThat(reloaded.getIdentity()).contains("1999=reduced-test-measures-data.json#");
+	}
+
+	@Test
+	void testPreloadLoadsPerformanceYears() {
+		MeasureConfigSnapshot preloaded = MeasureConfigs.preload(Runnable::run,
+				Collections.singletonMap(1998, "reduced-test-measures-data.json")).join();
+
+		assertThat(MeasureConfigs.isReady()).isTrue();
+		assertThat(preloaded.getPerformanceYears()).contains(1998);
+	}
+
+	@Test
+	void testNotReadyUntilPerformanceYearsLoad() {
+		MeasureConfigs.init();
+		List<Runnable> pending = new ArrayList<>();
+
+		CompletableFuture<MeasureConfigSnapshot> preloaded = MeasureConfigs.preload(pending::add,
+				Collections.singletonMap(1998, "reduced-test-measures-data.json"));
+
+		assertThat(MeasureConfigs.isReady()).isFalse();
+		pending.forEach(Runnable::run);
+		assertThat(preloaded.isDone()).isTrue();
+		assertThat(MeasureConfigs.isReady()).isTrue();
+	}
+
+	@Test
+	void testNotReadyWhenPerformanceYearFailsToLoad() {
+		CompletableFuture<MeasureConfigSnapshot> preloaded = MeasureConfigs.preload(Runnable::run,
+				Collections.singletonMap(1998, "Bogus file name"));
+
+		assertThat(preloaded.isCompletedExceptionally()).isTrue();
+		assertThat(MeasureConfigs.getSnapshot()).isNotNull();
+		assertThat(MeasureConfigs.isReady()).isFalse();
+	}
+
+	@Test
+	void testResetDropsPerformanceYears() {
+		MeasureConfigs.loadPerformanceYear(1999, "reduced-test-measures-data.json");
+
+		MeasureConfigs.reset();
+
+		assertThat(MeasureConfigs.isReady()).isFalse();
+		assertThat(MeasureConfigs.getSnapshot().getPerformanceYears()).doesNotContain(1999);
+		assertThat(MeasureConfigs.getSnapshot().getSource()).isEqualTo(MeasureConfigs.DEFAULT_MEASURE_DATA_FILE_NAME);
+	}
+}
@@ -1,11 +0,0 @@
-package gov.cms.qpp.conversion.util;
-
-import gov.cms.qpp.test.helper.HelperContract;
-
-class CloneHelperTest implements HelperContract {
-
-	@Override
-	public Class<?> getHelperClass() {
-		return CloneHelper.class;
-	}
-}
\ No newline at end of file
@@ -0,0 +1,66 @@
+package gov.cms.qpp.conversion.validate;
+
+import static com.google.common.truth.Truth.assertWithMessage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+import gov.cms.qpp.conversion.Context;
+import gov.cms.qpp.conversion.decode.XmlDecoderEngine;
+import gov.cms.qpp.conversion.model.Node;
+import gov.cms.qpp.conversion.model.error.ValidationResult;
+import gov.cms.qpp.conversion.xml.XmlException;
+import gov.cms.qpp.conversion.xml.XmlUtils;
+import uk.org.lidalia.slf4jtest.TestLoggerFactory;
+
+class QrdaValidatorParallelTest {
+
+	@Test
+	void testParallelValidationMatchesSerial() throws IOException {
+		for (Path file : getFiles()) {
+			ValidationResult serial = validate(file, false);
+			if (serial == null) {
+				continue;
+			}
+
+			ValidationResult parallel = validate(file, true);
+
+			assertWithMessage("errors of %s", file).that(parallel.getErrors())
+					.containsExactlyElementsIn(serial.getErrors()).inOrder();
+			assertWithMessage("warnings of %s", file).that(parallel.getWarnings())
+					.containsExactlyElementsIn(serial.getWarnings()).inOrder();
+
+			//the test logger keeps every event, and with them the nodes logged from each file
+			TestLoggerFactory.clearAll();
+		}
+	}
+
+	private static ValidationResult validate(Path file, boolean parallelValidation) throws IOException {
+		Context context = new Context();
+		context.setParallelValidation(parallelValidation);
+		Node decoded;
+		try (InputStream input = Files.newInputStream(file)) {
+			decoded = XmlDecoderEngine.decodeXml(context, XmlUtils.parseXmlStream(input));
+		} catch (XmlException exception) {
+			return null;
+		}
+		return decoded == null ? null : new QrdaValidator(context).validate(decoded);
+	}
+
+	private static List<Path> getFiles() throws IOException {
+		try (Stream<Path> samples = Files.walk(Paths.get("../sample-files"));
+				Stream<Path> qrda = Files.walk(Paths.get("../qrda-files"))) {
+			return Stream.concat(samples, qrda)
+					.filter(file -> file.toString().endsWith(".xml"))
+					.collect(Collectors.toList());
+		}
+	}
+}
@@ -0,0 +1,41 @@
+package gov.cms.qpp.conversion.xml;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.Truth.assertWithMessage;
+
+import org.jdom2.Element;
+import org.jdom2.filter.Filters;
+import org.jdom2.xpath.XPathHelper;
+import org.junit.jupiter.api.Test;
+
+class ElementPathTest {
+
+	private static final String XML = XmlUtils.buildString("<root xmlns=\"urn:hl7-org:v3\" xmlns:sdtc=\"urn:hl7-org:sdtc\">",
+			"  <component><section/><section/></component>",
+			"  <component><section/></component>",
+			"  <sdtc:category/>",
+			"  <plain xmlns=\"\"><item/><item/></plain>",
+			"</root>");
+
+	@Test
+	void testMatchesXPathHelper() {
+		Element root = XmlUtils.stringToDom(XML);
+		ElementPath.Recorder recorder = new ElementPath.Recorder();
+
+		assertThat(recorder.record(root).toXPath()).isEqualTo(XPathHelper.getAbsolutePath(root));
+		for (Element element : root.getDescendants(Filters.element())) {
+			String expected = XPathHelper.getAbsolutePath(element);
+			assertWithMessage(expected).that(recorder.record(element).toXPath()).isEqualTo(expected);
+		}
+	}
+
+	@Test
+	void testSharesAncestors() {
+		Element root = XmlUtils.stringToDom(XML);
+		ElementPath.Recorder recorder = new ElementPath.Recorder();
+		Element component = root.getChildren().get(0);
+
+		assertThat(recorder.record(component)).isSameAs(recorder.record(component));
+		assertThat(new ElementPath.Recorder().record(component)).isEqualTo(recorder.record(component));
+	}
+}
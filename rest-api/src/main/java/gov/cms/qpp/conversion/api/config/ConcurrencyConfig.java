@@ -1,9 +1,19 @@
 package gov.cms.qpp.conversion.api.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.core.task.SyncTaskExecutor;
-import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import gov.cms.qpp.conversion.api.model.Constants;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
 
 /**
  * Spring configuration file for service task threadding.
@@ -13,13 +23,72 @@ import org.springframework.core.task.TaskExecutor;
 @Configuration
 public class ConcurrencyConfig {
 
+	static final int DEFAULT_THREADS = 16;
+	static final int DEFAULT_QUEUE_SIZE = 256;
+
+	/**
+	 * A bounded thread pool just for the ReST API.
+	 *
+	 * The number of threads and the number of tasks that may wait for one are set with the {@code AUDIT_THREADS} and
+	 * {@code AUDIT_QUEUE_SIZE} environment variables. Once the queue is full, a task is rejected rather than run on the
+	 * thread that submits it, so that request threads are not held up retrying audit writes; the audit services spill
+	 * such a write instead.
+	 *
+	 * @param environment hooks to the environment in which the application runs
+	 * @return bounded task executor
+	 */
+	@Bean
+	public ThreadPoolTaskExecutor taskExecutor(Environment environment) {
+		int threads = environment.getProperty(Constants.AUDIT_THREADS_ENV_VARIABLE, Integer.class, DEFAULT_THREADS);
+
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(threads);
+		executor.setMaxPoolSize(threads);
+		executor.setQueueCapacity(
+				environment.getProperty(Constants.AUDIT_QUEUE_SIZE_ENV_VARIABLE, Integer.class, DEFAULT_QUEUE_SIZE));
+		executor.setThreadNamePrefix("audit-");
+		executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+		executor.setWaitForTasksToCompleteOnShutdown(true);
+		return executor;
+	}
+
+	/**
+	 * Records the pool size, queue depth and completed tasks of the {@link #taskExecutor(Environment)}.
+	 *
+	 * @param taskExecutor the initialized task executor
+	 * @param meterRegistry where the metrics are recorded
+	 * @return the bound metrics
+	 */
+	@Bean
+	public ExecutorServiceMetrics taskExecutorMetrics(ThreadPoolTaskExecutor taskExecutor, MeterRegistry meterRegistry) {
+		ExecutorServiceMetrics metrics =
+				new ExecutorServiceMetrics(taskExecutor.getThreadPoolExecutor(), "taskExecutor", Tags.empty());
+		metrics.bindTo(meterRegistry);
+		return metrics;
+	}
+
+	/**
+	 * A fork join pool just for validating submissions in parallel, so that validation neither competes with nor waits
+	 * on other users of the common pool. Its parallelism is set with the {@code VALIDATION_THREADS} environment
+	 * variable, and defaults to the number of processors.
+	 *
+	 * @param environment hooks to the environment in which the application runs
+	 * @return validation pool
+	 */
+	@Bean(destroyMethod = "shutdown")
+	public ForkJoinPool validationPool(Environment environment) {
+		return new ForkJoinPool(environment.getProperty(Constants.VALIDATION_THREADS_ENV_VARIABLE, Integer.class,
+				Runtime.getRuntime().availableProcessors()));
+	}
+
 	/**
-	 * A thread pool just for the ReST API.
+	 * An in memory registry for metrics, used unless another registry is configured.
 	 *
-	 * @return synchronous task executor
+	 * @return meter registry
 	 */
 	@Bean
-	public TaskExecutor taskExecutor() {
-		return new SyncTaskExecutor();
+	@ConditionalOnMissingBean
+	public MeterRegistry meterRegistry() {
+		return new SimpleMeterRegistry();
 	}
 }
@@ -2,11 +2,13 @@ package gov.cms.qpp.conversion.api.controllers;
 
 import gov.cms.qpp.conversion.api.model.HealthCheck;
 import gov.cms.qpp.conversion.api.services.VersionService;
+import gov.cms.qpp.conversion.model.validation.MeasureConfigs;
 
 import java.util.ArrayList;
 import java.util.stream.Collectors;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseBody;
@@ -14,7 +16,8 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
 /**
- * Controller to simply respond with status 200 with a GET /health call.
+ * Controller to simply respond with status 200 with a GET /health call, and to report with GET /health/ready whether
+ * conversions can start without waiting for the measure configurations to load.
  */
 @RestController
 @RequestMapping("/health")
@@ -47,4 +50,15 @@ public class HealthCheckController {
 
 		return healthCheck;
 	}
+
+	/**
+	 * Invoked with an HTTP GET call to /health/ready.
+	 *
+	 * @return status 200 once the measure configurations, including those of every configured performance year, are
+	 * loaded, 503 until then or if any of them failed to load
+	 */
+	@GetMapping("/ready")
+	public ResponseEntity<Void> ready() {
+		return ResponseEntity.status(MeasureConfigs.isReady() ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE).build();
+	}
 }
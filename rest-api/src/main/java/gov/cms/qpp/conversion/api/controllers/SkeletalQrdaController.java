@@ -12,10 +12,13 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.multipart.MultipartFile;
 
+import gov.cms.qpp.conversion.BufferedSource;
 import gov.cms.qpp.conversion.ConversionReport;
-import gov.cms.qpp.conversion.InputStreamSupplierSource;
+import gov.cms.qpp.conversion.Source;
 import gov.cms.qpp.conversion.api.exceptions.AuditException;
 import gov.cms.qpp.conversion.api.exceptions.InvalidPurposeException;
 import gov.cms.qpp.conversion.api.model.CpcValidationInfoMap;
@@ -39,6 +42,7 @@ public abstract class SkeletalQrdaController<T> {
 
 	private static final Logger API_LOG = LoggerFactory.getLogger(SkeletalQrdaController.class);
 	private static final int MAX_PURPOSE_LENGTH = 25;
+	private static final String RELEASE_SOURCE = SkeletalQrdaController.class.getName() + ".releaseSource";
 
 	protected final QrdaService qrdaService;
 	protected final ValidationService validationService;
@@ -81,8 +85,10 @@ public abstract class SkeletalQrdaController<T> {
 			API_LOG.info("Conversion request received");
 		}
 
-		ConversionReport conversionReport = qrdaService.convertQrda3ToQpp(
-				new InputStreamSupplierSource(originalFilename, inputStream(file), purpose));
+		BufferedSource source = BufferedSource.read(originalFilename, inputStream(file), purpose, file.getSize());
+		releaseWhenRequestCompletes(source);
+
+		ConversionReport conversionReport = qrdaService.convertQrda3ToQpp(source);
 
 		validationService.validateQpp(conversionReport);
 
@@ -111,6 +117,19 @@ public abstract class SkeletalQrdaController<T> {
 		}
 	}
 
+	/**
+	 * Releases the uploaded file once the request, including any exception handling, completes. Audits that outlive
+	 * the request hold their own reference to it.
+	 *
+	 * @param source the uploaded file
+	 */
+	private void releaseWhenRequestCompletes(Source source) {
+		RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+		if (attributes != null) {
+			attributes.registerDestructionCallback(RELEASE_SOURCE, source::release, RequestAttributes.SCOPE_REQUEST);
+		}
+	}
+
 	/**
 	 * Input stream from a file
 	 *
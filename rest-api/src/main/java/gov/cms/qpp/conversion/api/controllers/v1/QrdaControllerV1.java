@@ -2,6 +2,7 @@ package gov.cms.qpp.conversion.api.controllers.v1;
 
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import gov.cms.qpp.conversion.ConversionReport;
 import gov.cms.qpp.conversion.api.controllers.SkeletalQrdaController;
@@ -15,15 +16,18 @@ import gov.cms.qpp.conversion.api.services.ValidationService;
  */
 @RestController
 @RequestMapping(path = "/", headers = {"Accept=" + Constants.V1_API_ACCEPT})
-public class QrdaControllerV1 extends SkeletalQrdaController<String> {
+public class QrdaControllerV1 extends SkeletalQrdaController<StreamingResponseBody> {
 
 	public QrdaControllerV1(QrdaService qrdaService, ValidationService validationService, AuditService auditService) {
 		super(qrdaService, validationService, auditService);
 	}
 
+	/**
+	 * Streams the QPP, without metadata, straight to the response.
+	 */
 	@Override
-	protected String respond(ConversionReport report) {
-		return report.getEncodedWithMetadata().copyWithoutMetadata().toString(); // TODO toObject?
+	protected StreamingResponseBody respond(ConversionReport report) {
+		return report::writeQpp;
 	}
 
 }
@@ -0,0 +1,16 @@
+package gov.cms.qpp.conversion.api.exceptions;
+
+/**
+ * Thrown instead of calling a dependency whose circuit breaker is open.
+ */
+public class CircuitOpenException extends RuntimeException {
+
+	/**
+	 * Constructs this exception.
+	 *
+	 * @param dependency the name of the dependency that was not called
+	 */
+	public CircuitOpenException(String dependency) {
+		super("The circuit breaker for " + dependency + " is open");
+	}
+}
@@ -0,0 +1,57 @@
+package gov.cms.qpp.conversion.api.helper;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Utilities for computing SHA-256 digests and writing them as hex
+ */
+public class DigestHelper {
+
+	private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+	/**
+	 * No need for constructor in this utility class
+	 */
+	private DigestHelper() {
+		//empty
+	}
+
+	/**
+	 * Starts a SHA-256 digest
+	 *
+	 * @return a new digest
+	 */
+	public static MessageDigest sha256() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException exception) {
+			throw new IllegalStateException("SHA-256 is not available", exception);
+		}
+	}
+
+	/**
+	 * Computes the SHA-256 digest of some content
+	 *
+	 * @param content to digest
+	 * @return the digest as lower case hex
+	 */
+	public static String sha256Hex(byte[] content) {
+		return toHex(sha256().digest(content));
+	}
+
+	/**
+	 * Writes bytes as lower case hex, two digits per byte
+	 *
+	 * @param bytes to write
+	 * @return the hex
+	 */
+	public static String toHex(byte[] bytes) {
+		char[] hex = new char[bytes.length * 2];
+		for (int i = 0; i < bytes.length; i++) {
+			hex[i * 2] = HEX_DIGITS[(bytes[i] >> 4) & 0xf];
+			hex[i * 2 + 1] = HEX_DIGITS[bytes[i] & 0xf];
+		}
+		return new String(hex);
+	}
+}
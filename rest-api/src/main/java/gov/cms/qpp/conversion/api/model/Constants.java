@@ -7,10 +7,29 @@ public class Constants {
 	public static final String DYNAMO_TABLE_NAME_ENV_VARIABLE = "DYNAMO_TABLE_NAME";
 	public static final String KMS_KEY_ENV_VARIABLE = "KMS_KEY";
 	public static final String NO_AUDIT_ENV_VARIABLE = "NO_AUDIT";
+	public static final String AUDIT_THREADS_ENV_VARIABLE = "AUDIT_THREADS";
+	public static final String AUDIT_QUEUE_SIZE_ENV_VARIABLE = "AUDIT_QUEUE_SIZE";
+	public static final String AUDIT_SPOOL_DIR_ENV_VARIABLE = "AUDIT_SPOOL_DIR";
+	public static final String AUDIT_SPOOL_SIZE_ENV_VARIABLE = "AUDIT_SPOOL_SIZE";
+	public static final String AUDIT_SPOOL_ATTEMPTS_ENV_VARIABLE = "AUDIT_SPOOL_ATTEMPTS";
+	public static final String AUDIT_SPILL_DIR_ENV_VARIABLE = "AUDIT_SPILL_DIR";
+	public static final String AUDIT_BREAKER_FAILURES_ENV_VARIABLE = "AUDIT_BREAKER_FAILURES";
+	public static final String AUDIT_BREAKER_OPEN_SECONDS_ENV_VARIABLE = "AUDIT_BREAKER_OPEN_SECONDS";
+	public static final String CONVERSION_CACHE_MAX_BYTES_ENV_VARIABLE = "CONVERSION_CACHE_MAX_BYTES";
 	public static final String BUCKET_NAME_ENV_VARIABLE = "BUCKET_NAME";
 	public static final String SUBMISSION_API_TOKEN_ENV_VARIABLE = "SUBMISSION_API_TOKEN";
 	public static final String VALIDATION_URL_ENV_VARIABLE = "VALIDATION_URL";
+	public static final String VALIDATION_MAX_CONNECTIONS_ENV_VARIABLE = "VALIDATION_MAX_CONNECTIONS";
+	public static final String VALIDATION_CONNECT_TIMEOUT_MILLIS_ENV_VARIABLE = "VALIDATION_CONNECT_TIMEOUT_MILLIS";
+	public static final String VALIDATION_READ_TIMEOUT_MILLIS_ENV_VARIABLE = "VALIDATION_READ_TIMEOUT_MILLIS";
+	public static final String VALIDATION_POOL_TIMEOUT_MILLIS_ENV_VARIABLE = "VALIDATION_POOL_TIMEOUT_MILLIS";
+	public static final String VALIDATION_QUEUE_SIZE_ENV_VARIABLE = "VALIDATION_QUEUE_SIZE";
+	public static final String VALIDATION_CACHE_SIZE_ENV_VARIABLE = "VALIDATION_CACHE_SIZE";
+	public static final String VALIDATION_CACHE_TTL_SECONDS_ENV_VARIABLE = "VALIDATION_CACHE_TTL_SECONDS";
 	public static final String NO_CPC_PLUS_API_ENV_VARIABLE = "NO_CPC_PLUS_API";
+	public static final String MEASURE_DATA_PERFORMANCE_YEARS_ENV_VARIABLE = "MEASURE_DATA_PERFORMANCE_YEARS";
+	public static final String PARALLEL_VALIDATION_ENV_VARIABLE = "PARALLEL_VALIDATION";
+	public static final String VALIDATION_THREADS_ENV_VARIABLE = "VALIDATION_THREADS";
 	public static final String V1_API_ACCEPT = "application/vnd.qpp.cms.gov.v1+json";
 	public static final String V2_API_ACCEPT = "application/vnd.qpp.cms.gov.v2+json";
 	public static final Integer CPC_DYNAMO_PARTITIONS = 32;
@@ -4,10 +4,14 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import gov.cms.qpp.conversion.api.helper.DigestHelper;
+
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -18,6 +22,7 @@ import java.util.stream.Collectors;
 public class CpcValidationInfoMap {
 	private static final Logger DEV_LOG = LoggerFactory.getLogger(CpcValidationInfoMap.class);
 	private Map<String, CpcValidationInfo> apmToSpec;
+	private String version = "";
 
 	public CpcValidationInfoMap(InputStream cpcNpiToApmJson) {
 		apmToSpec = convertJsonToMap(cpcNpiToApmJson);
@@ -28,14 +33,17 @@ public class CpcValidationInfoMap {
 			return null;
 		}
 		List<CpcValidationInfo> cpcValidationInfoList = new ArrayList<>();
+		MessageDigest digest = DigestHelper.sha256();
 		try {
 			ObjectMapper objectMapper = new ObjectMapper();
+			InputStream digested = new DigestInputStream(cpcNpiToApmJson, digest);
 			cpcValidationInfoList =
-				Arrays.asList(objectMapper.readValue(new InputStreamReader(cpcNpiToApmJson, StandardCharsets.UTF_8),
+				Arrays.asList(objectMapper.readValue(new InputStreamReader(digested, StandardCharsets.UTF_8),
 					CpcValidationInfo[].class));
 		} catch (IOException exc) {
 			DEV_LOG.info("Failed to parse the cpc+ validation npi to apm list...");
 		}
+		version = DigestHelper.toHex(digest.digest());
 
 		return cpcValidationInfoList.stream()
 			.collect(Collectors.toMap(CpcValidationInfo::getNpi, Function.identity()));
@@ -44,4 +52,13 @@ public class CpcValidationInfoMap {
 	public Map<String, CpcValidationInfo> getApmToSpec() {
 		return apmToSpec;
 	}
+
+	/**
+	 * Identifies the content the map was loaded from, so that loading unchanged content again gives the same version
+	 *
+	 * @return the SHA-256 digest of the content as hex, or empty if there was no content
+	 */
+	public String getVersion() {
+		return version;
+	}
 }
@@ -1,16 +1,28 @@
 package gov.cms.qpp.conversion.api.services;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.task.TaskExecutor;
-import org.springframework.retry.backoff.ExponentialBackOffPolicy;
+import org.springframework.retry.RetryPolicy;
+import org.springframework.retry.backoff.ExponentialRandomBackOffPolicy;
+import org.springframework.retry.policy.CompositeRetryPolicy;
 import org.springframework.retry.policy.SimpleRetryPolicy;
+import org.springframework.retry.policy.TimeoutRetryPolicy;
 import org.springframework.retry.support.RetryTemplate;
 
-import java.util.Collections;
+import gov.cms.qpp.conversion.api.exceptions.CircuitOpenException;
+import gov.cms.qpp.conversion.api.exceptions.UncheckedInterruptedException;
+
+import java.io.IOException;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * A service extends from this to help it do something in a guaranteed fashion.
@@ -24,22 +36,55 @@ import java.util.concurrent.CompletableFuture;
  * distributed transaction.  In lieu of a standard transaction contract, this gives the application eventual consistency.
  * http://www.grahamlea.com/2016/08/distributed-transactions-microservices-icebergs/
  *
+ * An action is tried at most {@link #MAX_ATTEMPTS} times, for about {@link #MAX_RETRY_MILLIS} at most, and is not tried at
+ * all while the {@link CircuitBreaker} of the dependency is open.  Rather than failing, an action that runs out of attempts
+ * may be {@link #spill(Object) spilled} to local storage and {@link #replaySpilled() replayed} once the dependency succeeds
+ * again.  An action the task executor has no room for is spilled straight away, so that it does not hold up the caller;
+ * only if it cannot be spilled does the caller act on it.
+ *
  * @param <T> The type of object that will be acted upon in the asynchronous action.
  * @param <S> The type of object that is returned from {@link #asynchronousAction(Object)}.
  */
 public abstract class AnyOrderActionService<T, S> {
+	static final int MAX_ATTEMPTS = 8;
+	static final long MAX_RETRY_MILLIS = 10000;
 	private static final int INITIAL_INTERVAL = 1000;
 	private static final double MULTIPLIER = 2.0;
-	private static final int MAX_INTERVAL = 60000;
+	private static final int MAX_INTERVAL = 2000;
 
 	private static final Logger API_LOG = LoggerFactory.getLogger(AnyOrderActionService.class);
 
 	protected final TaskExecutor taskExecutor;
+	protected final CircuitBreaker circuitBreaker;
+	private final Counter retries;
+	private final Counter saturated;
+	private final AtomicBoolean spillPending = new AtomicBoolean();
+
+	/**
+	 * Creates a service whose dependency is never circuit broken.
+	 *
+	 * @param taskExecutor runs the actions
+	 * @param meterRegistry where the number of retries is recorded
+	 */
+	protected AnyOrderActionService(TaskExecutor taskExecutor, MeterRegistry meterRegistry) {
+		this(taskExecutor, CircuitBreaker.neverOpen("action", meterRegistry), meterRegistry);
+	}
 
-	public AnyOrderActionService(TaskExecutor taskExecutor) {
+	/**
+	 * Creates a service whose dependency is guarded by a {@link CircuitBreaker}.
+	 *
+	 * @param taskExecutor runs the actions
+	 * @param circuitBreaker guards the dependency called by {@link #asynchronousAction(Object)}
+	 * @param meterRegistry where the number of retries is recorded
+	 */
+	protected AnyOrderActionService(TaskExecutor taskExecutor, CircuitBreaker circuitBreaker, MeterRegistry meterRegistry) {
 		Objects.requireNonNull(taskExecutor, "taskExecutor");
+		Objects.requireNonNull(circuitBreaker, "circuitBreaker");
 
 		this.taskExecutor = taskExecutor;
+		this.circuitBreaker = circuitBreaker;
+		this.retries = meterRegistry.counter("audit.retries", "dependency", circuitBreaker.getName());
+		this.saturated = meterRegistry.counter("audit.saturated", "dependency", circuitBreaker.getName());
 	}
 
 	/**
@@ -67,39 +112,176 @@ public abstract class AnyOrderActionService<T, S> {
 	 * @return A {@link CompletableFuture} that will complete once the action completes without failure.
 	 */
 	protected CompletableFuture<S> actOnItem(final T objectToActOn) {
-		return CompletableFuture.supplyAsync(() -> {
-			RetryTemplate retry = retryTemplate();
+		try {
+			return CompletableFuture.supplyAsync(() -> act(objectToActOn, true), taskExecutor);
+		} catch (RejectedExecutionException exception) {
+			return actWhileSaturated(objectToActOn);
+		}
+	}
+
+	/**
+	 * Spills an item the task executor has no room for, or acts on it on the calling thread if it cannot be spilled.
+	 */
+	private CompletableFuture<S> actWhileSaturated(T objectToActOn) {
+		saturated.increment();
+		API_LOG.warn("No thread is free to act for {}", circuitBreaker.getName());
+
+		CompletableFuture<S> future = new CompletableFuture<>();
+		try {
+			Optional<S> spilled = spill(objectToActOn);
+			if (spilled.isPresent()) {
+				markSpilled();
+				future.complete(spilled.get());
+				return future;
+			}
+		} catch (IOException spillException) {
+			API_LOG.error("Unable to spill an action for " + circuitBreaker.getName(), spillException);
+		}
+
+		try {
+			future.complete(act(objectToActOn, true));
+		} catch (RuntimeException exception) {
+			future.completeExceptionally(exception);
+		}
+		return future;
+	}
+
+	/**
+	 * Acts on an item that was {@link #spill(Object) spilled} earlier.  An item that fails again is left where it was
+	 * spilled to be replayed later.
+	 *
+	 * @param objectToActOn The spilled item.
+	 * @return A {@link CompletableFuture} that will complete once the action completes without failure.
+	 */
+	protected CompletableFuture<S> replay(final T objectToActOn) {
+		CompletableFuture<S> future;
+		try {
+			future = CompletableFuture.supplyAsync(() -> act(objectToActOn, false), taskExecutor);
+		} catch (RejectedExecutionException exception) {
+			future = new CompletableFuture<>();
+			future.completeExceptionally(exception);
+		}
+		future.whenComplete((result, exception) -> {
+			if (exception != null) {
+				markSpilled();
+			}
+		});
+		return future;
+	}
 
-			API_LOG.info("Trying to execute action");
+	/**
+	 * Keeps an item whose action could not be completed so that it can be replayed later.  Nothing is kept by default.
+	 *
+	 * @param objectToActOn The item to keep.
+	 * @return What the action would have returned, or empty if the item was not kept.
+	 * @throws IOException If the item could not be kept.
+	 */
+	protected Optional<S> spill(T objectToActOn) throws IOException {
+		return Optional.empty();
+	}
+
+	/**
+	 * Replays the items kept by {@link #spill(Object)} using {@link #replay(Object)}.  Called after the dependency succeeds
+	 * once items have been spilled.  Does nothing by default.
+	 */
+	protected void replaySpilled() {
+		// nothing is spilled by default
+	}
+
+	/**
+	 * Notes that there are spilled items to replay once the dependency succeeds.
+	 */
+	protected void markSpilled() {
+		spillPending.set(true);
+	}
+
+	private S act(T objectToActOn, boolean maySpill) {
+		RetryTemplate retry = retryTemplate();
+
+		API_LOG.info("Trying to execute action");
+		try {
 			return retry.execute(context -> {
 				if (context.getLastThrowable() != null) {
 					API_LOG.warn("Last try resulted in a thrown throwable", context.getLastThrowable());
 				}
 				if (context.getRetryCount() > 0) {
 					API_LOG.warn("Retry {} - trying to execute action again", context.getRetryCount());
+					retries.increment();
 				}
-				return this.asynchronousAction(objectToActOn);
+				return attempt(objectToActOn);
 			});
-		}, taskExecutor);
+		} catch (RuntimeException exception) {
+			if (!maySpill || exception instanceof UncheckedInterruptedException) {
+				throw exception;
+			}
+			return spillOrThrow(objectToActOn, exception);
+		}
+	}
+
+	private S attempt(T objectToActOn) {
+		if (!circuitBreaker.allowRequest()) {
+			throw new CircuitOpenException(circuitBreaker.getName());
+		}
+
+		S result;
+		try {
+			result = this.asynchronousAction(objectToActOn);
+		} catch (UncheckedInterruptedException exception) {
+			throw exception;
+		} catch (RuntimeException exception) {
+			circuitBreaker.recordFailure();
+			throw exception;
+		}
+
+		circuitBreaker.recordSuccess();
+		if (spillPending.compareAndSet(true, false)) {
+			replaySpilled();
+		}
+		return result;
+	}
+
+	private S spillOrThrow(T objectToActOn, RuntimeException exception) {
+		Optional<S> spilled;
+		try {
+			spilled = spill(objectToActOn);
+		} catch (IOException spillException) {
+			API_LOG.error("Unable to spill an action for " + circuitBreaker.getName(), spillException);
+			throw exception;
+		}
+
+		if (!spilled.isPresent()) {
+			throw exception;
+		}
+
+		API_LOG.warn("Spilled an action for {} to replay later", circuitBreaker.getName(), exception);
+		markSpilled();
+		return spilled.get();
 	}
 
 	/**
-	 * Returns a retry template that always retries.  Starts with a second interval between retries and doubles that interval up
-	 * to a minute for each retry.
+	 * Returns a retry template that tries an action {@link #MAX_ATTEMPTS} times, and starts no new try once
+	 * {@link #MAX_RETRY_MILLIS} have passed, so that a failing dependency does not hold a thread for long.  Starts with about a
+	 * second between tries and doubles that interval up to two seconds, with jitter so that failed actions do not all retry at
+	 * once.  Interruptions and an open {@link CircuitBreaker} are not retried.
 	 *
 	 * @return A retry template.
 	 */
 	protected RetryTemplate retryTemplate() {
 		RetryTemplate retry = new RetryTemplate();
 
-		Map<Class<? extends Throwable>, Boolean> stopExceptions =
-				Collections.singletonMap(InterruptedException.class, Boolean.FALSE);
-		SimpleRetryPolicy retryPolicy =
-				new SimpleRetryPolicy(Integer.MAX_VALUE, stopExceptions, true, true);
+		Map<Class<? extends Throwable>, Boolean> stopExceptions = new HashMap<>();
+		stopExceptions.put(InterruptedException.class, Boolean.FALSE);
+		stopExceptions.put(CircuitOpenException.class, Boolean.FALSE);
+		SimpleRetryPolicy attemptsPolicy =
+				new SimpleRetryPolicy(MAX_ATTEMPTS, stopExceptions, true, true);
+		TimeoutRetryPolicy timeoutPolicy = new TimeoutRetryPolicy();
+		timeoutPolicy.setTimeout(MAX_RETRY_MILLIS);
 
+		CompositeRetryPolicy retryPolicy = new CompositeRetryPolicy();
+		retryPolicy.setPolicies(new RetryPolicy[] {attemptsPolicy, timeoutPolicy});
 		retry.setRetryPolicy(retryPolicy);
 
-		ExponentialBackOffPolicy backOffPolicy = new ExponentialBackOffPolicy();
+		ExponentialRandomBackOffPolicy backOffPolicy = new ExponentialRandomBackOffPolicy();
 		backOffPolicy.setInitialInterval(INITIAL_INTERVAL);
 		backOffPolicy.setMultiplier(MULTIPLIER);
 		backOffPolicy.setMaxInterval(MAX_INTERVAL);
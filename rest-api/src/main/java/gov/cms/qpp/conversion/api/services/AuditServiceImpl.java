@@ -5,6 +5,7 @@ import java.io.InputStream;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
@@ -33,6 +34,7 @@ public class AuditServiceImpl implements AuditService {
 	private StorageService storageService;
 	private DbService dbService;
 	private Environment environment;
+	private AuditSpool auditSpool;
 
 	/**
 	 * initialize
@@ -40,16 +42,22 @@ public class AuditServiceImpl implements AuditService {
 	 * @param storageService save conversion output
 	 * @param dbService save conversion metadata
 	 * @param environment hooks to the environment in which the application runs
+	 * @param auditSpool where successful conversions wait to be audited, if enabled
 	 */
 	public AuditServiceImpl(final StorageService storageService, final DbService dbService,
-							final Environment environment) {
+							final Environment environment, final AuditSpool auditSpool) {
 		this.storageService = storageService;
 		this.dbService = dbService;
 		this.environment = environment;
+		this.auditSpool = auditSpool;
+		if (auditSpool != null) {
+			auditSpool.start(this::auditSpooled);
+		}
 	}
 
 	/**
-	 * Audit a successful conversion.
+	 * Audit a successful conversion. If the {@link AuditSpool} accepts the conversion, the returned future is already
+	 * complete and the audit happens in the background.
 	 *
 	 * @param conversionReport report of the conversion
 	 * @return future
@@ -66,11 +74,36 @@ public class AuditServiceImpl implements AuditService {
 
 		Source qrdaSource = conversionReport.getQrdaSource();
 		Source qppSource = conversionReport.getQppSource();
+		try {
+			if (auditSpool != null && auditSpool.offer(metadata, qrdaSource, qppSource)) {
+				return CompletableFuture.completedFuture(metadata);
+			}
+
+			return persist(storeSuccess(metadata, qrdaSource, qppSource), metadata);
+		} finally {
+			qppSource.release();
+		}
+	}
+
+	/**
+	 * Audit a successful conversion drained from the {@link AuditSpool}. Completes only once the {@link Metadata} is
+	 * saved so that the spool keeps the entry until then.
+	 *
+	 * @param metadata the metadata of the conversion
+	 * @param qrdaSource the input of the conversion
+	 * @param qppSource the output of the conversion
+	 * @return future
+	 */
+	CompletableFuture<Metadata> auditSpooled(Metadata metadata, Source qrdaSource, Source qppSource) {
+		API_LOG.info("Writing spooled success audit information");
 
-		CompletableFuture<Void> allWrites = CompletableFuture.allOf(
+		return persist(storeSuccess(metadata, qrdaSource, qppSource), metadata);
+	}
+
+	private CompletableFuture<Void> storeSuccess(Metadata metadata, Source qrdaSource, Source qppSource) {
+		return CompletableFuture.allOf(
 				storeContent(qrdaSource).thenAccept(metadata::setSubmissionLocator),
 				storeContent(qppSource).thenAccept(metadata::setQppLocator));
-		return allWrites.whenComplete((nada, thrown) -> persist(metadata, thrown)).thenApply(ignore -> metadata);
 	}
 
 	/**
@@ -91,11 +124,14 @@ public class AuditServiceImpl implements AuditService {
 
 		Source qrdaSource = conversionReport.getQrdaSource();
 		Source validationErrorSource = conversionReport.getValidationErrorsSource();
-
-		CompletableFuture<Void> allWrites = CompletableFuture.allOf(
-				storeContent(validationErrorSource).thenAccept(metadata::setConversionErrorLocator),
-				storeContent(qrdaSource).thenAccept(metadata::setSubmissionLocator));
-		return allWrites.whenComplete((ignore, thrown) -> persist(metadata, thrown));
+		try {
+			CompletableFuture<Void> allWrites = CompletableFuture.allOf(
+					storeContent(validationErrorSource).thenAccept(metadata::setConversionErrorLocator),
+					storeContent(qrdaSource).thenAccept(metadata::setSubmissionLocator));
+			return persist(allWrites, metadata).thenApply(ignore -> null);
+		} finally {
+			validationErrorSource.release();
+		}
 	}
 
 	/**
@@ -117,13 +153,19 @@ public class AuditServiceImpl implements AuditService {
 		Source validationErrorSource = conversionReport.getValidationErrorsSource();
 		Source rawValidationErrorSource = conversionReport.getRawValidationErrorsOrEmptySource();
 
-		Metadata metadata = initMetadata(conversionReport, Outcome.VALIDATION_ERROR);
-		CompletableFuture<Void> allWrites = CompletableFuture.allOf(
-				storeContent(rawValidationErrorSource).thenAccept(metadata::setRawValidationErrorLocator),
-				storeContent(validationErrorSource).thenAccept(metadata::setValidationErrorLocator),
-				storeContent(qppSource).thenAccept(metadata::setQppLocator),
-				storeContent(qrdaSource).thenAccept(metadata::setSubmissionLocator));
-		return allWrites.whenComplete((nada, thrown) -> persist(metadata, thrown));
+		try {
+			Metadata metadata = initMetadata(conversionReport, Outcome.VALIDATION_ERROR);
+			CompletableFuture<Void> allWrites = CompletableFuture.allOf(
+					storeContent(rawValidationErrorSource).thenAccept(metadata::setRawValidationErrorLocator),
+					storeContent(validationErrorSource).thenAccept(metadata::setValidationErrorLocator),
+					storeContent(qppSource).thenAccept(metadata::setQppLocator),
+					storeContent(qrdaSource).thenAccept(metadata::setSubmissionLocator));
+			return persist(allWrites, metadata).thenApply(ignore -> null);
+		} finally {
+			qppSource.release();
+			validationErrorSource.release();
+			rawValidationErrorSource.release();
+		}
 	}
 
 	/**
@@ -175,27 +217,39 @@ public class AuditServiceImpl implements AuditService {
 	}
 
 	/**
-	 * Calls the {@link StorageService} to store an {@link InputStream}.
+	 * Calls the {@link StorageService} to store an {@link InputStream}. The {@link Source} is retained until it is stored.
 	 *
 	 * @param sourceToStore The {@link Source} to store.
 	 * @return A {@link CompletableFuture} that represents storing the information.
 	 */
 	private CompletableFuture<String> storeContent(Source sourceToStore) {
 		UUID key = UUID.randomUUID();
-		return storageService.store(key.toString(), sourceToStore::toInputStream, sourceToStore.getSize());
+		Source retained = sourceToStore.retain();
+		try {
+			return storageService.store(key.toString(), retained::toInputStream, retained.getSize())
+					.whenComplete((ignore, thrown) -> retained.release());
+		} catch (RuntimeException exception) {
+			retained.release();
+			throw exception;
+		}
 	}
 
 	/**
-	 * Calls the {@link DbService} to store the {@link Metadata} in a database.
+	 * Calls the {@link DbService} to store the {@link Metadata} in a database once the content it locates is stored.
+	 * The returned future completes only once the database write does, so that the {@link Metadata} has its uuid.
 	 *
+	 * @param stored A {@link CompletableFuture} that represents storing the content.
 	 * @param metadata The {@link Metadata} to save.
-	 * @param thrown A {@link Throwable} from a previous step.
-	 * @return A {@link CompletableFuture} that represents saving {@link Metadata} to a database.
+	 * @return A {@link CompletableFuture} that represents saving {@link Metadata} to a database, failing with an
+	 * {@link AuditException} if either step fails.
 	 */
-	private CompletableFuture<Metadata> persist(Metadata metadata, Throwable thrown) {
-		if (thrown != null) {
-			throw new AuditException(thrown);
-		}
-		return dbService.write(metadata);
+	private CompletableFuture<Metadata> persist(CompletableFuture<Void> stored, Metadata metadata) {
+		return stored.thenCompose(ignore -> dbService.write(metadata))
+				.handle((written, thrown) -> {
+					if (thrown != null) {
+						throw new AuditException(thrown instanceof CompletionException ? thrown.getCause() : thrown);
+					}
+					return written;
+				});
 	}
 }
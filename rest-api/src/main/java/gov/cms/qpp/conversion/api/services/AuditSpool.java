@@ -0,0 +1,296 @@
+package gov.cms.qpp.conversion.api.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.StringUtils;
+
+import gov.cms.qpp.conversion.PathSource;
+import gov.cms.qpp.conversion.Source;
+import gov.cms.qpp.conversion.api.model.Constants;
+import gov.cms.qpp.conversion.api.model.Metadata;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.annotation.PreDestroy;
+
+/**
+ * A write-ahead spool of successful conversions waiting to be audited.
+ *
+ * When the {@code AUDIT_SPOOL_DIR} environment variable names a directory, the input, output and {@link Metadata} of a
+ * successful conversion are written there and the request is answered without waiting on S3 or DynamoDB. A background
+ * thread audits each entry and deletes it once the audit completes. Entries left behind by a previous run are audited
+ * when the spool starts. At most {@code AUDIT_SPOOL_SIZE} entries wait at once; once the spool is full, callers audit
+ * while handling the request. An entry whose audit fails {@code AUDIT_SPOOL_ATTEMPTS} times is moved to the
+ * {@link #DEAD_LETTER} subdirectory, where it is left for an operator rather than retried forever.
+ */
+@Component
+public class AuditSpool {
+	static final int DEFAULT_SIZE = 1000;
+	static final int DEFAULT_ATTEMPTS = 10;
+	static final String DEAD_LETTER = "dead-letter";
+	static final String QRDA = "qrda";
+	static final String QPP = "qpp";
+	static final String METADATA = "metadata.json";
+	static final String PARTIAL = ".partial";
+	private static final long RETRY_DELAY = 1000;
+
+	private static final Logger API_LOG = LoggerFactory.getLogger(AuditSpool.class);
+
+	/**
+	 * Audits an entry drained from the spool.
+	 */
+	@FunctionalInterface
+	public interface Auditor {
+		/**
+		 * Stores the spooled conversion.
+		 *
+		 * @param metadata the metadata of the conversion
+		 * @param qrdaSource the input of the conversion
+		 * @param qppSource the output of the conversion
+		 * @return a future that completes once everything is stored
+		 */
+		CompletableFuture<?> audit(Metadata metadata, Source qrdaSource, Source qppSource);
+	}
+
+	private final BlockingQueue<Path> pending = new LinkedBlockingQueue<>();
+	private final Map<Path, Integer> attempts = new ConcurrentHashMap<>();
+	private final AtomicInteger size = new AtomicInteger();
+	private final Path directory;
+	private final int capacity;
+	private final int maxAttempts;
+	private final Counter accepted;
+	private final Counter rejected;
+	private final Counter deadLettered;
+	private Thread drainer;
+
+	/**
+	 * initialize
+	 *
+	 * @param environment hooks to the environment in which the application runs
+	 * @param meterRegistry where the metrics are recorded
+	 */
+	public AuditSpool(Environment environment, MeterRegistry meterRegistry) {
+		String spoolDirectory = environment.getProperty(Constants.AUDIT_SPOOL_DIR_ENV_VARIABLE);
+		this.directory = StringUtils.isEmpty(spoolDirectory) ? null : Paths.get(spoolDirectory);
+		this.capacity = environment.getProperty(Constants.AUDIT_SPOOL_SIZE_ENV_VARIABLE, Integer.class, DEFAULT_SIZE);
+		this.maxAttempts = Math.max(1,
+				environment.getProperty(Constants.AUDIT_SPOOL_ATTEMPTS_ENV_VARIABLE, Integer.class, DEFAULT_ATTEMPTS));
+		meterRegistry.gauge("audit.spool.size", size);
+		this.accepted = meterRegistry.counter("audit.spool.accepted");
+		this.rejected = meterRegistry.counter("audit.spool.rejected");
+		this.deadLettered = meterRegistry.counter("audit.spool.dead.lettered");
+	}
+
+	/**
+	 * Whether or not a spool directory is configured
+	 *
+	 * @return true if audits may be spooled
+	 */
+	public boolean isEnabled() {
+		return directory != null;
+	}
+
+	/**
+	 * The number of entries waiting to be audited
+	 *
+	 * @return spooled entries
+	 */
+	public int size() {
+		return size.get();
+	}
+
+	/**
+	 * Durably writes a successful conversion to the spool. The {@link Metadata} is given a UUID if it has none.
+	 *
+	 * @param metadata the metadata of the conversion
+	 * @param qrdaSource the input of the conversion
+	 * @param qppSource the output of the conversion
+	 * @return true if spooled, false if the caller should audit the conversion itself
+	 */
+	public boolean offer(Metadata metadata, Source qrdaSource, Source qppSource) {
+		if (!isEnabled()) {
+			return false;
+		}
+
+		if (size.incrementAndGet() > capacity) {
+			size.decrementAndGet();
+			rejected.increment();
+			API_LOG.warn("Audit spool is full, auditing during the request");
+			return false;
+		}
+
+		try {
+			pending.add(write(metadata, qrdaSource, qppSource));
+			accepted.increment();
+			return true;
+		} catch (IOException exception) {
+			size.decrementAndGet();
+			rejected.increment();
+			API_LOG.error("Unable to spool audit information, auditing during the request", exception);
+			return false;
+		}
+	}
+
+	/**
+	 * Starts auditing spooled entries in the background, beginning with any left behind by a previous run.
+	 *
+	 * @param auditor audits each entry
+	 */
+	public synchronized void start(Auditor auditor) {
+		if (!isEnabled() || drainer != null) {
+			return;
+		}
+
+		try {
+			recover();
+		} catch (IOException exception) {
+			API_LOG.error("Unable to read the audit spool " + directory, exception);
+		}
+
+		drainer = new Thread(() -> drain(auditor), "audit-spool");
+		drainer.setDaemon(true);
+		drainer.start();
+	}
+
+	/**
+	 * Stops auditing spooled entries. Entries not yet audited stay in the spool for the next run.
+	 *
+	 * @throws InterruptedException if interrupted while waiting for the current audit to finish
+	 */
+	@PreDestroy
+	public synchronized void stop() throws InterruptedException {
+		if (drainer != null) {
+			drainer.interrupt();
+			drainer.join(RETRY_DELAY);
+			drainer = null;
+		}
+	}
+
+	private Path write(Metadata metadata, Source qrdaSource, Source qppSource) throws IOException {
+		if (metadata.getUuid() == null) {
+			metadata.setUuid(UUID.randomUUID().toString());
+		}
+
+		Path partial = directory.resolve(metadata.getUuid() + PARTIAL);
+		Path entry = directory.resolve(metadata.getUuid());
+		try {
+			Files.createDirectories(partial);
+			SpillDirectory.write(partial.resolve(QRDA), qrdaSource.toInputStream());
+			SpillDirectory.write(partial.resolve(QPP), qppSource.toInputStream());
+			SpillDirectory.write(partial.resolve(METADATA), new ByteArrayInputStream(MetadataJson.write(metadata)));
+			return Files.move(partial, entry, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException exception) {
+			FileSystemUtils.deleteRecursively(partial);
+			throw exception;
+		}
+	}
+
+	private void recover() throws IOException {
+		Files.createDirectories(directory);
+
+		List<Path> entries;
+		try (Stream<Path> files = Files.list(directory)) {
+			entries = files.sorted(Comparator.comparing(this::lastModified)).collect(Collectors.toList());
+		}
+
+		for (Path entry : entries) {
+			if (entry.getFileName().toString().equals(DEAD_LETTER)) {
+				continue;
+			}
+			if (entry.toString().endsWith(PARTIAL)) {
+				FileSystemUtils.deleteRecursively(entry);
+			} else {
+				size.incrementAndGet();
+				pending.add(entry);
+			}
+		}
+
+		if (!pending.isEmpty()) {
+			API_LOG.info("Found {} spooled audits from a previous run", pending.size());
+		}
+	}
+
+	private void drain(Auditor auditor) {
+		while (!Thread.currentThread().isInterrupted()) {
+			Path entry;
+			try {
+				entry = pending.take();
+			} catch (InterruptedException exception) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+
+			try {
+				Metadata metadata;
+				try (InputStream json = Files.newInputStream(entry.resolve(METADATA))) {
+					metadata = MetadataJson.read(json);
+				}
+				auditor.audit(metadata, new PathSource(entry.resolve(QRDA)), new PathSource(entry.resolve(QPP))).join();
+				FileSystemUtils.deleteRecursively(entry);
+				attempts.remove(entry);
+				size.decrementAndGet();
+			} catch (IOException | RuntimeException exception) {
+				if (attempts.merge(entry, 1, Integer::sum) >= maxAttempts) {
+					API_LOG.error("Unable to audit spooled entry " + entry + " after " + maxAttempts + " attempts", exception);
+					deadLetter(entry);
+					continue;
+				}
+				API_LOG.warn("Unable to audit spooled entry " + entry + ", trying again later", exception);
+				pending.add(entry);
+				try {
+					Thread.sleep(RETRY_DELAY);
+				} catch (InterruptedException interrupted) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Moves an entry that keeps failing out of the way of the others. If it cannot be moved, it stays where it is and
+	 * is tried again on the next run.
+	 *
+	 * @param entry the spooled entry
+	 */
+	private void deadLetter(Path entry) {
+		attempts.remove(entry);
+		size.decrementAndGet();
+		deadLettered.increment();
+		try {
+			Path deadLetters = Files.createDirectories(directory.resolve(DEAD_LETTER));
+			Files.move(entry, deadLetters.resolve(entry.getFileName()), StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException exception) {
+			API_LOG.error("Unable to move spooled entry " + entry + " to " + DEAD_LETTER, exception);
+		}
+	}
+
+	private long lastModified(Path path) {
+		try {
+			return Files.getLastModifiedTime(path).toMillis();
+		} catch (IOException exception) {
+			return Long.MAX_VALUE;
+		}
+	}
+}
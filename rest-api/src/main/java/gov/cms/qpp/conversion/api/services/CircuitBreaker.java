@@ -0,0 +1,175 @@
+package gov.cms.qpp.conversion.api.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.Environment;
+import org.springframework.util.StringUtils;
+
+import gov.cms.qpp.conversion.api.model.Constants;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Stops calling a dependency that keeps failing.
+ *
+ * After a number of failures in a row the breaker opens and calls are refused. Once it has been open for a while, a
+ * single call is let through: the breaker closes if that call succeeds and opens again if it fails.
+ */
+public class CircuitBreaker {
+	static final int DEFAULT_FAILURES = 5;
+	static final int DEFAULT_OPEN_SECONDS = 30;
+
+	private static final Logger API_LOG = LoggerFactory.getLogger(CircuitBreaker.class);
+
+	/**
+	 * The state of a {@link CircuitBreaker}.
+	 */
+	public enum State {
+		CLOSED, OPEN, HALF_OPEN
+	}
+
+	private final String name;
+	private final int failureThreshold;
+	private final long openNanos;
+	private final LongSupplier clock;
+	private final Counter opened;
+
+	private State state = State.CLOSED;
+	private int failures;
+	private long openedAt;
+	private boolean probing;
+	private long probedAt;
+
+	/**
+	 * Creates a breaker that opens after {@code failureThreshold} failures in a row and stays open for
+	 * {@code openNanos}.
+	 *
+	 * @param name the dependency guarded by the breaker
+	 * @param failureThreshold failures in a row that open the breaker
+	 * @param openNanos how long the breaker stays open before a call is let through
+	 * @param clock source of {@link System#nanoTime()} style times
+	 * @param meterRegistry where the state and the number of times the breaker opened are recorded
+	 */
+	CircuitBreaker(String name, int failureThreshold, long openNanos, LongSupplier clock, MeterRegistry meterRegistry) {
+		this.name = name;
+		this.failureThreshold = failureThreshold;
+		this.openNanos = openNanos;
+		this.clock = clock;
+		this.opened = meterRegistry.counter("circuit.breaker.opened", "dependency", name);
+		meterRegistry.gauge("circuit.breaker.state", Tags.of("dependency", name), this,
+				breaker -> breaker.getState().ordinal());
+	}
+
+	/**
+	 * Creates a breaker configured by the {@code AUDIT_BREAKER_FAILURES} and {@code AUDIT_BREAKER_OPEN_SECONDS}
+	 * environment variables.
+	 *
+	 * @param name the dependency guarded by the breaker
+	 * @param environment hooks to the environment in which the application runs
+	 * @param meterRegistry where the breaker's metrics are recorded
+	 * @return the breaker
+	 */
+	public static CircuitBreaker fromEnvironment(String name, Environment environment, MeterRegistry meterRegistry) {
+		int failures = intProperty(environment, Constants.AUDIT_BREAKER_FAILURES_ENV_VARIABLE, DEFAULT_FAILURES);
+		int openSeconds = intProperty(environment, Constants.AUDIT_BREAKER_OPEN_SECONDS_ENV_VARIABLE, DEFAULT_OPEN_SECONDS);
+		return new CircuitBreaker(name, failures, TimeUnit.SECONDS.toNanos(openSeconds), System::nanoTime, meterRegistry);
+	}
+
+	/**
+	 * Creates a breaker that never opens.
+	 *
+	 * @param name the dependency
+	 * @param meterRegistry where the breaker's metrics are recorded
+	 * @return the breaker
+	 */
+	public static CircuitBreaker neverOpen(String name, MeterRegistry meterRegistry) {
+		return new CircuitBreaker(name, Integer.MAX_VALUE, 0, System::nanoTime, meterRegistry);
+	}
+
+	/**
+	 * The dependency guarded by this breaker
+	 *
+	 * @return the name of the dependency
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * The current state, moving an open breaker to half open once it has been open long enough.
+	 *
+	 * @return the state
+	 */
+	public synchronized State getState() {
+		if (state == State.OPEN && clock.getAsLong() - openedAt >= openNanos) {
+			state = State.HALF_OPEN;
+			probing = false;
+		}
+		return state;
+	}
+
+	/**
+	 * Whether or not the dependency may be called. A half open breaker lets a single call through, or another one if
+	 * the first has not been recorded within the time the breaker stays open.
+	 *
+	 * @return true if the call may go ahead
+	 */
+	public synchronized boolean allowRequest() {
+		switch (getState()) {
+			case CLOSED:
+				return true;
+			case HALF_OPEN:
+				long now = clock.getAsLong();
+				if (probing && now - probedAt < openNanos) {
+					return false;
+				}
+				probing = true;
+				probedAt = now;
+				return true;
+			default:
+				return false;
+		}
+	}
+
+	/**
+	 * Records a successful call, closing the breaker.
+	 */
+	public synchronized void recordSuccess() {
+		failures = 0;
+		if (state != State.CLOSED) {
+			API_LOG.info("Closing the circuit breaker for {}", name);
+			state = State.CLOSED;
+		}
+	}
+
+	/**
+	 * Records a failed call, opening the breaker if the dependency has failed too often.
+	 */
+	public synchronized void recordFailure() {
+		failures++;
+		if (state == State.HALF_OPEN || (state == State.CLOSED && failures >= failureThreshold)) {
+			API_LOG.warn("Opening the circuit breaker for {} after {} failures", name, failures);
+			state = State.OPEN;
+			openedAt = clock.getAsLong();
+			opened.increment();
+		}
+	}
+
+	static int intProperty(Environment environment, String name, int defaultValue) {
+		String value = environment.getProperty(name);
+		if (StringUtils.isEmpty(value)) {
+			return defaultValue;
+		}
+
+		try {
+			return Integer.parseInt(value.trim());
+		} catch (NumberFormatException exception) {
+			API_LOG.warn("Ignoring {}={}, which is not a number", name, value);
+			return defaultValue;
+		}
+	}
+}
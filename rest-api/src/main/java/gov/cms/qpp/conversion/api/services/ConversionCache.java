@@ -0,0 +1,300 @@
+package gov.cms.qpp.conversion.api.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import gov.cms.qpp.conversion.Context;
+import gov.cms.qpp.conversion.ConversionReport;
+import gov.cms.qpp.conversion.Source;
+import gov.cms.qpp.conversion.api.helper.DigestHelper;
+import gov.cms.qpp.conversion.api.model.Constants;
+import gov.cms.qpp.conversion.model.Node;
+import gov.cms.qpp.conversion.model.error.Detail;
+import gov.cms.qpp.conversion.model.error.ErrorCode;
+import gov.cms.qpp.conversion.model.error.TransformException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the outcome of recent conversions so that a resubmitted file is not converted again, and lets concurrent
+ * submissions of the same file share a single conversion.
+ *
+ * Outcomes are keyed by a SHA-256 digest of the submitted content, the {@link Context} flags that affect a conversion,
+ * the loaded measure data and a digest of the CPC+ validation data. Every outcome is dropped once either kind of data
+ * changes.
+ *
+ * An outcome keeps the submission, its decoded {@link Node} tree and its encoded QPP, along with the document the tree
+ * was decoded from while paths are computed lazily, which together take several times the size of the submission. The
+ * heap an outcome retains is estimated as the size of the submission plus {@link #ESTIMATED_BYTES_PER_NODE} for every
+ * decoded node, and the least recently used outcomes are dropped once the estimates add up to more than
+ * {@code CONVERSION_CACHE_MAX_BYTES}, which defaults to 128 MB. Setting it to 0 turns the cache off, but concurrent
+ * submissions are still converted only once.
+ */
+@Component
+public class ConversionCache {
+	static final long DEFAULT_MAX_BYTES = 128L * 1024 * 1024;
+
+	/**
+	 * The heap a decoded node keeps beyond the submission: the node, its part of the encoded QPP and metadata, and its
+	 * part of the document. Measured at 5 to 5.5 KB for sample files of 300 KB to 3 MB, and rounded up.
+	 */
+	static final long ESTIMATED_BYTES_PER_NODE = 6L * 1024;
+	private static final int DIGEST_BUFFER_SIZE = 8 * 1024;
+
+	private static final Logger API_LOG = LoggerFactory.getLogger(ConversionCache.class);
+
+	private final long maxBytes;
+	private final Map<String, Outcome> outcomes = new LinkedHashMap<>(16, 0.75f, true);
+	private final ConcurrentMap<String, CompletableFuture<Outcome>> inFlight = new ConcurrentHashMap<>();
+	private final Counter hits;
+	private final Counter coalesced;
+	private final Counter misses;
+	private final Counter evictions;
+	private long bytes;
+	private String dataVersion;
+
+	/**
+	 * initialize
+	 *
+	 * @param environment hooks to the environment in which the application runs
+	 * @param meterRegistry where the metrics are recorded
+	 */
+	public ConversionCache(Environment environment, MeterRegistry meterRegistry) {
+		this.maxBytes = environment.getProperty(Constants.CONVERSION_CACHE_MAX_BYTES_ENV_VARIABLE, Long.class, DEFAULT_MAX_BYTES);
+		this.hits = meterRegistry.counter("conversion.cache", "result", "hit");
+		this.coalesced = meterRegistry.counter("conversion.cache", "result", "coalesced");
+		this.misses = meterRegistry.counter("conversion.cache", "result", "miss");
+		this.evictions = meterRegistry.counter("conversion.cache.evictions");
+		meterRegistry.gauge("conversion.cache.bytes", this, ConversionCache::bytes);
+		meterRegistry.gauge("conversion.cache.entries", this, ConversionCache::size);
+	}
+
+	/**
+	 * Whether or not outcomes are remembered
+	 *
+	 * @return true if the cache is on
+	 */
+	public boolean isEnabled() {
+		return maxBytes > 0;
+	}
+
+	/**
+	 * Converts a source, or reuses the outcome of converting identical content in the same way, waiting for that
+	 * conversion if it is still in flight. A reused outcome is reported against the given source, so every caller gets
+	 * its own report on the shared results.
+	 *
+	 * @param source the submission
+	 * @param context the context the submission is converted in
+	 * @param piiVersion identifies the CPC+ validation data used by the context, as given by
+	 * {@link gov.cms.qpp.conversion.api.model.CpcValidationInfoMap#getVersion()}
+	 * @param conversion converts the source, throwing a {@link TransformException} if the conversion fails
+	 * @return the report on the conversion
+	 * @throws TransformException if the conversion fails
+	 */
+	public ConversionReport convert(Source source, Context context, String piiVersion, Supplier<ConversionReport> conversion) {
+		String version = context.getMeasureConfigSnapshot().getIdentity() + "/" + piiVersion;
+		String key = digest(source) + '|' + version + '|' + flags(context);
+		Outcome outcome = get(key, version);
+		if (outcome != null) {
+			hits.increment();
+			API_LOG.info("Reusing the conversion of identical content");
+			return outcome.reportFor(source);
+		}
+
+		CompletableFuture<Outcome> flight = new CompletableFuture<>();
+		CompletableFuture<Outcome> leader = inFlight.putIfAbsent(key, flight);
+		if (leader != null) {
+			coalesced.increment();
+			API_LOG.info("Waiting for the conversion of identical content already in progress");
+			try {
+				return leader.join().reportFor(source);
+			} catch (CompletionException | CancellationException exception) {
+				API_LOG.warn("The shared conversion failed unexpectedly, converting again", exception);
+				return conversion.get();
+			}
+		}
+
+		misses.increment();
+		try {
+			ConversionReport report = conversion.get();
+			complete(key, version, flight, new Outcome(report.reportFor(source), null, estimateRetained(source, report)));
+			return report;
+		} catch (TransformException exception) {
+			ConversionReport report = exception.getConversionReport();
+			if (report == null || isUnexpected(report)) {
+				flight.completeExceptionally(exception);
+			} else {
+				complete(key, version, flight,
+						new Outcome(report.reportFor(source), exception.getMessage(), estimateRetained(source, report)));
+			}
+			throw exception;
+		} catch (RuntimeException | Error exception) {
+			flight.completeExceptionally(exception);
+			throw exception;
+		} finally {
+			inFlight.remove(key, flight);
+		}
+	}
+
+	private void complete(String key, String version, CompletableFuture<Outcome> flight, Outcome outcome) {
+		if (isEnabled()) {
+			put(key, version, outcome);
+		}
+		flight.complete(outcome);
+	}
+
+	/**
+	 * The number of remembered outcomes
+	 *
+	 * @return remembered outcomes
+	 */
+	public synchronized int size() {
+		return outcomes.size();
+	}
+
+	/**
+	 * The estimated heap retained by the remembered outcomes
+	 *
+	 * @return size in bytes
+	 */
+	public synchronized long bytes() {
+		return bytes;
+	}
+
+	/**
+	 * Forgets every outcome.
+	 */
+	public synchronized void clear() {
+		outcomes.clear();
+		bytes = 0;
+	}
+
+	private static String flags(Context context) {
+		return context.getProgram()
+				+ "|" + (context.hasScope() ? new TreeSet<>(context.getScope()) : "")
+				+ "|" + context.isHistorical()
+				+ "|" + context.isDoValidation()
+				+ "|" + context.isStreamingDecode();
+	}
+
+	/**
+	 * Finds an outcome, first forgetting every outcome if the measure or CPC+ validation data has changed.
+	 */
+	private synchronized Outcome get(String key, String version) {
+		if (!version.equals(dataVersion)) {
+			if (dataVersion != null) {
+				API_LOG.info("Measure or CPC+ validation data changed, forgetting {} conversions", outcomes.size());
+			}
+			clear();
+			dataVersion = version;
+		}
+		return outcomes.get(key);
+	}
+
+	/**
+	 * Remembers an outcome unless the data it was converted with has since changed, then drops the least recently
+	 * used outcomes until the cache is back within its size.
+	 */
+	private synchronized void put(String key, String version, Outcome outcome) {
+		if (outcome.size > maxBytes || !version.equals(dataVersion)) {
+			return;
+		}
+
+		Outcome previous = outcomes.put(key, outcome);
+		bytes += outcome.size - (previous == null ? 0 : previous.size);
+
+		Iterator<Outcome> eldest = outcomes.values().iterator();
+		while (bytes > maxBytes && eldest.hasNext()) {
+			bytes -= eldest.next().size;
+			eldest.remove();
+			evictions.increment();
+		}
+	}
+
+	/**
+	 * Estimates the heap an outcome retains, from the size of the submission and the number of nodes decoded from it.
+	 *
+	 * @param source the submission
+	 * @param report the report on its conversion
+	 * @return estimated size in bytes
+	 */
+	static long estimateRetained(Source source, ConversionReport report) {
+		return source.getSize() + ESTIMATED_BYTES_PER_NODE * countNodes(report.getDecoded());
+	}
+
+	private static long countNodes(Node node) {
+		if (node == null) {
+			return 0;
+		}
+		long count = 1;
+		for (Node child : node.getChildNodes()) {
+			count += countNodes(child);
+		}
+		return count;
+	}
+
+	private static boolean isUnexpected(ConversionReport report) {
+		int unexpected = ErrorCode.UNEXPECTED_ERROR.getCode();
+		return report.getReportDetails().getErrors().stream()
+				.filter(error -> error.getDetails() != null)
+				.flatMap(error -> error.getDetails().stream())
+				.map(Detail::getErrorCode)
+				.anyMatch(code -> Objects.equals(code, unexpected));
+	}
+
+	private static String digest(Source source) {
+		MessageDigest digest = DigestHelper.sha256();
+		byte[] buffer = new byte[DIGEST_BUFFER_SIZE];
+		try (InputStream input = source.toInputStream()) {
+			int read;
+			while ((read = input.read(buffer)) != -1) {
+				digest.update(buffer, 0, read);
+			}
+		} catch (IOException exception) {
+			throw new UncheckedIOException(exception);
+		}
+
+		return DigestHelper.toHex(digest.digest());
+	}
+
+	/**
+	 * The outcome of a conversion, kept apart from the report handed to the caller so it stays unchanged.
+	 */
+	private static final class Outcome {
+		private final ConversionReport report;
+		private final String failure;
+		private final long size;
+
+		Outcome(ConversionReport report, String failure, long size) {
+			this.report = report;
+			this.failure = failure;
+			this.size = size;
+		}
+
+		ConversionReport reportFor(Source source) {
+			ConversionReport reused = report.reportFor(source);
+			if (failure != null) {
+				throw new TransformException(failure, null, reused);
+			}
+			return reused;
+		}
+	}
+}
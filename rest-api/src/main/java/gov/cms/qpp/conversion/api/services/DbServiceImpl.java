@@ -3,6 +3,7 @@ package gov.cms.qpp.conversion.api.services;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBQueryExpression;
 import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.env.Environment;
@@ -13,11 +14,17 @@ import org.springframework.util.StringUtils;
 import gov.cms.qpp.conversion.api.model.Constants;
 import gov.cms.qpp.conversion.api.model.Metadata;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -25,6 +32,9 @@ import java.util.stream.IntStream;
 
 /**
  * Writes a {@link Metadata} object to DynamoDB.
+ *
+ * Metadata that cannot be written while DynamoDB is failing is spilled to the {@code AUDIT_SPILL_DIR} directory, when set,
+ * and written once DynamoDB recovers.
  */
 @Service
 public class DbServiceImpl extends AnyOrderActionService<Metadata, Metadata>
@@ -32,15 +42,22 @@ public class DbServiceImpl extends AnyOrderActionService<Metadata, Metadata>
 
 	private static final Logger API_LOG = LoggerFactory.getLogger(DbServiceImpl.class);
 	private static final int LIMIT = 3;
+	private static final String DYNAMODB = "dynamodb";
 	public static final String START_OF_UNALLOWED_CONVERSION_TIME = "2018-01-02T04:59:59.999Z";
 
 	private final Optional<DynamoDBMapper> mapper;
 	private final Environment environment;
+	private final Optional<SpillDirectory> spillDirectory;
 
-	public DbServiceImpl(TaskExecutor taskExecutor, Optional<DynamoDBMapper> mapper, Environment environment) {
-		super(taskExecutor);
+	public DbServiceImpl(TaskExecutor taskExecutor, Optional<DynamoDBMapper> mapper, Environment environment,
+			MeterRegistry meterRegistry) {
+		super(taskExecutor, CircuitBreaker.fromEnvironment(DYNAMODB, environment, meterRegistry), meterRegistry);
 		this.mapper = mapper;
 		this.environment = environment;
+		this.spillDirectory = SpillDirectory.fromEnvironment(DYNAMODB, environment, meterRegistry);
+		if (spillDirectory.map(SpillDirectory::hasEntries).orElse(false)) {
+			markSpilled();
+		}
 	}
 
 	/**
@@ -132,4 +149,49 @@ public class DbServiceImpl extends AnyOrderActionService<Metadata, Metadata>
 		}
 		return meta;
 	}
+
+	/**
+	 * Writes the metadata to the spill directory under its UUID, giving it a UUID if it has none.
+	 *
+	 * @param meta The metadata to write.
+	 * @return The metadata, or empty if there is no spill directory.
+	 * @throws IOException If the metadata could not be written.
+	 */
+	@Override
+	protected Optional<Metadata> spill(Metadata meta) throws IOException {
+		if (!spillDirectory.isPresent()) {
+			return Optional.empty();
+		}
+
+		if (meta.getUuid() == null) {
+			meta.setUuid(UUID.randomUUID().toString());
+		}
+		spillDirectory.get().write(meta.getUuid(), new ByteArrayInputStream(MetadataJson.write(meta)));
+		return Optional.of(meta);
+	}
+
+	/**
+	 * Writes the spilled metadata and removes each once it is written.
+	 */
+	@Override
+	protected void replaySpilled() {
+		if (!spillDirectory.isPresent()) {
+			return;
+		}
+
+		SpillDirectory directory = spillDirectory.get();
+		try {
+			for (Path file : directory.list()) {
+				Metadata meta;
+				try (InputStream json = Files.newInputStream(file)) {
+					meta = MetadataJson.read(json);
+				}
+				API_LOG.info("Replaying spilled item to DynamoDB with UUID {}", meta.getUuid());
+				replay(meta).thenRun(() -> directory.deleteQuietly(file));
+			}
+		} catch (IOException exception) {
+			API_LOG.error("Unable to read the spilled DynamoDB items", exception);
+			markSpilled();
+		}
+	}
 }
@@ -4,6 +4,8 @@ import java.util.concurrent.CompletableFuture;
 
 import org.springframework.core.task.TaskExecutor;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 /**
  * A service extends from this to help it asynchronously do something in a guaranteed fashion.
  *
@@ -23,8 +25,8 @@ public abstract class InOrderActionService<T, S> extends AnyOrderActionService<T
 
 	private CompletableFuture<S> currentThreadFuture;
 
-	public InOrderActionService(TaskExecutor taskExecutor) {
-		super(taskExecutor);
+	public InOrderActionService(TaskExecutor taskExecutor, MeterRegistry meterRegistry) {
+		super(taskExecutor, meterRegistry);
 	}
 
 	/**
@@ -0,0 +1,66 @@
+package gov.cms.qpp.conversion.api.services;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import gov.cms.qpp.conversion.api.model.Details;
+import gov.cms.qpp.conversion.api.model.Metadata;
+import gov.cms.qpp.conversion.model.error.Detail;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * Reads and writes {@link Metadata} as JSON for audits kept on local disk.
+ */
+final class MetadataJson {
+
+	private static final ObjectMapper MAPPER = new ObjectMapper()
+			.findAndRegisterModules()
+			.addMixIn(Metadata.class, MetadataMixIn.class)
+			.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+	/**
+	 * Library utility class so the constructor is private and empty.
+	 */
+	private MetadataJson() {
+		//empty
+	}
+
+	static byte[] write(Metadata metadata) throws IOException {
+		return MAPPER.writeValueAsBytes(metadata);
+	}
+
+	static Metadata read(InputStream json) throws IOException {
+		return MAPPER.readValue(json, Metadata.class);
+	}
+
+	/**
+	 * Settles the overloaded and derived properties of {@link Metadata}.
+	 */
+	abstract static class MetadataMixIn {
+		@JsonIgnore
+		abstract String getCpcProcessedCreateDate();
+
+		@JsonProperty
+		abstract Details getErrors();
+
+		@JsonProperty
+		abstract void setErrors(Details errors);
+
+		@JsonIgnore
+		abstract void setErrors(List<Detail> errors);
+
+		@JsonProperty
+		abstract Details getWarnings();
+
+		@JsonProperty
+		abstract void setWarnings(Details warnings);
+
+		@JsonIgnore
+		abstract void setWarnings(List<Detail> warnings);
+	}
+}
@@ -1,12 +1,16 @@
 package gov.cms.qpp.conversion.api.services;
 
 import java.io.InputStream;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.TimeUnit;
 
 import javax.annotation.PostConstruct;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Service;
 
 import com.google.common.base.Supplier;
@@ -17,6 +21,7 @@ import gov.cms.qpp.conversion.ConversionReport;
 import gov.cms.qpp.conversion.Converter;
 import gov.cms.qpp.conversion.Source;
 import gov.cms.qpp.conversion.api.internal.pii.SpecPiiValidator;
+import gov.cms.qpp.conversion.api.model.Constants;
 import gov.cms.qpp.conversion.api.model.CpcValidationInfoMap;
 import gov.cms.qpp.conversion.model.validation.MeasureConfigs;
 
@@ -29,18 +34,50 @@ public class QrdaServiceImpl implements QrdaService {
 	private static final Logger API_LOG = LoggerFactory.getLogger(QrdaServiceImpl.class);
 
 	private final StorageService storageService;
+	private final ConversionCache conversionCache;
+	private final Environment environment;
+	private final ForkJoinPool validationPool;
 	private Supplier<CpcValidationInfoMap> cpcValidationData = () -> null;
 
-	QrdaServiceImpl(StorageService storageService) {
+	QrdaServiceImpl(StorageService storageService, ConversionCache conversionCache, Environment environment,
+			ForkJoinPool validationPool) {
 		this.storageService = storageService;
+		this.conversionCache = conversionCache;
+		this.environment = environment;
+		this.validationPool = validationPool;
 	}
 
 	/**
-	 * Preloads the measure configs data
+	 * Preloads the measure configs data in the background, along with that of the performance years listed in the
+	 * {@code MEASURE_DATA_PERFORMANCE_YEARS} environment variable as comma separated {@code year=file} pairs.
+	 * Conversions received before the data is loaded wait for it.
 	 */
 	@PostConstruct
 	public void preloadMeasureConfigs() {
-		MeasureConfigs.init();
+		MeasureConfigs.preload(ForkJoinPool.commonPool(), measureDataPerformanceYears())
+				.exceptionally(exception -> {
+					API_LOG.error("Failed to preload the measure configs data, reporting not ready", exception);
+					return null;
+				});
+	}
+
+	/**
+	 * Reads the measure data of each performance year from the environment
+	 *
+	 * @return measure data file names keyed by performance year
+	 */
+	Map<Integer, String> measureDataPerformanceYears() {
+		Map<Integer, String> performanceYears = new TreeMap<>();
+		String configured = environment.getProperty(Constants.MEASURE_DATA_PERFORMANCE_YEARS_ENV_VARIABLE, "");
+		for (String pair : configured.split(",")) {
+			String[] yearAndFile = pair.trim().split("=", 2);
+			if (yearAndFile.length == 2 && yearAndFile[0].trim().matches("\\d{4}")) {
+				performanceYears.put(Integer.valueOf(yearAndFile[0].trim()), yearAndFile[1].trim());
+			} else if (!pair.trim().isEmpty()) {
+				API_LOG.warn("Ignoring malformed performance year measure data {}", pair);
+			}
+		}
+		return performanceYears;
 	}
 
 	@PostConstruct
@@ -49,17 +86,23 @@ public class QrdaServiceImpl implements QrdaService {
 	}
 
 	/**
-	 * Converts a given a input stream with to conversion result content
+	 * Converts a given a input stream with to conversion result content, reusing the outcome of an earlier conversion
+	 * of identical content when there is one. The CPC+ validation data is read once, so the conversion and the outcome
+	 * it is remembered as agree on which data was used even if the data is reloaded meanwhile.
 	 *
 	 * @param source Object to be converted
 	 * @return Results of the conversion
 	 */
 	@Override
 	public ConversionReport convertQrda3ToQpp(Source source) {
-		Converter converter = initConverter(source);
-		API_LOG.info("Performing QRDA3 to QPP conversion");
-		converter.transform();
-		return converter.getReport();
+		CpcValidationInfoMap cpcValidationInfo = cpcValidationData.get();
+		Converter converter = initConverter(source, cpcValidationInfo);
+		String piiVersion = cpcValidationInfo == null ? "" : cpcValidationInfo.getVersion();
+		return conversionCache.convert(source, converter.getContext(), piiVersion, () -> {
+			API_LOG.info("Performing QRDA3 to QPP conversion");
+			converter.transform();
+			return converter.getReport();
+		});
 	}
 
 	/**
@@ -87,11 +130,14 @@ public class QrdaServiceImpl implements QrdaService {
 	 * Instantiate a {@link Converter} with a given {@link Source}
 	 *
 	 * @param source for qrda input
+	 * @param apmToNpiValidationFile the CPC+ validation data to check the submission against, if any
 	 * @return converter instance
 	 */
-	Converter initConverter(Source source) {
+	Converter initConverter(Source source, CpcValidationInfoMap apmToNpiValidationFile) {
 		Context context = new Context();
-		CpcValidationInfoMap apmToNpiValidationFile = cpcValidationData.get();
+		context.setLazyMetadata(true);
+		context.setParallelValidation(!environment.getProperty(Constants.PARALLEL_VALIDATION_ENV_VARIABLE, "").isEmpty());
+		context.setValidationPool(validationPool);
 		if (apmToNpiValidationFile != null && apmToNpiValidationFile.getApmToSpec() != null) {
 			context.setPiiValidator(new SpecPiiValidator(apmToNpiValidationFile));
 		}
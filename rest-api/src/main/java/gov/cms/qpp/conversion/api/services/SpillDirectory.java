@@ -0,0 +1,173 @@
+package gov.cms.qpp.conversion.api.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.Environment;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.StringUtils;
+
+import gov.cms.qpp.conversion.api.model.Constants;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A local directory holding calls to a dependency that could not be made, so that they can be replayed once the
+ * dependency recovers. Each call is kept in a file named by its key. The calls hold submissions and their metadata, so
+ * the directory is created readable by its owner only.
+ */
+public class SpillDirectory {
+	static final String PARTIAL = ".partial";
+	static final Set<PosixFilePermission> OWNER_ONLY = PosixFilePermissions.fromString("rwx------");
+
+	private static final Logger API_LOG = LoggerFactory.getLogger(SpillDirectory.class);
+
+	private final Path directory;
+	private final Counter spilled;
+
+	/**
+	 * Creates a spill directory for a dependency.
+	 *
+	 * @param directory where calls are kept
+	 * @param dependency the name of the dependency
+	 * @param meterRegistry where the number of spilled calls is recorded
+	 */
+	SpillDirectory(Path directory, String dependency, MeterRegistry meterRegistry) {
+		this.directory = directory;
+		this.spilled = meterRegistry.counter("audit.spills", "dependency", dependency);
+	}
+
+	/**
+	 * Creates a spill directory for a dependency under the directory named by the {@code AUDIT_SPILL_DIR} environment
+	 * variable.
+	 *
+	 * @param dependency the name of the dependency
+	 * @param environment hooks to the environment in which the application runs
+	 * @param meterRegistry where the number of spilled calls is recorded
+	 * @return the spill directory, or empty if {@code AUDIT_SPILL_DIR} is not set
+	 */
+	public static Optional<SpillDirectory> fromEnvironment(String dependency, Environment environment,
+			MeterRegistry meterRegistry) {
+		String spillDirectory = environment.getProperty(Constants.AUDIT_SPILL_DIR_ENV_VARIABLE);
+		if (StringUtils.isEmpty(spillDirectory)) {
+			return Optional.empty();
+		}
+		return Optional.of(new SpillDirectory(Paths.get(spillDirectory, dependency), dependency, meterRegistry));
+	}
+
+	/**
+	 * Durably keeps a call, replacing any call kept under the same key.
+	 *
+	 * @param key names the call
+	 * @param content what is needed to replay the call
+	 * @throws IOException if the call could not be kept
+	 */
+	public void write(String key, InputStream content) throws IOException {
+		createPrivateDirectories(directory);
+		Path partial = directory.resolve(key + PARTIAL);
+		try {
+			write(partial, content);
+			Files.move(partial, directory.resolve(key), StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException exception) {
+			Files.deleteIfExists(partial);
+			throw exception;
+		}
+		spilled.increment();
+	}
+
+	/**
+	 * Creates a directory, along with any missing parents, readable by its owner only where the file system supports
+	 * POSIX permissions. A directory that already exists is left as it is.
+	 *
+	 * @param directory the directory to create
+	 * @throws IOException if the directory could not be created
+	 */
+	static void createPrivateDirectories(Path directory) throws IOException {
+		if (Files.isDirectory(directory)) {
+			return;
+		}
+
+		if (directory.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+			Files.createDirectories(directory, PosixFilePermissions.asFileAttribute(OWNER_ONLY));
+		} else {
+			Files.createDirectories(directory);
+		}
+	}
+
+	/**
+	 * Writes a file and forces it to the storage device.
+	 *
+	 * @param file the file to write
+	 * @param content the content of the file, which is closed
+	 * @throws IOException if the file could not be written
+	 */
+	static void write(Path file, InputStream content) throws IOException {
+		try (InputStream input = content;
+				FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+						StandardOpenOption.TRUNCATE_EXISTING)) {
+			StreamUtils.copy(input, Channels.newOutputStream(channel));
+			channel.force(true);
+		}
+	}
+
+	/**
+	 * The calls waiting to be replayed
+	 *
+	 * @return the files holding the calls
+	 * @throws IOException if the directory could not be read
+	 */
+	public List<Path> list() throws IOException {
+		if (!Files.isDirectory(directory)) {
+			return Collections.emptyList();
+		}
+
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.filter(file -> !file.toString().endsWith(PARTIAL)).collect(Collectors.toList());
+		}
+	}
+
+	/**
+	 * Whether or not any calls are waiting to be replayed
+	 *
+	 * @return true if there are calls to replay, or if the directory could not be read
+	 */
+	public boolean hasEntries() {
+		try {
+			return !list().isEmpty();
+		} catch (IOException exception) {
+			API_LOG.warn("Unable to read the spill directory " + directory, exception);
+			return true;
+		}
+	}
+
+	/**
+	 * Removes a call once it has been replayed.
+	 *
+	 * @param file the file holding the call
+	 */
+	public void deleteQuietly(Path file) {
+		try {
+			Files.deleteIfExists(file);
+		} catch (IOException exception) {
+			API_LOG.warn("Unable to remove the replayed call " + file, exception);
+		}
+	}
+
+}
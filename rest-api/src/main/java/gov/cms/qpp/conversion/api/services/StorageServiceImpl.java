@@ -8,6 +8,7 @@ import com.amazonaws.services.s3.model.S3Object;
 import com.amazonaws.services.s3.model.SSEAwsKeyManagementParams;
 import com.amazonaws.services.s3.transfer.TransferManager;
 import com.amazonaws.services.s3.transfer.Upload;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -18,27 +19,36 @@ import org.springframework.stereotype.Service;
 import gov.cms.qpp.conversion.api.exceptions.UncheckedInterruptedException;
 import gov.cms.qpp.conversion.api.model.Constants;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Supplier;
 
 /**
  * Used to store an {@link InputStream} in S3.
+ *
+ * Objects that cannot be stored while S3 is failing are spilled to the {@code AUDIT_SPILL_DIR} directory, when set, and
+ * stored under the same key once S3 recovers.
  */
 @Service
 public class StorageServiceImpl extends AnyOrderActionService<Supplier<PutObjectRequest>, String>
 		implements StorageService {
 
 	private static final Logger API_LOG = LoggerFactory.getLogger(StorageServiceImpl.class);
+	private static final String S3 = "s3";
 
 	private final TransferManager s3TransferManager;
 	private final Environment environment;
 	private final AmazonS3 amazonS3;
+	private final Optional<SpillDirectory> spillDirectory;
 
 	public StorageServiceImpl(TaskExecutor taskExecutor, TransferManager s3TransferManager,
-			Environment environment, AmazonS3 amazonS3) {
-		super(taskExecutor);
+			Environment environment, AmazonS3 amazonS3, MeterRegistry meterRegistry) {
+		super(taskExecutor, CircuitBreaker.fromEnvironment(S3, environment, meterRegistry), meterRegistry);
 
 		Objects.requireNonNull(s3TransferManager, "s3TransferManager");
 		Objects.requireNonNull(environment, "environment");
@@ -47,6 +57,10 @@ public class StorageServiceImpl extends AnyOrderActionService<Supplier<PutObject
 		this.s3TransferManager = s3TransferManager;
 		this.environment = environment;
 		this.amazonS3 = amazonS3;
+		this.spillDirectory = SpillDirectory.fromEnvironment(S3, environment, meterRegistry);
+		if (spillDirectory.map(SpillDirectory::hasEntries).orElse(false)) {
+			markSpilled();
+		}
 	}
 
 	/**
@@ -145,4 +159,52 @@ public class StorageServiceImpl extends AnyOrderActionService<Supplier<PutObject
 
 		return returnValue;
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Writes the object to the spill directory under its key.
+	 *
+	 * @param objectToActOn The put request.
+	 * @return The object key in the bucket, or empty if there is no spill directory.
+	 * @throws IOException If the object could not be written.
+	 */
+	@Override
+	protected Optional<String> spill(Supplier<PutObjectRequest> objectToActOn) throws IOException {
+		if (!spillDirectory.isPresent()) {
+			return Optional.empty();
+		}
+
+		PutObjectRequest request = objectToActOn.get();
+		spillDirectory.get().write(request.getKey(), request.getInputStream());
+		return Optional.of(request.getKey());
+	}
+
+	/**
+	 * Stores the spilled objects and removes each once it is stored.
+	 */
+	@Override
+	protected void replaySpilled() {
+		if (!spillDirectory.isPresent()) {
+			return;
+		}
+
+		String bucketName = environment.getProperty(Constants.BUCKET_NAME_ENV_VARIABLE);
+		String kmsKey = environment.getProperty(Constants.KMS_KEY_ENV_VARIABLE);
+		SpillDirectory directory = spillDirectory.get();
+		List<Path> files;
+		try {
+			files = directory.list();
+		} catch (IOException exception) {
+			API_LOG.error("Unable to list the spilled S3 objects", exception);
+			markSpilled();
+			return;
+		}
+
+		for (Path file : files) {
+			String keyName = String.valueOf(file.getFileName());
+			API_LOG.info("Replaying spilled object {} to S3 bucket {}", keyName, bucketName);
+			replay(() -> new PutObjectRequest(bucketName, keyName, file.toFile())
+				.withSSEAwsKeyManagementParams(new SSEAwsKeyManagementParams(kmsKey)))
+				.thenRun(() -> directory.deleteQuietly(file));
+		}
+	}
+}
@@ -0,0 +1,138 @@
+package gov.cms.qpp.conversion.api.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import gov.cms.qpp.conversion.api.helper.DigestHelper;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Remembers recent responses of the validation API so the same QPP is not sent to it twice.
+ *
+ * Responses are keyed by a SHA-256 digest of the validation URL and the QPP without metadata. Only a pass or a
+ * {@link HttpStatus#UNPROCESSABLE_ENTITY} is remembered, since any other response says nothing about the QPP itself.
+ * Responses are forgotten once they are older than the time to live, or when the cache is full, least recently used
+ * first.
+ */
+final class ValidationCache {
+
+	private final int maxEntries;
+	private final long ttlNanos;
+	private final LongSupplier clock;
+	private final Map<String, Response> responses;
+	private final Counter hits;
+	private final Counter misses;
+
+	/**
+	 * Creates a cache of up to {@code maxEntries} responses, each kept for {@code ttlNanos}.
+	 *
+	 * @param maxEntries responses to keep, 0 to keep none
+	 * @param ttlNanos how long a response is kept
+	 * @param clock source of {@link System#nanoTime()} style times
+	 * @param meterRegistry where hits and misses are recorded
+	 */
+	ValidationCache(int maxEntries, long ttlNanos, LongSupplier clock, MeterRegistry meterRegistry) {
+		this.maxEntries = maxEntries;
+		this.ttlNanos = ttlNanos;
+		this.clock = clock;
+		this.responses = new LinkedHashMap<String, Response>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Response> eldest) {
+				return super.size() > ValidationCache.this.maxEntries;
+			}
+		};
+		this.hits = meterRegistry.counter("validation.cache", "result", "hit");
+		this.misses = meterRegistry.counter("validation.cache", "result", "miss");
+	}
+
+	/**
+	 * Whether or not responses are remembered
+	 *
+	 * @return true if the cache is on
+	 */
+	boolean isEnabled() {
+		return maxEntries > 0 && ttlNanos > 0;
+	}
+
+	/**
+	 * Computes the key a QPP is cached under.
+	 *
+	 * @param url the validation API end-point
+	 * @param qpp the QPP without metadata
+	 * @return the key
+	 */
+	static String key(String url, String qpp) {
+		MessageDigest digest = DigestHelper.sha256();
+		digest.update(url.getBytes(StandardCharsets.UTF_8));
+		digest.update((byte) 0);
+		digest.update(qpp.getBytes(StandardCharsets.UTF_8));
+
+		return DigestHelper.toHex(digest.digest());
+	}
+
+	/**
+	 * Finds a response that has not yet expired.
+	 *
+	 * @param key the key of the QPP
+	 * @return the response, or null if there is none
+	 */
+	synchronized ResponseEntity<String> get(String key) {
+		Response response = responses.get(key);
+		if (response != null && clock.getAsLong() - response.storedAt >= ttlNanos) {
+			responses.remove(key);
+			response = null;
+		}
+
+		if (response == null) {
+			misses.increment();
+			return null;
+		}
+		hits.increment();
+		return new ResponseEntity<>(response.body, response.status);
+	}
+
+	/**
+	 * Remembers a response if it is a pass or a validation failure. Only the status of a pass is remembered.
+	 *
+	 * @param key the key of the QPP
+	 * @param response the validation API's response
+	 */
+	synchronized void put(String key, ResponseEntity<String> response) {
+		HttpStatus status = response == null ? null : response.getStatusCode();
+		if (status == HttpStatus.UNPROCESSABLE_ENTITY) {
+			responses.put(key, new Response(status, response.getBody(), clock.getAsLong()));
+		} else if (status != null && status.is2xxSuccessful()) {
+			responses.put(key, new Response(status, null, clock.getAsLong()));
+		}
+	}
+
+	/**
+	 * The number of remembered responses
+	 *
+	 * @return remembered responses
+	 */
+	synchronized int size() {
+		return responses.size();
+	}
+
+	private static final class Response {
+		private final HttpStatus status;
+		private final String body;
+		private final long storedAt;
+
+		Response(HttpStatus status, String body, long storedAt) {
+			this.status = status;
+			this.body = body;
+			this.storedAt = storedAt;
+		}
+	}
+}
@@ -2,6 +2,8 @@ package gov.cms.qpp.conversion.api.services;
 
 import gov.cms.qpp.conversion.ConversionReport;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Interface for the QPP Validation Service
  */
@@ -12,4 +14,12 @@ public interface ValidationService {
 	 * @param conversionReport A report on the state of the conversion.
 	 */
 	void validateQpp(ConversionReport conversionReport);
+
+	/**
+	 * Validates that the given QPP is valid without blocking the calling thread.
+	 *
+	 * @param conversionReport A report on the state of the conversion.
+	 * @return a future that completes once the QPP is validated, exceptionally if it is not valid
+	 */
+	CompletableFuture<Void> validateQppAsync(ConversionReport conversionReport);
 }
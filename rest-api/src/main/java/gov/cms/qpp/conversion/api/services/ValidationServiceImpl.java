@@ -1,10 +1,18 @@
 package gov.cms.qpp.conversion.api.services;
 
 import com.jayway.jsonpath.JsonPathException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import gov.cms.qpp.conversion.ConversionReport;
 import gov.cms.qpp.conversion.api.model.Constants;
 import gov.cms.qpp.conversion.api.model.ErrorMessage;
 import gov.cms.qpp.conversion.correlation.PathCorrelator;
+import gov.cms.qpp.conversion.correlation.PathIndex;
 import gov.cms.qpp.conversion.encode.JsonWrapper;
 import gov.cms.qpp.conversion.model.error.AllErrors;
 import gov.cms.qpp.conversion.model.error.Error;
@@ -13,24 +21,50 @@ import gov.cms.qpp.conversion.util.JsonHelper;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.env.Environment;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import org.springframework.web.client.DefaultResponseErrorHandler;
 import org.springframework.web.client.RestTemplate;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 /**
  * Implementation for the QPP Validation Service
+ *
+ * Validation calls share a pool of kept alive connections, at most {@code VALIDATION_MAX_CONNECTIONS} of them (default
+ * 20). Waiting for one of them to be free times out after {@code VALIDATION_POOL_TIMEOUT_MILLIS} (default 5 seconds),
+ * connecting after {@code VALIDATION_CONNECT_TIMEOUT_MILLIS} (default 5 seconds) and waiting for a response after
+ * {@code VALIDATION_READ_TIMEOUT_MILLIS} (default 60 seconds). Each submission in a conversion is validated
+ * concurrently, with at most {@code VALIDATION_QUEUE_SIZE} submissions (default 100) waiting for a connection; a
+ * conversion that would queue more fails at once rather than waiting.
+ *
+ * The outcome of validating a QPP is reused for {@code VALIDATION_CACHE_TTL_SECONDS} (default 10 minutes), keeping at
+ * most {@code VALIDATION_CACHE_SIZE} outcomes (default 1000). Setting either to 0 turns this off.
  */
 @Service
 public class ValidationServiceImpl implements ValidationService {
@@ -39,18 +73,74 @@ public class ValidationServiceImpl implements ValidationService {
 	static final String CONTENT_TYPE = "application/json";
 	public static final String SV_LABEL = "SV - ";
 
+	static final int DEFAULT_MAX_CONNECTIONS = 20;
+	static final int DEFAULT_CONNECT_TIMEOUT_MILLIS = 5000;
+	static final int DEFAULT_READ_TIMEOUT_MILLIS = 60000;
+	static final int DEFAULT_POOL_TIMEOUT_MILLIS = 5000;
+	static final int DEFAULT_QUEUE_SIZE = 100;
+	static final int DEFAULT_CACHE_SIZE = 1000;
+	static final int DEFAULT_CACHE_TTL_SECONDS = 600;
+
 	private Environment environment;
 	private RestTemplate restTemplate;
+	private final CloseableHttpClient httpClient;
+	private final ExecutorService executor;
+	private final MeterRegistry meterRegistry;
+	private final ValidationCache cache;
+	private final Counter rejected;
 	protected static final String UNABLE_PROVIDE_XPATH = "Unable to provide an XPath.";
 
 	/**
 	 * init ValidationServiceImpl instances
 	 *
 	 * @param environment hooks to application environment
+	 * @param meterRegistry where the latency of validation calls is recorded
 	 */
-	public ValidationServiceImpl(final Environment environment) {
+	@Autowired
+	public ValidationServiceImpl(final Environment environment, final MeterRegistry meterRegistry) {
 		this.environment = environment;
-		this.restTemplate = new RestTemplate();
+		this.meterRegistry = meterRegistry;
+
+		int maxConnections = setting(Constants.VALIDATION_MAX_CONNECTIONS_ENV_VARIABLE, DEFAULT_MAX_CONNECTIONS);
+		int connectTimeout = setting(Constants.VALIDATION_CONNECT_TIMEOUT_MILLIS_ENV_VARIABLE, DEFAULT_CONNECT_TIMEOUT_MILLIS);
+		int readTimeout = setting(Constants.VALIDATION_READ_TIMEOUT_MILLIS_ENV_VARIABLE, DEFAULT_READ_TIMEOUT_MILLIS);
+		int poolTimeout = setting(Constants.VALIDATION_POOL_TIMEOUT_MILLIS_ENV_VARIABLE, DEFAULT_POOL_TIMEOUT_MILLIS);
+
+		PoolingHttpClientConnectionManager connections = new PoolingHttpClientConnectionManager();
+		connections.setMaxTotal(maxConnections);
+		connections.setDefaultMaxPerRoute(maxConnections);
+		this.httpClient = HttpClients.custom()
+				.setConnectionManager(connections)
+				.setDefaultRequestConfig(RequestConfig.custom()
+						.setConnectTimeout(connectTimeout)
+						.setConnectionRequestTimeout(poolTimeout)
+						.setSocketTimeout(readTimeout)
+						.build())
+				.build();
+		this.restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+		this.restTemplate.setErrorHandler(new NoHandlingErrorHandler());
+
+		ThreadPoolExecutor pool = new ThreadPoolExecutor(maxConnections, maxConnections, 60, TimeUnit.SECONDS,
+				new ArrayBlockingQueue<>(Math.max(1, setting(Constants.VALIDATION_QUEUE_SIZE_ENV_VARIABLE, DEFAULT_QUEUE_SIZE))),
+				new ValidationThreadFactory());
+		pool.allowCoreThreadTimeOut(true);
+		this.executor = pool;
+
+		this.rejected = meterRegistry.counter("validation.rejected");
+		this.cache = new ValidationCache(setting(Constants.VALIDATION_CACHE_SIZE_ENV_VARIABLE, DEFAULT_CACHE_SIZE),
+				TimeUnit.SECONDS.toNanos(setting(Constants.VALIDATION_CACHE_TTL_SECONDS_ENV_VARIABLE, DEFAULT_CACHE_TTL_SECONDS)),
+				System::nanoTime, meterRegistry);
+	}
+
+	/**
+	 * Closes the pooled connections.
+	 *
+	 * @throws IOException if the connections cannot be closed
+	 */
+	@PreDestroy
+	public void close() throws IOException {
+		executor.shutdown();
+		httpClient.close();
 	}
 
 	/**
@@ -88,37 +178,124 @@ public class ValidationServiceImpl implements ValidationService {
 			return;
 		}
 
-		conversionReport.getEncodedWithMetadata().stream().forEach(wrapper -> {
-			ResponseEntity<String> validationResponse = callValidationEndpoint(validationUrl, wrapper.copyWithoutMetadata());
+		List<JsonWrapper> wrappers = conversionReport.getEncodedWithMetadata().stream().collect(Collectors.toList());
+		if (wrappers.size() == 1) {
+			JsonWrapper wrapper = wrappers.get(0);
+			checkResponse(conversionReport, wrapper, callValidationEndpoint(validationUrl, wrapper.toCompactStringWithoutMetadata()));
+			return;
+		}
+
+		try {
+			validateAll(conversionReport, validationUrl, wrappers).join();
+		} catch (CompletionException exception) {
+			Throwable cause = exception.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw exception;
+		}
+	}
 
-			if (HttpStatus.UNPROCESSABLE_ENTITY == validationResponse.getStatusCode()) {
+	/**
+	 * Validates that the given QPP is valid without blocking the calling thread.
+	 *
+	 * @param conversionReport A report on the status of the conversion.
+	 * @return a future that completes once the QPP is validated, exceptionally with a {@link QppValidationException} if
+	 * it is not valid, or with a {@link RejectedExecutionException} if too many submissions are waiting to be validated
+	 */
+	@Override
+	public CompletableFuture<Void> validateQppAsync(ConversionReport conversionReport) {
+		String validationUrl = environment.getProperty(Constants.VALIDATION_URL_ENV_VARIABLE);
 
-				API_LOG.warn("Failed QPP validation");
+		if (StringUtils.isEmpty(validationUrl)) {
+			return CompletableFuture.completedFuture(null);
+		}
 
-				AllErrors convertedErrors = convertQppValidationErrorsToQrda(validationResponse.getBody(), wrapper);
+		return validateAll(conversionReport, validationUrl,
+				conversionReport.getEncodedWithMetadata().stream().collect(Collectors.toList()));
+	}
 
-				conversionReport.setRawValidationDetails(validationResponse.getBody());
-				conversionReport.setReportDetails(convertedErrors);
+	/**
+	 * Calls the validation API for every submission at once, then checks the responses in submission order so the
+	 * first invalid submission is the one reported. Fails at once if the submissions cannot all be queued.
+	 */
+	private CompletableFuture<Void> validateAll(ConversionReport conversionReport, String url, List<JsonWrapper> wrappers) {
+		List<CompletableFuture<ResponseEntity<String>>> calls = new ArrayList<>(wrappers.size());
+		try {
+			for (JsonWrapper wrapper : wrappers) {
+				calls.add(CompletableFuture.supplyAsync(
+						() -> callValidationEndpoint(url, wrapper.toCompactStringWithoutMetadata()), executor));
+			}
+		} catch (RejectedExecutionException exception) {
+			API_LOG.warn("Too many submissions waiting for QPP validation, failing the validation");
+			rejected.increment();
+			CompletableFuture<Void> failed = new CompletableFuture<>();
+			failed.completeExceptionally(exception);
+			return failed;
+		}
 
-				throw new QppValidationException("Converted QPP failed validation", null, conversionReport);
+		return CompletableFuture.allOf(calls.toArray(new CompletableFuture<?>[0])).thenRun(() -> {
+			for (int i = 0; i < wrappers.size(); i++) {
+				checkResponse(conversionReport, wrappers.get(i), calls.get(i).join());
 			}
 		});
 	}
 
+	private void checkResponse(ConversionReport conversionReport, JsonWrapper wrapper, ResponseEntity<String> validationResponse) {
+		if (HttpStatus.UNPROCESSABLE_ENTITY == validationResponse.getStatusCode()) {
+
+			API_LOG.warn("Failed QPP validation");
+
+			AllErrors convertedErrors = convertQppValidationErrorsToQrda(validationResponse.getBody(), wrapper);
+
+			conversionReport.setRawValidationDetails(validationResponse.getBody());
+			conversionReport.setReportDetails(convertedErrors);
+
+			throw new QppValidationException("Converted QPP failed validation", null, conversionReport);
+		}
+	}
+
 	/**
-	 * Calls the validation API end-point.
+	 * Calls the validation API end-point, unless the same QPP was recently validated.
 	 *
 	 * @param url The URL of the validation API end-point.
 	 * @param qpp The QPP to validate.
 	 * @return The response from the validation API end-point.
 	 */
-	private ResponseEntity<String> callValidationEndpoint(String url, JsonWrapper qpp) {
-		restTemplate.setErrorHandler(new NoHandlingErrorHandler());
-		HttpEntity<String> request = new HttpEntity<>(qpp.toString(), getHeaders());
+	private ResponseEntity<String> callValidationEndpoint(String url, String qpp) {
+		if (!cache.isEnabled()) {
+			return postToValidationEndpoint(url, qpp);
+		}
+
+		String key = ValidationCache.key(url, qpp);
+		ResponseEntity<String> cached = cache.get(key);
+		if (cached != null) {
+			API_LOG.info("Reusing the QPP validation of identical content");
+			return cached;
+		}
+
+		ResponseEntity<String> response = postToValidationEndpoint(url, qpp);
+		cache.put(key, response);
+		return response;
+	}
+
+	private ResponseEntity<String> postToValidationEndpoint(String url, String qpp) {
+		HttpEntity<String> request = new HttpEntity<>(qpp, getHeaders());
 
 		API_LOG.info("Calling QPP validation API {}", url);
 
-		return restTemplate.postForEntity(url, request, String.class);
+		long start = System.nanoTime();
+		String outcome = "error";
+		try {
+			ResponseEntity<String> response = restTemplate.postForEntity(url, request, String.class);
+			outcome = String.valueOf(response.getStatusCodeValue());
+			return response;
+		} finally {
+			Timer.builder("validation.call")
+					.tag("status", outcome)
+					.register(meterRegistry)
+					.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+		}
 	}
 
 	/**
@@ -154,12 +331,13 @@ public class ValidationServiceImpl implements ValidationService {
 		}
 
 		Error error = getError(validationResponse);
+		PathIndex index = PathCorrelator.index(wrapper);
 
 		error.getDetails().forEach(detail -> {
 			detail.setMessage(SV_LABEL + detail.getMessage());
 			String newPath = UNABLE_PROVIDE_XPATH;
 			try {
-				newPath = PathCorrelator.prepPath(detail.getLocation().getPath(), wrapper);
+				newPath = index.prepPath(detail.getLocation().getPath());
 			} catch (ClassCastException | JsonPathException exc) {
 				API_LOG.warn("Failed to convert from json path to an XPath.", exc);
 			}
@@ -183,6 +361,24 @@ public class ValidationServiceImpl implements ValidationService {
 				.getError();
 	}
 
+	private int setting(String name, int defaultValue) {
+		return environment == null ? defaultValue : environment.getProperty(name, Integer.class, defaultValue);
+	}
+
+	/**
+	 * Names the threads that call the validation API.
+	 */
+	private static class ValidationThreadFactory implements ThreadFactory {
+		private final AtomicInteger count = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable, "validation-" + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+
 	/**
 	 * A private static class that tells the {@link RestTemplate} to not throw an exception on HTTP status 3xx and 4xx.
 	 */
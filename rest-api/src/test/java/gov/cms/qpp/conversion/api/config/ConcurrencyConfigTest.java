@@ -1,16 +1,109 @@
 package gov.cms.qpp.conversion.api.config;
 
 import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
-import org.springframework.core.task.SyncTaskExecutor;
-import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import gov.cms.qpp.conversion.api.model.Constants;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 class ConcurrencyConfigTest {
 
+	private ThreadPoolTaskExecutor executor;
+
+	@AfterEach
+	void shutdown() {
+		if (executor != null) {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	void testDefaultsAreBounded() {
+		executor = initialize(new MockEnvironment());
+
+		assertThat(executor.getMaxPoolSize()).isEqualTo(ConcurrencyConfig.DEFAULT_THREADS);
+		assertThat(executor.getThreadPoolExecutor().getQueue().remainingCapacity())
+				.isEqualTo(ConcurrencyConfig.DEFAULT_QUEUE_SIZE);
+		assertThat(executor.getThreadPoolExecutor().getRejectedExecutionHandler())
+				.isInstanceOf(ThreadPoolExecutor.AbortPolicy.class);
+	}
+
 	@Test
-	void testIsSync() {
-		TaskExecutor executor = new ConcurrencyConfig().taskExecutor();
-		assertThat(executor).isInstanceOf(SyncTaskExecutor.class);
+	void testSizesFromEnvironment() {
+		executor = initialize(new MockEnvironment()
+				.withProperty(Constants.AUDIT_THREADS_ENV_VARIABLE, "3")
+				.withProperty(Constants.AUDIT_QUEUE_SIZE_ENV_VARIABLE, "5"));
+
+		assertThat(executor.getCorePoolSize()).isEqualTo(3);
+		assertThat(executor.getMaxPoolSize()).isEqualTo(3);
+		assertThat(executor.getThreadPoolExecutor().getQueue().remainingCapacity()).isEqualTo(5);
+	}
+
+	@Test
+	void testFullExecutorRejects() {
+		executor = initialize(new MockEnvironment()
+				.withProperty(Constants.AUDIT_THREADS_ENV_VARIABLE, "1")
+				.withProperty(Constants.AUDIT_QUEUE_SIZE_ENV_VARIABLE, "1"));
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicBoolean ran = new AtomicBoolean();
+
+		try {
+			executor.execute(() -> await(release));
+			executor.execute(() -> await(release));
+			assertThrows(TaskRejectedException.class, () -> executor.execute(() -> ran.set(true)));
+		} finally {
+			release.countDown();
+		}
+		assertThat(ran.get()).isFalse();
+	}
+
+	@Test
+	void testMetricsAreRecorded() {
+		ConcurrencyConfig config = new ConcurrencyConfig();
+		executor = initialize(new MockEnvironment());
+		MeterRegistry registry = config.meterRegistry();
+
+		config.taskExecutorMetrics(executor, registry);
+
+		assertThat(registry.find("executor.pool.size").tag("name", "taskExecutor").gauge()).isNotNull();
+		assertThat(registry.find("executor.queued").tag("name", "taskExecutor").gauge()).isNotNull();
+	}
+
+	@Test
+	void testValidationPoolSizeFromEnvironment() {
+		ForkJoinPool pool = new ConcurrencyConfig().validationPool(new MockEnvironment()
+				.withProperty(Constants.VALIDATION_THREADS_ENV_VARIABLE, "3"));
+
+		try {
+			assertThat(pool.getParallelism()).isEqualTo(3);
+			assertThat(pool).isNotSameAs(ForkJoinPool.commonPool());
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	private ThreadPoolTaskExecutor initialize(MockEnvironment environment) {
+		ThreadPoolTaskExecutor taskExecutor = new ConcurrencyConfig().taskExecutor(environment);
+		taskExecutor.initialize();
+		return taskExecutor;
+	}
+
+	private void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException exception) {
+			Thread.currentThread().interrupt();
+		}
 	}
 }
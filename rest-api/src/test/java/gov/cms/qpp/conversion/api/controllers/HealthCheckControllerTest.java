@@ -9,10 +9,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.springframework.http.HttpStatus;
 
 import com.google.common.truth.Truth;
 
 import gov.cms.qpp.conversion.api.services.VersionService;
+import gov.cms.qpp.conversion.model.validation.MeasureConfigs;
 import gov.cms.qpp.test.MockitoExtension;
 
 @ExtendWith(MockitoExtension.class)
@@ -47,4 +49,13 @@ class HealthCheckControllerTest {
 		Truth.assertThat(service.health().getImplementationVersion()).isEqualTo("Mock Version");
 	}
 
+	@Test
+	void testReadyOnceMeasureConfigsLoad() {
+		MeasureConfigs.reset();
+		Truth.assertThat(service.ready().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+
+		MeasureConfigs.init();
+		Truth.assertThat(service.ready().getStatusCode()).isEqualTo(HttpStatus.OK);
+	}
+
 }
@@ -3,14 +3,17 @@ package gov.cms.qpp.conversion.api.controllers.v1;
 import static com.google.common.truth.Truth.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UncheckedIOException;
@@ -32,16 +35,27 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import gov.cms.qpp.conversion.BufferedSource;
 import gov.cms.qpp.conversion.ConversionReport;
 import gov.cms.qpp.conversion.Source;
+import gov.cms.qpp.conversion.api.config.ConcurrencyConfig;
 import gov.cms.qpp.conversion.api.exceptions.AuditException;
 import gov.cms.qpp.conversion.api.exceptions.InvalidPurposeException;
 import gov.cms.qpp.conversion.api.model.Metadata;
 import gov.cms.qpp.conversion.api.services.AuditService;
+import gov.cms.qpp.conversion.api.services.AuditServiceImpl;
+import gov.cms.qpp.conversion.api.services.DbService;
 import gov.cms.qpp.conversion.api.services.QrdaService;
+import gov.cms.qpp.conversion.api.services.StorageService;
 import gov.cms.qpp.conversion.api.services.ValidationService;
 import gov.cms.qpp.conversion.encode.JsonWrapper;
 import gov.cms.qpp.conversion.model.error.TransformException;
@@ -85,24 +99,30 @@ class QrdaControllerV1Test {
 		validationInputStream = Files.newInputStream(validationJsonFilePath);
 
 		when(report.getEncodedWithMetadata()).thenReturn(wrapper);
+		doAnswer(invocation -> {
+			wrapper.writeTo(invocation.getArgument(0));
+			return null;
+		}).when(report).writeQpp(any());
 
 		multipartFile = new MockMultipartFile(GOOD_FILE_CONTENT,
 				new ByteArrayInputStream(GOOD_FILE_CONTENT.getBytes()));
 	}
 
 	@Test
-	void uploadQrdaFile() {
+	void uploadQrdaFile() throws IOException {
 		Metadata metadata = Metadata.create();
 		when(qrdaService.convertQrda3ToQpp(any(Source.class))).thenReturn(report);
 		when(qrdaService.retrieveS3CpcPlusValidationFile()).thenReturn(validationInputStream);
 		when(auditService.success(any(ConversionReport.class)))
 				.then(invocation -> CompletableFuture.completedFuture(metadata));
 
-		ResponseEntity<String> qppResponse = objectUnderTest.uploadQrdaFile(multipartFile, null);
+		ResponseEntity<StreamingResponseBody> qppResponse = objectUnderTest.uploadQrdaFile(multipartFile, null);
 
 		verify(qrdaService, atLeastOnce()).convertQrda3ToQpp(any(Source.class));
 
-		assertThat(qppResponse.getBody())
+		ByteArrayOutputStream body = new ByteArrayOutputStream();
+		qppResponse.getBody().writeTo(body);
+		assertThat(body.toString(StandardCharsets.UTF_8.name()))
 				.isEqualTo(report.getEncodedWithMetadata().toString());
 	}
 
@@ -116,12 +136,30 @@ class QrdaControllerV1Test {
 				.then(invocation -> null);
 
 		when(report.getPurpose()).thenReturn("Test");
-		ResponseEntity<String> qppResponse = objectUnderTest.uploadQrdaFile(multipartFile, "Test");
+		ResponseEntity<StreamingResponseBody> qppResponse = objectUnderTest.uploadQrdaFile(multipartFile, "Test");
 
 		assertThat(qppResponse).isNotNull();
 		assertThat(peopleCaptor.getValue().getPurpose()).isEqualTo("Test");
 	}
 
+	@Test
+	void uploadQrdaFileReleasesSourceWhenRequestCompletes() throws IOException {
+		ArgumentCaptor<Source> sourceCaptor = ArgumentCaptor.forClass(Source.class);
+		when(qrdaService.convertQrda3ToQpp(sourceCaptor.capture())).thenReturn(report);
+		ServletRequestAttributes attributes = new ServletRequestAttributes(new MockHttpServletRequest());
+		RequestContextHolder.setRequestAttributes(attributes);
+		try {
+			objectUnderTest.uploadQrdaFile(multipartFile, null);
+		} finally {
+			RequestContextHolder.resetRequestAttributes();
+		}
+
+		Source source = sourceCaptor.getValue();
+		assertThat(IOUtils.toString(source.toInputStream(), StandardCharsets.UTF_8)).isEqualTo(GOOD_FILE_CONTENT);
+		attributes.requestCompleted();
+		assertThrows(IllegalStateException.class, source::toInputStream);
+	}
+
 	@Test
 	void uploadQrdaFile_auditInterruptionException() throws Exception {
 		ArgumentCaptor<Source> peopleCaptor = ArgumentCaptor.forClass(Source.class);
@@ -175,7 +213,7 @@ class QrdaControllerV1Test {
 
 		String purpose = "Test";
 		when(report.getPurpose()).thenReturn(purpose);
-		ResponseEntity<String> qppResponse = objectUnderTest.uploadQrdaFile(multipartFile, purpose);
+		ResponseEntity<StreamingResponseBody> qppResponse = objectUnderTest.uploadQrdaFile(multipartFile, purpose);
 		
 		assertThat(qppResponse).isNotNull();
 	}
@@ -192,10 +230,39 @@ class QrdaControllerV1Test {
 		when(auditService.success(any(ConversionReport.class)))
 				.then(invocation -> CompletableFuture.completedFuture(metadata));
 
-		ResponseEntity<String> qppResponse = objectUnderTest.uploadQrdaFile(multipartFile, null);
+		ResponseEntity<StreamingResponseBody> qppResponse = objectUnderTest.uploadQrdaFile(multipartFile, null);
 		assertThat(qppResponse.getHeaders().get("Location")).containsExactly(metadata.getUuid());
 	}
 
+	@Test
+	void testLocationWaitsForAsynchronousAudit() throws Exception {
+		ThreadPoolTaskExecutor executor = new ConcurrencyConfig().taskExecutor(new MockEnvironment());
+		executor.initialize();
+		try {
+			String uuid = UUID.randomUUID().toString();
+			StorageService storageService = Mockito.mock(StorageService.class);
+			DbService dbService = Mockito.mock(DbService.class);
+			when(storageService.store(any(String.class), any(), anyLong()))
+					.then(invocation -> CompletableFuture.supplyAsync(() -> "locator", executor));
+			when(dbService.write(any(Metadata.class))).then(invocation -> CompletableFuture.supplyAsync(() -> {
+				Metadata written = invocation.getArgument(0);
+				written.setUuid(uuid);
+				return written;
+			}, executor));
+			AuditServiceImpl auditor = new AuditServiceImpl(storageService, dbService, new MockEnvironment(), null);
+			when(report.getQrdaSource()).thenReturn(BufferedSource.of(GOOD_FILE_CONTENT, GOOD_FILE_CONTENT.getBytes()));
+			when(report.getQppSource()).then(invocation -> BufferedSource.of("qpp", GOOD_FILE_CONTENT.getBytes()));
+			when(qrdaService.convertQrda3ToQpp(any(Source.class))).thenReturn(report);
+			when(auditService.success(any(ConversionReport.class))).then(invocation -> auditor.success(report));
+
+			assertThat(auditor.success(report).get().getUuid()).isEqualTo(uuid);
+			ResponseEntity<StreamingResponseBody> qppResponse = objectUnderTest.uploadQrdaFile(multipartFile, null);
+			assertThat(qppResponse.getHeaders().get("Location")).containsExactly(uuid);
+		} finally {
+			executor.shutdown();
+		}
+	}
+
 	@Test
 	void testFailedQppValidation() {
 		String transformationErrorMessage = "Test failed QPP validation";
@@ -207,7 +274,7 @@ class QrdaControllerV1Test {
 			.when(validationService).validateQpp(isNull());
 
 		try {
-			ResponseEntity<String> qppResponse = objectUnderTest.uploadQrdaFile(multipartFile, null);
+			ResponseEntity<StreamingResponseBody> qppResponse = objectUnderTest.uploadQrdaFile(multipartFile, null);
 			Assertions.fail("An exception should have occurred. Instead was " + qppResponse);
 		} catch(TransformException exception) {
 			assertThat(exception.getMessage())
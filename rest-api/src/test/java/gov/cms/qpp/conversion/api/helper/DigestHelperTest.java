@@ -0,0 +1,33 @@
+package gov.cms.qpp.conversion.api.helper;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import gov.cms.qpp.test.helper.HelperContract;
+
+import static com.google.common.truth.Truth.assertThat;
+
+class DigestHelperTest implements HelperContract {
+
+	@Test
+	void testSha256Hex() {
+		assertThat(DigestHelper.sha256Hex("abc".getBytes(StandardCharsets.UTF_8)))
+				.isEqualTo("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad");
+	}
+
+	@Test
+	void testToHexPadsAndLowerCasesEveryByte() {
+		assertThat(DigestHelper.toHex(new byte[] {0, -1, 0x0f, 0x10, (byte) 0xab})).isEqualTo("00ff0f10ab");
+	}
+
+	@Test
+	void testToHexOfNothing() {
+		assertThat(DigestHelper.toHex(new byte[0])).isEmpty();
+	}
+
+	@Override
+	public Class<?> getHelperClass() {
+		return DigestHelper.class;
+	}
+}
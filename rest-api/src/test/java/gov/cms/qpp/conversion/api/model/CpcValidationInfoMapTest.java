@@ -46,12 +46,25 @@ class CpcValidationInfoMapTest {
 		assertThat(map.get("0444444444").getApm()).isEqualTo("T1AR0518");
 	}
 
+	@Test
+	void test_versionFollowsContent() throws Exception {
+		String json = "[{\"apm_entity_id\": \"T1AR0503\", \"tin\": \"000333333\", \"npi\": \"0333333333\"}]";
+		String changed = "[{\"apm_entity_id\": \"T1AR0518\", \"tin\": \"000333333\", \"npi\": \"0333333333\"}]";
+
+		String version = new CpcValidationInfoMap(new StringInputStream(json)).getVersion();
+
+		assertThat(version).isNotEmpty();
+		assertThat(new CpcValidationInfoMap(new StringInputStream(json)).getVersion()).isEqualTo(version);
+		assertThat(new CpcValidationInfoMap(new StringInputStream(changed)).getVersion()).isNotEqualTo(version);
+	}
+
 	@Test
 	void test_loadNullStream() throws Exception {
 		CpcValidationInfoMap cpc = new CpcValidationInfoMap(null);
 		Map<String, CpcValidationInfo> map = cpc.getApmToSpec();
 
 		assertThat(map).isNull();
+		assertThat(cpc.getVersion()).isEmpty();
 	}
 
 	@Test
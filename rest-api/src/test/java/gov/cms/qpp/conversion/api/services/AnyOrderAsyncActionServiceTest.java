@@ -2,28 +2,43 @@ package gov.cms.qpp.conversion.api.services;
 
 import gov.cms.qpp.conversion.api.exceptions.UncheckedInterruptedException;
 import gov.cms.qpp.test.MockitoExtension;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.retry.RetryPolicy;
 import org.springframework.retry.backoff.FixedBackOffPolicy;
+import org.springframework.retry.backoff.NoBackOffPolicy;
+import org.springframework.retry.policy.CompositeRetryPolicy;
+import org.springframework.retry.policy.TimeoutRetryPolicy;
 import org.springframework.retry.support.RetryTemplate;
 
+import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static com.google.common.truth.Truth.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 
 @ExtendWith(MockitoExtension.class)
 class AnyOrderAsyncActionServiceTest {
@@ -34,6 +49,9 @@ class AnyOrderAsyncActionServiceTest {
 	@Mock
 	private TaskExecutor taskExecutor;
 
+	@Spy
+	private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
 	@BeforeEach
 	void runBeforeEachTest() {
 		doAnswer(invocationOnMock -> {
@@ -141,6 +159,86 @@ class AnyOrderAsyncActionServiceTest {
 		assertThat(objectUnderTest.timesAsynchronousActionCalled.get()).isEqualTo(1);  //not two
 	}
 
+	@Test
+	void testRetriesAreBounded() {
+		objectUnderTest.failuresUntilSuccess(-1);
+
+		CompletableFuture<Object> completableFuture = objectUnderTest.actOnItem(new Object());
+
+		assertThrows(CompletionException.class, completableFuture::join);
+		assertThat(objectUnderTest.timesAsynchronousActionCalled.get()).isEqualTo(AnyOrderActionService.MAX_ATTEMPTS);
+	}
+
+	@Test
+	void testOpenBreakerSpillsAndSuccessReplays() {
+		AtomicLong clock = new AtomicLong();
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		CircuitBreaker breaker = new CircuitBreaker("test", 2, 10, clock::get, registry);
+		SpillingService service = new SpillingService(taskExecutor, breaker, registry);
+
+		Object spilled = new Object();
+		assertThat(service.actOnItem(spilled).join()).isSameAs(spilled);
+		assertThat(service.timesAsynchronousActionCalled.get()).isEqualTo(2);
+		assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+		assertThat(registry.find("audit.retries").tag("dependency", "test").counter().count()).isEqualTo(2.0);
+
+		service.actOnItem(new Object()).join();
+		assertThat(service.timesAsynchronousActionCalled.get()).isEqualTo(2);
+
+		clock.addAndGet(10);
+		service.failing.set(false);
+		service.actOnItem(new Object()).join();
+		service.replayed.join();
+
+		assertThat(service.spilled).isEmpty();
+		assertThat(service.objectThatWasActedOn.get()).isSameAs(spilled);
+	}
+
+	@Test
+	void testSaturatedExecutorSpillsWithoutActing() {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		TaskExecutor full = task -> {
+			throw new TaskRejectedException("full");
+		};
+		SpillingService service = new SpillingService(full, CircuitBreaker.neverOpen("test", registry), registry);
+
+		Object objectToActOn = new Object();
+		assertThat(service.actOnItem(objectToActOn).join()).isSameAs(objectToActOn);
+
+		assertThat(service.timesAsynchronousActionCalled.get()).isEqualTo(0);
+		assertThat(service.spilled).containsExactly(objectToActOn);
+		assertThat(registry.find("audit.saturated").tag("dependency", "test").counter().count()).isEqualTo(1.0);
+	}
+
+	@Test
+	void testSaturatedExecutorActsOnCallerWhenItCannotSpill() {
+		doThrow(new TaskRejectedException("full")).when(taskExecutor).execute(any(Runnable.class));
+		objectUnderTest.failuresUntilSuccess(0);
+
+		objectUnderTest.actOnItem(new Object()).join();
+
+		assertThat(objectUnderTest.actedOn.get()).isSameAs(Thread.currentThread());
+		assertThat(meterRegistry.find("audit.saturated").counter().count()).isEqualTo(1.0);
+	}
+
+	@Test
+	void testRetriesStopOnceTimeRunsOut() throws ReflectiveOperationException {
+		RetryTemplate retry = objectUnderTest.retryTemplate();
+
+		Field retryPolicy = RetryTemplate.class.getDeclaredField("retryPolicy");
+		retryPolicy.setAccessible(true);
+		Field policies = CompositeRetryPolicy.class.getDeclaredField("policies");
+		policies.setAccessible(true);
+		RetryPolicy[] composed = (RetryPolicy[]) policies.get(retryPolicy.get(retry));
+
+		assertThat(Arrays.stream(composed)
+				.filter(TimeoutRetryPolicy.class::isInstance)
+				.map(policy -> ((TimeoutRetryPolicy) policy).getTimeout())
+				.findFirst()
+				.orElse(null))
+				.isEqualTo(AnyOrderActionService.MAX_RETRY_MILLIS);
+	}
+
 	private Object runSimpleScenario(int failuresUntilSuccess) {
 		Object objectToActOn = new Object();
 
@@ -152,15 +250,59 @@ class AnyOrderAsyncActionServiceTest {
 		return objectToActOn;
 	}
 
+	private static class SpillingService extends AnyOrderActionService<Object, Object> {
+
+		final Deque<Object> spilled = new ConcurrentLinkedDeque<>();
+		final CompletableFuture<Object> replayed = new CompletableFuture<>();
+		final AtomicInteger timesAsynchronousActionCalled = new AtomicInteger(0);
+		final AtomicReference<Object> objectThatWasActedOn = new AtomicReference<>(null);
+		final AtomicBoolean failing = new AtomicBoolean(true);
+
+		SpillingService(TaskExecutor taskExecutor, CircuitBreaker circuitBreaker, MeterRegistry meterRegistry) {
+			super(taskExecutor, circuitBreaker, meterRegistry);
+		}
+
+		@Override
+		protected Object asynchronousAction(Object objectToActOn) {
+			timesAsynchronousActionCalled.incrementAndGet();
+			objectThatWasActedOn.set(objectToActOn);
+			if (failing.get()) {
+				throw new RuntimeException();
+			}
+			return objectToActOn;
+		}
+
+		@Override
+		protected Optional<Object> spill(Object objectToActOn) {
+			spilled.add(objectToActOn);
+			return Optional.of(objectToActOn);
+		}
+
+		@Override
+		protected void replaySpilled() {
+			Object objectToReplay = spilled.removeFirst();
+			spilled.clear();
+			replay(objectToReplay).thenAccept(replayed::complete);
+		}
+
+		@Override
+		protected RetryTemplate retryTemplate() {
+			RetryTemplate retry = super.retryTemplate();
+			retry.setBackOffPolicy(new NoBackOffPolicy());
+			return retry;
+		}
+	}
+
 	private static class TestAnyOrderService extends AnyOrderActionService<Object, Object> {
 
-		public TestAnyOrderService(TaskExecutor taskExecutor) {
-			super(taskExecutor);
+		public TestAnyOrderService(TaskExecutor taskExecutor, MeterRegistry meterRegistry) {
+			super(taskExecutor, meterRegistry);
 		}
 
 		AtomicBoolean asynchronousActionCalled = new AtomicBoolean(false);
 		AtomicInteger timesAsynchronousActionCalled = new AtomicInteger(0);
 		AtomicReference<Object> objectThatWasActedOn = new AtomicReference<>(null);
+		AtomicReference<Thread> actedOn = new AtomicReference<>(null);
 		AtomicBoolean pauseAsynchronousAction = new AtomicBoolean(false);
 
 		private int failuresUntilSuccessTemplate = -1;
@@ -182,6 +324,7 @@ class AnyOrderAsyncActionServiceTest {
 			asynchronousActionCalled.set(true);
 			timesAsynchronousActionCalled.incrementAndGet();
 			objectThatWasActedOn.set(objectToActOn);
+			actedOn.set(Thread.currentThread());
 
 			while (pauseAsynchronousAction.get()) {
 				try {
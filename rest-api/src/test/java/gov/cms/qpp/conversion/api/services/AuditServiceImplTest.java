@@ -1,8 +1,10 @@
 package gov.cms.qpp.conversion.api.services;
 
+import gov.cms.qpp.conversion.BufferedSource;
 import gov.cms.qpp.conversion.ConversionReport;
 import gov.cms.qpp.conversion.InputStreamSupplierSource;
 import gov.cms.qpp.conversion.Source;
+import gov.cms.qpp.conversion.api.exceptions.AuditException;
 import gov.cms.qpp.conversion.api.exceptions.UncheckedInterruptedException;
 import gov.cms.qpp.conversion.api.helper.MetadataHelper;
 import gov.cms.qpp.conversion.api.model.Constants;
@@ -10,6 +12,7 @@ import gov.cms.qpp.conversion.api.model.Metadata;
 import gov.cms.qpp.conversion.encode.JsonWrapper;
 import gov.cms.qpp.conversion.model.Node;
 import net.jodah.concurrentunit.Waiter;
+import org.apache.commons.io.IOUtils;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -20,10 +23,13 @@ import org.powermock.modules.junit4.PowerMockRunner;
 import org.springframework.core.env.Environment;
 
 import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeoutException;
 
 import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.doReturn;
@@ -53,6 +59,9 @@ public class AuditServiceImplTest {
 	@Mock
 	private Environment environment;
 
+	@Mock
+	private AuditSpool auditSpool;
+
 	private Metadata metadata;
 	private String content = "Hello";
 	private Source fileContentSource = new InputStreamSupplierSource(FILENAME, new ByteArrayInputStream(content.getBytes()));
@@ -113,6 +122,55 @@ public class AuditServiceImplTest {
 		verify(dbService, times(1)).write(metadata);
 	}
 
+	@Test
+	public void testAuditReleasesSourcesOnceStored() throws Exception {
+		when(environment.getProperty(Constants.NO_AUDIT_ENV_VARIABLE)).thenReturn(null);
+		prepOverlap();
+		BufferedSource qrdaSource = BufferedSource.of(FILENAME, content.getBytes());
+		BufferedSource qppSource = BufferedSource.of("QPP", content.getBytes());
+		when(report.getQrdaSource()).thenReturn(qrdaSource);
+		when(report.getQppSource()).thenReturn(qppSource);
+		CompletableFuture<String> stored = new CompletableFuture<>();
+		when(storageService.store(any(String.class), any(), anyLong())).thenReturn(stored);
+
+		CompletableFuture<Metadata> audited = underTest.success(report);
+		qrdaSource.release();
+
+		assertThat(IOUtils.toString(qppSource.toInputStream(), StandardCharsets.UTF_8)).isEqualTo(content);
+		assertThat(IOUtils.toString(qrdaSource.toInputStream(), StandardCharsets.UTF_8)).isEqualTo(content);
+		stored.complete(AN_ID);
+		audited.get();
+		assertThat(isReleased(qppSource)).isTrue();
+		assertThat(isReleased(qrdaSource)).isTrue();
+	}
+
+	@Test
+	public void testAuditSpooled() throws Exception {
+		when(environment.getProperty(Constants.NO_AUDIT_ENV_VARIABLE)).thenReturn(null);
+		when(auditSpool.offer(any(Metadata.class), any(Source.class), any(Source.class))).thenReturn(true);
+		successfulEncodingPrep();
+		allGood();
+
+		assertThat(underTest.success(report).get()).isSameAs(metadata);
+		verify(storageService, times(0)).store(any(String.class), any(), anyLong());
+		verify(dbService, times(0)).write(metadata);
+	}
+
+	@Test
+	public void testAuditSpooledEntryWaitsForWrite() throws Exception {
+		allGood();
+
+		assertThat(underTest.auditSpooled(metadata, fileContentSource, fileContentSource).get()).isSameAs(metadata);
+		assertThat(metadata.getQppLocator()).isSameAs(AN_ID);
+		assertThat(metadata.getSubmissionLocator()).isSameAs(AN_ID);
+		verify(dbService, times(1)).write(metadata);
+	}
+
+	@Test
+	public void testStartsDrainingSpool() {
+		verify(auditSpool).start(any(AuditSpool.Auditor.class));
+	}
+
 	@Test
 	public void testFileUploadFailureException() throws TimeoutException {
 		when(environment.getProperty(Constants.NO_AUDIT_ENV_VARIABLE)).thenReturn(null);
@@ -124,13 +182,28 @@ public class AuditServiceImplTest {
 		future.whenComplete((nada, ex) -> {
 			waiter.assertNull(metadata.getQppLocator());
 			waiter.assertNull(metadata.getSubmissionLocator());
-			waiter.assertTrue(ex.getCause() instanceof UncheckedInterruptedException);
+			waiter.assertTrue(ex.getCause() instanceof AuditException);
+			waiter.assertTrue(ex.getCause().getCause() instanceof UncheckedInterruptedException);
 			waiter.resume();
 		});
 
 		waiter.await(5000);
 	}
 
+	@Test
+	public void testDbWriteFailureException() throws Exception {
+		when(environment.getProperty(Constants.NO_AUDIT_ENV_VARIABLE)).thenReturn(null);
+		successfulEncodingPrep();
+		allGood();
+		CompletableFuture<Metadata> failedWrite = new CompletableFuture<>();
+		failedWrite.completeExceptionally(new IllegalStateException("DynamoDB unavailable"));
+		doReturn(failedWrite).when(dbService).write(metadata);
+
+		ExecutionException exception = assertThrows(ExecutionException.class, () -> underTest.success(report).get());
+
+		assertThat(exception.getCause()).isInstanceOf(AuditException.class);
+		assertThat(exception.getCause().getCause()).isInstanceOf(IllegalStateException.class);
+	}
 
 	@Test
 	public void testAuditConversionFailureHappy() {
@@ -180,6 +253,15 @@ public class AuditServiceImplTest {
 		verify(dbService, times(0)).write(metadata);
 	}
 
+	private boolean isReleased(Source source) {
+		try {
+			source.toInputStream();
+			return false;
+		} catch (IllegalStateException expected) {
+			return true;
+		}
+	}
+
 	private void successfulEncodingPrep() {
 		prepOverlap();
 		JsonWrapper wrapper = new JsonWrapper();
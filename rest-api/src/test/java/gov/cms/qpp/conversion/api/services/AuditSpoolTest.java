@@ -0,0 +1,175 @@
+package gov.cms.qpp.conversion.api.services;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.util.FileSystemUtils;
+
+import gov.cms.qpp.conversion.InputStreamSupplierSource;
+import gov.cms.qpp.conversion.Source;
+import gov.cms.qpp.conversion.api.model.Constants;
+import gov.cms.qpp.conversion.api.model.Metadata;
+import gov.cms.qpp.conversion.model.error.Detail;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+class AuditSpoolTest {
+
+	private Path directory;
+	private AuditSpool spool;
+	private BlockingQueue<String> audited = new LinkedBlockingQueue<>();
+	private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@BeforeEach
+	void setup() throws IOException {
+		directory = Files.createTempDirectory("audit-spool");
+	}
+
+	@AfterEach
+	void cleanup() throws Exception {
+		if (spool != null) {
+			spool.stop();
+		}
+		FileSystemUtils.deleteRecursively(directory);
+	}
+
+	@Test
+	void testDisabledByDefault() {
+		spool = new AuditSpool(new MockEnvironment(), new SimpleMeterRegistry());
+
+		assertThat(spool.isEnabled()).isFalse();
+		assertThat(spool.offer(Metadata.create(), source("qrda"), source("qpp"))).isFalse();
+	}
+
+	@Test
+	void testOfferedEntryIsAuditedAndRemoved() throws Exception {
+		spool = spool(10);
+		spool.start(this::audit);
+		Metadata metadata = Metadata.create();
+		metadata.setTin("123456789");
+		metadata.setErrors(Collections.singletonList(new Detail()));
+
+		assertThat(spool.offer(metadata, source("qrda"), source("qpp"))).isTrue();
+
+		assertThat(audited.poll(5, TimeUnit.SECONDS)).isEqualTo(metadata.getUuid() + " 123456789 1 qrda qpp");
+		waitForEmpty();
+		assertThat(entries()).isEqualTo(0);
+	}
+
+	@Test
+	void testFullSpoolRejects() {
+		spool = spool(1);
+
+		assertThat(spool.offer(Metadata.create(), source("qrda"), source("qpp"))).isTrue();
+		assertThat(spool.offer(Metadata.create(), source("qrda"), source("qpp"))).isFalse();
+		assertThat(spool.size()).isEqualTo(1);
+	}
+
+	@Test
+	void testEntriesSurviveRestart() throws Exception {
+		Metadata metadata = Metadata.create();
+		spool(10).offer(metadata, source("qrda"), source("qpp"));
+		Files.createDirectories(directory.resolve("interrupted" + AuditSpool.PARTIAL));
+
+		spool = spool(10);
+		spool.start(this::audit);
+
+		assertThat(audited.poll(5, TimeUnit.SECONDS)).startsWith(metadata.getUuid());
+		waitForEmpty();
+		assertThat(entries()).isEqualTo(0);
+	}
+
+	@Test
+	void testFailedAuditIsKept() throws Exception {
+		spool = spool(10);
+		spool.start((metadata, qrda, qpp) -> {
+			CompletableFuture<Void> failed = new CompletableFuture<>();
+			failed.completeExceptionally(new IllegalStateException("meep"));
+			return failed;
+		});
+
+		spool.offer(Metadata.create(), source("qrda"), source("qpp"));
+		Thread.sleep(100);
+
+		assertThat(spool.size()).isEqualTo(1);
+		assertThat(entries()).isEqualTo(1);
+	}
+
+	@Test
+	void testRepeatedlyFailingAuditIsDeadLettered() throws Exception {
+		spool = new AuditSpool(new MockEnvironment()
+				.withProperty(Constants.AUDIT_SPOOL_DIR_ENV_VARIABLE, directory.toString())
+				.withProperty(Constants.AUDIT_SPOOL_ATTEMPTS_ENV_VARIABLE, "2"),
+				meterRegistry);
+		spool.start((metadata, qrda, qpp) -> {
+			CompletableFuture<Void> failed = new CompletableFuture<>();
+			failed.completeExceptionally(new IllegalStateException("meep"));
+			return failed;
+		});
+		Metadata metadata = Metadata.create();
+
+		spool.offer(metadata, source("qrda"), source("qpp"));
+		waitForEmpty();
+
+		assertThat(meterRegistry.counter("audit.spool.dead.lettered").count()).isEqualTo(1.0);
+		assertThat(Files.exists(directory.resolve(AuditSpool.DEAD_LETTER).resolve(metadata.getUuid()))).isTrue();
+		assertThat(Files.exists(directory.resolve(metadata.getUuid()))).isFalse();
+
+		spool.stop();
+		spool = spool(10);
+		spool.start(this::audit);
+		assertThat(spool.size()).isEqualTo(0);
+		assertThat(audited).isEmpty();
+	}
+
+	private AuditSpool spool(int size) {
+		return new AuditSpool(new MockEnvironment()
+				.withProperty(Constants.AUDIT_SPOOL_DIR_ENV_VARIABLE, directory.toString())
+				.withProperty(Constants.AUDIT_SPOOL_SIZE_ENV_VARIABLE, String.valueOf(size)),
+				meterRegistry);
+	}
+
+	private CompletableFuture<Metadata> audit(Metadata metadata, Source qrda, Source qpp) {
+		int errors = metadata.getErrors() == null ? 0 : metadata.getErrors().getDetails().size();
+		try {
+			audited.add(metadata.getUuid() + " " + metadata.getTin() + " " + errors
+					+ " " + IOUtils.toString(qrda.toInputStream(), StandardCharsets.UTF_8)
+					+ " " + IOUtils.toString(qpp.toInputStream(), StandardCharsets.UTF_8));
+		} catch (IOException | RuntimeException exception) {
+			audited.add(metadata.getUuid() + " " + exception);
+		}
+		return CompletableFuture.completedFuture(metadata);
+	}
+
+	private void waitForEmpty() throws InterruptedException {
+		for (int i = 0; i < 50 && spool.size() > 0; i++) {
+			Thread.sleep(100);
+		}
+		assertThat(spool.size()).isEqualTo(0);
+	}
+
+	private long entries() throws IOException {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.count();
+		}
+	}
+
+	private Source source(String content) {
+		return new InputStreamSupplierSource(content, new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+	}
+}
@@ -0,0 +1,139 @@
+package gov.cms.qpp.conversion.api.services;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import gov.cms.qpp.conversion.api.model.Constants;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+class CircuitBreakerTest {
+
+	private static final long OPEN_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+	private final AtomicLong clock = new AtomicLong();
+	private MeterRegistry registry;
+	private CircuitBreaker breaker;
+
+	@BeforeEach
+	void setup() {
+		registry = new SimpleMeterRegistry();
+		breaker = new CircuitBreaker("meep", 3, OPEN_NANOS, clock::get, registry);
+	}
+
+	@Test
+	void testOpensAfterFailuresInARow() {
+		breaker.recordFailure();
+		breaker.recordFailure();
+		assertThat(breaker.allowRequest()).isTrue();
+
+		breaker.recordFailure();
+
+		assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+		assertThat(breaker.allowRequest()).isFalse();
+		assertThat(registry.find("circuit.breaker.opened").tag("dependency", "meep").counter().count()).isEqualTo(1.0);
+	}
+
+	@Test
+	void testSuccessResetsFailures() {
+		breaker.recordFailure();
+		breaker.recordFailure();
+		breaker.recordSuccess();
+		breaker.recordFailure();
+
+		assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+	}
+
+	@Test
+	void testHalfOpenLetsOneCallThrough() {
+		open();
+		clock.addAndGet(OPEN_NANOS);
+
+		assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+		assertThat(breaker.allowRequest()).isTrue();
+		assertThat(breaker.allowRequest()).isFalse();
+	}
+
+	@Test
+	void testHalfOpenLetsAnotherCallThroughWhenTheFirstNeverFinishes() {
+		open();
+		clock.addAndGet(OPEN_NANOS);
+		breaker.allowRequest();
+
+		clock.addAndGet(OPEN_NANOS);
+
+		assertThat(breaker.allowRequest()).isTrue();
+	}
+
+	@Test
+	void testSuccessfulProbeCloses() {
+		open();
+		clock.addAndGet(OPEN_NANOS);
+		breaker.allowRequest();
+
+		breaker.recordSuccess();
+
+		assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+		assertThat(breaker.allowRequest()).isTrue();
+	}
+
+	@Test
+	void testFailedProbeOpensAgain() {
+		open();
+		clock.addAndGet(OPEN_NANOS);
+		breaker.allowRequest();
+
+		breaker.recordFailure();
+
+		assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+		assertThat(registry.find("circuit.breaker.opened").counter().count()).isEqualTo(2.0);
+	}
+
+	@Test
+	void testStateGauge() {
+		open();
+
+		assertThat(registry.find("circuit.breaker.state").tag("dependency", "meep").gauge().value())
+				.isEqualTo((double) CircuitBreaker.State.OPEN.ordinal());
+	}
+
+	@Test
+	void testNeverOpen() {
+		CircuitBreaker neverOpen = CircuitBreaker.neverOpen("meep", registry);
+		for (int i = 0; i < 100; i++) {
+			neverOpen.recordFailure();
+		}
+
+		assertThat(neverOpen.allowRequest()).isTrue();
+	}
+
+	@Test
+	void testFromEnvironment() {
+		CircuitBreaker configured = CircuitBreaker.fromEnvironment("meep", new MockEnvironment()
+				.withProperty(Constants.AUDIT_BREAKER_FAILURES_ENV_VARIABLE, "1"), registry);
+
+		configured.recordFailure();
+
+		assertThat(configured.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+	}
+
+	@Test
+	void testIntPropertyDefaults() {
+		MockEnvironment environment = new MockEnvironment().withProperty("bad", "mawp");
+
+		assertThat(CircuitBreaker.intProperty(environment, "missing", 7)).isEqualTo(7);
+		assertThat(CircuitBreaker.intProperty(environment, "bad", 7)).isEqualTo(7);
+	}
+
+	private void open() {
+		breaker.recordFailure();
+		breaker.recordFailure();
+		breaker.recordFailure();
+	}
+}
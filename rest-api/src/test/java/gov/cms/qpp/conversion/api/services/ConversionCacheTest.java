@@ -0,0 +1,270 @@
+package gov.cms.qpp.conversion.api.services;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import gov.cms.qpp.conversion.BufferedSource;
+import gov.cms.qpp.conversion.Context;
+import gov.cms.qpp.conversion.ConversionReport;
+import gov.cms.qpp.conversion.Converter;
+import gov.cms.qpp.conversion.Source;
+import gov.cms.qpp.conversion.api.model.Constants;
+import gov.cms.qpp.conversion.model.error.AllErrors;
+import gov.cms.qpp.conversion.model.error.ErrorCode;
+import gov.cms.qpp.conversion.model.error.TransformException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class ConversionCacheTest {
+
+	private static final String VALID = "../qrda-files/valid-QRDA-III-latest.xml";
+	private static final String INVALID = "../qrda-files/QRDA-III-without-required-measure.xml";
+	private static final int UPLOADS = 8;
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final AtomicInteger conversions = new AtomicInteger();
+
+	@Test
+	void testIdenticalContentIsReused() throws IOException {
+		ConversionCache cache = cache(ConversionCache.DEFAULT_MAX_BYTES);
+
+		ConversionReport first = convert(cache, source("first", VALID), "a");
+		ConversionReport second = convert(cache, source("second", VALID), "a");
+
+		assertThat(conversions.get()).isEqualTo(1);
+		assertThat(second.getEncodedWithMetadata()).isSameAs(first.getEncodedWithMetadata());
+		assertThat(second.getQrdaSource().getName()).isEqualTo("second");
+		assertThat(meterRegistry.counter("conversion.cache", "result", "hit").count()).isEqualTo(1.0);
+		assertThat(meterRegistry.counter("conversion.cache", "result", "miss").count()).isEqualTo(1.0);
+	}
+
+	@Test
+	void testReusedReportsAreIndependent() throws IOException {
+		ConversionCache cache = cache(ConversionCache.DEFAULT_MAX_BYTES);
+
+		convert(cache, source("first", VALID), "a").setReportDetails(new AllErrors());
+		ConversionReport second = convert(cache, source("second", VALID), "a");
+
+		assertThat(second.getReportDetails().getErrors().get(0).getSourceIdentifier()).isEqualTo("second");
+	}
+
+	@Test
+	void testFailuresAreReused() throws IOException {
+		ConversionCache cache = cache(ConversionCache.DEFAULT_MAX_BYTES);
+
+		assertThrows(TransformException.class, () -> convert(cache, source("first", INVALID), "a"));
+		TransformException reused = assertThrows(TransformException.class,
+				() -> convert(cache, source("second", INVALID), "a"));
+
+		assertThat(conversions.get()).isEqualTo(1);
+		assertThat(reused.getDetails().getErrors().get(0).getSourceIdentifier()).isEqualTo("second");
+		assertThat(reused.getDetails().getErrors().get(0).getDetails()).isNotEmpty();
+	}
+
+	@Test
+	void testContextFlagsArePartOfTheKey() throws IOException {
+		ConversionCache cache = cache(ConversionCache.DEFAULT_MAX_BYTES);
+		Context unvalidated = new Context();
+		unvalidated.setDoValidation(false);
+
+		convert(cache, source("first", VALID), new Context(), "a");
+		convert(cache, source("second", VALID), unvalidated, "a");
+
+		assertThat(conversions.get()).isEqualTo(2);
+		assertThat(cache.size()).isEqualTo(2);
+	}
+
+	@Test
+	void testNewCpcValidationDataInvalidates() throws IOException {
+		ConversionCache cache = cache(ConversionCache.DEFAULT_MAX_BYTES);
+
+		convert(cache, source("first", VALID), "a");
+		convert(cache, source("second", VALID), "b");
+
+		assertThat(conversions.get()).isEqualTo(2);
+		assertThat(cache.size()).isEqualTo(1);
+	}
+
+	@Test
+	void testLeastRecentlyUsedIsEvicted() throws IOException {
+		Source valid = source("valid", VALID);
+		Source invalid = source("invalid", INVALID);
+		ConversionCache sizing = cache(0);
+		long validBytes = ConversionCache.estimateRetained(valid, convert(sizing, valid, "a"));
+		long invalidBytes = ConversionCache.estimateRetained(invalid,
+				assertThrows(TransformException.class, () -> convert(sizing, invalid, "a")).getConversionReport());
+		conversions.set(0);
+		ConversionCache cache = cache(Math.max(validBytes, invalidBytes));
+
+		convert(cache, valid, "a");
+		assertThrows(TransformException.class, () -> convert(cache, invalid, "a"));
+		convert(cache, valid, "a");
+
+		assertThat(conversions.get()).isEqualTo(3);
+		assertThat(cache.size()).isEqualTo(1);
+		assertThat(cache.bytes()).isEqualTo(validBytes);
+		assertThat(meterRegistry.counter("conversion.cache.evictions").count()).isEqualTo(2.0);
+	}
+
+	@Test
+	void testWeighsDecodedNodes() throws IOException {
+		Source valid = source("valid", VALID);
+		ConversionCache cache = cache(ConversionCache.DEFAULT_MAX_BYTES);
+
+		convert(cache, valid, "a");
+
+		assertThat(cache.bytes()).isGreaterThan(valid.getSize() + ConversionCache.ESTIMATED_BYTES_PER_NODE);
+	}
+
+	@Test
+	void testDisabled() throws IOException {
+		ConversionCache cache = cache(0);
+
+		convert(cache, source("first", VALID), "a");
+		convert(cache, source("second", VALID), "a");
+
+		assertThat(cache.isEnabled()).isFalse();
+		assertThat(conversions.get()).isEqualTo(2);
+		assertThat(cache.size()).isEqualTo(0);
+	}
+
+	@Test
+	void testConcurrentIdenticalUploadsShareOneConversion() throws Exception {
+		ConversionCache cache = cache(0);
+		List<ConversionReport> reports = convertConcurrently(cache, VALID);
+
+		assertThat(conversions.get()).isEqualTo(1);
+		for (int i = 0; i < reports.size(); i++) {
+			assertThat(reports.get(i).getQrdaSource().getName()).isEqualTo("upload " + i);
+			assertThat(reports.get(i).getEncodedWithMetadata()).isSameAs(reports.get(0).getEncodedWithMetadata());
+		}
+	}
+
+	@Test
+	void testConcurrentIdenticalUploadsShareOneFailure() throws Exception {
+		ConversionCache cache = cache(0);
+		List<ConversionReport> reports = convertConcurrently(cache, INVALID);
+
+		assertThat(conversions.get()).isEqualTo(1);
+		for (int i = 0; i < reports.size(); i++) {
+			assertThat(reports.get(i).getReportDetails().getErrors().get(0).getSourceIdentifier()).isEqualTo("upload " + i);
+		}
+	}
+
+	@Test
+	void testConcurrentIdenticalUploadsDoNotShareAnUnexpectedFailure() throws Exception {
+		ConversionCache cache = cache(0);
+		List<ConversionReport> reports = convertConcurrently(cache, VALID, true);
+
+		assertThat(conversions.get()).isEqualTo(UPLOADS);
+		assertThat(reports.get(0).getReportDetails().getErrors().get(0).getDetails().get(0).getErrorCode())
+				.isEqualTo(ErrorCode.UNEXPECTED_ERROR.getCode());
+		for (int i = 1; i < reports.size(); i++) {
+			assertThat(reports.get(i).getQrdaSource().getName()).isEqualTo("upload " + i);
+			assertThat(reports.get(i).getEncodedWithMetadata()).isNotNull();
+		}
+	}
+
+	private List<ConversionReport> convertConcurrently(ConversionCache cache, String path) throws Exception {
+		return convertConcurrently(cache, path, false);
+	}
+
+	/**
+	 * Submits identical uploads at once, holding the first conversion until every other upload is waiting on it. The
+	 * first conversion fails unexpectedly if asked to, as it would if the upload could not be read.
+	 */
+	private List<ConversionReport> convertConcurrently(ConversionCache cache, String path, boolean failFirst)
+			throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(UPLOADS);
+		try {
+			List<Future<ConversionReport>> futures = new ArrayList<>();
+			for (int i = 0; i < UPLOADS; i++) {
+				Source source = source("upload " + i, path);
+				futures.add(executor.submit(() -> {
+					try {
+						return cache.convert(source, new Context(), "a", () -> {
+							boolean first = conversions.incrementAndGet() == 1;
+							awaitQuietly(release);
+							Converter converter = new Converter(failFirst && first ? unreadable(source) : source);
+							converter.transform();
+							return converter.getReport();
+						});
+					} catch (TransformException exception) {
+						return exception.getConversionReport();
+					}
+				}));
+			}
+
+			Counter coalesced = meterRegistry.counter("conversion.cache", "result", "coalesced");
+			for (int wait = 0; wait < 100 && coalesced.count() < UPLOADS - 1; wait++) {
+				Thread.sleep(50);
+			}
+			assertThat(coalesced.count()).isEqualTo(UPLOADS - 1.0);
+			release.countDown();
+
+			List<ConversionReport> reports = new ArrayList<>();
+			for (Future<ConversionReport> future : futures) {
+				reports.add(future.get(30, TimeUnit.SECONDS));
+			}
+			return reports;
+		} finally {
+			release.countDown();
+			executor.shutdownNow();
+		}
+	}
+
+	private static Source unreadable(Source source) {
+		Source unreadable = mock(Source.class);
+		when(unreadable.getName()).thenReturn(source.getName());
+		when(unreadable.toInputStream()).thenThrow(new IllegalStateException("unreadable"));
+		return unreadable;
+	}
+
+	private static void awaitQuietly(CountDownLatch latch) {
+		try {
+			latch.await(30, TimeUnit.SECONDS);
+		} catch (InterruptedException exception) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private ConversionCache cache(long maxBytes) {
+		return new ConversionCache(new MockEnvironment()
+				.withProperty(Constants.CONVERSION_CACHE_MAX_BYTES_ENV_VARIABLE, String.valueOf(maxBytes)), meterRegistry);
+	}
+
+	private ConversionReport convert(ConversionCache cache, Source source, String piiVersion) {
+		return convert(cache, source, new Context(), piiVersion);
+	}
+
+	private ConversionReport convert(ConversionCache cache, Source source, Context context, String piiVersion) {
+		return cache.convert(source, context, piiVersion, () -> {
+			conversions.incrementAndGet();
+			Converter converter = new Converter(source, context);
+			converter.transform();
+			return converter.getReport();
+		});
+	}
+
+	private static Source source(String name, String path) throws IOException {
+		return BufferedSource.of(name, Files.readAllBytes(Paths.get(path)));
+	}
+}
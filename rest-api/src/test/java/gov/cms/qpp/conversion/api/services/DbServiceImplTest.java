@@ -4,6 +4,8 @@ import gov.cms.qpp.conversion.api.model.Constants;
 import gov.cms.qpp.conversion.api.model.Metadata;
 import gov.cms.qpp.test.MockitoExtension;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
@@ -25,12 +27,17 @@ import static org.mockito.Mockito.when;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBQueryExpression;
 import com.amazonaws.services.dynamodbv2.datamodeling.QueryResultPage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.springframework.core.env.Environment;
+import org.springframework.core.task.SyncTaskExecutor;
 import org.springframework.core.task.TaskExecutor;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.util.FileSystemUtils;
 
 @ExtendWith(MockitoExtension.class)
 class DbServiceImplTest {
@@ -49,7 +56,7 @@ class DbServiceImplTest {
 	@BeforeEach
 	void before() {
 		Optional<DynamoDBMapper> dbMapperWrapper = Optional.of(dbMapper);
-		underTest = new DbServiceImpl(taskExecutor, dbMapperWrapper, environment);
+		underTest = new DbServiceImpl(taskExecutor, dbMapperWrapper, environment, new SimpleMeterRegistry());
 		doAnswer(invocationOnMock -> {
 			Runnable method = invocationOnMock.getArgument(0);
 			CompletableFuture.runAsync(method);
@@ -59,13 +66,13 @@ class DbServiceImplTest {
 
 	@Test
 	void testGetUnprocessedCpcPlusMetaDataWithMissingDynamoDbMapper() {
-		underTest = new DbServiceImpl(taskExecutor, Optional.empty(), environment);
+		underTest = new DbServiceImpl(taskExecutor, Optional.empty(), environment, new SimpleMeterRegistry());
 		assertThat(underTest.getUnprocessedCpcPlusMetaData()).isEmpty();
 	}
 
 	@Test
 	void testGetMetadataByIdWithMissingDynamoDbMapper() {
-		underTest = new DbServiceImpl(taskExecutor, Optional.empty(), environment);
+		underTest = new DbServiceImpl(taskExecutor, Optional.empty(), environment, new SimpleMeterRegistry());
 		assertThat(underTest.getMetadataById(null)).isNull();
 	}
 
@@ -131,6 +138,41 @@ class DbServiceImplTest {
 		assertThat(fakeMetadata).isNotNull();
 	}
 
+	@Test
+	void testWriteSpillsWhileDynamoDbIsDownAndReplays() throws Exception {
+		Path spillDirectory = Files.createTempDirectory("spill");
+		try {
+			FaultyAnswer<Void> dynamoDb = new FaultyAnswer<Void>(10, invocation -> null).failing(true);
+			doAnswer(dynamoDb).when(dbMapper).save(any(Metadata.class));
+			underTest = new DbServiceImpl(new SyncTaskExecutor(), Optional.of(dbMapper), new MockEnvironment()
+					.withProperty(Constants.AUDIT_SPILL_DIR_ENV_VARIABLE, spillDirectory.toString())
+					.withProperty(Constants.AUDIT_BREAKER_FAILURES_ENV_VARIABLE, "1")
+					.withProperty(Constants.AUDIT_BREAKER_OPEN_SECONDS_ENV_VARIABLE, "3600"),
+					new SimpleMeterRegistry());
+			Metadata metadata = Metadata.create();
+			metadata.setTin("testTin");
+
+			Metadata written = writeMeta(metadata);
+
+			assertThat(written.getUuid()).isNotNull();
+			assertThat(dynamoDb.failures()).isEqualTo(1);
+			Path spilled = spillDirectory.resolve("dynamodb").resolve(written.getUuid());
+			assertThat(Files.exists(spilled)).isTrue();
+
+			dynamoDb.failing(false);
+			underTest.circuitBreaker.recordSuccess();
+			underTest.replaySpilled();
+
+			assertThat(Files.exists(spilled)).isFalse();
+			ArgumentCaptor<Metadata> replayed = ArgumentCaptor.forClass(Metadata.class);
+			verify(dbMapper, times(2)).save(replayed.capture());
+			assertThat(replayed.getValue().getUuid()).isEqualTo(written.getUuid());
+			assertThat(replayed.getValue().getTin()).isEqualTo("testTin");
+		} finally {
+			FileSystemUtils.deleteRecursively(spillDirectory);
+		}
+	}
+
 	private Metadata writeMeta() {
 		return writeMeta(Metadata.create());
 	}
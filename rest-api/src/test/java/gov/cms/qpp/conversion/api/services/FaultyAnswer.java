@@ -0,0 +1,49 @@
+package gov.cms.qpp.conversion.api.services;
+
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Stands in for a call to S3 or DynamoDB that takes a while to answer and fails while told to.
+ *
+ * @param <R> the type returned by the call
+ */
+class FaultyAnswer<R> implements Answer<R> {
+
+	private final long latencyMillis;
+	private final Answer<R> answer;
+	private final AtomicInteger calls = new AtomicInteger();
+	private final AtomicInteger failures = new AtomicInteger();
+	private volatile boolean failing;
+
+	FaultyAnswer(long latencyMillis, Answer<R> answer) {
+		this.latencyMillis = latencyMillis;
+		this.answer = answer;
+	}
+
+	FaultyAnswer<R> failing(boolean failing) {
+		this.failing = failing;
+		return this;
+	}
+
+	int calls() {
+		return calls.get();
+	}
+
+	int failures() {
+		return failures.get();
+	}
+
+	@Override
+	public R answer(InvocationOnMock invocation) throws Throwable {
+		calls.incrementAndGet();
+		Thread.sleep(latencyMillis);
+		if (failing) {
+			failures.incrementAndGet();
+			throw new IllegalStateException("Injected failure");
+		}
+		return answer.answer(invocation);
+	}
+}
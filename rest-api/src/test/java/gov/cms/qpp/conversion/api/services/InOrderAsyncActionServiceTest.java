@@ -6,11 +6,14 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.springframework.core.task.TaskExecutor;
 import org.springframework.retry.backoff.FixedBackOffPolicy;
 import org.springframework.retry.support.RetryTemplate;
 
 import gov.cms.qpp.test.MockitoExtension;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -28,6 +31,9 @@ class InOrderAsyncActionServiceTest {
 	@Mock
 	private TaskExecutor taskExecutor;
 
+	@Spy
+	private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
 	@BeforeEach
 	void runBeforeEachTest() {
 		doAnswer(invocationOnMock -> {
@@ -60,8 +66,8 @@ class InOrderAsyncActionServiceTest {
 
 	private static class TestInOrderService extends InOrderActionService<Object, Object> {
 
-		public TestInOrderService(TaskExecutor taskExecutor) {
-			super(taskExecutor);
+		public TestInOrderService(TaskExecutor taskExecutor, MeterRegistry meterRegistry) {
+			super(taskExecutor, meterRegistry);
 		}
 
 		AtomicBoolean pauseAsynchronousAction = new AtomicBoolean(false);
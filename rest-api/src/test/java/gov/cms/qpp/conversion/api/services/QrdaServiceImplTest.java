@@ -1,16 +1,28 @@
 package gov.cms.qpp.conversion.api.services;
 
+import com.sun.management.ThreadMXBean;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.NullOutputStream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
 
+import gov.cms.qpp.conversion.Context;
 import gov.cms.qpp.conversion.ConversionReport;
 import gov.cms.qpp.conversion.Converter;
 import gov.cms.qpp.conversion.InputStreamSupplierSource;
+import gov.cms.qpp.conversion.PathSource;
 import gov.cms.qpp.conversion.Source;
+import gov.cms.qpp.conversion.api.controllers.v1.QrdaControllerV1;
+import gov.cms.qpp.conversion.api.model.Constants;
+import gov.cms.qpp.conversion.api.model.Metadata;
 import gov.cms.qpp.conversion.encode.JsonWrapper;
 import gov.cms.qpp.conversion.model.error.AllErrors;
 import gov.cms.qpp.conversion.model.error.Error;
@@ -20,12 +32,23 @@ import gov.cms.qpp.test.MockitoExtension;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
 
 import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.Truth.assertWithMessage;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
 import static org.powermock.api.mockito.PowerMockito.mock;
 import static org.powermock.api.mockito.PowerMockito.when;
 
@@ -40,6 +63,7 @@ class QrdaServiceImplTest {
 	private static final String MOCK_SUCCESS_QPP_STRING = "Good Qpp";
 	private static final String MOCK_ERROR_SOURCE_IDENTIFIER = "Error Identifier";
 	private static final Path VALIDATION_JSON_FILE_PATH = Paths.get("src/test/resources/testCpcPlusValidationFile.json");
+	private static final int ALLOCATION_RUNS = 5;
 	private InputStream MOCK_INPUT_STREAM;
 
 	@Spy
@@ -49,19 +73,24 @@ class QrdaServiceImplTest {
 	@Mock
 	private StorageService storageService;
 
+	@Spy
+	private MockEnvironment environment = new MockEnvironment();
+
+	@Spy
+	private ConversionCache conversionCache = new ConversionCache(
+			new MockEnvironment().withProperty(Constants.CONVERSION_CACHE_MAX_BYTES_ENV_VARIABLE, "0"), new SimpleMeterRegistry());
+
 	@BeforeEach
 	void mockConverter() throws IOException {
 		MOCK_INPUT_STREAM = Files.newInputStream(VALIDATION_JSON_FILE_PATH);
 		Converter success = successConverter();
-		when(objectUnderTest.initConverter(MOCK_SUCCESS_QRDA_SOURCE))
-				.thenReturn(success);
+		doReturn(success).when(objectUnderTest).initConverter(eq(MOCK_SUCCESS_QRDA_SOURCE), any());
 
 		when(objectUnderTest.retrieveS3CpcPlusValidationFile())
 				.thenReturn(MOCK_INPUT_STREAM);
 
 		Converter error = errorConverter();
-		when(objectUnderTest.initConverter(MOCK_ERROR_QRDA_SOURCE))
-				.thenReturn(error);
+		doReturn(error).when(objectUnderTest).initConverter(eq(MOCK_ERROR_QRDA_SOURCE), any());
 	}
 
 	@Test
@@ -78,13 +107,108 @@ class QrdaServiceImplTest {
 		assertThat(allErrors.getErrors().get(0).getSourceIdentifier()).isSameAs(MOCK_ERROR_SOURCE_IDENTIFIER);
 	}
 
+	@Test
+	void testIdenticalContentIsConvertedOnce() {
+		QrdaServiceImpl cached = new QrdaServiceImpl(storageService,
+				new ConversionCache(new MockEnvironment(), new SimpleMeterRegistry()), new MockEnvironment(), ForkJoinPool.commonPool());
+		Source source = new PathSource(Paths.get("../qrda-files/valid-QRDA-III-latest.xml"));
+
+		ConversionReport first = cached.convertQrda3ToQpp(source);
+		ConversionReport second = cached.convertQrda3ToQpp(source);
+
+		assertThat(second).isNotSameAs(first);
+		assertThat(second.getEncodedWithMetadata()).isSameAs(first.getEncodedWithMetadata());
+	}
+
 	@Test
 	void testPostConstructForCoverage() {
 		objectUnderTest.preloadMeasureConfigs();
 	}
 
+	@Test
+	void testMeasureDataPerformanceYears() {
+		QrdaServiceImpl service = new QrdaServiceImpl(storageService, conversionCache, new MockEnvironment()
+				.withProperty(Constants.MEASURE_DATA_PERFORMANCE_YEARS_ENV_VARIABLE, "2017=measure-data-2017.json, bogus"),
+				ForkJoinPool.commonPool());
+
+		assertThat(service.measureDataPerformanceYears()).containsExactly(2017, "measure-data-2017.json");
+	}
+
+	@Test
+	void testParallelValidation() {
+		Source source = new PathSource(Paths.get("../qrda-files/valid-QRDA-III-latest.xml"));
+		ForkJoinPool validationPool = new ForkJoinPool(1);
+		try {
+			QrdaServiceImpl parallel = new QrdaServiceImpl(storageService, conversionCache, new MockEnvironment()
+					.withProperty(Constants.PARALLEL_VALIDATION_ENV_VARIABLE, "true"), validationPool);
+			Context context = parallel.initConverter(source, null).getContext();
+
+			assertThat(context.isParallelValidation()).isTrue();
+			assertThat(context.getValidationPool()).isSameAs(validationPool);
+			assertThat(new QrdaServiceImpl(storageService, conversionCache, new MockEnvironment(), validationPool)
+					.initConverter(source, null).getContext().isParallelValidation()).isFalse();
+		} finally {
+			validationPool.shutdown();
+		}
+	}
+
+	@Test
+	void testRequestAllocationIsBounded() throws IOException {
+		ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+		assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+
+		StorageService storage = mock(StorageService.class);
+		when(storage.store(any(String.class), any(), anyLong())).then(invocation -> {
+			Supplier<InputStream> content = invocation.getArgument(1);
+			try (InputStream stream = content.get()) {
+				IOUtils.copy(stream, NullOutputStream.NULL_OUTPUT_STREAM);
+			}
+			return CompletableFuture.completedFuture("locator");
+		});
+		DbService db = mock(DbService.class);
+		when(db.write(any(Metadata.class))).then(invocation -> {
+			Metadata written = invocation.getArgument(0);
+			written.setUuid("uuid");
+			return CompletableFuture.completedFuture(written);
+		});
+
+		QrdaServiceImpl service = new QrdaServiceImpl(storage, new ConversionCache(new MockEnvironment()
+				.withProperty(Constants.CONVERSION_CACHE_MAX_BYTES_ENV_VARIABLE, "0"), new SimpleMeterRegistry()),
+				new MockEnvironment(), ForkJoinPool.commonPool());
+		QrdaControllerV1 controller = new QrdaControllerV1(service, mock(ValidationService.class),
+				new AuditServiceImpl(storage, db, new MockEnvironment(), null));
+		Path path = Paths.get("../qrda-files/valid-QRDA-III-latest.xml");
+		MultipartFile file = new MockMultipartFile("file", path.getFileName().toString(), null, Files.readAllBytes(path));
+
+		long converting = allocatedPerRun(threads, () -> service.initConverter(new PathSource(path), null).transform());
+		long requesting = allocatedPerRun(threads, () -> {
+			try {
+				controller.uploadQrdaFile(file, null).getBody().writeTo(NullOutputStream.NULL_OUTPUT_STREAM);
+			} catch (IOException exception) {
+				throw new UncheckedIOException(exception);
+			}
+		});
+
+		assertWithMessage("bytes allocated by a request, converting alone allocates %s", converting)
+				.that(requesting).isLessThan(converting + converting / 2);
+	}
+
+	private static long allocatedPerRun(ThreadMXBean threads, Runnable run) {
+		for (int i = 0; i < ALLOCATION_RUNS; i++) {
+			run.run();
+		}
+
+		long threadId = Thread.currentThread().getId();
+		long before = threads.getThreadAllocatedBytes(threadId);
+		for (int i = 0; i < ALLOCATION_RUNS; i++) {
+			run.run();
+		}
+		return (threads.getThreadAllocatedBytes(threadId) - before) / ALLOCATION_RUNS;
+	}
+
 	private Converter successConverter() {
 		Converter mockConverter = mock(Converter.class);
+		when(mockConverter.getContext()).thenReturn(new Context());
 
 		JsonWrapper qpp = new JsonWrapper();
 		qpp.putString(KEY, MOCK_SUCCESS_QPP_STRING);
@@ -99,6 +223,7 @@ class QrdaServiceImplTest {
 
 	private Converter errorConverter() {
 		Converter mockConverter = mock(Converter.class);
+		when(mockConverter.getContext()).thenReturn(new Context());
 		AllErrors allErrors = new AllErrors();
 		allErrors.addError(new Error(MOCK_ERROR_SOURCE_IDENTIFIER, null));
 
@@ -0,0 +1,99 @@
+package gov.cms.qpp.conversion.api.services;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.util.FileSystemUtils;
+
+import gov.cms.qpp.conversion.api.model.Constants;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+class SpillDirectoryTest {
+
+	private Path directory;
+	private MeterRegistry registry;
+	private SpillDirectory spill;
+
+	@BeforeEach
+	void setup() throws IOException {
+		directory = Files.createTempDirectory("spill");
+		registry = new SimpleMeterRegistry();
+		spill = SpillDirectory.fromEnvironment("s3", new MockEnvironment()
+				.withProperty(Constants.AUDIT_SPILL_DIR_ENV_VARIABLE, directory.toString()), registry).get();
+	}
+
+	@AfterEach
+	void cleanup() throws IOException {
+		FileSystemUtils.deleteRecursively(directory);
+	}
+
+	@Test
+	void testDisabledByDefault() {
+		assertThat(SpillDirectory.fromEnvironment("s3", new MockEnvironment(), registry).isPresent()).isFalse();
+	}
+
+	@Test
+	void testEmptyUntilWritten() throws IOException {
+		assertThat(spill.hasEntries()).isFalse();
+		assertThat(spill.list()).isEmpty();
+	}
+
+	@Test
+	void testWrite() throws IOException {
+		spill.write("meep", content("mawp"));
+
+		assertThat(spill.list()).containsExactly(directory.resolve("s3").resolve("meep"));
+		assertThat(new String(Files.readAllBytes(spill.list().get(0)), StandardCharsets.UTF_8)).isEqualTo("mawp");
+		assertThat(registry.find("audit.spills").tag("dependency", "s3").counter().count()).isEqualTo(1.0);
+	}
+
+	@Test
+	void testDirectoryIsOwnerOnly() throws IOException {
+		assumeTrue(directory.getFileSystem().supportedFileAttributeViews().contains("posix"));
+
+		spill.write("meep", content("mawp"));
+
+		assertThat(Files.getPosixFilePermissions(directory.resolve("s3"))).isEqualTo(SpillDirectory.OWNER_ONLY);
+	}
+
+	@Test
+	void testWriteReplaces() throws IOException {
+		spill.write("meep", content("mawp"));
+		spill.write("meep", content("moop"));
+
+		assertThat(spill.list()).hasSize(1);
+		assertThat(new String(Files.readAllBytes(spill.list().get(0)), StandardCharsets.UTF_8)).isEqualTo("moop");
+	}
+
+	@Test
+	void testPartialWritesAreIgnored() throws IOException {
+		Files.createDirectories(directory.resolve("s3"));
+		Files.createFile(directory.resolve("s3").resolve("meep" + SpillDirectory.PARTIAL));
+
+		assertThat(spill.hasEntries()).isFalse();
+	}
+
+	@Test
+	void testDelete() throws IOException {
+		spill.write("meep", content("mawp"));
+
+		spill.deleteQuietly(spill.list().get(0));
+
+		assertThat(spill.hasEntries()).isFalse();
+	}
+
+	private ByteArrayInputStream content(String content) {
+		return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+	}
+}
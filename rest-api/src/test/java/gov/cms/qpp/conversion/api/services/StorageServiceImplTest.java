@@ -13,6 +13,8 @@ import static org.powermock.api.mockito.PowerMockito.when;
 
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 
@@ -23,8 +25,12 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.springframework.core.env.Environment;
+import org.springframework.core.task.SyncTaskExecutor;
 import org.springframework.core.task.TaskExecutor;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.util.FileSystemUtils;
 
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.model.GetObjectRequest;
@@ -34,6 +40,8 @@ import com.amazonaws.services.s3.model.S3ObjectInputStream;
 import com.amazonaws.services.s3.transfer.TransferManager;
 import com.amazonaws.services.s3.transfer.Upload;
 import com.amazonaws.services.s3.transfer.model.UploadResult;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 import gov.cms.qpp.conversion.api.model.Constants;
 import gov.cms.qpp.conversion.util.MeasuredInputStreamSupplier;
@@ -63,6 +71,9 @@ class StorageServiceImplTest {
 	@Mock
 	private Environment environment;
 
+	@Spy
+	private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
 	private String bucketName = "test-bucket";
 	private String ksmKey = "test-key";
 	private UploadResult result;
@@ -111,6 +122,43 @@ class StorageServiceImplTest {
 		verify(transferManager, times(2)).upload(any(PutObjectRequest.class));
 	}
 
+	@Test
+	void testPutSpillsWhileS3IsDownAndReplaysWithTheSameKey() throws Exception {
+		Path spillDirectory = Files.createTempDirectory("spill");
+		try {
+			FaultyAnswer<Upload> s3 = new FaultyAnswer<Upload>(10, invocation -> upload).failing(true);
+			when(transferManager.upload(any(PutObjectRequest.class))).thenAnswer(s3);
+			when(upload.waitForUploadResult()).thenReturn(result);
+			underTest = new StorageServiceImpl(new SyncTaskExecutor(), transferManager, new MockEnvironment()
+					.withProperty(Constants.BUCKET_NAME_ENV_VARIABLE, bucketName)
+					.withProperty(Constants.KMS_KEY_ENV_VARIABLE, ksmKey)
+					.withProperty(Constants.AUDIT_SPILL_DIR_ENV_VARIABLE, spillDirectory.toString())
+					.withProperty(Constants.AUDIT_BREAKER_FAILURES_ENV_VARIABLE, "1")
+					.withProperty(Constants.AUDIT_BREAKER_OPEN_SECONDS_ENV_VARIABLE, "3600"),
+					amazonS3Client, meterRegistry);
+
+			assertThat(storeFile()).isEqualTo("submission");
+			assertThat(underTest.circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+			assertThat(storeFile()).isEqualTo("submission");
+			assertThat(s3.calls()).isEqualTo(1);
+			Path spilled = spillDirectory.resolve("s3").resolve("submission");
+			assertThat(Files.readAllBytes(spilled)).isEqualTo(TEST_CONTENT_BYTES);
+
+			s3.failing(false);
+			underTest.circuitBreaker.recordSuccess();
+			underTest.replaySpilled();
+
+			assertThat(Files.exists(spilled)).isFalse();
+			ArgumentCaptor<PutObjectRequest> replayed = ArgumentCaptor.forClass(PutObjectRequest.class);
+			verify(transferManager, times(2)).upload(replayed.capture());
+			assertThat(replayed.getValue().getKey()).isEqualTo("submission");
+			assertThat(replayed.getValue().getBucketName()).isEqualTo(bucketName);
+			assertThat(meterRegistry.find("audit.spills").tag("dependency", "s3").counter().count()).isEqualTo(2.0);
+		} finally {
+			FileSystemUtils.deleteRecursively(spillDirectory);
+		}
+	}
+
 	@Test
 	void testPutNoBucket() {
 		Mockito.when(environment.getProperty(eq(Constants.BUCKET_NAME_ENV_VARIABLE))).thenReturn("");
@@ -0,0 +1,101 @@
+package gov.cms.qpp.conversion.api.services;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+class ValidationCacheTest {
+
+	private static final String URL = "https://qpp.net/validate";
+	private static final long TTL = 1000;
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final AtomicLong now = new AtomicLong();
+
+	@Test
+	void testFailureIsReused() {
+		ValidationCache cache = cache(10);
+		String key = ValidationCache.key(URL, "{}");
+
+		cache.put(key, new ResponseEntity<>("errors", HttpStatus.UNPROCESSABLE_ENTITY));
+		ResponseEntity<String> cached = cache.get(key);
+
+		assertThat(cached.getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+		assertThat(cached.getBody()).isEqualTo("errors");
+		assertThat(meterRegistry.counter("validation.cache", "result", "hit").count()).isEqualTo(1.0);
+	}
+
+	@Test
+	void testPassIsReused() {
+		ValidationCache cache = cache(10);
+		String key = ValidationCache.key(URL, "{}");
+
+		cache.put(key, new ResponseEntity<>("ignored", HttpStatus.OK));
+
+		assertThat(cache.get(key).getStatusCode()).isEqualTo(HttpStatus.OK);
+	}
+
+	@Test
+	void testOtherResponsesAreNotRemembered() {
+		ValidationCache cache = cache(10);
+		String key = ValidationCache.key(URL, "{}");
+
+		cache.put(key, new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE));
+		cache.put(key, new ResponseEntity<>(HttpStatus.BAD_REQUEST));
+		cache.put(key, null);
+
+		assertThat(cache.get(key)).isNull();
+		assertThat(meterRegistry.counter("validation.cache", "result", "miss").count()).isEqualTo(1.0);
+	}
+
+	@Test
+	void testExpires() {
+		ValidationCache cache = cache(10);
+		String key = ValidationCache.key(URL, "{}");
+		cache.put(key, new ResponseEntity<>(HttpStatus.OK));
+
+		now.addAndGet(TTL - 1);
+		assertThat(cache.get(key)).isNotNull();
+		now.addAndGet(1);
+		assertThat(cache.get(key)).isNull();
+		assertThat(cache.size()).isEqualTo(0);
+	}
+
+	@Test
+	void testLeastRecentlyUsedIsEvicted() {
+		ValidationCache cache = cache(2);
+		String first = ValidationCache.key(URL, "{\"first\":1}");
+		String second = ValidationCache.key(URL, "{\"second\":2}");
+		String third = ValidationCache.key(URL, "{\"third\":3}");
+
+		cache.put(first, new ResponseEntity<>(HttpStatus.OK));
+		cache.put(second, new ResponseEntity<>(HttpStatus.OK));
+		cache.get(first);
+		cache.put(third, new ResponseEntity<>(HttpStatus.OK));
+
+		assertThat(cache.size()).isEqualTo(2);
+		assertThat(cache.get(second)).isNull();
+		assertThat(cache.get(first)).isNotNull();
+	}
+
+	@Test
+	void testKeyIncludesUrl() {
+		assertThat(ValidationCache.key(URL, "{}")).isNotEqualTo(ValidationCache.key(URL + "/v2", "{}"));
+		assertThat(ValidationCache.key(URL, "{}")).isEqualTo(ValidationCache.key(URL, "{}"));
+	}
+
+	@Test
+	void testDisabled() {
+		assertThat(cache(0).isEnabled()).isFalse();
+		assertThat(new ValidationCache(10, 0, now::get, meterRegistry).isEnabled()).isFalse();
+	}
+
+	private ValidationCache cache(int maxEntries) {
+		return new ValidationCache(maxEntries, TTL, now::get, meterRegistry);
+	}
+}
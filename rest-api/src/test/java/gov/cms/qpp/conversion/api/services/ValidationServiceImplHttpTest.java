@@ -0,0 +1,254 @@
+package gov.cms.qpp.conversion.api.services;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.client.ResourceAccessException;
+
+import gov.cms.qpp.conversion.Context;
+import gov.cms.qpp.conversion.ConversionReport;
+import gov.cms.qpp.conversion.Converter;
+import gov.cms.qpp.conversion.PathSource;
+import gov.cms.qpp.conversion.api.model.Constants;
+import gov.cms.qpp.conversion.encode.JsonWrapper;
+import gov.cms.qpp.conversion.model.error.AllErrors;
+import gov.cms.qpp.conversion.model.error.QppValidationException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Calls a stub validation API over a real connection.
+ */
+class ValidationServiceImplHttpTest {
+
+	private static JsonWrapper qppWrapper;
+	private static String submissionError;
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private HttpServer server;
+	private ExecutorService serverThreads;
+	private MockEnvironment environment;
+	private ValidationServiceImpl service;
+
+	@BeforeAll
+	static void setupFixtures() throws IOException {
+		qppWrapper = new Converter(new PathSource(Paths.get("../qrda-files/valid-QRDA-III-latest.xml")), new Context()).transform();
+		submissionError = new String(Files.readAllBytes(Paths.get("src/test/resources/submissionErrorFixture.json")),
+				StandardCharsets.UTF_8);
+	}
+
+	@BeforeEach
+	void setup() throws IOException {
+		server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+		serverThreads = Executors.newCachedThreadPool();
+		server.setExecutor(serverThreads);
+		server.start();
+
+		environment = new MockEnvironment()
+				.withProperty(Constants.VALIDATION_URL_ENV_VARIABLE,
+						"http://localhost:" + server.getAddress().getPort() + "/validate");
+	}
+
+	@AfterEach
+	void tearDown() throws IOException {
+		if (service != null) {
+			service.close();
+		}
+		server.stop(0);
+		serverThreads.shutdownNow();
+	}
+
+	@Test
+	void testValidationPass() {
+		respond(200, "{}");
+
+		service().validateQpp(report(qppWrapper));
+
+		assertThat(meterRegistry.get("validation.call").tag("status", "200").timer().count()).isEqualTo(1);
+	}
+
+	@Test
+	void testValidationFail() {
+		respond(422, submissionError);
+		ConversionReport report = report(qppWrapper);
+
+		QppValidationException exception = assertThrows(QppValidationException.class, () -> service().validateQpp(report));
+
+		assertThat(exception.getConversionReport()).isSameAs(report);
+		assertThat(meterRegistry.get("validation.call").tag("status", "422").timer().count()).isEqualTo(1);
+	}
+
+	@Test
+	void testCachedFailureIsReported() {
+		AtomicInteger calls = new AtomicInteger();
+		server.createContext("/validate", exchange -> {
+			calls.incrementAndGet();
+			send(exchange, 422, submissionError);
+		});
+		ValidationServiceImpl validation = service();
+
+		assertThrows(QppValidationException.class, () -> validation.validateQpp(report(qppWrapper)));
+		ConversionReport report = report(qppWrapper);
+		QppValidationException second = assertThrows(QppValidationException.class, () -> validation.validateQpp(report));
+
+		assertThat(calls.get()).isEqualTo(1);
+		assertThat(second.getConversionReport()).isSameAs(report);
+		verify(report).setReportDetails(any(AllErrors.class));
+		assertThat(meterRegistry.counter("validation.cache", "result", "hit").count()).isEqualTo(1.0);
+	}
+
+	@Test
+	void testCacheDisabled() {
+		AtomicInteger calls = new AtomicInteger();
+		server.createContext("/validate", exchange -> {
+			calls.incrementAndGet();
+			send(exchange, 200, "{}");
+		});
+		environment.setProperty(Constants.VALIDATION_CACHE_SIZE_ENV_VARIABLE, "0");
+		ValidationServiceImpl validation = service();
+
+		validation.validateQpp(report(qppWrapper));
+		validation.validateQpp(report(qppWrapper));
+
+		assertThat(calls.get()).isEqualTo(2);
+	}
+
+	@Test
+	void testReadTimeout() {
+		CountDownLatch release = new CountDownLatch(1);
+		server.createContext("/validate", exchange -> {
+			awaitQuietly(release, 5);
+			send(exchange, 200, "{}");
+		});
+		environment.setProperty(Constants.VALIDATION_READ_TIMEOUT_MILLIS_ENV_VARIABLE, "100");
+
+		try {
+			assertThrows(ResourceAccessException.class, () -> service().validateQpp(report(qppWrapper)));
+		} finally {
+			release.countDown();
+		}
+		assertThat(meterRegistry.get("validation.call").tag("status", "error").timer().count()).isEqualTo(1);
+	}
+
+	@Test
+	void testSubmissionsValidatedConcurrently() {
+		CountDownLatch arrived = new CountDownLatch(2);
+		AtomicBoolean concurrent = new AtomicBoolean(true);
+		server.createContext("/validate", exchange -> {
+			arrived.countDown();
+			if (!awaitQuietly(arrived, 5)) {
+				concurrent.set(false);
+			}
+			send(exchange, 200, "{}");
+		});
+
+		service().validateQpp(report(twoSubmissions()));
+
+		assertThat(concurrent.get()).isTrue();
+		assertThat(meterRegistry.get("validation.call").tag("status", "200").timer().count()).isEqualTo(2);
+	}
+
+	@Test
+	void testAsyncValidationFail() {
+		respond(422, submissionError);
+
+		CompletableFuture<Void> validation = service().validateQppAsync(report(twoSubmissions()));
+
+		CompletionException exception = assertThrows(CompletionException.class, validation::join);
+		assertThat(exception.getCause()).isInstanceOf(QppValidationException.class);
+	}
+
+	@Test
+	void testAsyncWithoutValidationUrl() {
+		environment.setProperty(Constants.VALIDATION_URL_ENV_VARIABLE, "");
+
+		assertThat(service().validateQppAsync(report(qppWrapper)).isDone()).isTrue();
+	}
+
+	@Test
+	void testFailsFastWhenQueueIsFull() {
+		CountDownLatch release = new CountDownLatch(1);
+		server.createContext("/validate", exchange -> {
+			awaitQuietly(release, 5);
+			send(exchange, 200, "{}");
+		});
+		environment.setProperty(Constants.VALIDATION_MAX_CONNECTIONS_ENV_VARIABLE, "1");
+		environment.setProperty(Constants.VALIDATION_QUEUE_SIZE_ENV_VARIABLE, "1");
+		JsonWrapper threeSubmissions = twoSubmissions().putObject(qppWrapper);
+
+		try {
+			CompletableFuture<Void> validation = service().validateQppAsync(report(threeSubmissions));
+
+			assertThat(validation.isCompletedExceptionally()).isTrue();
+			CompletionException exception = assertThrows(CompletionException.class, validation::join);
+			assertThat(exception.getCause()).isInstanceOf(RejectedExecutionException.class);
+			assertThat(meterRegistry.counter("validation.rejected").count()).isEqualTo(1.0);
+		} finally {
+			release.countDown();
+		}
+	}
+
+	private ValidationServiceImpl service() {
+		service = new ValidationServiceImpl(environment, meterRegistry);
+		return service;
+	}
+
+	private void respond(int status, String body) {
+		server.createContext("/validate", exchange -> send(exchange, status, body));
+	}
+
+	private static void send(HttpExchange exchange, int status, String body) throws IOException {
+		byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().add("Content-Type", "application/json");
+		exchange.sendResponseHeaders(status, bytes.length);
+		try (OutputStream output = exchange.getResponseBody()) {
+			output.write(bytes);
+		}
+	}
+
+	private static boolean awaitQuietly(CountDownLatch latch, int seconds) {
+		try {
+			return latch.await(seconds, TimeUnit.SECONDS);
+		} catch (InterruptedException exception) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	private static JsonWrapper twoSubmissions() {
+		return new JsonWrapper().putObject(qppWrapper).putObject(qppWrapper);
+	}
+
+	private static ConversionReport report(JsonWrapper wrapper) {
+		ConversionReport report = mock(ConversionReport.class);
+		when(report.getEncodedWithMetadata()).thenReturn(wrapper);
+		return report;
+	}
+}
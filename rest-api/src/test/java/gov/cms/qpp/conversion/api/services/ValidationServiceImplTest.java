@@ -4,6 +4,8 @@ import static com.google.common.truth.Truth.assertThat;
 import static com.google.common.truth.Truth.assertWithMessage;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -35,6 +37,8 @@ import org.springframework.web.client.RestTemplate;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 import gov.cms.qpp.conversion.Context;
 import gov.cms.qpp.conversion.ConversionReport;
 import gov.cms.qpp.conversion.Converter;
@@ -72,7 +76,7 @@ class ValidationServiceImplTest {
 
 	@BeforeAll
 	static void setup() throws IOException {
-		service = new ValidationServiceImpl(null);
+		service = new ValidationServiceImpl(null, new SimpleMeterRegistry());
 		pathToSubmissionError = Paths.get("src/test/resources/submissionErrorFixture.json");
 		pathToSubmissionDuplicateEntryError = Paths.get("src/test/resources/submissionDuplicateEntryErrorFixture.json");
 		Path toConvert = Paths.get("../qrda-files/valid-QRDA-III-latest.xml");
@@ -91,7 +95,9 @@ class ValidationServiceImplTest {
 
 	@BeforeEach
 	void before() throws NoSuchFieldException, IllegalAccessException {
-		ValidationServiceImpl meep = new ValidationServiceImpl(environment);
+		when(environment.getProperty(anyString(), eq(Integer.class), anyInt()))
+				.thenAnswer(invocation -> invocation.getArgument(2));
+		ValidationServiceImpl meep = new ValidationServiceImpl(environment, new SimpleMeterRegistry());
 		Field rt = meep.getClass().getDeclaredField("restTemplate");
 		rt.setAccessible(true);
 		rt.set(meep, restTemplate);